@@ -113,37 +113,21 @@ public class CallbackClientImpl implements CallbackClient {
                             watchGame(callback.getObjectId());
                             break;
                         case "chatMessage": {
-                            ChatMessage message = (ChatMessage) callback.getData();
                             ChatPanelBasic panel = MageFrame.getChat(callback.getObjectId());
                             if (panel != null) {
-                                // play the sound related to the message
-                                if (message.getSoundToPlay() != null) {
-                                    switch (message.getSoundToPlay()) {
-                                        case PlayerLeft:
-                                            AudioManager.playPlayerLeft();
-                                            break;
-                                        case PlayerQuitTournament:
-                                            AudioManager.playPlayerQuitTournament();
-                                            break;
-                                        case PlayerSubmittedDeck:
-                                            AudioManager.playPlayerSubmittedDeck();
-                                            break;
-                                        case PlayerWhispered:
-                                            AudioManager.playPlayerWhispered();
-                                            break;
-                                    }
-                                }
-                                // send start message to chat if not done yet
-                                if (!panel.isStartMessageDone()) {
-                                    createChatStartMessage(panel);
-                                }
-                                // send the message to subchat if exists and it's not a game message
-                                if (!message.getMessageType().equals(MessageType.GAME) && panel.getConnectedChat() != null) {
-                                    panel.getConnectedChat().receiveMessage(message.getUsername(), message.getMessage(), message.getTime(), message.getMessageType(), ChatMessage.MessageColor.BLACK);
-                                } else {
-                                    panel.receiveMessage(message.getUsername(), message.getMessage(), message.getTime(), message.getMessageType(), message.getColor());
+                                chatMessage(panel, (ChatMessage) callback.getData(), true);
+                            }
+                            break;
+                        }
+                        case "chatMessages":
+                        case "chatHistory": {
+                            // messages collected by the server, the history sent on joining a chat plays no sounds
+                            ChatPanelBasic panel = MageFrame.getChat(callback.getObjectId());
+                            if (panel != null) {
+                                boolean playSound = callback.getMethod().equals("chatMessages");
+                                for (ChatMessage message : (List<ChatMessage>) callback.getData()) {
+                                    chatMessage(panel, message, playSound);
                                 }
-
                             }
                             break;
                         }
@@ -381,6 +365,36 @@ public class CallbackClientImpl implements CallbackClient {
         });
     }
 
+    private void chatMessage(ChatPanelBasic panel, ChatMessage message, boolean playSound) {
+        // play the sound related to the message
+        if (playSound && message.getSoundToPlay() != null) {
+            switch (message.getSoundToPlay()) {
+                case PlayerLeft:
+                    AudioManager.playPlayerLeft();
+                    break;
+                case PlayerQuitTournament:
+                    AudioManager.playPlayerQuitTournament();
+                    break;
+                case PlayerSubmittedDeck:
+                    AudioManager.playPlayerSubmittedDeck();
+                    break;
+                case PlayerWhispered:
+                    AudioManager.playPlayerWhispered();
+                    break;
+            }
+        }
+        // send start message to chat if not done yet
+        if (!panel.isStartMessageDone()) {
+            createChatStartMessage(panel);
+        }
+        // send the message to subchat if exists and it's not a game message
+        if (!message.getMessageType().equals(MessageType.GAME) && panel.getConnectedChat() != null) {
+            panel.getConnectedChat().receiveMessage(message.getUsername(), message.getMessage(), message.getTime(), message.getMessageType(), ChatMessage.MessageColor.BLACK);
+        } else {
+            panel.receiveMessage(message.getUsername(), message.getMessage(), message.getTime(), message.getMessageType(), message.getColor());
+        }
+    }
+
     private void createChatStartMessage(ChatPanelBasic chatPanel) {
         chatPanel.setStartMessageDone(true);
         ChatPanelBasic usedPanel = chatPanel;
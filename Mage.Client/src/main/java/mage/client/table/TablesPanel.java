@@ -90,6 +90,7 @@ import mage.game.match.MatchOptions;
 import mage.remote.MageRemoteException;
 import mage.remote.Session;
 import mage.view.MatchView;
+import mage.view.RoomTablesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import org.apache.log4j.Logger;
@@ -1366,6 +1367,7 @@ class UpdateTablesTask extends SwingWorker<Void, Collection<TableView>> {
     private static final Logger logger = Logger.getLogger(UpdateTablesTask.class);
 
     private int count = 0;
+    private long tablesVersion = -1;
 
     UpdateTablesTask(Session session, UUID roomId, TablesPanel panel) {
         this.session = session;
@@ -1376,9 +1378,11 @@ class UpdateTablesTask extends SwingWorker<Void, Collection<TableView>> {
     @Override
     protected Void doInBackground() throws Exception {
         while (!isCancelled()) {
-            Collection<TableView> tables = session.getTables(roomId);
+            // the server returns null if the tables did not change since the last call
+            RoomTablesView tables = session.getTables(roomId, tablesVersion);
             if (tables != null) {
-                this.publish(tables);
+                tablesVersion = tables.getVersion();
+                this.publish(tables.getTables());
             }
             Thread.sleep(3000);
         }
@@ -1412,6 +1416,7 @@ class UpdatePlayersTask extends SwingWorker<Void, Collection<RoomUsersView>> {
     private final Session session;
     private final UUID roomId;
     private final PlayersChatPanel chat;
+    private long usersVersion = -1;
 
     private static final Logger logger = Logger.getLogger(UpdatePlayersTask.class);
 
@@ -1424,7 +1429,14 @@ class UpdatePlayersTask extends SwingWorker<Void, Collection<RoomUsersView>> {
     @Override
     protected Void doInBackground() throws Exception {
         while (!isCancelled()) {
-            this.publish(session.getRoomUsers(roomId));
+            // the server returns null if the users did not change since the last call
+            Collection<RoomUsersView> roomUsers = session.getRoomUsers(roomId, usersVersion);
+            if (roomUsers != null) {
+                if (!roomUsers.isEmpty()) {
+                    usersVersion = roomUsers.iterator().next().getVersion();
+                }
+                this.publish(roomUsers);
+            }
             Thread.sleep(3000);
         }
         return null;
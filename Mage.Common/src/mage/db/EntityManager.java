@@ -2,17 +2,22 @@ package mage.db;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.TableUtils;
 import mage.db.model.Feedback;
+import mage.db.model.GameResult;
 import mage.db.model.Log;
 import mage.utils.properties.PropertiesUtil;
 
 import java.io.File;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * @author noxx, North
@@ -23,6 +28,7 @@ public enum EntityManager {
 
     private Dao<Log, Object> logDao;
     private Dao<Feedback, Object> feedbackDao;
+    private Dao<GameResult, Object> gameResultDao;
 
     private EntityManager() {
         File file = new File("db");
@@ -33,6 +39,8 @@ public enum EntityManager {
             ConnectionSource logConnectionSource = new JdbcConnectionSource(PropertiesUtil.getDBLogUrl());
             TableUtils.createTableIfNotExists(logConnectionSource, Log.class);
             logDao = DaoManager.createDao(logConnectionSource, Log.class);
+            TableUtils.createTableIfNotExists(logConnectionSource, GameResult.class);
+            gameResultDao = DaoManager.createDao(logConnectionSource, GameResult.class);
 
             ConnectionSource feedbackConnectionSource = new JdbcConnectionSource(PropertiesUtil.getDBFeedbackUrl());
             TableUtils.createTableIfNotExists(feedbackConnectionSource, Feedback.class);
@@ -48,6 +56,30 @@ public enum EntityManager {
         logDao.create(logEntity);
     }
 
+    /**
+     * Inserts the logs within one transaction
+     *
+     * @param logs
+     * @throws SQLException
+     */
+    public void insertLogs(final List<Log> logs) throws SQLException {
+        try {
+            logDao.callBatchTasks(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (Log log : logs) {
+                        logDao.create(log);
+                    }
+                    return null;
+                }
+            });
+        } catch (SQLException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new SQLException(ex);
+        }
+    }
+
     public List<Log> getAllLogs() {
         List<Log> logs = new ArrayList<Log>();
         try {
@@ -63,6 +95,77 @@ public enum EntityManager {
         feedbackDao.create(feedback);
     }
 
+    /**
+     * Inserts the game results within one transaction
+     *
+     * @param gameResults
+     * @throws SQLException
+     */
+    public void insertGameResults(final List<GameResult> gameResults) throws SQLException {
+        try {
+            gameResultDao.callBatchTasks(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (GameResult gameResult : gameResults) {
+                        gameResultDao.create(gameResult);
+                    }
+                    return null;
+                }
+            });
+        } catch (SQLException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new SQLException(ex);
+        }
+    }
+
+    /**
+     * @param type {@link GameResult#TYPE_GAME} or {@link GameResult#TYPE_MATCH}
+     * @return number of stored results of the type
+     */
+    public long getGameResultCount(String type) {
+        try {
+            return gameResultDao.queryBuilder().where().eq("type", type).countOf();
+        } catch (SQLException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * @param type {@link GameResult#TYPE_GAME} or {@link GameResult#TYPE_MATCH}
+     * @return average duration in milliseconds of the stored results of the type
+     */
+    public long getAverageDuration(String type) {
+        try {
+            return gameResultDao.queryRawValue("SELECT AVG(duration_ms) FROM game_results WHERE type = ?", type);
+        } catch (SQLException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * @param type {@link GameResult#TYPE_GAME} or {@link GameResult#TYPE_MATCH}
+     * @param limit
+     * @return the players with the most wins and their number of wins, most
+     * wins first
+     */
+    public Map<String, Long> getTopWinners(String type, int limit) {
+        Map<String, Long> winners = new LinkedHashMap<>();
+        try {
+            GenericRawResults<String[]> results = gameResultDao.queryRaw(
+                    "SELECT winner, COUNT(*) FROM game_results WHERE type = ? AND winner IS NOT NULL GROUP BY winner ORDER BY 2 DESC LIMIT " + limit, type);
+            try {
+                for (String[] row : results) {
+                    winners.put(row[0], Long.parseLong(row[1]));
+                }
+            } finally {
+                results.close();
+            }
+        } catch (SQLException ex) {
+        }
+        return winners;
+    }
+
     public List<Feedback> getAllFeedbacks() {
         List<Feedback> feedbacks = new ArrayList<Feedback>();
         try {
@@ -0,0 +1,188 @@
+package mage.db;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import mage.db.model.GameResult;
+import mage.db.model.Log;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes logs and game results in the background. The entities are queued and
+ * a single writer thread stores them in batches through the
+ * {@link EntityManager}, so the callers never wait for the database. If the
+ * queue is full the entity is dropped. The entities still queued when the JVM
+ * shuts down are written before it ends.
+ *
+ * @author agent
+ */
+public class EntityWriter {
+
+    private static final Logger logger = Logger.getLogger(EntityWriter.class);
+
+    private static final int QUEUE_SIZE = 10000;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    public static final EntityWriter instance = createInstance();
+
+    private static EntityWriter createInstance() {
+        final EntityWriter writer = new EntityWriter(QUEUE_SIZE, new Store() {
+            @Override
+            public void insertLogs(List<Log> logs) throws SQLException {
+                EntityManager.instance.insertLogs(logs);
+            }
+
+            @Override
+            public void insertGameResults(List<GameResult> gameResults) throws SQLException {
+                EntityManager.instance.insertGameResults(gameResults);
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writer.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+            }
+        }, "DB-WRITER-SHUTDOWN"));
+        return writer;
+    }
+
+    /**
+     * Where the entities are written to
+     */
+    interface Store {
+
+        void insertLogs(List<Log> logs) throws SQLException;
+
+        void insertGameResults(List<GameResult> gameResults) throws SQLException;
+    }
+
+    // queued by shutdown, the writer thread ends when it takes it
+    private static final Object STOP = new Object();
+
+    private final Store store;
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    // guards stopped, so no entity is queued after STOP
+    private final Object stopLock = new Object();
+    private boolean stopped;
+
+    EntityWriter(int queueSize, Store store) {
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "DB-WRITER");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void write(Log log) {
+        offer(log);
+    }
+
+    public void write(GameResult gameResult) {
+        offer(gameResult);
+    }
+
+    private void offer(Object entity) {
+        boolean queued;
+        synchronized (stopLock) {
+            queued = !stopped && queue.offer(entity);
+        }
+        if (!queued) {
+            // log only the first and then every 1000th dropped entity
+            if (dropped.getAndIncrement() % 1000 == 0) {
+                logger.warn("Database write queue is full or stopped, entities dropped: " + dropped.get());
+            }
+        }
+    }
+
+    /**
+     * @return number of entities waiting to be written
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the queued entities and ends the writer thread. Entities written
+     * after this are dropped.
+     *
+     * @param timeoutMillis how long to wait for the queued entities to be
+     * written
+     * @return true if all queued entities were written in time
+     */
+    public boolean shutdown(long timeoutMillis) {
+        synchronized (stopLock) {
+            stopped = true;
+        }
+        long end = System.currentTimeMillis() + timeoutMillis;
+        try {
+            if (queue.offer(STOP, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                writer.join(Math.max(1, end - System.currentTimeMillis()));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("Database writer did not finish in time, entities not written: " + queue.size());
+            return false;
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        List<Log> logs = new ArrayList<>();
+        List<GameResult> gameResults = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                for (Object entity : batch) {
+                    if (entity == STOP) {
+                        stop = true;
+                    } else if (entity instanceof Log) {
+                        logs.add((Log) entity);
+                    } else {
+                        gameResults.add((GameResult) entity);
+                    }
+                }
+                if (!logs.isEmpty()) {
+                    try {
+                        store.insertLogs(logs);
+                    } catch (Exception ex) {
+                        logger.error("Could not write " + logs.size() + " logs to the database", ex);
+                    }
+                }
+                if (!gameResults.isEmpty()) {
+                    try {
+                        store.insertGameResults(gameResults);
+                    } catch (Exception ex) {
+                        logger.error("Could not write " + gameResults.size() + " game results to the database", ex);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                batch.clear();
+                logs.clear();
+                gameResults.clear();
+            }
+        }
+    }
+}
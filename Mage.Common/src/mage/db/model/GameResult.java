@@ -0,0 +1,102 @@
+package mage.db.model;
+
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import java.util.Date;
+
+/**
+ * Result of a finished game or match
+ *
+ * @author agent
+ */
+@DatabaseTable(tableName = "game_results")
+public class GameResult {
+
+    public static final String TYPE_GAME = "game";
+    public static final String TYPE_MATCH = "match";
+
+    @DatabaseField
+    private String type;
+    @DatabaseField(columnName = "object_id")
+    private String objectId;
+    @DatabaseField(columnName = "game_type")
+    private String gameType;
+    @DatabaseField
+    private String players;
+    @DatabaseField
+    private String winner;
+    @DatabaseField
+    private int turns;
+    @DatabaseField
+    private int games;
+    @DatabaseField(columnName = "duration_ms")
+    private long duration;
+    @DatabaseField(columnName = "created_dt")
+    private Date createdDate;
+
+    public GameResult() {
+    }
+
+    public GameResult(String type, String objectId, String gameType, String players, String winner, int turns, int games, long duration, Date createdDate) {
+        this.type = type;
+        this.objectId = objectId;
+        this.gameType = gameType;
+        this.players = players;
+        this.winner = winner;
+        this.turns = turns;
+        this.games = games;
+        this.duration = duration;
+        this.createdDate = createdDate;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getObjectId() {
+        return objectId;
+    }
+
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * @return names of the players, separated by comma
+     */
+    public String getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return name of the winner, null for a draw
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return number of turns of a game, 0 for a match
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return number of games of a match, 1 for a game
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * @return duration in milliseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    public Date getCreatedDate() {
+        return createdDate;
+    }
+}
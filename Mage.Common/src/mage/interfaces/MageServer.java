@@ -29,6 +29,7 @@ package mage.interfaces;
 
 import java.util.List;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.UUID;
 import mage.MageException;
 import mage.cards.decks.DeckCardLists;
@@ -44,6 +45,7 @@ import mage.utils.MageVersion;
 import mage.view.DraftPickView;
 import mage.view.GameView;
 import mage.view.MatchView;
+import mage.view.RoomTablesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.TournamentView;
@@ -77,6 +79,9 @@ public interface MageServer {
 
     List<RoomUsersView> getRoomUsers(UUID roomId) throws MageException;
 
+    // returns null if the room users did not change since the given version
+    List<RoomUsersView> getRoomUsers(UUID roomId, long knownVersion) throws MageException;
+
     List<MatchView> getFinishedMatches(UUID roomId) throws MageException;
 
     Object getServerMessagesCompressed(String sessionId) throws MageException;     // messages of the day
@@ -113,6 +118,9 @@ public interface MageServer {
 
     List<TableView> getTables(UUID roomId) throws MageException;
 
+    // returns null if the tables did not change since the given version
+    RoomTablesView getTables(UUID roomId, long knownVersion) throws MageException;
+
     //chat methods
     void sendChatMessage(UUID chatId, String userName, String message) throws MageException;
 
@@ -206,4 +214,6 @@ public interface MageServer {
     void removeTable(String sessionId, UUID tableId) throws MageException;
 
     void sendBroadcastMessage(String sessionId, String message) throws MageException;
+
+    SortedMap<String, Long> getServerMetrics(String sessionId) throws MageException;
 }
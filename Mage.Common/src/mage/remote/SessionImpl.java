@@ -41,6 +41,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import mage.MageException;
@@ -65,6 +66,7 @@ import mage.utils.CompressUtil;
 import mage.view.DraftPickView;
 import mage.view.GameTypeView;
 import mage.view.MatchView;
+import mage.view.RoomTablesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.TournamentTypeView;
@@ -660,6 +662,21 @@ public class SessionImpl implements Session {
         return null;
     }
 
+    @Override
+    public RoomTablesView getTables(UUID roomId, long knownVersion) throws MageRemoteException {
+        try {
+            if (isConnected()) {
+                return server.getTables(roomId, knownVersion);
+            }
+        } catch (MageException ex) {
+            handleMageException(ex);
+            throw new MageRemoteException();
+        } catch (Throwable t) {
+            handleThrowable(t);
+        }
+        return null;
+    }
+
     @Override
     public Collection<MatchView> getFinishedMatches(UUID roomId) throws MageRemoteException {
         try {
@@ -690,6 +707,21 @@ public class SessionImpl implements Session {
         return null;
     }
 
+    @Override
+    public Collection<RoomUsersView> getRoomUsers(UUID roomId, long knownVersion) throws MageRemoteException {
+        try {
+            if (isConnected()) {
+                return server.getRoomUsers(roomId, knownVersion);
+            }
+        } catch (MageException ex) {
+            handleMageException(ex);
+            throw new MageRemoteException();
+        } catch (Throwable t) {
+            handleThrowable(t);
+        }
+        return null;
+    }
+
     @Override
     public TournamentView getTournament(UUID tournamentId) throws MageRemoteException {
         try {
@@ -1321,6 +1353,20 @@ public class SessionImpl implements Session {
         return null;
     }
 
+    @Override
+    public SortedMap<String, Long> getServerMetrics() {
+        try {
+            if (isConnected()) {
+                return server.getServerMetrics(sessionId);
+            }
+        } catch (MageException ex) {
+            handleMageException(ex);
+        } catch (Throwable t) {
+            handleThrowable(t);
+        }
+        return null;
+    }
+
     @Override
     public List<String> getServerMessages() {
         try {
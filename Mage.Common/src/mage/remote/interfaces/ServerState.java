@@ -29,9 +29,11 @@ package mage.remote.interfaces;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.SortedMap;
 import java.util.UUID;
 import mage.remote.MageRemoteException;
 import mage.view.MatchView;
+import mage.view.RoomTablesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.UserView;
@@ -46,13 +48,32 @@ public interface ServerState {
     List<UserView> getUsers();
 
     Collection<RoomUsersView> getRoomUsers (UUID roomId) throws MageRemoteException;
+
+    /**
+     * Returns the room users or null if they did not change since the given
+     * version.
+     */
+    Collection<RoomUsersView> getRoomUsers (UUID roomId, long knownVersion) throws MageRemoteException;
     
     List<String> getServerMessages();
 
     Collection<TableView> getTables(UUID roomId) throws MageRemoteException;
 
+    /**
+     * Returns the tables or null if they did not change since the given
+     * version.
+     */
+    RoomTablesView getTables(UUID roomId, long knownVersion) throws MageRemoteException;
+
     Collection<MatchView> getFinishedMatches(UUID roomId) throws MageRemoteException;
 
     String getVersionInfo();
 
+    /**
+     * Operational metrics of the server (admin only).
+     *
+     * @return metric values by name, null if not available
+     */
+    SortedMap<String, Long> getServerMetrics();
+
 }
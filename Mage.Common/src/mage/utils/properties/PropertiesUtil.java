@@ -13,7 +13,8 @@ public class PropertiesUtil {
 
     private static final Logger logger = Logger.getLogger(PropertiesUtil.class);
 
-    private static final String LOG_JDBC_URL = "jdbc:h2:file:./db/mage.h2;AUTO_SERVER=TRUE";
+    // kept open on exit, so the EntityWriter can write the queued entities in its shutdown hook
+    private static final String LOG_JDBC_URL = "jdbc:h2:file:./db/mage.h2;AUTO_SERVER=TRUE;DB_CLOSE_ON_EXIT=FALSE";
     private static final String FEEDBACK_JDBC_URL = "jdbc:h2:file:./db/feedback.h2;AUTO_SERVER=TRUE";
 
     private static Properties properties = new Properties();
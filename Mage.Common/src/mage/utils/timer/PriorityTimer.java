@@ -1,25 +1,37 @@
 package mage.utils.timer;
 
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
 import mage.MageException;
 import mage.interfaces.Action;
 import org.apache.log4j.Logger;
 
 /**
+ * Count down of the priority time of one player.
+ *
+ * The timer does not tick, while it's running it only holds the deadline and
+ * the time left is calculated from it. The timeout (and the optional tick
+ * task) is executed by the shared {@link TimerWheel}, so there is no thread
+ * per timer.
+ *
  * @author noxx
  */
-public class PriorityTimer extends TimerTask {
+public class PriorityTimer {
 
     private static final Logger logger = Logger.getLogger(PriorityTimer.class);
 
     private final long delay;
     private final Action taskOnTimeout;
 
-    private int count;
+    // time left if the timer is not running
+    private long remainingMs;
+    // time the count down ends if the timer is running
+    private long deadline;
+    private TimerWheel.Timeout timeout;
+    private TimerWheel.Timeout tick;
     private Action taskOnTick;
     private States state = States.NONE;
+    // the timeout task is executed only once
+    private boolean timedOut;
 
     enum States {
         NONE,
@@ -29,81 +41,165 @@ public class PriorityTimer extends TimerTask {
         FINISHED
     }
 
+    /**
+     * @param count seconds left
+     * @param delay interval of the tick task in ms
+     * @param taskOnTimeout
+     */
     public PriorityTimer(int count, long delay, Action taskOnTimeout) {
-        this.count = count;
+        this.remainingMs = count * 1000L;
         this.delay = delay;
         this.taskOnTimeout = taskOnTimeout;
     }
 
-    public void init(UUID gameId) {
+    public synchronized void init(UUID gameId) {
         state = States.INIT;
-        Timer timer = new Timer("Priority Timer-" + gameId.toString(), false);
-        long delayMs = delay * (int) (1000L / delay);
-        timer.scheduleAtFixedRate(this, delayMs, delayMs);
     }
 
-    public void start() {
+    public synchronized void start() {
         if (state == States.NONE) {
             throw new IllegalStateException("Timer should have been initialized first");
         }
         if (state == States.FINISHED) {
             throw new IllegalStateException("Timer has already finished its work");
         }
-        state = States.RUNNING;
+        run();
     }
 
-    public void pause() {
-        state = States.PAUSED;
+    public synchronized void pause() {
+        if (state == States.RUNNING) {
+            remainingMs = Math.max(deadline - System.currentTimeMillis(), 0);
+            cancelScheduled();
+        }
+        if (state != States.FINISHED) {
+            state = States.PAUSED;
+        }
     }
 
-    public void stop() {
+    public synchronized void stop() {
+        cancelScheduled();
         state = States.FINISHED;
-        count = 0;
+        remainingMs = 0;
     }
 
-    public void resume() {
+    public synchronized void resume() {
         if (state == States.FINISHED) {
             throw new IllegalStateException("Timer has already finished its work");
         }
-        state = States.RUNNING;
+        if (state != States.RUNNING) {
+            run();
+        }
+    }
+
+    /**
+     * Stops the timer without executing the timeout task.
+     */
+    public synchronized void cancel() {
+        cancelScheduled();
+        state = States.FINISHED;
     }
 
-    public int getCount() {
-        return count;
+    /**
+     * @return seconds left (a started second counts as full second)
+     */
+    public synchronized int getCount() {
+        long left = state == States.RUNNING ? Math.max(deadline - System.currentTimeMillis(), 0) : remainingMs;
+        return (int) ((left + 999) / 1000);
     }
 
-    public void setCount(int count) {
-        this.count = count;
+    public synchronized void setCount(int count) {
+        remainingMs = count * 1000L;
+        if (state == States.RUNNING) {
+            cancelScheduled();
+            run();
+        }
     }
 
-    public void setTaskOnTick(Action taskOnTick) {
+    public synchronized void setTaskOnTick(Action taskOnTick) {
         this.taskOnTick = taskOnTick;
+        if (state == States.RUNNING && tick == null) {
+            scheduleTick();
+        }
     }
 
-    @Override
-    public void run() {
-        if (state == States.RUNNING) {
-            count--;
-            if (taskOnTick != null) {
-                try {
-                    taskOnTick.execute();
-                } catch (MageException e) {
-                    throw new RuntimeException(e);
-                }
+    private void run() {
+        state = States.RUNNING;
+        deadline = System.currentTimeMillis() + remainingMs;
+        if (timedOut) {
+            return;
+        }
+        final TimerWheel.Timeout[] self = new TimerWheel.Timeout[1];
+        timeout = TimerWheel.getInstance().schedule(new Runnable() {
+            @Override
+            public void run() {
+                onTimeout(self);
             }
+        }, remainingMs);
+        self[0] = timeout;
+        if (taskOnTick != null) {
+            scheduleTick();
+        }
+    }
+
+    private void scheduleTick() {
+        final TimerWheel.Timeout[] self = new TimerWheel.Timeout[1];
+        tick = TimerWheel.getInstance().schedule(new Runnable() {
+            @Override
+            public void run() {
+                onTick(self);
+            }
+        }, delay);
+        self[0] = tick;
+    }
+
+    private void cancelScheduled() {
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
+        }
+        if (tick != null) {
+            tick.cancel();
+            tick = null;
+        }
+    }
+
+    private void onTick(TimerWheel.Timeout[] expired) {
+        Action task;
+        synchronized (this) {
+            if (expired[0] != tick || state != States.RUNNING) {
+                return;
+            }
+            scheduleTick();
+            task = taskOnTick;
         }
         if (logger.isDebugEnabled()) {
-            logger.debug("Count is: " + count);
+            logger.debug("Count is: " + getCount());
         }
-        //System.out.println("Count is: " + count);
-        if (count <= 0) {
-            cancel();
+        if (task != null) {
             try {
-                taskOnTimeout.execute();
+                task.execute();
             } catch (MageException e) {
                 throw new RuntimeException(e);
             }
         }
     }
 
+    private void onTimeout(TimerWheel.Timeout[] expired) {
+        synchronized (this) {
+            // the timer was paused, reset or cancelled meanwhile
+            if (expired[0] != timeout || state != States.RUNNING) {
+                return;
+            }
+            cancelScheduled();
+            remainingMs = 0;
+            deadline = System.currentTimeMillis();
+            timedOut = true;
+        }
+        try {
+            taskOnTimeout.execute();
+        } catch (MageException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+
+package mage.utils.timer;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.log4j.Logger;
+
+/**
+ * Hashed timer wheel shared by all priority timers of the process.
+ *
+ * Only one thread advances the wheel, a timer does not tick, it only holds a
+ * deadline. Expired tasks are handed to a small worker pool, so a task that
+ * has to wait for a game lock can't delay other timers.
+ *
+ * Scheduling and cancelling are lock free, the buckets are only touched by
+ * the wheel thread. The precision is one tick (100 ms).
+ *
+ * @author agent
+ */
+public final class TimerWheel {
+
+    private static final Logger logger = Logger.getLogger(TimerWheel.class);
+
+    private static final long TICK_MS = 100;
+    private static final int WHEEL_SIZE = 512;
+
+    private static final TimerWheel INSTANCE = new TimerWheel(TICK_MS, WHEEL_SIZE);
+
+    public static TimerWheel getInstance() {
+        return INSTANCE;
+    }
+
+    private final long tickMs;
+    private final int mask;
+    private final Set<Timeout>[] buckets;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService taskExecutor;
+    private final Object startLock = new Object();
+    private Thread workerThread;
+    private long startTime;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    private TimerWheel(long tickMs, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2: " + wheelSize);
+        }
+        this.tickMs = tickMs;
+        this.mask = wheelSize - 1;
+        this.buckets = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new HashSet<>();
+        }
+        this.taskExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger number = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Priority Timer Task-" + number.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Executes the task once after the given delay.
+     *
+     * @param task
+     * @param delayMs
+     * @return handle to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delayMs) {
+        start();
+        Timeout timeout = new Timeout(task, System.currentTimeMillis() + Math.max(delayMs, 0));
+        pending.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return number of scheduled and not yet expired or removed timeouts
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    private void start() {
+        synchronized (startLock) {
+            if (workerThread == null) {
+                startTime = System.currentTimeMillis();
+                workerThread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        runWheel();
+                    }
+                }, "Priority Timer Wheel");
+                workerThread.setDaemon(true);
+                workerThread.start();
+            }
+        }
+    }
+
+    private void runWheel() {
+        while (true) {
+            long nextTickTime = startTime + (tick + 1) * tickMs;
+            long sleepMs = nextTickTime - System.currentTimeMillis();
+            if (sleepMs > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleepMs);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            transferNewTimeouts();
+            expireBucket(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferNewTimeouts() {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                pending.decrementAndGet();
+                continue;
+            }
+            long calculated = (timeout.deadline - startTime) / tickMs;
+            // never schedule into the past, the current bucket is processed next
+            long ticks = Math.max(calculated, tick);
+            timeout.remainingRounds = (ticks - tick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(Set<Timeout> bucket) {
+        for (Iterator<Timeout> it = bucket.iterator(); it.hasNext();) {
+            Timeout timeout = it.next();
+            if (timeout.isCancelled()) {
+                it.remove();
+                pending.decrementAndGet();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                pending.decrementAndGet();
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    public final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        // only accessed by the wheel thread
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return false if the task was already executed or cancelled
+         */
+        public boolean cancel() {
+            return state.compareAndSet(ST_INIT, ST_CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            taskExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } catch (Exception ex) {
+                        logger.error("Priority timer task failed", ex);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -27,6 +27,9 @@
  */
 package mage.view;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -59,7 +62,7 @@ import mage.target.Targets;
  */
 public class CardView extends SimpleCardView {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     protected UUID parentId;
     protected String name;
@@ -119,6 +122,22 @@ public class CardView extends SimpleCardView {
     protected boolean selected;
     protected boolean canAttack;
 
+    private static final int FLAG_ABILITY = 1;
+    private static final int FLAG_TOKEN = 1 << 1;
+    private static final int FLAG_CAN_TRANSFORM = 1 << 2;
+    private static final int FLAG_TRANSFORMED = 1 << 3;
+    private static final int FLAG_FLIP_CARD = 1 << 4;
+    private static final int FLAG_FACE_DOWN = 1 << 5;
+    private static final int FLAG_SPLIT_CARD = 1 << 6;
+    private static final int FLAG_PAID = 1 << 7;
+    private static final int FLAG_CONTROLLED_BY_OWNER = 1 << 8;
+    private static final int FLAG_ROTATE = 1 << 9;
+    private static final int FLAG_HIDE_INFO = 1 << 10;
+    private static final int FLAG_PLAYABLE = 1 << 11;
+    private static final int FLAG_CHOOSABLE = 1 << 12;
+    private static final int FLAG_SELECTED = 1 << 13;
+    private static final int FLAG_CAN_ATTACK = 1 << 14;
+
     public CardView(Card card) {
         this(card, null, false);
     }
@@ -757,4 +776,131 @@ public class CardView extends SimpleCardView {
         this.canAttack = canAttack;
     }
 
+    /**
+     * Writes the view in a compact form instead of the default field by field
+     * serialization: all boolean states are packed into one int, enums are
+     * written as ordinals and lists as size prefixed sequences.
+     *
+     * @param out
+     * @throws IOException
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        int flags = 0;
+        flags |= isAbility ? FLAG_ABILITY : 0;
+        flags |= isToken ? FLAG_TOKEN : 0;
+        flags |= canTransform ? FLAG_CAN_TRANSFORM : 0;
+        flags |= transformed ? FLAG_TRANSFORMED : 0;
+        flags |= flipCard ? FLAG_FLIP_CARD : 0;
+        flags |= faceDown ? FLAG_FACE_DOWN : 0;
+        flags |= isSplitCard ? FLAG_SPLIT_CARD : 0;
+        flags |= paid ? FLAG_PAID : 0;
+        flags |= controlledByOwner ? FLAG_CONTROLLED_BY_OWNER : 0;
+        flags |= rotate ? FLAG_ROTATE : 0;
+        flags |= hideInfo ? FLAG_HIDE_INFO : 0;
+        flags |= isPlayable ? FLAG_PLAYABLE : 0;
+        flags |= isChoosable ? FLAG_CHOOSABLE : 0;
+        flags |= selected ? FLAG_SELECTED : 0;
+        flags |= canAttack ? FLAG_CAN_ATTACK : 0;
+        out.writeInt(flags);
+
+        ViewStreams.writeUUID(out, parentId);
+        ViewStreams.writeString(out, name);
+        ViewStreams.writeString(out, displayName);
+        ViewStreams.writeStrings(out, rules);
+        ViewStreams.writeString(out, power);
+        ViewStreams.writeString(out, toughness);
+        ViewStreams.writeString(out, loyalty);
+        ViewStreams.writeEnums(out, cardTypes);
+        ViewStreams.writeStrings(out, subTypes);
+        ViewStreams.writeStrings(out, superTypes);
+        ViewStreams.writeColor(out, color);
+        ViewStreams.writeStrings(out, manaCost);
+        out.writeShort(convertedManaCost);
+        ViewStreams.writeEnum(out, rarity);
+        ViewStreams.writeEnum(out, mageObjectType);
+        ViewStreams.writeEnum(out, abilityType);
+        out.writeObject(ability);
+        out.writeInt(type);
+        out.writeObject(secondCardFace);
+        ViewStreams.writeString(out, alternateName);
+        ViewStreams.writeString(out, originalName);
+        if (isSplitCard) {
+            ViewStreams.writeString(out, leftSplitName);
+            out.writeObject(leftSplitCosts);
+            ViewStreams.writeStrings(out, leftSplitRules);
+            ViewStreams.writeString(out, rightSplitName);
+            out.writeObject(rightSplitCosts);
+            ViewStreams.writeStrings(out, rightSplitRules);
+        }
+        ViewStreams.writeUUIDs(out, targets);
+        ViewStreams.writeUUID(out, pairedCard);
+        if (counters == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(counters.size());
+            for (CounterView counter : counters) {
+                ViewStreams.writeString(out, counter.getName());
+                out.writeInt(counter.getCount());
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        int flags = in.readInt();
+        isAbility = (flags & FLAG_ABILITY) != 0;
+        isToken = (flags & FLAG_TOKEN) != 0;
+        canTransform = (flags & FLAG_CAN_TRANSFORM) != 0;
+        transformed = (flags & FLAG_TRANSFORMED) != 0;
+        flipCard = (flags & FLAG_FLIP_CARD) != 0;
+        faceDown = (flags & FLAG_FACE_DOWN) != 0;
+        isSplitCard = (flags & FLAG_SPLIT_CARD) != 0;
+        paid = (flags & FLAG_PAID) != 0;
+        controlledByOwner = (flags & FLAG_CONTROLLED_BY_OWNER) != 0;
+        rotate = (flags & FLAG_ROTATE) != 0;
+        hideInfo = (flags & FLAG_HIDE_INFO) != 0;
+        isPlayable = (flags & FLAG_PLAYABLE) != 0;
+        isChoosable = (flags & FLAG_CHOOSABLE) != 0;
+        selected = (flags & FLAG_SELECTED) != 0;
+        canAttack = (flags & FLAG_CAN_ATTACK) != 0;
+
+        parentId = ViewStreams.readUUID(in);
+        name = ViewStreams.readString(in);
+        displayName = ViewStreams.readString(in);
+        rules = ViewStreams.readStrings(in, false);
+        power = ViewStreams.readString(in);
+        toughness = ViewStreams.readString(in);
+        loyalty = ViewStreams.readString(in);
+        cardTypes = ViewStreams.readEnums(in, CardType.class);
+        subTypes = ViewStreams.readStrings(in, true);
+        superTypes = ViewStreams.readStrings(in, true);
+        color = ViewStreams.readColor(in);
+        manaCost = ViewStreams.readStrings(in, true);
+        convertedManaCost = in.readShort();
+        rarity = ViewStreams.readEnum(in, Rarity.class);
+        mageObjectType = ViewStreams.readEnum(in, MageObjectType.class);
+        abilityType = ViewStreams.readEnum(in, AbilityType.class);
+        ability = (CardView) in.readObject();
+        type = in.readInt();
+        secondCardFace = (CardView) in.readObject();
+        alternateName = ViewStreams.readString(in);
+        originalName = ViewStreams.readString(in);
+        if (isSplitCard) {
+            leftSplitName = ViewStreams.readString(in);
+            leftSplitCosts = (ManaCosts) in.readObject();
+            leftSplitRules = ViewStreams.readStrings(in, false);
+            rightSplitName = ViewStreams.readString(in);
+            rightSplitCosts = (ManaCosts) in.readObject();
+            rightSplitRules = ViewStreams.readStrings(in, false);
+        }
+        targets = ViewStreams.readUUIDs(in);
+        pairedCard = ViewStreams.readUUID(in);
+        int counterCount = in.readInt();
+        if (counterCount >= 0) {
+            counters = new ArrayList<>(counterCount);
+            for (int i = 0; i < counterCount; i++) {
+                counters.add(new CounterView(ViewStreams.readString(in), in.readInt()));
+            }
+        }
+    }
+
 }
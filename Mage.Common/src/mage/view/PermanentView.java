@@ -44,7 +44,7 @@ import mage.players.Player;
  */
 public class PermanentView extends CardView {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     private boolean tapped;
     private final boolean flipped;
@@ -43,14 +43,20 @@ public class RoomUsersView implements Serializable {
     private final int numberMaxGames;
 
     private final List<UsersView> usersView;
+    private final long version;
 
     public RoomUsersView(List<UsersView> usersView, int numberActiveGames, int numberGameThreads, int numberMaxGames) {
+        this(usersView, numberActiveGames, numberGameThreads, numberMaxGames, 0);
+    }
+
+    public RoomUsersView(List<UsersView> usersView, int numberActiveGames, int numberGameThreads, int numberMaxGames, long version) {
 
         this.numberActiveGames = numberActiveGames;
         this.numberGameThreads = numberGameThreads;
         this.numberMaxGames = numberMaxGames;
         
         this.usersView = usersView;
+        this.version = version;
     }
 
     public int getNumberActiveGames() {
@@ -69,4 +75,14 @@ public class RoomUsersView implements Serializable {
         return usersView;
     }
 
+    /**
+     * Version of the user list snapshot, increased by the server each time
+     * the content changes.
+     *
+     * @return
+     */
+    public long getVersion() {
+        return version;
+    }
+
 }
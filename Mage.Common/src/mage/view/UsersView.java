@@ -71,4 +71,23 @@ public class UsersView implements Serializable {
         return infoPing;
     }
 
+    /**
+     * The ping info is compared separately (see {@link #hasPing}), because it
+     * changes on almost every ping of the client.
+     */
+    public boolean isSameAs(String flagName, String userName, String infoState, String infoGames) {
+        return equal(this.flagName, flagName)
+                && equal(this.userName, userName)
+                && equal(this.infoState, infoState)
+                && equal(this.infoGames, infoGames);
+    }
+
+    public boolean hasPing(String infoPing) {
+        return equal(this.infoPing, infoPing);
+    }
+
+    private static boolean equal(String one, String two) {
+        return one == null ? two == null : one.equals(two);
+    }
+
 }
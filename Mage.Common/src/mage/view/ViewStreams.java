@@ -0,0 +1,187 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.view;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mage.ObjectColor;
+
+/**
+ * Helper methods for the compact wire format of the card views.
+ *
+ * Nullable values are prefixed with a marker, lists with their size (-1 for
+ * null). Strings read back from the stream that come from a small vocabulary
+ * (types, subtypes, mana symbols) are interned so the client keeps only one
+ * instance of them.
+ *
+ * @author agent
+ */
+final class ViewStreams {
+
+    private ViewStreams() {
+    }
+
+    static void writeString(ObjectOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(ObjectInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeStrings(ObjectOutput out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeShort(-1);
+            return;
+        }
+        out.writeShort(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    static List<String> readStrings(ObjectInput in, boolean intern) throws IOException {
+        int size = in.readShort();
+        if (size < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String value = readString(in);
+            values.add(intern && value != null ? value.intern() : value);
+        }
+        return values;
+    }
+
+    static void writeUUID(ObjectOutput out, UUID value) throws IOException {
+        if (value == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    static UUID readUUID(ObjectInput in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    static void writeUUIDs(ObjectOutput out, List<UUID> values) throws IOException {
+        if (values == null) {
+            out.writeShort(-1);
+            return;
+        }
+        out.writeShort(values.size());
+        for (UUID value : values) {
+            writeUUID(out, value);
+        }
+    }
+
+    static List<UUID> readUUIDs(ObjectInput in) throws IOException {
+        int size = in.readShort();
+        if (size < 0) {
+            return null;
+        }
+        List<UUID> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readUUID(in));
+        }
+        return values;
+    }
+
+    static void writeEnum(ObjectOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    static <T extends Enum<T>> T readEnum(ObjectInput in, Class<T> enumClass) throws IOException {
+        int ordinal = in.readByte();
+        return ordinal < 0 ? null : enumClass.getEnumConstants()[ordinal];
+    }
+
+    static <T extends Enum<T>> void writeEnums(ObjectOutput out, List<T> values) throws IOException {
+        if (values == null) {
+            out.writeByte(-1);
+            return;
+        }
+        out.writeByte(values.size());
+        for (T value : values) {
+            writeEnum(out, value);
+        }
+    }
+
+    static <T extends Enum<T>> List<T> readEnums(ObjectInput in, Class<T> enumClass) throws IOException {
+        int size = in.readByte();
+        if (size < 0) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readEnum(in, enumClass));
+        }
+        return values;
+    }
+
+    static void writeColor(ObjectOutput out, ObjectColor color) throws IOException {
+        if (color == null) {
+            out.writeByte(-1);
+            return;
+        }
+        int bits = 0;
+        bits |= color.isWhite() ? 1 : 0;
+        bits |= color.isBlue() ? 2 : 0;
+        bits |= color.isBlack() ? 4 : 0;
+        bits |= color.isRed() ? 8 : 0;
+        bits |= color.isGreen() ? 16 : 0;
+        out.writeByte(bits);
+    }
+
+    static ObjectColor readColor(ObjectInput in) throws IOException {
+        int bits = in.readByte();
+        if (bits < 0) {
+            return null;
+        }
+        ObjectColor color = new ObjectColor();
+        color.setWhite((bits & 1) != 0);
+        color.setBlue((bits & 2) != 0);
+        color.setBlack((bits & 4) != 0);
+        color.setRed((bits & 8) != 0);
+        color.setGreen((bits & 16) != 0);
+        return color;
+    }
+}
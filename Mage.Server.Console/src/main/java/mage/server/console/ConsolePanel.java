@@ -35,13 +35,20 @@ package mage.server.console;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.awt.BorderLayout;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import static javax.swing.JTable.AUTO_RESIZE_NEXT_COLUMN;
 import static javax.swing.JTable.AUTO_RESIZE_OFF;
+import javax.swing.JScrollPane;
+import javax.swing.JTabbedPane;
+import javax.swing.JTable;
 import javax.swing.SwingWorker;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableRowSorter;
@@ -60,8 +67,10 @@ public class ConsolePanel extends javax.swing.JPanel {
 
     private final TableUserModel tableUserModel;
     private final TableTableModel tableTableModel;
+    private final TableMetricsModel tableMetricsModel;
     private UpdateUsersTask updateUsersTask;
     private UpdateTablesTask updateTablesTask;
+    private UpdateMetricsTask updateMetricsTask;
 
     /** Creates new form ConsolePanel */
     public ConsolePanel() {
@@ -75,6 +84,24 @@ public class ConsolePanel extends javax.swing.JPanel {
         this.tblTables.createDefaultColumnsFromModel();
         this.tblTables.setRowSorter(new TableRowSorter(tableTableModel));
         this.tblUsers.setAutoResizeMode(AUTO_RESIZE_NEXT_COLUMN);
+
+        this.tableMetricsModel = new TableMetricsModel();
+        initMetricsTab();
+    }
+
+    /**
+     * Puts the generated users / tables split pane into a tab and adds a
+     * second tab with the server metrics.
+     */
+    private void initMetricsTab() {
+        JTable tblMetrics = new JTable(tableMetricsModel);
+        tblMetrics.setRowSorter(new TableRowSorter(tableMetricsModel));
+        JTabbedPane tabbedPane = new JTabbedPane();
+        this.removeAll();
+        tabbedPane.addTab("Users / Tables", jSplitPane1);
+        tabbedPane.addTab("Metrics", new JScrollPane(tblMetrics));
+        this.setLayout(new BorderLayout());
+        this.add(tabbedPane, BorderLayout.CENTER);
     }
 
     public void update(List<UserView> users) {
@@ -84,6 +111,10 @@ public class ConsolePanel extends javax.swing.JPanel {
         this.tblUsers.getSelectionModel().setSelectionInterval(row, row);
     }
 
+    public void update(SortedMap<String, Long> metrics) {
+        tableMetricsModel.loadData(metrics);
+    }
+
     public void update(Collection<TableView> tables) {
         int row = this.tblTables.getSelectedRow();
         tableTableModel.loadData(tables);
@@ -95,8 +126,10 @@ public class ConsolePanel extends javax.swing.JPanel {
     public void start() {
         updateUsersTask = new UpdateUsersTask(ConsoleFrame.getSession(), this);
         updateTablesTask = new UpdateTablesTask(ConsoleFrame.getSession(), ConsoleFrame.getSession().getMainRoomId(), this);
+        updateMetricsTask = new UpdateMetricsTask(ConsoleFrame.getSession(), this);
         updateUsersTask.execute();
         updateTablesTask.execute();
+        updateMetricsTask.execute();
     }
 
     public void stop() {
@@ -106,6 +139,9 @@ public class ConsolePanel extends javax.swing.JPanel {
         if (updateTablesTask != null && !updateTablesTask.isDone()) {
             updateTablesTask.cancel(true);
         }
+        if (updateMetricsTask != null && !updateMetricsTask.isDone()) {
+            updateMetricsTask.cancel(true);
+        }
     }
 
     /** This method is called from within the constructor to
@@ -540,3 +576,91 @@ class UpdateTablesTask extends SwingWorker<Void, Collection<TableView>> {
         } catch (CancellationException ex) {}
     }
 }
+
+class TableMetricsModel extends AbstractTableModel {
+    private final String[] columnNames = new String[]{"Metric", "Value"};
+    private final List<Map.Entry<String, Long>> metrics = new ArrayList<>();
+
+    public void loadData(SortedMap<String, Long> metrics) {
+        this.metrics.clear();
+        this.metrics.addAll(metrics.entrySet());
+        this.fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return metrics.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        switch (columnIndex) {
+            case 0:
+                return metrics.get(rowIndex).getKey();
+            case 1:
+                return metrics.get(rowIndex).getValue();
+        }
+        return "";
+    }
+
+    @Override
+    public String getColumnName(int columnIndex) {
+        return columnNames[columnIndex];
+    }
+
+    @Override
+    public Class getColumnClass(int columnIndex) {
+        return columnIndex == 1 ? Long.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+}
+
+class UpdateMetricsTask extends SwingWorker<Void, SortedMap<String, Long>> {
+
+    private final Session session;
+    private final ConsolePanel panel;
+
+    private static final Logger logger = Logger.getLogger(UpdateMetricsTask.class);
+
+    UpdateMetricsTask(Session session, ConsolePanel panel) {
+        this.session = session;
+        this.panel = panel;
+    }
+
+    @Override
+    protected Void doInBackground() throws Exception {
+        while (!isCancelled()) {
+            SortedMap<String, Long> metrics = session.getServerMetrics();
+            if (metrics != null) {
+                this.publish(metrics);
+            }
+            Thread.sleep(5000);
+        }
+        return null;
+    }
+
+    @Override
+    protected void process(List<SortedMap<String, Long>> view) {
+        panel.update(view.get(view.size() - 1));
+    }
+
+    @Override
+    protected void done() {
+        try {
+            get();
+        } catch (InterruptedException ex) {
+            logger.fatal("Update Metrics Task error", ex);
+        } catch (ExecutionException ex) {
+            logger.fatal("Update Metrics Task error", ex);
+        } catch (CancellationException ex) {}
+    }
+}
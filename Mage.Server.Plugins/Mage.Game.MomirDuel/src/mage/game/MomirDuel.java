@@ -126,8 +126,6 @@ class MomirEmblem extends Emblem {
 
 class MomirEffect extends OneShotEffect {
 
-    private static final Random rnd = new Random();
-
     public MomirEffect() {
         super(Outcome.PutCreatureInPlay);
     }
@@ -149,7 +147,7 @@ class MomirEffect extends OneShotEffect {
         CardCriteria criteria = new CardCriteria().types(CardType.CREATURE).convertedManaCost(value);
         List<CardInfo> options = CardRepository.instance.findCards(criteria);
         if (options != null && !options.isEmpty()) {
-            Card card = options.get(rnd.nextInt(options.size())).getCard();
+            Card card = options.get(game.getRandom().nextInt(options.size())).getCard();
             EmptyToken token = new EmptyToken();
             CardUtil.copyTo(token).from(card);
             token.putOntoBattlefield(1, game, source.getSourceId(), source.getControllerId(), false, false);
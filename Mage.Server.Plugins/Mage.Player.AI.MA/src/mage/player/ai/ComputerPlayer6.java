@@ -104,6 +104,8 @@ import mage.players.Player;
 import mage.target.Target;
 import mage.target.TargetCard;
 import mage.target.Targets;
+import mage.util.metrics.MetricsRegistry;
+import mage.util.metrics.Timer;
 import org.apache.log4j.Logger;
 
 /**
@@ -114,6 +116,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
 
     private static final Logger logger = Logger.getLogger(ComputerPlayer6.class);
     private static final ExecutorService pool = Executors.newFixedThreadPool(1);
+    private static final Timer thinkTimer = MetricsRegistry.instance.timer("ai.think");
     protected int maxDepth;
     protected int maxNodes;
     protected int maxThink;
@@ -474,6 +477,15 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
      * @return
      */
     protected Integer addActionsTimed() {
+        long start = thinkTimer.start();
+        try {
+            return addActionsTimedInternal();
+        } finally {
+            thinkTimer.stop(start);
+        }
+    }
+
+    private Integer addActionsTimedInternal() {
         FutureTask<Integer> task = new FutureTask<>(new Callable<Integer>() {
             @Override
             public Integer call() throws Exception {
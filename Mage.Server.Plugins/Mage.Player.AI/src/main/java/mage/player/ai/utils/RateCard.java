@@ -14,6 +14,7 @@ import org.apache.log4j.Logger;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class responsible for reading ratings from resources and rating gived cards.
@@ -23,8 +24,9 @@ import java.util.*;
  */
 public class RateCard {
 
-    private static Map<String, Integer> ratings;
-    private static final Map<String, Integer> rated = new HashMap<>();
+    private static volatile Map<String, Integer> ratings;
+    // bots of different drafts rate cards at the same time
+    private static final Map<String, Integer> rated = new ConcurrentHashMap<>();
     private static Integer min = Integer.MAX_VALUE, max = 0;
 
     /**
@@ -136,12 +138,14 @@ public class RateCard {
      */
     private synchronized static void readRatings() {
         if (ratings == null) {
-            ratings = new HashMap<String, Integer>();
-            readFromFile("/m13.csv");
+            // other threads may only use the ratings after they are read
+            Map<String, Integer> readRatings = new HashMap<>();
+            readFromFile("/m13.csv", readRatings);
+            ratings = readRatings;
         }
     }
     
-    private static void readFromFile(String path) {
+    private static void readFromFile(String path, Map<String, Integer> ratings) {
         try {
             InputStream is = RateCard.class.getResourceAsStream(path);
             Scanner scanner = new Scanner(is);
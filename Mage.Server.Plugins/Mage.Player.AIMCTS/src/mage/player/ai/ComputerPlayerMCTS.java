@@ -408,6 +408,7 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
      */
     protected Game createMCTSGame(Game game) {
         Game mcts = game.copy();
+        mcts.setSimulation(true);
 
         for (Player copyPlayer: mcts.getState().getPlayers().values()) {
             Player origPlayer = game.getState().getPlayers().get(copyPlayer.getId());
@@ -417,7 +418,7 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
                 int handSize = newPlayer.getHand().size();
                 newPlayer.getLibrary().addAll(newPlayer.getHand().getCards(mcts), mcts);
                 newPlayer.getHand().clear();
-                newPlayer.getLibrary().shuffle();
+                newPlayer.getLibrary().shuffle(mcts);
                 for (int i = 0; i < handSize; i++) {
                     Card card = newPlayer.getLibrary().removeFromTop(mcts);
                     card.setZone(Zone.HAND, mcts);
@@ -425,11 +426,10 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
                 }
             }
             else {
-                newPlayer.getLibrary().shuffle();                
+                newPlayer.getLibrary().shuffle(mcts);
             }
             mcts.getState().getPlayers().put(copyPlayer.getId(), newPlayer);
         }
-        mcts.setSimulation(true);
         mcts.resume();
         return mcts;
     }
@@ -336,8 +336,8 @@ public class MCTSNode {
             newPlayer.restore(origPlayer);
             sim.getState().getPlayers().put(copyPlayer.getId(), newPlayer);
         }
-        randomizePlayers(sim, playerId);
         sim.setSimulation(true);
+        randomizePlayers(sim, playerId);
         return sim;
     }
 
@@ -352,7 +352,7 @@ public class MCTSNode {
                 int handSize = player.getHand().size();
                 player.getLibrary().addAll(player.getHand().getCards(game), game);
                 player.getHand().clear();
-                player.getLibrary().shuffle();
+                player.getLibrary().shuffle(game);
                 for (int i = 0; i < handSize; i++) {
                     Card card = player.getLibrary().removeFromTop(game);
                     card.setZone(Zone.HAND, game);
@@ -360,7 +360,7 @@ public class MCTSNode {
                 }
             }
             else {
-                player.getLibrary().shuffle();                
+                player.getLibrary().shuffle(game);
             }
         }
     }
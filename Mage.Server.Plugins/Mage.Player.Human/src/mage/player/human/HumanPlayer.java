@@ -83,6 +83,7 @@ import mage.filter.common.FilterCreatureForCombat;
 import mage.filter.common.FilterCreatureForCombatBlock;
 import mage.filter.predicate.permanent.ControllerIdPredicate;
 import mage.game.Game;
+import mage.game.GameRecorder;
 import mage.game.combat.CombatGroup;
 import mage.game.draft.Draft;
 import mage.game.events.GameEvent;
@@ -91,6 +92,7 @@ import mage.game.permanent.Permanent;
 import mage.game.tournament.Tournament;
 import mage.players.Player;
 import mage.players.PlayerImpl;
+import mage.players.PlayerResponse;
 import mage.target.Target;
 import mage.target.TargetAmount;
 import mage.target.TargetCard;
@@ -146,6 +148,10 @@ public class HumanPlayer extends PlayerImpl {
 
     protected void waitForResponse(Game game) {
         response.clear();
+        GameRecorder recorder = game.getRecorder();
+        if (recorder != null && recorder.replayResponse(game, getId(), response)) {
+            return;
+        }
         logger.debug("Waiting response from player: " + getId());
         game.resumeTimer(getTurnControlledBy());
         synchronized (response) {
@@ -158,6 +164,9 @@ public class HumanPlayer extends PlayerImpl {
                 game.pauseTimer(getTurnControlledBy());
             }
         }
+        if (recorder != null) {
+            recorder.recordResponse(game, getId(), response);
+        }
     }
 
     @Override
@@ -115,6 +115,13 @@ public class ChatManager {
                     return;
                 }
             }
+            if (messageType.equals(MessageType.TALK) && userName != null && !userName.isEmpty()) {
+                User user = UserManager.getInstance().getUser(chatSession.getUserId(userName));
+                if (user != null && !user.isChatMessageAllowed()) {
+                    chatSession.broadcastInfoToUser(user, "You are sending messages too fast. Your message was not sent: " + message);
+                    return;
+                }
+            }
             chatSession.broadcast(userName, message, color, withTime, messageType, soundToPlay);
         }
     }
@@ -30,11 +30,16 @@ package mage.server;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import mage.interfaces.callback.ClientCallback;
+import mage.server.util.ThreadExecutor;
+import mage.utils.CompressUtil;
 import mage.view.ChatMessage;
 import mage.view.ChatMessage.MessageColor;
 import mage.view.ChatMessage.MessageType;
@@ -42,18 +47,35 @@ import mage.view.ChatMessage.SoundToPlay;
 import org.apache.log4j.Logger;
 
 /**
+ * Messages broadcasted to a chat are collected for BATCH_MILLIS and then sent
+ * with one callback per user. Whispers and info messages to single users are
+ * collected the same way, so they keep their order with the other messages.
+ * The last sent messages are kept as history (limited by count and by text
+ * length) and sent to users joining the chat.
  *
  * @author BetaSteward_at_googlemail.com
  */
 public class ChatSession {
 
     private static final Logger logger = Logger.getLogger(ChatSession.class);
+
+    private static final long BATCH_MILLIS = Long.getLong("xmage.chatBatchMillis", 50);
+    private static final int HISTORY_MAX_MESSAGES = 100;
+    private static final int HISTORY_MAX_CHARS = 32 * 1024;
+    // from this number of users a batch is serialized and compressed once for all of them
+    private static final int COMPRESS_MIN_USERS = 8;
+
     private final ConcurrentHashMap<UUID, String> clients = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, UUID> userIds = new ConcurrentHashMap<>();
     private final UUID chatId;
     private final Date createTime;
     private final String info;
     private final DateFormat timeFormatter = SimpleDateFormat.getTimeInstance(SimpleDateFormat.SHORT);
-    private final HashSet<UUID> clientsToRemove = new HashSet<>();
+    private final List<PendingMessage> pending = new ArrayList<>();
+    private boolean flushScheduled;
+    // also locks the joins against the flushes, so a message is either in the history a user gets or sent to the user
+    private final ArrayDeque<ChatMessage> history = new ArrayDeque<>();
+    private int historyChars;
 
     public ChatSession(String info) {
         chatId = UUID.randomUUID();
@@ -65,7 +87,13 @@ public class ChatSession {
         User user = UserManager.getInstance().getUser(userId);
         if (user != null && !clients.containsKey(userId)) {
             String userName = user.getName();
-            clients.put(userId, userName);
+            synchronized (history) {
+                if (!history.isEmpty()) {
+                    user.fireCallback(new ClientCallback("chatHistory", chatId, new ArrayList<>(history)));
+                }
+                clients.put(userId, userName);
+                userIds.put(userName, userId);
+            }
             broadcast(null, userName + " has joined", MessageColor.BLUE, true, MessageType.STATUS);
             logger.trace(userName + " joined chat " + chatId);
         }
@@ -81,7 +109,7 @@ public class ChatSession {
             if (reason != null && userId != null && clients.containsKey(userId)) {
                 String userName = clients.get(userId);
                 if (!reason.equals(DisconnectReason.LostConnection)) { // for lost connection the user will be reconnected or session expire so no remove of chat yet                    
-                    clients.remove(userId);
+                    removeClient(userId);
                     logger.debug(userName + "(" + reason.toString() + ")" + " removed from chatId " + chatId);                    
                 }
                 String message;
@@ -118,7 +146,7 @@ public class ChatSession {
 
     public boolean broadcastInfoToUser(User toUser, String message) {
         if (clients.containsKey(toUser.getId())) {
-            toUser.fireCallback(new ClientCallback("chatMessage", chatId, new ChatMessage(null, message, timeFormatter.format(new Date()), MessageColor.BLUE, MessageType.USER_INFO, null)));
+            send(new PendingMessage(new ChatMessage(null, message, timeFormatter.format(new Date()), MessageColor.BLUE, MessageType.USER_INFO, null), toUser.getId()));
             return true;
         }
         return false;
@@ -126,11 +154,9 @@ public class ChatSession {
 
     public boolean broadcastWhisperToUser(User fromUser, User toUser, String message) {
         if (clients.containsKey(toUser.getId())) {
-            toUser.fireCallback(new ClientCallback("chatMessage", chatId, 
-                    new ChatMessage(new StringBuilder("Whisper from ").append(fromUser.getName()).toString(), message, timeFormatter.format(new Date()), MessageColor.YELLOW, MessageType.WHISPER, SoundToPlay.PlayerWhispered)));
+            send(new PendingMessage(new ChatMessage(new StringBuilder("Whisper from ").append(fromUser.getName()).toString(), message, timeFormatter.format(new Date()), MessageColor.YELLOW, MessageType.WHISPER, SoundToPlay.PlayerWhispered), toUser.getId()));
             if (clients.containsKey(fromUser.getId())) {
-                fromUser.fireCallback(new ClientCallback("chatMessage", chatId,
-                        new ChatMessage(new StringBuilder("Whisper to ").append(toUser.getName()).toString(), message, timeFormatter.format(new Date()), MessageColor.YELLOW, MessageType.WHISPER, null)));
+                send(new PendingMessage(new ChatMessage(new StringBuilder("Whisper to ").append(toUser.getName()).toString(), message, timeFormatter.format(new Date()), MessageColor.YELLOW, MessageType.WHISPER, null), fromUser.getId()));
                 return true;
             }
         }
@@ -151,31 +177,129 @@ public class ChatSession {
 
     public void broadcast(String userName, String message, MessageColor color, boolean withTime, MessageType messageType, SoundToPlay soundToPlay) {
         if (!message.isEmpty()) {
-            boolean remove = false;
-            final String msg = message;
             final String time = (withTime ? timeFormatter.format(new Date()):"");
-            final String username = userName;
-            logger.trace("Broadcasting '" + msg + "' for " + chatId);
-            for (UUID userId: clients.keySet()) {
-                User user = UserManager.getInstance().getUser(userId);
-                if (user != null) {
-                    user.fireCallback(new ClientCallback("chatMessage", chatId, new ChatMessage(username, msg, time, color, messageType, soundToPlay)));
+            if (logger.isTraceEnabled()) {
+                logger.trace("Broadcasting '" + message + "' for " + chatId);
+            }
+            send(new PendingMessage(new ChatMessage(userName, message, time, color, messageType, soundToPlay), null));
+        }
+    }
+
+    private void send(PendingMessage message) {
+        synchronized (pending) {
+            pending.add(message);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        ThreadExecutor.getInstance().getChatExecutor().schedule(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, BATCH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the collected messages to the users of the chat
+     */
+    private void flush() {
+        List<PendingMessage> messages;
+        synchronized (pending) {
+            messages = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<ChatMessage> messagesToAll = new ArrayList<>();
+        boolean messagesToSingleUsers = false;
+        for (PendingMessage message : messages) {
+            if (message.toUserId == null) {
+                messagesToAll.add(message.message);
+            } else {
+                messagesToSingleUsers = true;
+            }
+        }
+        // the data for all users is created only once
+        Object dataToAll = null;
+        if (!messagesToAll.isEmpty()) {
+            dataToAll = getData(messagesToAll);
+            if (clients.size() >= COMPRESS_MIN_USERS) {
+                Object compressed = CompressUtil.compress(dataToAll);
+                if (compressed != null) {
+                    dataToAll = compressed;
                 }
-                else {
+            }
+        }
+        List<UUID> usersToRemove = new ArrayList<>();
+        synchronized (history) {
+            for (ChatMessage message : messagesToAll) {
+                addToHistory(message);
+            }
+            for (UUID userId : clients.keySet()) {
+                User user = UserManager.getInstance().getUser(userId);
+                if (user == null) {
                     logger.error("User not found but connected to chat - userId: " + userId + "  chatId: " + chatId);
-                    clientsToRemove.add(userId);
-                    remove = true;
+                    usersToRemove.add(userId);
+                } else if (messagesToSingleUsers) {
+                    List<ChatMessage> userMessages = new ArrayList<>();
+                    for (PendingMessage message : messages) {
+                        if (message.toUserId == null || message.toUserId.equals(userId)) {
+                            userMessages.add(message.message);
+                        }
+                    }
+                    if (userMessages.size() > messagesToAll.size()) {
+                        user.fireCallback(new ClientCallback(getMethod(userMessages), chatId, getData(userMessages)));
+                    } else if (dataToAll != null) {
+                        user.fireCallback(new ClientCallback(getMethod(messagesToAll), chatId, dataToAll));
+                    }
+                } else {
+                    user.fireCallback(new ClientCallback(getMethod(messagesToAll), chatId, dataToAll));
                 }
             }
-            if (remove) {
-                for (UUID userIdToRemove: clientsToRemove) {
-                    clients.remove(userIdToRemove);
-                }
-                clientsToRemove.clear();
+        }
+        for (UUID userId : usersToRemove) {
+            removeClient(userId);
+        }
+    }
+
+    private static String getMethod(List<ChatMessage> messages) {
+        return messages.size() == 1 ? "chatMessage" : "chatMessages";
+    }
+
+    private static Object getData(List<ChatMessage> messages) {
+        return messages.size() == 1 ? messages.get(0) : messages;
+    }
+
+    private void removeClient(UUID userId) {
+        String userName = clients.remove(userId);
+        if (userName != null) {
+            userIds.remove(userName, userId);
+        }
+    }
+
+    private void addToHistory(ChatMessage chatMessage) {
+        synchronized (history) {
+            history.addLast(chatMessage);
+            historyChars += chatMessage.getMessage().length();
+            while (history.size() > HISTORY_MAX_MESSAGES || (historyChars > HISTORY_MAX_CHARS && history.size() > 1)) {
+                historyChars -= history.removeFirst().getMessage().length();
             }
         }
     }
 
+    /**
+     * @return the last messages of the chat
+     */
+    public List<ChatMessage> getHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
     /**
      * @return the chatId
      */
@@ -187,6 +311,14 @@ public class ChatSession {
         return clients.containsKey(userId);
     }
 
+    /**
+     * @param userName
+     * @return the id of the user of the chat with the given name or null
+     */
+    public UUID getUserId(String userName) {
+        return userIds.get(userName);
+    }
+
     public ConcurrentHashMap<UUID, String> getClients() {
         return clients;
     }
@@ -198,5 +330,17 @@ public class ChatSession {
     public String getInfo() {
         return info;
     }
-    
+
+    private static class PendingMessage {
+
+        private final ChatMessage message;
+        // null if the message is sent to all users of the chat
+        private final UUID toUserId;
+
+        public PendingMessage(ChatMessage message, UUID toUserId) {
+            this.message = message;
+            this.toUserId = toUserId;
+        }
+    }
+
 }
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import mage.MageException;
@@ -69,6 +70,7 @@ import mage.server.tournament.TournamentFactory;
 import mage.server.tournament.TournamentManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.ServerMessagesUtil;
+import mage.server.util.ServerMetrics;
 import mage.server.util.ThreadExecutor;
 import mage.utils.ActionWithBooleanResult;
 import mage.utils.ActionWithNullNegativeResult;
@@ -80,6 +82,7 @@ import mage.view.ChatMessage.MessageColor;
 import mage.view.DraftPickView;
 import mage.view.GameView;
 import mage.view.MatchView;
+import mage.view.RoomTablesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.TournamentView;
@@ -298,6 +301,21 @@ public class MageServerImpl implements MageServer {
         return null;
     }
 
+    @Override
+    public RoomTablesView getTables(UUID roomId, long knownVersion) throws MageException {
+        try {
+            GamesRoom room = GamesRoomManager.getInstance().getRoom(roomId);
+            if (room != null) {
+                return room.getTables(knownVersion);
+            } else {
+                return null;
+            }
+        } catch (Exception ex) {
+            handleException(ex);
+        }
+        return null;
+    }
+
     @Override
     //FIXME: why no sessionId here???
     public List<MatchView> getFinishedMatches(UUID roomId) throws MageException {
@@ -329,6 +347,21 @@ public class MageServerImpl implements MageServer {
         return null;
     }
 
+    @Override
+    public List<RoomUsersView> getRoomUsers(UUID roomId, long knownVersion) throws MageException {
+        try {
+            GamesRoom room = GamesRoomManager.getInstance().getRoom(roomId);
+            if (room != null) {
+                return room.getRoomUsersInfo(knownVersion);
+            } else {
+                return null;
+            }
+        } catch (Exception ex) {
+            handleException(ex);
+        }
+        return null;
+    }
+
     @Override
     //FIXME: why no sessionId here???
     public TableView getTable(UUID roomId, UUID tableId) throws MageException {
@@ -1032,6 +1065,16 @@ public class MageServerImpl implements MageServer {
         }
     }
 
+    @Override
+    public SortedMap<String, Long> getServerMetrics(String sessionId) throws MageException {
+        return executeWithResult("getServerMetrics", sessionId, new ActionWithNullNegativeResult<SortedMap<String, Long>>() {
+            @Override
+            public SortedMap<String, Long> execute() throws MageException {
+                return ServerMetrics.getInstance().getSnapshot();
+            }
+        }, true);
+    }
+
     protected void execute(final String actionName, final String sessionId, final Action action, boolean checkAdminRights) throws MageException {
         if (checkAdminRights) {
             if (!SessionManager.getInstance().isAdmin(sessionId)) {
@@ -41,6 +41,7 @@ import mage.server.tournament.TournamentFactory;
 import mage.server.util.ConfigSettings;
 import mage.server.util.PluginClassLoader;
 import mage.server.util.ServerMessagesUtil;
+import mage.server.util.ServerMetrics;
 import mage.server.util.SystemUtil;
 import mage.server.util.config.GamePlugin;
 import mage.server.util.config.Plugin;
@@ -173,6 +174,7 @@ public class Main {
 
     static void initStatistics() {
         ServerMessagesUtil.getInstance().setStartDate(System.currentTimeMillis());
+        ServerMetrics.getInstance().init();
     }
 
     static boolean isAlreadyRunning(InvokerLocator serverLocator) {
@@ -346,7 +348,7 @@ public class Main {
             new FilenameFilter() {
                 @Override
                 public boolean accept(File dir, String name) {
-                    return name.endsWith(".game");
+                    return name.endsWith(".game") || name.endsWith(".replay");
                 }
             }
         );
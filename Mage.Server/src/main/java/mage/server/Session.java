@@ -27,11 +27,16 @@
  */
 package mage.server;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -42,6 +47,9 @@ import mage.players.net.UserData;
 import mage.players.net.UserGroup;
 import mage.server.game.GamesRoomManager;
 import mage.server.util.ConfigSettings;
+import mage.util.metrics.Counter;
+import mage.util.metrics.Gauge;
+import mage.util.metrics.MetricsRegistry;
 import org.apache.log4j.Logger;
 import org.jboss.remoting.callback.AsynchInvokerCallbackHandler;
 import org.jboss.remoting.callback.Callback;
@@ -56,6 +64,23 @@ public class Session {
 
     private static final Logger logger = Logger.getLogger(Session.class);
 
+    // measuring the size of the callbacks needs an extra serialization, so it's only done if explicit activated
+    private static final boolean measureCallbackBytes = Boolean.getBoolean("xmage.metrics.callbackBytes");
+    private static final AtomicInteger callbacksInProgress = new AtomicInteger();
+    // the registry counters per callback method, shared by all sessions like the counters themselves,
+    // so the names aren't built and looked up again for every callback
+    private static final ConcurrentHashMap<String, Counter> callbackCounters = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Counter> callbackBytesCounters = new ConcurrentHashMap<>();
+
+    static {
+        MetricsRegistry.instance.gauge("callback.inProgress", new Gauge() {
+            @Override
+            public long getValue() {
+                return callbacksInProgress.get();
+            }
+        });
+    }
+
     private final String sessionId;
     private UUID userId;
     private String host;
@@ -246,8 +271,15 @@ public class Session {
     }
 
     public void fireCallback(final ClientCallback call) {
+        callbacksInProgress.incrementAndGet();
         try {
             call.setMessageId(messageId++);
+            if (MetricsRegistry.isEnabled()) {
+                getCounter(callbackCounters, call.getMethod(), ".count").increment();
+                if (measureCallbackBytes) {
+                    getCounter(callbackBytesCounters, call.getMethod(), ".bytes").add(getSerializedSize(call));
+                }
+            }
             callbackHandler.handleCallbackOneway(new Callback(call));
         } catch (HandleCallbackException ex) {
             User user = UserManager.getInstance().getUser(userId);
@@ -256,6 +288,42 @@ public class Session {
             logger.warn(" - cause: " + getBasicCause(ex).toString());
             logger.trace("Stack trace:", ex);
             userLostConnection();
+        } finally {
+            callbacksInProgress.decrementAndGet();
+        }
+    }
+
+    private static Counter getCounter(ConcurrentHashMap<String, Counter> counters, String method, String suffix) {
+        Counter counter = counters.get(method);
+        if (counter == null) {
+            counter = MetricsRegistry.instance.counter("callback." + method + suffix);
+            counters.putIfAbsent(method, counter);
+        }
+        return counter;
+    }
+
+    private static long getSerializedSize(ClientCallback call) {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            out.writeObject(call);
+        } catch (IOException ex) {
+            logger.debug("Could not measure callback size: " + call.getMethod(), ex);
+        }
+        return counter.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
         }
     }
 
@@ -27,6 +27,8 @@
  */
 package mage.server;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
@@ -59,11 +61,13 @@ import mage.game.tournament.TournamentPlayer;
 import mage.players.Player;
 import mage.server.draft.DraftManager;
 import mage.server.game.DeckValidatorFactory;
+import mage.server.game.GameActionLog;
 import mage.server.game.GameFactory;
 import mage.server.game.GameManager;
 import mage.server.game.PlayerFactory;
 import mage.server.services.LogKeys;
 import mage.server.services.impl.LogServiceImpl;
+import mage.server.services.impl.ResultServiceImpl;
 import mage.server.tournament.TournamentController;
 import mage.server.tournament.TournamentFactory;
 import mage.server.tournament.TournamentManager;
@@ -503,6 +507,9 @@ public class TableController {
                                 }
                                 match.quitMatch(playerId);
                             }
+                            if (table.isTournamentSubTable()) {
+                                table.getTournament().checkRoundOver();
+                            }
                         }
                     }
                 }
@@ -608,6 +615,10 @@ public class TableController {
     public synchronized void startTournament(UUID userId) {
         try {
             if (userId.equals(this.userId) && table.getState().equals(TableState.STARTING)) {
+                if (!Main.isTestMode() && !validateTournamentDecks()) {
+                    table.setState(TableState.READY_TO_START);
+                    return;
+                }
                 tournament.setStartTime();
                 TournamentManager.getInstance().createTournamentSession(tournament, userPlayerMap, table.getId());
                 for (Entry<UUID, UUID> entry : userPlayerMap.entrySet()) {
@@ -626,6 +637,46 @@ public class TableController {
         }
     }
 
+    /**
+     * Validates the registered decks of a constructed tournament together, so
+     * the legality data of the format is built once for all players. The
+     * decks of limited tournaments are built later and validated on submit.
+     *
+     * @return false if a deck is no longer valid (the owner is informed)
+     */
+    private boolean validateTournamentDecks() {
+        if (tournament.getTournamentType().isLimited()) {
+            return true;
+        }
+        List<TournamentPlayer> players = new ArrayList<>();
+        List<Deck> decks = new ArrayList<>();
+        for (TournamentPlayer tournamentPlayer : tournament.getPlayers()) {
+            if (tournamentPlayer.getDeck() != null) {
+                players.add(tournamentPlayer);
+                decks.add(tournamentPlayer.getDeck());
+            }
+        }
+        List<Map<String, String>> results = table.getValidator().validate(decks);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isEmpty()) {
+                sb.append(players.get(i).getPlayer().getName()).append(" has an invalid deck for the selected ")
+                        .append(table.getValidator().getName()).append(" Format.\n");
+                for (Map.Entry<String, String> entry : results.get(i).entrySet()) {
+                    sb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+                }
+            }
+        }
+        if (sb.length() == 0) {
+            return true;
+        }
+        User owner = UserManager.getInstance().getUser(userId);
+        if (owner != null) {
+            owner.showUserMessage("Start tournament", sb.toString());
+        }
+        return false;
+    }
+
     public void startDraft(Draft draft) {
         table.initDraft();
         DraftManager.getInstance().createDraftSession(draft, userPlayerMap, table.getId());
@@ -686,11 +737,15 @@ public class TableController {
         }
         UUID choosingPlayerId = match.getChooser();
         match.endGame();
+        ResultServiceImpl.instance.gameEnded(game);
         if (ConfigSettings.getInstance().isSaveGameActivated() && !game.isSimulation()) {
             if (GameManager.getInstance().saveGame(game.getId())) {
                 match.setReplayAvailable(true);
             }
         }
+        if (ConfigSettings.getInstance().isRecordGameActivated() && GameActionLog.getFile(game.getId()).exists()) {
+            match.setReplayAvailable(true);
+        }
         GameManager.getInstance().removeGame(game.getId());
         try {
             if (!match.hasEnded()) {
@@ -779,8 +834,14 @@ public class TableController {
                     }
                 }
             }
+            if (!table.getState().equals(TableState.FINISHED)) { // the table may be closed again on cleanup
+                ResultServiceImpl.instance.matchEnded(match);
+            }
             // free resources no longer needed
             match.cleanUpOnMatchEnd(ConfigSettings.getInstance().isSaveGameActivated(), table.isTournament());
+            if (table.isTournamentSubTable()) {
+                table.getTournament().checkRoundOver();
+            }
         }
     }
 
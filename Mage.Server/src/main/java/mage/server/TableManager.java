@@ -346,6 +346,10 @@ public class TableManager {
                     game.end();
                 }                
             }
+            // the match of a removed sub table may have ended without a match end of its controller
+            if (table.isTournamentSubTable() && table.getTournament() != null) {
+                table.getTournament().checkRoundOver();
+            }
                         
             // If table is not finished, the table has to be removed completly because it's not a normal state (if finished it will be removed in GamesRoomImpl.Update())
             if (!table.getState().equals(TableState.FINISHED)) {
@@ -61,6 +61,10 @@ public class User {
 
     private static final Logger logger = Logger.getLogger(User.class);
 
+    // a user can send CHAT_BURST chat messages at once, after that one message each CHAT_INTERVAL_MILLIS
+    private static final int CHAT_BURST = 5;
+    private static final long CHAT_INTERVAL_MILLIS = 1000;
+
     public enum UserState {
 
         Created, Connected, Disconnected, Reconnected, Expired;
@@ -84,6 +88,7 @@ public class User {
     private Date lastActivity;
     private UserState userState;
     private UserData userData;
+    private long chatAllowedTime;
 
     public User(String userName, String host) {
         this.userId = UUID.randomUUID();
@@ -517,6 +522,22 @@ public class User {
         return userState;
     }
 
+    /**
+     * Checks and counts a chat message the user wants to send. Returns false
+     * if the user sends messages faster than allowed.
+     *
+     * @return
+     */
+    public synchronized boolean isChatMessageAllowed() {
+        long now = System.currentTimeMillis();
+        long next = Math.max(chatAllowedTime, now);
+        if (next - now > (CHAT_BURST - 1) * CHAT_INTERVAL_MILLIS) {
+            return false;
+        }
+        chatAllowedTime = next + CHAT_INTERVAL_MILLIS;
+        return true;
+    }
+
     public String getPingInfo() {
         if (isConnected()) {
             return pingInfo;
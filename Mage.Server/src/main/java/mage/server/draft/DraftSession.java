@@ -31,14 +31,12 @@ package mage.server.draft;
 import java.rmi.RemoteException;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import mage.game.draft.Draft;
+import mage.game.draft.DraftScheduler;
 import mage.interfaces.callback.ClientCallback;
 import mage.server.User;
 import mage.server.UserManager;
-import mage.server.util.ThreadExecutor;
 import mage.view.DraftClientMessage;
 import mage.view.DraftPickView;
 import mage.view.DraftView;
@@ -58,8 +56,7 @@ public class DraftSession {
     protected boolean killed = false;
     protected UUID markedCard;
 
-    private ScheduledFuture<?> futureTimeout;
-    protected static ScheduledExecutorService timeoutExecutor = ThreadExecutor.getInstance().getTimeoutExecutor();
+    private volatile DraftScheduler.Deadline pickDeadline;
 
     public DraftSession(Draft draft, UUID userId, UUID playerId) {
         this.userId = userId;
@@ -72,8 +69,9 @@ public class DraftSession {
         if (!killed) {
             User user = UserManager.getInstance().getUser(userId);
             if (user != null) {
-                if (futureTimeout != null && !futureTimeout.isDone()) {
-                    int remaining = (int) futureTimeout.getDelay(TimeUnit.SECONDS);
+                DraftScheduler.Deadline deadline = pickDeadline;
+                if (deadline != null && deadline.getDelay(TimeUnit.SECONDS) > 0) {
+                    int remaining = (int) deadline.getDelay(TimeUnit.SECONDS);
                     user.fireCallback(new ClientCallback("draftInit", draft.getId(), new DraftClientMessage(getDraftPickView(remaining))));
                 }
                 return true;
@@ -124,22 +122,20 @@ public class DraftSession {
     private synchronized void setupTimeout(int seconds) {
         cancelTimeout();
         if (seconds > 0) {
-            futureTimeout = timeoutExecutor.schedule(
+            pickDeadline = DraftScheduler.getInstance().addDeadline(seconds,
                 new Runnable() {
                     @Override
                     public void run() {
                         DraftManager.getInstance().timeout(draft.getId(), userId);
                     }
-                },
-                seconds, TimeUnit.SECONDS
+                }
             );
         }
     }
 
     private synchronized void cancelTimeout() {
-        if (futureTimeout != null) {
-            futureTimeout.cancel(false);
-        }
+        DraftScheduler.getInstance().removeDeadline(pickDeadline);
+        pickDeadline = null;
     }
 
     protected void handleRemoteException(RemoteException ex) {
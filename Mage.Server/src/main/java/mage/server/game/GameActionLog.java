@@ -0,0 +1,376 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.server.game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import mage.MageObject;
+import mage.abilities.Ability;
+import mage.abilities.Mode;
+import mage.cards.Card;
+import mage.cards.SplitCard;
+import mage.game.Game;
+import mage.game.permanent.Permanent;
+import mage.game.stack.StackObject;
+
+/**
+ * The action log of a recorded game. It holds the random seed of the game, the
+ * decks of the players and the ordered decisions of the players, a replay
+ * executes the game again with the same seed and these decisions.
+ *
+ * The objects of a game get random ids, so a replay can't use the recorded
+ * ids. Ids are written as references that can be resolved in the replayed
+ * game: players by seat, cards by their position in the decks and other
+ * objects by their position in the game (battlefield, stack, abilities of an
+ * object).
+ *
+ * @author agent
+ */
+public class GameActionLog {
+
+    public static final int MAGIC = 0x58414C47; // XALG
+    public static final int VERSION = 2;
+
+    // record types
+    public static final int RESPONSE = 1;
+    public static final int PLAYER_ACTION = 2;
+    public static final int TIMER_TIMEOUT = 3;
+    public static final int IDLE_TIMEOUT = 4;
+    public static final int ROLLBACK_TURNS = 5;
+
+    // content of a response
+    public static final int RESPONSE_STRING = 1;
+    public static final int RESPONSE_UUID = 2;
+    public static final int RESPONSE_BOOLEAN = 4;
+    public static final int RESPONSE_INTEGER = 8;
+    public static final int RESPONSE_MANA_TYPE = 16;
+    public static final int RESPONSE_MANA_TYPE_PLAYER = 32;
+
+    // kinds of references
+    private static final int REF_NULL = 0;
+    private static final int REF_PLAYER = 1;
+    private static final int REF_CARD = 2;
+    private static final int REF_PERMANENT = 3;
+    private static final int REF_STACK = 4;
+    private static final int REF_ABILITY = 5;
+    private static final int REF_MODE = 6;
+    private static final int REF_TRIGGERED = 7;
+    private static final int REF_SPECIAL_ACTION = 8;
+    private static final int REF_ID = 9;
+
+    private final List<UUID> playerIds;
+    private final List<Card> cards;
+    private final Map<UUID, Integer> cardIndex = new HashMap<>();
+
+    /**
+     * @param playerIds the players in seat order
+     * @param cards the cards of the decks in the order they are written to the
+     * log
+     */
+    public GameActionLog(List<UUID> playerIds, List<Card> cards) {
+        this.playerIds = playerIds;
+        this.cards = cards;
+        for (int i = 0; i < cards.size(); i++) {
+            cardIndex.put(cards.get(i).getId(), i);
+        }
+    }
+
+    public static File getFile(UUID gameId) {
+        return new File("saved", gameId.toString() + ".actions");
+    }
+
+    public static void writeId(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    public static UUID readId(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    public int getSeat(UUID playerId) {
+        return playerIds.indexOf(playerId);
+    }
+
+    public UUID getPlayerId(int seat) {
+        if (seat >= 0 && seat < playerIds.size()) {
+            return playerIds.get(seat);
+        }
+        return null;
+    }
+
+    /**
+     * Writes a reference to an object of the game
+     *
+     * @param out
+     * @param game
+     * @param playerId the player that has answered
+     * @param id
+     * @throws IOException
+     */
+    public void writeRef(DataOutput out, Game game, UUID playerId, UUID id) throws IOException {
+        if (id == null) {
+            out.writeByte(REF_NULL);
+            return;
+        }
+        int seat = playerIds.indexOf(id);
+        if (seat >= 0) {
+            out.writeByte(REF_PLAYER);
+            out.writeByte(seat);
+            return;
+        }
+        if (writeObjectRef(out, game, id)) {
+            return;
+        }
+        int index = indexOf(game.getState().getTriggered(playerId), id);
+        if (index >= 0) {
+            out.writeByte(REF_TRIGGERED);
+            out.writeShort(index);
+            return;
+        }
+        index = indexOf(game.getState().getSpecialActions(), id);
+        if (index >= 0) {
+            out.writeByte(REF_SPECIAL_ACTION);
+            out.writeShort(index);
+            return;
+        }
+        if (writeAbilityRef(out, game, id)) {
+            return;
+        }
+        out.writeByte(REF_ID);
+        writeId(out, id);
+    }
+
+    /**
+     * Reads a reference written by writeRef and returns the id of the object
+     * in the replayed game
+     *
+     * @param in
+     * @param game
+     * @param playerId the player that has answered
+     * @return
+     * @throws IOException
+     */
+    public UUID readRef(DataInput in, Game game, UUID playerId) throws IOException {
+        int kind = in.readUnsignedByte();
+        switch (kind) {
+            case REF_NULL:
+                return null;
+            case REF_PLAYER:
+                return getPlayerId(in.readUnsignedByte());
+            case REF_TRIGGERED:
+                return idAt(game.getState().getTriggered(playerId), in.readUnsignedShort());
+            case REF_SPECIAL_ACTION:
+                return idAt(game.getState().getSpecialActions(), in.readUnsignedShort());
+            case REF_ABILITY: {
+                MageObject object = readObject(in, game);
+                int abilityIndex = in.readUnsignedShort();
+                return object == null ? null : idAt(object.getAbilities(), abilityIndex);
+            }
+            case REF_MODE: {
+                MageObject object = readObject(in, game);
+                int abilityIndex = in.readUnsignedShort();
+                int modeIndex = in.readUnsignedShort();
+                if (object != null && abilityIndex < object.getAbilities().size()) {
+                    Ability ability = object.getAbilities().get(abilityIndex);
+                    return idAt(ability.getModes().values(), modeIndex);
+                }
+                return null;
+            }
+            case REF_ID:
+                return readId(in);
+            default:
+                MageObject object = readObject(kind, in, game);
+                return object == null ? null : object.getId();
+        }
+    }
+
+    private boolean writeObjectRef(DataOutput out, Game game, UUID id) throws IOException {
+        Integer index = cardIndex.get(id);
+        if (index != null) {
+            out.writeByte(REF_CARD);
+            out.writeShort(index);
+            out.writeByte(0);
+            return true;
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i) instanceof SplitCard) {
+                SplitCard splitCard = (SplitCard) cards.get(i);
+                int part = splitCard.getLeftHalfCard().getId().equals(id) ? 1 : splitCard.getRightHalfCard().getId().equals(id) ? 2 : 0;
+                if (part > 0) {
+                    out.writeByte(REF_CARD);
+                    out.writeShort(i);
+                    out.writeByte(part);
+                    return true;
+                }
+            }
+        }
+        int i = 0;
+        for (Permanent permanent : game.getBattlefield().getAllPermanents()) {
+            if (permanent.getId().equals(id)) {
+                out.writeByte(REF_PERMANENT);
+                out.writeShort(i);
+                return true;
+            }
+            i++;
+        }
+        i = 0;
+        for (StackObject stackObject : game.getStack()) {
+            if (stackObject.getId().equals(id)) {
+                out.writeByte(REF_STACK);
+                out.writeShort(i);
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    private boolean writeAbilityRef(DataOutput out, Game game, UUID id) throws IOException {
+        int i = 0;
+        for (Permanent permanent : game.getBattlefield().getAllPermanents()) {
+            if (writeAbilityRef(out, permanent, REF_PERMANENT, i, 0, id)) {
+                return true;
+            }
+            i++;
+        }
+        for (i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            if (writeAbilityRef(out, card, REF_CARD, i, 0, id)) {
+                return true;
+            }
+            if (card instanceof SplitCard) {
+                if (writeAbilityRef(out, ((SplitCard) card).getLeftHalfCard(), REF_CARD, i, 1, id)
+                        || writeAbilityRef(out, ((SplitCard) card).getRightHalfCard(), REF_CARD, i, 2, id)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean writeAbilityRef(DataOutput out, MageObject object, int kind, int index, int part, UUID id) throws IOException {
+        int abilityIndex = 0;
+        for (Ability ability : object.getAbilities()) {
+            if (ability.getId().equals(id)) {
+                out.writeByte(REF_ABILITY);
+                writeObject(out, kind, index, part);
+                out.writeShort(abilityIndex);
+                return true;
+            }
+            int modeIndex = 0;
+            for (Mode mode : ability.getModes().values()) {
+                if (mode.getId().equals(id)) {
+                    out.writeByte(REF_MODE);
+                    writeObject(out, kind, index, part);
+                    out.writeShort(abilityIndex);
+                    out.writeShort(modeIndex);
+                    return true;
+                }
+                modeIndex++;
+            }
+            abilityIndex++;
+        }
+        return false;
+    }
+
+    private void writeObject(DataOutput out, int kind, int index, int part) throws IOException {
+        out.writeByte(kind);
+        out.writeShort(index);
+        if (kind == REF_CARD) {
+            out.writeByte(part);
+        }
+    }
+
+    private MageObject readObject(DataInput in, Game game) throws IOException {
+        return readObject(in.readUnsignedByte(), in, game);
+    }
+
+    private MageObject readObject(int kind, DataInput in, Game game) throws IOException {
+        int index = in.readUnsignedShort();
+        switch (kind) {
+            case REF_CARD:
+                int part = in.readUnsignedByte();
+                if (index >= cards.size()) {
+                    return null;
+                }
+                Card card = cards.get(index);
+                if (part > 0 && card instanceof SplitCard) {
+                    return part == 1 ? ((SplitCard) card).getLeftHalfCard() : ((SplitCard) card).getRightHalfCard();
+                }
+                return card;
+            case REF_PERMANENT:
+                return elementAt(game.getBattlefield().getAllPermanents(), index);
+            case REF_STACK:
+                return elementAt(game.getStack(), index);
+            default:
+                throw new IOException("Unknown reference type " + kind);
+        }
+    }
+
+    private static int indexOf(Iterable<? extends Ability> abilities, UUID id) {
+        int i = 0;
+        for (Ability ability : abilities) {
+            if (ability.getId().equals(id)) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static UUID idAt(Iterable<?> objects, int index) {
+        Object object = elementAt(objects, index);
+        if (object instanceof Ability) {
+            return ((Ability) object).getId();
+        }
+        if (object instanceof Mode) {
+            return ((Mode) object).getId();
+        }
+        return null;
+    }
+
+    private static <T> T elementAt(Iterable<T> objects, int index) {
+        Iterator<T> iterator = objects.iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            T object = iterator.next();
+            if (i == index) {
+                return object;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.server.game;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import mage.cards.Card;
+import mage.cards.decks.Deck;
+import mage.constants.PlayerAction;
+import mage.game.Game;
+import mage.game.GameOptions;
+import mage.game.GameRecorder;
+import mage.game.match.Match;
+import mage.game.match.MatchPlayer;
+import mage.players.Player;
+import mage.players.PlayerResponse;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes the action log of a game (see GameActionLog). The log is append
+ * only, every decision is written as soon as it was made, so a recording
+ * costs only a few bytes per decision instead of copies of the game state.
+ *
+ * Only games without AI players are recorded, the decisions of AI players are
+ * not made by the rules of the game and can't be repeated.
+ *
+ * @author agent
+ */
+public class GameActionRecorder implements GameRecorder {
+
+    private static final Logger logger = Logger.getLogger(GameActionRecorder.class);
+
+    private final UUID gameId;
+    private final GameActionLog log;
+    private DataOutputStream out;
+
+    private GameActionRecorder(UUID gameId, GameActionLog log, DataOutputStream out) {
+        this.gameId = gameId;
+        this.log = log;
+        this.out = out;
+    }
+
+    /**
+     * Starts the recording of a game. The cards of the players have to be
+     * loaded already.
+     *
+     * @param game
+     * @param match
+     * @param choosingPlayerId
+     * @param options
+     * @return the recorder or null if the game can't be recorded
+     */
+    public static GameActionRecorder start(Game game, Match match, UUID choosingPlayerId, GameOptions options) {
+        List<UUID> playerIds = new ArrayList<>();
+        List<Deck> decks = new ArrayList<>();
+        for (Player player : game.getState().getPlayers().values()) {
+            MatchPlayer matchPlayer = match.getPlayer(player.getId());
+            if (!player.isHuman() || matchPlayer == null || matchPlayer.getDeck() == null) {
+                return null;
+            }
+            playerIds.add(player.getId());
+            decks.add(matchPlayer.getDeck());
+        }
+        List<Card> cards = new ArrayList<>();
+        for (Deck deck : decks) {
+            cards.addAll(deck.getCards());
+            cards.addAll(deck.getSideboard());
+        }
+        File file = GameActionLog.getFile(game.getId());
+        DataOutputStream out = null;
+        try {
+            file.getParentFile().mkdirs();
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            out.writeInt(GameActionLog.MAGIC);
+            out.writeShort(GameActionLog.VERSION);
+            GameActionLog.writeId(out, game.getId());
+            out.writeLong(game.getSeed());
+            out.writeUTF(game.getClass().getName());
+            out.writeUTF(game.getAttackOption().name());
+            out.writeUTF(game.getRangeOfInfluence().name());
+            out.writeShort(game.getFreeMulligans());
+            out.writeInt(game.getLife());
+            out.writeBoolean(options.testMode);
+            out.writeInt(options.stopOnTurn == null ? -1 : options.stopOnTurn);
+            out.writeUTF(options.stopAtStep.name());
+            out.writeBoolean(options.skipInitShuffling);
+            out.writeBoolean(options.rollbackTurnsAllowed);
+            out.writeByte(playerIds.indexOf(choosingPlayerId));
+            out.writeByte(playerIds.size());
+            for (int i = 0; i < playerIds.size(); i++) {
+                Player player = game.getPlayer(playerIds.get(i));
+                out.writeUTF(player.getName());
+                writeUserData(out, player);
+                writeCards(out, decks.get(i).getCards());
+                writeCards(out, decks.get(i).getSideboard());
+            }
+            out.flush();
+            logger.debug("Recording game: " + game.getId());
+            return new GameActionRecorder(game.getId(), new GameActionLog(playerIds, cards), out);
+        } catch (IOException ex) {
+            logger.error("Cannot record game: " + game.getId(), ex);
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void writeUserData(DataOutputStream out, Player player) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream userData = new ObjectOutputStream(bytes)) {
+            userData.writeObject(player.getUserData());
+        }
+        out.writeShort(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    private static void writeCards(DataOutputStream out, Collection<Card> cards) throws IOException {
+        out.writeShort(cards.size());
+        for (Card card : cards) {
+            out.writeUTF(card.getExpansionSetCode());
+            out.writeInt(card.getCardNumber());
+        }
+    }
+
+    @Override
+    public boolean replayResponse(Game game, UUID playerId, PlayerResponse response) {
+        return false;
+    }
+
+    @Override
+    public synchronized void recordResponse(Game game, UUID playerId, PlayerResponse response) {
+        if (out == null) {
+            return;
+        }
+        try {
+            int content = 0;
+            content |= response.getString() != null ? GameActionLog.RESPONSE_STRING : 0;
+            content |= response.getUUID() != null ? GameActionLog.RESPONSE_UUID : 0;
+            content |= response.getBoolean() != null ? GameActionLog.RESPONSE_BOOLEAN : 0;
+            content |= response.getInteger() != null ? GameActionLog.RESPONSE_INTEGER : 0;
+            content |= response.getManaType() != null ? GameActionLog.RESPONSE_MANA_TYPE : 0;
+            content |= response.getResponseManaTypePlayerId() != null ? GameActionLog.RESPONSE_MANA_TYPE_PLAYER : 0;
+            out.writeByte(GameActionLog.RESPONSE);
+            out.writeByte(log.getSeat(playerId));
+            out.writeByte(content);
+            if (response.getString() != null) {
+                out.writeUTF(response.getString());
+            }
+            if (response.getUUID() != null) {
+                log.writeRef(out, game, playerId, response.getUUID());
+            }
+            if (response.getBoolean() != null) {
+                out.writeBoolean(response.getBoolean());
+            }
+            if (response.getInteger() != null) {
+                out.writeInt(response.getInteger());
+            }
+            if (response.getManaType() != null) {
+                out.writeUTF(response.getManaType().name());
+            }
+            if (response.getResponseManaTypePlayerId() != null) {
+                log.writeRef(out, game, playerId, response.getResponseManaTypePlayerId());
+            }
+            out.flush();
+        } catch (IOException ex) {
+            failed(ex);
+        }
+    }
+
+    /**
+     * A player action that changes the game (e.g. concede, undo or pass until
+     * next turn)
+     *
+     * @param playerId
+     * @param playerAction
+     * @param data
+     */
+    public synchronized void recordPlayerAction(UUID playerId, PlayerAction playerAction, Object data) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.writeByte(GameActionLog.PLAYER_ACTION);
+            out.writeByte(log.getSeat(playerId));
+            out.writeUTF(playerAction.name());
+            if (data instanceof Integer) {
+                out.writeByte(1);
+                out.writeInt((Integer) data);
+            } else if (data instanceof Boolean) {
+                out.writeByte(2);
+                out.writeBoolean((Boolean) data);
+            } else if (data instanceof String) {
+                out.writeByte(3);
+                out.writeUTF((String) data);
+            } else if (data instanceof UUID) {
+                out.writeByte(4);
+                GameActionLog.writeId(out, (UUID) data);
+            } else {
+                out.writeByte(0);
+            }
+            out.flush();
+        } catch (IOException ex) {
+            failed(ex);
+        }
+    }
+
+    public synchronized void recordTimeout(UUID playerId, boolean idle) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.writeByte(idle ? GameActionLog.IDLE_TIMEOUT : GameActionLog.TIMER_TIMEOUT);
+            out.writeByte(log.getSeat(playerId));
+            out.flush();
+        } catch (IOException ex) {
+            failed(ex);
+        }
+    }
+
+    public synchronized void recordRollbackTurns(int turns) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.writeByte(GameActionLog.ROLLBACK_TURNS);
+            out.writeShort(turns);
+            out.flush();
+        } catch (IOException ex) {
+            failed(ex);
+        }
+    }
+
+    public synchronized void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ex) {
+                logger.error("Cannot close the record of game: " + gameId, ex);
+            }
+            out = null;
+        }
+    }
+
+    private void failed(IOException ex) {
+        logger.error("Recording of game stopped: " + gameId, ex);
+        close();
+    }
+}
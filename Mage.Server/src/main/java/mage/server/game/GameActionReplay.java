@@ -0,0 +1,448 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.server.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.SynchronousQueue;
+import mage.cards.Card;
+import mage.cards.decks.Deck;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
+import mage.constants.ManaType;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.PhaseStep;
+import mage.constants.PlayerAction;
+import mage.constants.RangeOfInfluence;
+import mage.game.Game;
+import mage.game.GameException;
+import mage.game.GameOptions;
+import mage.game.GameRecorder;
+import mage.game.GameState;
+import mage.players.Player;
+import mage.players.PlayerResponse;
+import mage.players.net.UserData;
+import mage.server.Main;
+import org.apache.log4j.Logger;
+
+/**
+ * Replays a game from its action log (see GameActionLog). The game is
+ * executed again by the rules engine, the recorded decisions are given to the
+ * players instead of waiting for their answers.
+ *
+ * The game runs in its own thread and is halted at every decision until the
+ * next state is requested. Copies of the game state are kept for the last
+ * decisions as checkpoints, so stepping back is fast. The engine can't
+ * continue from a copied state, so going back behind the checkpoints executes
+ * the game again from the start up to the requested decision.
+ *
+ * @author agent
+ */
+public class GameActionReplay {
+
+    private static final Logger logger = Logger.getLogger(GameActionReplay.class);
+
+    private static final int CHECKPOINTS = 32;
+    private static final Object END = new Object();
+    private static final Object SKIPPED = new Object();
+
+    private final UUID gameId;
+    private final byte[] data;
+
+    private Run run;
+    private boolean finished;
+    // number of states the engine has produced and the index of the shown state
+    private int position;
+    private int shown;
+    private final Map<Integer, GameState> checkpoints = new LinkedHashMap<Integer, GameState>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, GameState> eldest) {
+            return size() > CHECKPOINTS;
+        }
+    };
+
+    public GameActionReplay(UUID gameId) throws IOException {
+        this.gameId = gameId;
+        File file = GameActionLog.getFile(gameId);
+        this.data = new byte[(int) file.length()];
+        try (InputStream input = new FileInputStream(file)) {
+            int read = 0;
+            while (read < data.length) {
+                int count = input.read(data, read, data.length - read);
+                if (count < 0) {
+                    throw new EOFException();
+                }
+                read += count;
+            }
+        }
+    }
+
+    public synchronized void start() throws GameException {
+        stop();
+        Run newRun = new Run();
+        try {
+            newRun.createGame();
+        } catch (IOException | ReflectiveOperationException | ClassCastException ex) {
+            throw new GameException("Cannot replay game " + gameId + ": " + ex.getMessage());
+        }
+        run = newRun;
+        finished = false;
+        position = 0;
+        shown = -1;
+        checkpoints.clear();
+        Thread thread = new Thread(run, "REPLAY " + gameId);
+        thread.setDaemon(true);
+        run.thread = thread;
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        if (run != null) {
+            run.thread.interrupt();
+            run = null;
+        }
+    }
+
+    public synchronized Game getGame() {
+        return run == null ? null : run.game;
+    }
+
+    /**
+     * @return the state at the next decision or null if the game has ended
+     */
+    public synchronized GameState next() {
+        return seek(shown + 1);
+    }
+
+    /**
+     * @return the state at the previous decision or null if the first state
+     * is shown
+     */
+    public synchronized GameState previous() {
+        return seek(shown - 1);
+    }
+
+    /**
+     * Skips decisions without showing them
+     *
+     * @param moves
+     * @return the state after the skipped decisions
+     */
+    public synchronized GameState skip(int moves) {
+        return seek(shown + moves + 1);
+    }
+
+    private GameState seek(int index) {
+        if (index < 0) {
+            return null;
+        }
+        GameState state = checkpoints.get(index);
+        if (state == null) {
+            if (index < position) {
+                // the state is older than the checkpoints, so execute the game again
+                try {
+                    start();
+                } catch (GameException ex) {
+                    logger.error(ex.getMessage());
+                    return null;
+                }
+            }
+            while (position <= index && advance(index)) {
+            }
+            state = checkpoints.get(index);
+        }
+        if (state != null) {
+            shown = index;
+        }
+        return state;
+    }
+
+    private boolean advance(int index) {
+        if (finished || run == null) {
+            return false;
+        }
+        try {
+            // only the states near the requested one are copied
+            run.requests.put(position + CHECKPOINTS > index);
+            Object state = run.states.take();
+            if (state == END) {
+                finished = true;
+                return false;
+            }
+            if (state != SKIPPED) {
+                checkpoints.put(position, (GameState) state);
+            }
+            position++;
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * One execution of the recorded game
+     */
+    private class Run implements GameRecorder, Runnable {
+
+        private final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        private final SynchronousQueue<Boolean> requests = new SynchronousQueue<>();
+        private final SynchronousQueue<Object> states = new SynchronousQueue<>();
+        private Thread thread;
+        private Game game;
+        private GameActionLog log;
+        private UUID choosingPlayerId;
+        private boolean ended;
+
+        @Override
+        public void run() {
+            try {
+                game.start(choosingPlayerId);
+            } catch (Exception ex) {
+                logger.error("Replay of game " + gameId + " failed", ex);
+            }
+            try {
+                requests.take();
+                states.put(END);
+            } catch (InterruptedException ex) {
+                // replay was stopped
+            }
+        }
+
+        @Override
+        public boolean replayResponse(Game game, UUID playerId, PlayerResponse response) {
+            if (ended) {
+                return true;
+            }
+            try {
+                boolean copy = requests.take();
+                states.put(copy ? game.getState().copy() : SKIPPED);
+                if (!readResponse(game, playerId, response)) {
+                    ended = true;
+                }
+            } catch (InterruptedException ex) {
+                // replay was stopped, keep the flag so the thread ends
+                Thread.currentThread().interrupt();
+                ended = true;
+            } catch (IOException ex) {
+                logger.error("Cannot read the record of game " + gameId, ex);
+                ended = true;
+            }
+            if (ended) {
+                game.end();
+            }
+            return true;
+        }
+
+        @Override
+        public void recordResponse(Game game, UUID playerId, PlayerResponse response) {
+        }
+
+        private void createGame() throws IOException, ReflectiveOperationException, GameException {
+            if (in.readInt() != GameActionLog.MAGIC || in.readShort() != GameActionLog.VERSION) {
+                throw new IOException("unknown format");
+            }
+            GameActionLog.readId(in);
+            long seed = in.readLong();
+            String gameClass = in.readUTF();
+            MultiplayerAttackOption attackOption = MultiplayerAttackOption.valueOf(in.readUTF());
+            RangeOfInfluence range = RangeOfInfluence.valueOf(in.readUTF());
+            int freeMulligans = in.readShort();
+            int life = in.readInt();
+            game = (Game) Class.forName(gameClass, true, Main.classLoader)
+                    .getConstructor(MultiplayerAttackOption.class, RangeOfInfluence.class, int.class, int.class)
+                    .newInstance(attackOption, range, freeMulligans, life);
+            game.setSeed(seed);
+            GameOptions options = new GameOptions();
+            options.testMode = in.readBoolean();
+            int stopOnTurn = in.readInt();
+            options.stopOnTurn = stopOnTurn < 0 ? null : stopOnTurn;
+            options.stopAtStep = PhaseStep.valueOf(in.readUTF());
+            options.skipInitShuffling = in.readBoolean();
+            options.rollbackTurnsAllowed = in.readBoolean();
+            game.setGameOptions(options);
+            int choosingSeat = in.readByte();
+            int players = in.readUnsignedByte();
+            List<UUID> playerIds = new ArrayList<>();
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < players; i++) {
+                Player player = PlayerFactory.getInstance().createPlayer("Human", in.readUTF(), range, 0);
+                if (player == null) {
+                    throw new GameException("Cannot create the players");
+                }
+                player.setUserData(readUserData());
+                Deck deck = new Deck();
+                readCards(deck.getCards());
+                readCards(deck.getSideboard());
+                cards.addAll(deck.getCards());
+                cards.addAll(deck.getSideboard());
+                player.init(game);
+                game.loadCards(deck.getCards(), player.getId());
+                game.loadCards(deck.getSideboard(), player.getId());
+                game.addPlayer(player, deck);
+                playerIds.add(player.getId());
+            }
+            log = new GameActionLog(playerIds, cards);
+            game.setRecorder(this);
+            choosingPlayerId = log.getPlayerId(choosingSeat);
+        }
+
+        private UserData readUserData() throws IOException, ClassNotFoundException {
+            byte[] bytes = new byte[in.readUnsignedShort()];
+            in.readFully(bytes);
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (UserData) input.readObject();
+            }
+        }
+
+        private void readCards(Set<Card> cards) throws IOException, GameException {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String setCode = in.readUTF();
+                int cardNumber = in.readInt();
+                CardInfo cardInfo = CardRepository.instance.findCard(setCode, cardNumber);
+                if (cardInfo == null) {
+                    throw new GameException("Card not found: " + setCode + " " + cardNumber);
+                }
+                cards.add(cardInfo.getCard());
+            }
+        }
+
+        /**
+         * Executes the player actions up to the next recorded response and fills
+         * the response
+         *
+         * @return false if the record has ended or doesn't fit to the game
+         */
+        private boolean readResponse(Game game, UUID playerId, PlayerResponse response) throws IOException {
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    return false;
+                }
+                switch (type) {
+                    case GameActionLog.RESPONSE:
+                        if (!playerId.equals(log.getPlayerId(in.readUnsignedByte()))) {
+                            logger.warn("Replay of game " + gameId + " is out of sync, the next decision belongs to another player");
+                            return false;
+                        }
+                        int content = in.readUnsignedByte();
+                        if ((content & GameActionLog.RESPONSE_STRING) != 0) {
+                            response.setString(in.readUTF());
+                        }
+                        if ((content & GameActionLog.RESPONSE_UUID) != 0) {
+                            response.setUUID(log.readRef(in, game, playerId));
+                        }
+                        if ((content & GameActionLog.RESPONSE_BOOLEAN) != 0) {
+                            response.setBoolean(in.readBoolean());
+                        }
+                        if ((content & GameActionLog.RESPONSE_INTEGER) != 0) {
+                            response.setInteger(in.readInt());
+                        }
+                        if ((content & GameActionLog.RESPONSE_MANA_TYPE) != 0) {
+                            response.setManaType(ManaType.valueOf(in.readUTF()));
+                        }
+                        if ((content & GameActionLog.RESPONSE_MANA_TYPE_PLAYER) != 0) {
+                            response.setResponseManaTypePlayerId(log.readRef(in, game, playerId));
+                        }
+                        return true;
+                    case GameActionLog.PLAYER_ACTION:
+                        UUID actionPlayerId = log.getPlayerId(in.readUnsignedByte());
+                        PlayerAction playerAction = PlayerAction.valueOf(in.readUTF());
+                        Object actionData = readActionData();
+                        executePlayerAction(game, actionPlayerId, playerAction, actionData);
+                        break;
+                    case GameActionLog.TIMER_TIMEOUT:
+                        game.timerTimeout(log.getPlayerId(in.readUnsignedByte()));
+                        break;
+                    case GameActionLog.IDLE_TIMEOUT:
+                        game.idleTimeout(log.getPlayerId(in.readUnsignedByte()));
+                        break;
+                    case GameActionLog.ROLLBACK_TURNS:
+                        game.rollbackTurns(in.readUnsignedShort());
+                        break;
+                    default:
+                        throw new IOException("Unknown record type " + type);
+                }
+            }
+        }
+
+        private Object readActionData() throws IOException {
+            switch (in.readUnsignedByte()) {
+                case 1:
+                    return in.readInt();
+                case 2:
+                    return in.readBoolean();
+                case 3:
+                    return in.readUTF();
+                case 4:
+                    return GameActionLog.readId(in);
+                default:
+                    return null;
+            }
+        }
+
+        private void executePlayerAction(Game game, UUID playerId, PlayerAction playerAction, Object data) {
+            switch (playerAction) {
+                case UNDO:
+                    game.undo(playerId);
+                    break;
+                case CONCEDE:
+                    game.concede(playerId);
+                    break;
+                case MANA_AUTO_PAYMENT_OFF:
+                    game.setManaPaymentMode(playerId, false);
+                    break;
+                case MANA_AUTO_PAYMENT_ON:
+                    game.setManaPaymentMode(playerId, true);
+                    break;
+                case MANA_AUTO_PAYMENT_RESTRICTED_OFF:
+                    game.setManaPaymentModeRestricted(playerId, false);
+                    break;
+                case MANA_AUTO_PAYMENT_RESTRICTED_ON:
+                    game.setManaPaymentModeRestricted(playerId, true);
+                    break;
+                default:
+                    game.sendPlayerAction(playerAction, playerId, data);
+            }
+        }
+    }
+}
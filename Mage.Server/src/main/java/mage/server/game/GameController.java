@@ -27,12 +27,7 @@
  */
 package mage.server.game;
 
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
-import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashSet;
@@ -48,7 +43,6 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.GZIPOutputStream;
 import mage.MageException;
 import mage.abilities.Ability;
 import mage.cards.Card;
@@ -106,6 +100,7 @@ public class GameController implements GameCallback {
 
     private ConcurrentHashMap<UUID, GameSessionPlayer> gameSessions = new ConcurrentHashMap<>();
     private ConcurrentHashMap<UUID, GameSessionWatcher> watchers = new ConcurrentHashMap<>();
+    private final GameWatcherBroadcaster watcherBroadcaster;
     private ConcurrentHashMap<UUID, PriorityTimer> timers = new ConcurrentHashMap<>();
 
     private ConcurrentHashMap<UUID, UUID> userPlayerMap;
@@ -117,6 +112,7 @@ public class GameController implements GameCallback {
     private Future<?> gameFuture;
     private boolean useTimeout = true;
     private GameOptions gameOptions;
+    private GameActionRecorder recorder;
 
     private UUID userReqestingRollback;
     private int turnsToRollback;
@@ -128,6 +124,7 @@ public class GameController implements GameCallback {
         chatId = ChatManager.getInstance().createChatSession("Game " + game.getId());
         this.userReqestingRollback = null;
         this.game = game;
+        this.watcherBroadcaster = new GameWatcherBroadcaster(game);
         this.game.setSaveGame(ConfigSettings.getInstance().isSaveGameActivated());
         this.tableId = tableId;
         this.choosingPlayerId = choosingPlayerId;
@@ -138,6 +135,13 @@ public class GameController implements GameCallback {
                 break;
             }
         }
+        if (ConfigSettings.getInstance().isRecordGameActivated()) {
+            Table table = TableManager.getInstance().getTable(tableId);
+            if (table != null && table.getMatch() != null) {
+                recorder = GameActionRecorder.start(game, table.getMatch(), choosingPlayerId, gameOptions);
+                game.setRecorder(recorder);
+            }
+        }
         init();
 
     }
@@ -151,6 +155,9 @@ public class GameController implements GameCallback {
         for (PriorityTimer priorityTimer : timers.values()) {
             priorityTimer.cancel();
         }
+        if (recorder != null) {
+            recorder.close();
+        }
     }
 
     private void init() {
@@ -166,8 +173,11 @@ public class GameController implements GameCallback {
                                     updateGame();
                                     break;
                                 case INFO:
+                                    // the log entry is rendered to its text here, when it's sent to the clients
                                     ChatManager.getInstance().broadcast(chatId, "", event.getMessage(), MessageColor.BLACK, true, ChatMessage.MessageType.GAME);
-                                    logger.trace(game.getId() + " " + event.getMessage());
+                                    if (logger.isTraceEnabled()) {
+                                        logger.trace(game.getId() + " " + event.getMessage());
+                                    }
                                     break;
                                 case STATUS:
                                     ChatManager.getInstance().broadcast(chatId, "", event.getMessage(), MessageColor.ORANGE, event.getWithTime(), ChatMessage.MessageType.GAME);
@@ -288,12 +298,13 @@ public class GameController implements GameCallback {
     }
 
     /**
-     * We create a timer that will run every 250 ms individually for a player
-     * decreasing his internal game counter. Later on this counter is used to
-     * get time left to play the whole match.
+     * We create a priority timer for a player. While running it only holds the
+     * deadline of the player, the time left is calculated from it if needed.
+     * Later on this time is used to get time left to play the whole match.
      *
      * What we also do here is passing Action to PriorityTimer that is the
-     * action that will be executed once game timer is over.
+     * action that will be executed once game timer is over. All timers share
+     * one timer wheel, so there is no thread or scheduled task per player.
      *
      * @param playerId
      * @param count
@@ -301,11 +312,14 @@ public class GameController implements GameCallback {
      */
     private PriorityTimer createPlayerTimer(UUID playerId, int count) {
         final UUID initPlayerId = playerId;
-        long delayMs = 250L; // run each 250 ms
+        long delayMs = 1000L; // only used for tick tasks, the server has none
 
         Action executeOnNoTimeLeft = new Action() {
             @Override
             public void execute() throws MageException {
+                if (recorder != null) {
+                    recorder.recordTimeout(initPlayerId, false);
+                }
                 game.timerTimeout(initPlayerId);
                 logger.debug("Player has no time left to end the match: " + initPlayerId + ". Conceding.");
             }
@@ -443,7 +457,7 @@ public class GameController implements GameCallback {
         if (user != null) {
             GameSessionWatcher gameWatcher = new GameSessionWatcher(userId, game, false);
             watchers.put(userId, gameWatcher);
-            gameWatcher.init();
+            watcherBroadcaster.join(gameWatcher);
             user.addGameWatchInfo(game.getId());
             ChatManager.getInstance().broadcast(chatId, user.getName(), " has started watching", MessageColor.BLUE, true, ChatMessage.MessageType.STATUS);
         }
@@ -451,6 +465,7 @@ public class GameController implements GameCallback {
 
     public void stopWatching(UUID userId) {
         watchers.remove(userId);
+        watcherBroadcaster.leave(userId);
         User user = UserManager.getInstance().getUser(userId);
         if (user != null) {
             ChatManager.getInstance().broadcast(chatId, user.getName(), " has stopped watching", MessageColor.BLUE, true, ChatMessage.MessageType.STATUS);
@@ -481,6 +496,7 @@ public class GameController implements GameCallback {
     public void sendPlayerAction(PlayerAction playerAction, UUID userId, Object data) {
         switch (playerAction) {
             case UNDO:
+                recordPlayerAction(playerAction, userId, data);
                 game.undo(getPlayerId(userId));
                 break;
             case ROLLBACK_TURNS: // basic request of a player to rollback
@@ -491,6 +507,7 @@ public class GameController implements GameCallback {
                         if (game.getPriorityPlayerId().equals(playerId)) {
                             requestsOpen = requestPermissionToRollback(userId, turnsToRollback);
                             if (requestsOpen == 0) {
+                                recordRollbackTurns(turnsToRollback);
                                 game.rollbackTurns(turnsToRollback);
                                 turnsToRollback = -1;
                                 requestsOpen = -1;
@@ -518,6 +535,7 @@ public class GameController implements GameCallback {
                 if (userReqestingRollback != null && requestsOpen > 0 && !userId.equals(userReqestingRollback)) {
                     requestsOpen--;
                     if (requestsOpen == 0) {
+                        recordRollbackTurns(turnsToRollback);
                         game.rollbackTurns(turnsToRollback);
                         turnsToRollback = -1;
                         userReqestingRollback = null;
@@ -542,18 +560,23 @@ public class GameController implements GameCallback {
             }
             break;
             case CONCEDE:
+                recordPlayerAction(playerAction, userId, data);
                 game.concede(getPlayerId(userId));
                 break;
             case MANA_AUTO_PAYMENT_OFF:
+                recordPlayerAction(playerAction, userId, data);
                 game.setManaPaymentMode(getPlayerId(userId), false);
                 break;
             case MANA_AUTO_PAYMENT_ON:
+                recordPlayerAction(playerAction, userId, data);
                 game.setManaPaymentMode(getPlayerId(userId), true);
                 break;
             case MANA_AUTO_PAYMENT_RESTRICTED_OFF:
+                recordPlayerAction(playerAction, userId, data);
                 game.setManaPaymentModeRestricted(getPlayerId(userId), false);
                 break;
             case MANA_AUTO_PAYMENT_RESTRICTED_ON:
+                recordPlayerAction(playerAction, userId, data);
                 game.setManaPaymentModeRestricted(getPlayerId(userId), true);
                 break;
             case ADD_PERMISSION_TO_SEE_HAND_CARDS:
@@ -582,10 +605,23 @@ public class GameController implements GameCallback {
                 }
                 break;
             default:
+                recordPlayerAction(playerAction, userId, data);
                 game.sendPlayerAction(playerAction, getPlayerId(userId), data);
         }
     }
 
+    private void recordPlayerAction(PlayerAction playerAction, UUID userId, Object data) {
+        if (recorder != null) {
+            recorder.recordPlayerAction(getPlayerId(userId), playerAction, data);
+        }
+    }
+
+    private void recordRollbackTurns(int turns) {
+        if (recorder != null) {
+            recorder.recordRollbackTurns(turns);
+        }
+    }
+
     private int requestPermissionToRollback(UUID userIdRequester, int numberTurns) {
         int requests = 0;
         for (Player player : game.getState().getPlayers().values()) {
@@ -675,6 +711,9 @@ public class GameController implements GameCallback {
                     + " has timed out (player had priority and was not active for "
                     + ConfigSettings.getInstance().getMaxSecondsIdle() + " seconds ) - Auto concede.";
             ChatManager.getInstance().broadcast(chatId, "", sb, MessageColor.BLACK, true, MessageType.STATUS);
+            if (recorder != null) {
+                recorder.recordTimeout(playerId, true);
+            }
             game.idleTimeout(playerId);
         }
     }
@@ -684,9 +723,7 @@ public class GameController implements GameCallback {
             gameSession.gameOver(message);
             gameSession.removeGame();
         }
-        for (final GameSessionWatcher gameWatcher : watchers.values()) {
-            gameWatcher.gameOver(message);
-        }
+        watcherBroadcaster.gameOver(message);
         TableManager.getInstance().endGame(tableId);
     }
 
@@ -757,9 +794,7 @@ public class GameController implements GameCallback {
         for (final GameSessionPlayer gameSession : gameSessions.values()) {
             gameSession.update();
         }
-        for (final GameSessionWatcher gameWatcher : watchers.values()) {
-            gameWatcher.update();
-        }
+        watcherBroadcaster.update();
     }
 
     private synchronized void endGameInfo() {
@@ -902,9 +937,7 @@ public class GameController implements GameCallback {
                 entry.getValue().inform(message.toString());
             }
         }
-        for (final GameSessionWatcher watcher : watchers.values()) {
-            watcher.inform(message.toString());
-        }
+        watcherBroadcaster.inform(message.toString());
     }
 
     private void informOthers(List<UUID> players) throws MageException {
@@ -929,9 +962,7 @@ public class GameController implements GameCallback {
                 entry.getValue().inform(message);
             }
         }
-        for (final GameSessionWatcher watcher : watchers.values()) {
-            watcher.inform(message);
-        }
+        watcherBroadcaster.inform(message);
     }
 
     private synchronized void informPersonal(UUID playerId, final String message) throws MageException {
@@ -971,15 +1002,7 @@ public class GameController implements GameCallback {
 
     public boolean saveGame() {
         try {
-            OutputStream file = new FileOutputStream("saved/" + game.getId().toString() + ".game");
-            OutputStream buffer = new BufferedOutputStream(file);
-            ObjectOutput output = new ObjectOutputStream(new GZIPOutputStream(buffer));
-            try {
-                output.writeObject(game);
-                output.writeObject(game.getGameStates());
-            } finally {
-                output.close();
-            }
+            ReplayFile.write(game, game.getGameStates());
             logger.debug("Saved game:" + game.getId());
             return true;
         } catch (IOException ex) {
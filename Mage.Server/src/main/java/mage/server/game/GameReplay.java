@@ -35,7 +35,9 @@ import java.io.InputStream;
 import java.io.ObjectInput;
 import java.util.UUID;
 import java.util.zip.GZIPInputStream;
+import mage.constants.PhaseStep;
 import mage.game.Game;
+import mage.game.GameException;
 import mage.game.GameState;
 import mage.game.GameStates;
 import mage.server.Main;
@@ -54,35 +56,156 @@ public class GameReplay {
 
     private final GameStates savedGame;
     private final Game game;
+    private final GameActionReplay actionReplay;
+    private final ReplayFile replayFile;
     private int stateIndex;
 
     public GameReplay(UUID gameId) {
-        this.game = loadGame(gameId);
-        this.savedGame = game.getGameStates();
+        if (GameActionLog.getFile(gameId).exists()) {
+            this.actionReplay = loadActionReplay(gameId);
+            this.replayFile = null;
+            this.game = null;
+            this.savedGame = null;
+        } else if (ReplayFile.getFile(gameId).exists()) {
+            this.actionReplay = null;
+            this.replayFile = loadReplayFile(gameId);
+            this.game = replayFile == null ? null : readGame(replayFile);
+            this.savedGame = null;
+        } else {
+            this.actionReplay = null;
+            this.replayFile = null;
+            this.game = loadGame(gameId);
+            this.savedGame = game.getGameStates();
+        }
     }
 
     public void start() {
-        this.stateIndex = 0;
+        if (actionReplay != null) {
+            try {
+                actionReplay.start();
+            } catch (GameException ex) {
+                logger.error(ex.getMessage());
+            }
+        } else {
+            this.stateIndex = 0;
+        }
+    }
+
+    public void stop() {
+        if (actionReplay != null) {
+            actionReplay.stop();
+        }
     }
 
     public GameState next() {
-        if (this.stateIndex < savedGame.getSize()) {
-            return savedGame.get(stateIndex++);
+        if (actionReplay != null) {
+            return actionReplay.next();
+        }
+        if (stateIndex < getSize()) {
+            return getState(stateIndex++);
         }
         return null;
     }
 
+    public GameState next(int moves) {
+        if (actionReplay != null) {
+            return actionReplay.skip(moves);
+        }
+        // the skipped states are not read
+        stateIndex = Math.min(stateIndex + moves, getSize());
+        return next();
+    }
+
+    /**
+     * @return the state before the one returned last, or null if the first
+     * state is shown
+     */
     public GameState previous() {
-        if (this.stateIndex > 0) {
-            return savedGame.get(--stateIndex);
+        if (actionReplay != null) {
+            return actionReplay.previous();
+        }
+        if (stateIndex > 1) {
+            stateIndex--;
+            return getState(stateIndex - 1);
         }
         return null;
     }
 
     public Game getGame() {
+        if (actionReplay != null) {
+            return actionReplay.getGame();
+        }
         return this.game;
     }
 
+    /**
+     * Goes to the first state of the given turn and step. Only possible for
+     * games saved as {@link ReplayFile}.
+     *
+     * @param turn
+     * @param step the step or null for the start of the turn
+     * @return the state or null if the game has no such state
+     */
+    public GameState seek(int turn, PhaseStep step) {
+        if (replayFile == null) {
+            return null;
+        }
+        int index = replayFile.findState(turn, step);
+        if (index < 0) {
+            return null;
+        }
+        stateIndex = index;
+        return next();
+    }
+
+    private int getSize() {
+        if (replayFile != null) {
+            return replayFile.getSize();
+        }
+        return savedGame.getSize();
+    }
+
+    private GameState getState(int index) {
+        if (replayFile == null) {
+            return savedGame.get(index);
+        }
+        try {
+            return replayFile.getState(index);
+        } catch (IOException ex) {
+            logger.fatal("Cannot read state " + index + " of game " + replayFile.getGameId(), ex);
+        }
+        return null;
+    }
+
+    private ReplayFile loadReplayFile(UUID gameId) {
+        try {
+            return new ReplayFile(gameId);
+        } catch (IOException ex) {
+            logger.fatal("Cannot load game:" + gameId, ex);
+        }
+        return null;
+    }
+
+    private Game readGame(ReplayFile replayFile) {
+        try {
+            return replayFile.readGame();
+        } catch (ClassNotFoundException ex) {
+            logger.fatal("Cannot load game. Class not found.", ex);
+        } catch (IOException ex) {
+            logger.fatal("Cannot load game:" + replayFile.getGameId(), ex);
+        }
+        return null;
+    }
+
+    private GameActionReplay loadActionReplay(UUID gameId) {
+        try {
+            return new GameActionReplay(gameId);
+        } catch (IOException ex) {
+            logger.fatal("Cannot load game record:" + gameId, ex);
+        }
+        return null;
+    }
+
     private Game loadGame(UUID gameId) {
         try{
             InputStream file = new FileInputStream("saved/" + gameId.toString() + ".game");
@@ -63,16 +63,41 @@ public class GameSessionWatcher {
     }
 
     public boolean init() {
+        return init(getGameView());
+    }
+
+    /**
+     * Starts the game for the user with an already created view
+     *
+     * @param gameView
+     * @return
+     */
+    public boolean init(GameView gameView) {
         if (!killed) {
             User user = UserManager.getInstance().getUser(userId);
             if (user != null) {
-                user.fireCallback(new ClientCallback("gameInit", game.getId(), getGameView()));
+                user.fireCallback(new ClientCallback("gameInit", game.getId(), gameView));
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Sends data that was created once for all watchers of the game
+     *
+     * @param method
+     * @param data
+     */
+    public void send(String method, Object data) {
+        if (!killed) {
+            User user = UserManager.getInstance().getUser(userId);
+            if (user != null) {
+                user.fireCallback(new ClientCallback(method, game.getId(), data));
+            }
+        }
+    }
+
     public void update() {
         if (!killed) {
             User user = UserManager.getInstance().getUser(userId);
@@ -154,5 +179,22 @@ public class GameSessionWatcher {
     public boolean isPlayer() {
         return isPlayer;
     }
+
+    /**
+     * @return true if a player allowed the user to see the hand cards, so the
+     * user needs an own view of the game
+     */
+    public boolean canSeeHandCards() {
+        for (Player player: game.getPlayers().values()) {
+            if (player.hasUserPermissionToSeeHand(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
        
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.server.game;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import mage.game.Game;
+import mage.server.util.ThreadExecutor;
+import mage.utils.CompressUtil;
+import mage.view.GameClientMessage;
+import mage.view.GameView;
+import org.apache.log4j.Logger;
+
+/**
+ * Sends the game updates to the watchers of a game.
+ *
+ * The view of the game is created only once for all watchers on the game
+ * thread, serialized once and delivered by the watcher threads, so the number
+ * of watchers does not slow down the players of the game. Only watchers that
+ * may see the hand cards of a player get an own view.
+ *
+ * The last view is kept, so a watcher that joins later gets the current state
+ * of the game without access to the game.
+ *
+ * @author agent
+ */
+public class GameWatcherBroadcaster {
+
+    private static final Logger logger = Logger.getLogger(GameWatcherBroadcaster.class);
+
+    private static final ExecutorService watcherExecutor = ThreadExecutor.getInstance().getWatcherExecutor();
+    // from this number of watchers a view is serialized and compressed once for all of them
+    private static final int COMPRESS_MIN_WATCHERS = 4;
+
+    private final Game game;
+    // watchers that got the game already, only the delivery adds watchers
+    private final ConcurrentHashMap<UUID, GameSessionWatcher> watchers = new ConcurrentHashMap<>();
+    private final Queue<Broadcast> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    // the snapshot and the queue are changed together, so a joining watcher gets the view of the last queued update
+    private final Object snapshotLock = new Object();
+    private volatile GameView snapshot;
+
+    private final Runnable deliverTask = new Runnable() {
+        @Override
+        public void run() {
+            deliver();
+        }
+    };
+
+    public GameWatcherBroadcaster(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Adds a watcher. The watcher gets the last view of the game before any
+     * later update. If the game has no view yet, the view is created when the
+     * watcher is added.
+     *
+     * @param watcher
+     */
+    public void join(GameSessionWatcher watcher) {
+        synchronized (snapshotLock) {
+            Broadcast broadcast = new Broadcast("gameInit", snapshot);
+            broadcast.joining = watcher;
+            add(broadcast);
+        }
+    }
+
+    public void leave(UUID userId) {
+        watchers.remove(userId);
+    }
+
+    /**
+     * Has to be called from the game thread
+     */
+    public void update() {
+        if (hasNoWatchers()) {
+            return;
+        }
+        GameView gameView = new GameView(game.getState(), game, null, null);
+        add(gameView, createBroadcast("gameUpdate", gameView, null));
+    }
+
+    /**
+     * Has to be called from the game thread
+     *
+     * @param message
+     */
+    public void inform(String message) {
+        if (hasNoWatchers()) {
+            return;
+        }
+        GameView gameView = new GameView(game.getState(), game, null, null);
+        add(gameView, createBroadcast("gameInform", new GameClientMessage(gameView, message), message));
+    }
+
+    public void gameOver(String message) {
+        Broadcast broadcast = new Broadcast("gameOver", message);
+        broadcast.gameOver = true;
+        add(broadcast);
+    }
+
+    public GameView getSnapshot() {
+        return snapshot;
+    }
+
+    private boolean hasNoWatchers() {
+        synchronized (snapshotLock) {
+            if (watchers.isEmpty() && pending.isEmpty()) {
+                // the view would be outdated for the next watcher
+                snapshot = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Broadcast createBroadcast(String method, Object data, String message) {
+        Broadcast broadcast = new Broadcast(method, data);
+        for (GameSessionWatcher watcher : watchers.values()) {
+            if (watcher.canSeeHandCards()) {
+                if (broadcast.personal == null) {
+                    broadcast.personal = new HashMap<>();
+                }
+                GameView gameView = watcher.getGameView();
+                broadcast.personal.put(watcher.getUserId(), message == null ? gameView : new GameClientMessage(gameView, message));
+            }
+        }
+        return broadcast;
+    }
+
+    private void add(GameView gameView, Broadcast broadcast) {
+        synchronized (snapshotLock) {
+            snapshot = gameView;
+            add(broadcast);
+        }
+    }
+
+    private void add(Broadcast broadcast) {
+        pending.add(broadcast);
+        if (delivering.compareAndSet(false, true)) {
+            watcherExecutor.execute(deliverTask);
+        }
+    }
+
+    private void deliver() {
+        try {
+            Broadcast broadcast;
+            while ((broadcast = pending.poll()) != null) {
+                Broadcast next = pending.peek();
+                if (broadcast.method.equals("gameUpdate") && next != null
+                        && (next.method.equals("gameUpdate") || next.method.equals("gameInform"))) {
+                    // the next broadcast contains a newer view of the game
+                    continue;
+                }
+                send(broadcast);
+            }
+        } catch (Exception ex) {
+            logger.error("Error sending game update to watchers - gameId: " + game.getId(), ex);
+        } finally {
+            delivering.set(false);
+        }
+        if (!pending.isEmpty() && delivering.compareAndSet(false, true)) {
+            watcherExecutor.execute(deliverTask);
+        }
+    }
+
+    private void send(Broadcast broadcast) {
+        if (broadcast.joining != null) {
+            GameSessionWatcher watcher = broadcast.joining;
+            GameView gameView = (GameView) broadcast.data;
+            if (gameView == null) {
+                // the game had no view when the watcher joined
+                gameView = watcher.getGameView();
+            }
+            // added before the init, so the game keeps creating views for the watcher meanwhile
+            watchers.put(watcher.getUserId(), watcher);
+            if (!watcher.init(gameView)) {
+                watchers.remove(watcher.getUserId());
+            }
+            return;
+        }
+        if (broadcast.gameOver) {
+            for (GameSessionWatcher watcher : watchers.values()) {
+                watcher.gameOver((String) broadcast.data);
+            }
+            return;
+        }
+        Object data = broadcast.data;
+        if (watchers.size() >= COMPRESS_MIN_WATCHERS) {
+            Object compressed = CompressUtil.compress(data);
+            if (compressed != null) {
+                data = compressed;
+            }
+        }
+        for (GameSessionWatcher watcher : watchers.values()) {
+            if (broadcast.personal != null && broadcast.personal.containsKey(watcher.getUserId())) {
+                watcher.send(broadcast.method, broadcast.personal.get(watcher.getUserId()));
+            } else {
+                watcher.send(broadcast.method, data);
+            }
+        }
+    }
+
+    private static class Broadcast {
+
+        private final String method;
+        private final Object data;
+        private Map<UUID, Object> personal;
+        private GameSessionWatcher joining;
+        private boolean gameOver;
+
+        Broadcast(String method, Object data) {
+            this.method = method;
+            this.data = data;
+        }
+    }
+}
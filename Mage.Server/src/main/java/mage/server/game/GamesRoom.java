@@ -37,6 +37,7 @@ import mage.game.match.MatchOptions;
 import mage.game.tournament.TournamentOptions;
 import mage.server.Room;
 import mage.view.MatchView;
+import mage.view.RoomTablesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 
@@ -47,8 +48,25 @@ import mage.view.TableView;
 public interface GamesRoom extends Room {
 
     List<TableView> getTables();
+    /**
+     * Returns the tables of the room or null if the version of the current
+     * snapshot is equal to the given one.
+     *
+     * @param knownVersion version of the snapshot the client already has
+     * @return
+     */
+    RoomTablesView getTables(long knownVersion);
     List<MatchView> getFinished();
     List<RoomUsersView> getRoomUsersInfo();
+    /**
+     * Returns the user info of the room or null if the version of the current
+     * snapshot is equal to the given one.
+     *
+     * @param knownVersion version of the snapshot the client already has
+     * @return
+     */
+    List<RoomUsersView> getRoomUsersInfo(long knownVersion);
+    void tableChanged();
     boolean joinTable(UUID userId, UUID tableId, String name, String playerType, int skill, DeckCardLists deckList, String password) throws MageException;
     boolean joinTournamentTable(UUID userId, UUID tableId, String name, String playerType, int skill, DeckCardLists deckList, String password) throws GameException;
     TableView createTable(UUID userId, MatchOptions options);
@@ -31,18 +31,23 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import mage.MageException;
 import mage.cards.decks.DeckCardLists;
 import mage.constants.TableState;
 import mage.game.GameException;
 import mage.game.Table;
+import mage.game.draft.Draft;
 import mage.game.match.MatchOptions;
+import mage.game.match.MatchPlayer;
 import mage.game.tournament.TournamentOptions;
 import mage.server.RoomImpl;
 import mage.server.TableManager;
@@ -52,6 +57,7 @@ import mage.server.tournament.TournamentManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.ThreadExecutor;
 import mage.view.MatchView;
+import mage.view.RoomTablesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.UsersView;
@@ -66,12 +72,25 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     private static final Logger logger = Logger.getLogger(GamesRoomImpl.class);
 
     private static final ScheduledExecutorService updateExecutor = Executors.newSingleThreadScheduledExecutor();
-    private static List<TableView> tableView = new ArrayList<>();
+    // the versions start with the server start time, so a client that still knows a version
+    // of the last server run never gets "not modified"
+    private static final long VERSION_SEED = System.currentTimeMillis() << 20;
+    // changed ping infos alone lead to a new users version only after this time
+    private static final long PING_UPDATE_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    private static RoomTablesView tableView = new RoomTablesView(VERSION_SEED, new ArrayList<TableView>());
     private static List<MatchView> matchView = new ArrayList<>();
     private static List<RoomUsersView> roomUsersView = new ArrayList<>();
 
     private final ConcurrentHashMap<UUID, Table> tables = new ConcurrentHashMap<>();
 
+    // last built view of every table, only rebuilt if the table has changed
+    private final Map<UUID, CachedTableView> cachedTableViews = new HashMap<>();
+    private final Map<String, UsersView> cachedUsersViews = new HashMap<>();
+    private final AtomicBoolean updatePending = new AtomicBoolean(false);
+    private long tablesVersion = VERSION_SEED;
+    private long usersVersion = VERSION_SEED;
+    private long usersUpdateTime;
+
     public GamesRoomImpl() {
         updateExecutor.scheduleAtFixedRate(new Runnable() {
             @Override
@@ -88,58 +107,184 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
 
     @Override
     public List<TableView> getTables() {
-        return tableView;
+        return tableView.getTables();
+    }
+
+    @Override
+    public RoomTablesView getTables(long knownVersion) {
+        RoomTablesView current = tableView;
+        if (current.getVersion() == knownVersion) {
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Requests an update of the room views as soon as possible (e.g. because
+     * a table was created or removed). Multiple requests are coalesced into
+     * one update.
+     */
+    @Override
+    public void tableChanged() {
+        if (updatePending.compareAndSet(false, true)) {
+            updateExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        update();
+                    } catch (Exception ex) {
+                        logger.fatal("Games room update exception! " + ex.toString(), ex);
+                    }
+                }
+            });
+        }
     }
 
-    private void update() {
+    private synchronized void update() {
+        updatePending.set(false);
+        updateTables();
+        updateUsers();
+    }
+
+    private void updateTables() {
         ArrayList<TableView> tableList = new ArrayList<>();
         ArrayList<MatchView> matchList = new ArrayList<>();
         List<Table> allTables = new ArrayList<>(tables.values());
         Collections.sort(allTables, new TableListSorter());
+        boolean changed = cachedTableViews.size() != allTables.size();
+        Map<UUID, CachedTableView> stillExisting = new HashMap<>();
         for (Table table : allTables) {
+            CachedTableView cached = cachedTableViews.get(table.getId());
+            long stamp = getChangeStamp(table);
+            if (cached == null || cached.stamp != stamp) {
+                changed = true;
+                cached = new CachedTableView(stamp);
+            }
+            stillExisting.put(table.getId(), cached);
             if (table.getState() != TableState.FINISHED) {
-                tableList.add(new TableView(table));
+                if (cached.tableView == null) {
+                    cached.tableView = new TableView(table);
+                }
+                tableList.add(cached.tableView);
             } else if (matchList.size() < 50) {
-                if (table.isTournament()) {
-                    matchList.add(new MatchView(table));
-                } else {
-                    matchList.add(new MatchView(table));
+                if (cached.matchView == null) {
+                    cached.matchView = new MatchView(table);
                 }
+                matchList.add(cached.matchView);
             } else {
                 // more since 50 matches finished since this match so remove it
                 if (table.isTournament()) {
                     TournamentManager.getInstance().removeTournament(table.getTournament().getId());
                 }
                 this.removeTable(table.getId());
+                stillExisting.remove(table.getId());
+                changed = true;
             }
         }
-        tableView = tableList;
-        matchView = matchList;
+        cachedTableViews.clear();
+        cachedTableViews.putAll(stillExisting);
+        if (changed) {
+            tablesVersion++;
+            tableView = new RoomTablesView(tablesVersion, tableList);
+            matchView = matchList;
+        }
+    }
+
+    private void updateUsers() {
+        boolean changed = false;
+        boolean pingChanged = false;
+        Map<String, UsersView> stillExisting = new HashMap<>();
         List<UsersView> users = new ArrayList<>();
         for (User user : UserManager.getInstance().getUsers()) {
+            UsersView userView;
             try {
-                users.add(new UsersView(user.getUserData().getFlagName(), user.getName(), user.getInfo(), user.getGameInfo(), user.getPingInfo()));
+                String flagName = user.getUserData().getFlagName();
+                String info = user.getInfo();
+                String gameInfo = user.getGameInfo();
+                String pingInfo = user.getPingInfo();
+                userView = cachedUsersViews.get(user.getName());
+                if (userView == null || !userView.isSameAs(flagName, user.getName(), info, gameInfo)) {
+                    userView = new UsersView(flagName, user.getName(), info, gameInfo, pingInfo);
+                    changed = true;
+                } else if (!userView.hasPing(pingInfo)) {
+                    userView = new UsersView(flagName, user.getName(), info, gameInfo, pingInfo);
+                    pingChanged = true;
+                }
             } catch (Exception ex) {
                 logger.fatal("User update exception: " + user.getName() + " - " + ex.toString(), ex);
-                users.add(new UsersView(
+                userView = new UsersView(
                         (user.getUserData() != null && user.getUserData().getFlagName() != null) ? user.getUserData().getFlagName() : "world",
                         user.getName() != null ? user.getName() : "<no name>",
                         user.getInfo() != null ? user.getInfo() : "<no info>",
                         "[exception]",
-                        user.getPingInfo() != null ? user.getPingInfo() : "<no ping>"));
+                        user.getPingInfo() != null ? user.getPingInfo() : "<no ping>");
+                changed = true;
             }
+            users.add(userView);
+            stillExisting.put(userView.getUserName(), userView);
         }
+        changed |= stillExisting.size() != cachedUsersViews.size();
+
+        int numberActiveGames = GameManager.getInstance().getNumberActiveGames();
+        int numberGameThreads = ThreadExecutor.getInstance().getActiveThreads(ThreadExecutor.getInstance().getGameExecutor());
+        int numberMaxGames = ConfigSettings.getInstance().getMaxGameThreads();
+        if (!changed && !roomUsersView.isEmpty()) {
+            RoomUsersView last = roomUsersView.get(0);
+            if (last.getNumberActiveGames() == numberActiveGames
+                    && last.getNumberGameThreads() == numberGameThreads
+                    && last.getNumberMaxGames() == numberMaxGames
+                    && (!pingChanged || System.currentTimeMillis() - usersUpdateTime < PING_UPDATE_INTERVAL)) {
+                // the cached views stay the ones of the current version
+                return;
+            }
+        }
+        cachedUsersViews.clear();
+        cachedUsersViews.putAll(stillExisting);
 
         Collections.sort(users, new UserNameSorter());
+        usersUpdateTime = System.currentTimeMillis();
+        usersVersion++;
         List<RoomUsersView> roomUserInfo = new ArrayList<>();
-        roomUserInfo.add(new RoomUsersView(users,
-                GameManager.getInstance().getNumberActiveGames(),
-                ThreadExecutor.getInstance().getActiveThreads(ThreadExecutor.getInstance().getGameExecutor()),
-                ConfigSettings.getInstance().getMaxGameThreads()
-        ));
+        roomUserInfo.add(new RoomUsersView(users, numberActiveGames, numberGameThreads, numberMaxGames, usersVersion));
         roomUsersView = roomUserInfo;
     }
 
+    /**
+     * Calculates a value that changes if any information shown in the table
+     * or match view of the table changes, so the views have only to be
+     * rebuilt for changed tables.
+     *
+     * @param table
+     * @return
+     */
+    private static long getChangeStamp(Table table) {
+        long stamp = table.getState() == null ? -1 : table.getState().ordinal();
+        for (int i = 0; i < table.getSeats().length; i++) {
+            stamp = stamp * 31 + (table.getSeats()[i].getPlayer() == null ? 0 : table.getSeats()[i].getPlayer().getId().hashCode());
+        }
+        if (table.isTournament()) {
+            if (table.getTournament() != null) {
+                stamp = stamp * 31 + table.getTournament().getPlayers().size();
+                stamp = stamp * 31 + table.getTournament().getRounds().size();
+                stamp = stamp * 31 + (table.getTournament().getEndTime() == null ? 0 : 1);
+                Draft draft = table.getTournament().getDraft();
+                if (draft != null) {
+                    stamp = stamp * 31 + draft.getBoosterNum();
+                    stamp = stamp * 31 + draft.getCardNum();
+                }
+            }
+        } else if (table.getMatch() != null) {
+            stamp = stamp * 31 + table.getMatch().getGames().size();
+            stamp = stamp * 31 + table.getMatch().getDraws();
+            stamp = stamp * 31 + (table.getMatch().getEndTime() == null ? 0 : 1);
+            for (MatchPlayer matchPlayer : table.getMatch().getPlayers()) {
+                stamp = stamp * 31 + matchPlayer.getWins();
+                stamp = stamp * 31 + (matchPlayer.hasQuit() ? 1 : 0);
+            }
+        }
+        return stamp;
+    }
+
     @Override
     public List<MatchView> getFinished() {
         return matchView;
@@ -148,7 +293,9 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     @Override
     public boolean joinTable(UUID userId, UUID tableId, String name, String playerType, int skill, DeckCardLists deckList, String password) throws MageException {
         if (tables.containsKey(tableId)) {
-            return TableManager.getInstance().joinTable(userId, tableId, name, playerType, skill, deckList, password);
+            boolean joined = TableManager.getInstance().joinTable(userId, tableId, name, playerType, skill, deckList, password);
+            tableChanged();
+            return joined;
         } else {
             return false;
         }
@@ -158,13 +305,16 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     public TableView createTable(UUID userId, MatchOptions options) {
         Table table = TableManager.getInstance().createTable(this.getRoomId(), userId, options);
         tables.put(table.getId(), table);
+        tableChanged();
         return new TableView(table);
     }
 
     @Override
     public boolean joinTournamentTable(UUID userId, UUID tableId, String name, String playerType, int skill, DeckCardLists deckList, String password) throws GameException {
         if (tables.containsKey(tableId)) {
-            return TableManager.getInstance().joinTournament(userId, tableId, name, playerType, skill, deckList, password);
+            boolean joined = TableManager.getInstance().joinTournament(userId, tableId, name, playerType, skill, deckList, password);
+            tableChanged();
+            return joined;
         } else {
             return false;
         }
@@ -174,6 +324,7 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     public TableView createTournamentTable(UUID userId, TournamentOptions options) {
         Table table = TableManager.getInstance().createTournamentTable(this.getRoomId(), userId, options);
         tables.put(table.getId(), table);
+        tableChanged();
         return new TableView(table);
     }
 
@@ -188,6 +339,7 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     @Override
     public void removeTable(UUID userId, UUID tableId) {
         tables.remove(tableId);
+        tableChanged();
     }
 
     @Override
@@ -196,6 +348,7 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
         if (table != null) {
             table.cleanUp();
             tables.remove(tableId);
+            tableChanged();
             if (logger.isDebugEnabled()) {
                 logger.debug("Table removed: " + tableId);
             }
@@ -205,6 +358,7 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     @Override
     public void leaveTable(UUID userId, UUID tableId) {
         TableManager.getInstance().leaveTable(userId, tableId);
+        tableChanged();
     }
 
     @Override
@@ -217,6 +371,26 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
         return roomUsersView;
     }
 
+    @Override
+    public List<RoomUsersView> getRoomUsersInfo(long knownVersion) {
+        List<RoomUsersView> current = roomUsersView;
+        if (!current.isEmpty() && current.get(0).getVersion() == knownVersion) {
+            return null;
+        }
+        return current;
+    }
+
+}
+
+class CachedTableView {
+
+    final long stamp;
+    TableView tableView;
+    MatchView matchView;
+
+    CachedTableView(long stamp) {
+        this.stamp = stamp;
+    }
 }
 
 /**
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.server.game;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Decoded chunks of saved games, shared by all replays. Holds the chunks used
+ * last, as long as their size is not above MAX_BYTES. The size of a chunk is
+ * the number of uncompressed bytes its states were read from. A chunk
+ * requested by several replays at the same time is read only once.
+ *
+ * @author agent
+ */
+public class ReplayChunkCache {
+
+    private static final long MAX_BYTES = Long.getLong("xmage.replayCacheBytes", 64L * 1024 * 1024);
+
+    private static final ReplayChunkCache INSTANCE = new ReplayChunkCache();
+
+    public static ReplayChunkCache getInstance() {
+        return INSTANCE;
+    }
+
+    // access ordered, so the chunks used last are at the end
+    private final Map<String, Entry> chunks = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private ReplayChunkCache() {
+    }
+
+    public ReplayFile.Chunk getChunk(final ReplayFile replayFile, final int chunk) throws IOException {
+        String key = replayFile.getGameId().toString() + chunk;
+        Entry entry;
+        boolean load = false;
+        synchronized (chunks) {
+            entry = chunks.get(key);
+            if (entry == null) {
+                entry = new Entry(new FutureTask<>(new Callable<ReplayFile.Chunk>() {
+                    @Override
+                    public ReplayFile.Chunk call() throws Exception {
+                        return replayFile.readChunk(chunk);
+                    }
+                }));
+                chunks.put(key, entry);
+                load = true;
+            }
+        }
+        if (load) {
+            entry.task.run();
+        }
+        try {
+            ReplayFile.Chunk result = entry.task.get();
+            if (load) {
+                synchronized (chunks) {
+                    if (chunks.get(key) == entry) {
+                        entry.size = result.size;
+                        bytes += result.size;
+                        evict(entry);
+                    }
+                }
+            }
+            return result;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading a replay chunk", ex);
+        } catch (ExecutionException ex) {
+            synchronized (chunks) {
+                if (chunks.get(key) == entry) {
+                    chunks.remove(key);
+                }
+            }
+            throw new IOException("Cannot read chunk " + chunk + " of game " + replayFile.getGameId(), ex.getCause());
+        }
+    }
+
+    /**
+     * Removes the chunks used longest ago until the size is not above
+     * MAX_BYTES. The chunk just read is kept, even if it's bigger on its own.
+     */
+    private void evict(Entry keep) {
+        Iterator<Entry> iterator = chunks.values().iterator();
+        while (bytes > MAX_BYTES && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry != keep) {
+                // chunks that are still read have no size yet
+                bytes -= entry.size;
+                iterator.remove();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (chunks) {
+            return chunks.size();
+        }
+    }
+
+    /**
+     * @return size of the held chunks
+     */
+    public long getBytes() {
+        synchronized (chunks) {
+            return bytes;
+        }
+    }
+
+    public void clear() {
+        synchronized (chunks) {
+            chunks.clear();
+            bytes = 0;
+        }
+    }
+
+    private static class Entry {
+
+        private final FutureTask<ReplayFile.Chunk> task;
+        private long size;
+
+        public Entry(FutureTask<ReplayFile.Chunk> task) {
+            this.task = task;
+        }
+    }
+}
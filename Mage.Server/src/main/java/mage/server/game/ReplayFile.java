@@ -0,0 +1,312 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.server.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import mage.constants.PhaseStep;
+import mage.game.Game;
+import mage.game.GameState;
+import mage.game.GameStates;
+import mage.server.Main;
+import mage.util.CopierObjectInputStream;
+
+/**
+ * Saved game that can be read in parts.
+ *
+ * The file starts with the game object, followed by the game states in chunks
+ * of CHUNK_SIZE states. Each part is serialized and compressed on its own. At
+ * the end of the file an index holds the position of each chunk and the turn
+ * and step of each state, so a replay can go to any state by reading only the
+ * index and one chunk.
+ *
+ * <pre>
+ * int magic, short version, long index position
+ * int length, game
+ * int length, chunk (repeated)
+ * index: int states, int chunks, per chunk long position and int length,
+ *        per state int turn and byte step (ordinal + 1, 0 if no step)
+ * </pre>
+ *
+ * @author agent
+ */
+public class ReplayFile {
+
+    public static final int MAGIC = 0x5852504C; // XRPL
+    public static final int VERSION = 1;
+    public static final int CHUNK_SIZE = 32;
+
+    private static final int HEADER_SIZE = 4 + 2 + 8;
+
+    private final UUID gameId;
+    private final File file;
+    private final long[] chunkPositions;
+    private final int[] turns;
+    private final byte[] steps;
+
+    /**
+     * Reads the index of the saved game
+     *
+     * @param gameId
+     * @throws IOException
+     */
+    public ReplayFile(UUID gameId) throws IOException {
+        this.gameId = gameId;
+        this.file = getFile(gameId);
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("unknown format");
+            }
+            in.seek(in.readLong());
+            int states = in.readInt();
+            int chunks = in.readInt();
+            chunkPositions = new long[chunks];
+            for (int i = 0; i < chunks; i++) {
+                chunkPositions[i] = in.readLong();
+                in.readInt(); // length of the chunk
+            }
+            turns = new int[states];
+            steps = new byte[states];
+            for (int i = 0; i < states; i++) {
+                turns[i] = in.readInt();
+                steps[i] = in.readByte();
+            }
+        }
+    }
+
+    public static File getFile(UUID gameId) {
+        return new File("saved", gameId.toString() + ".replay");
+    }
+
+    public static void write(Game game, GameStates states) throws IOException {
+        File file = getFile(game.getId());
+        file.getParentFile().mkdirs();
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.setLength(0);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(0); // index position, set at the end
+            writePart(out, game);
+            int size = states.getSize();
+            int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            long[] positions = new long[chunks];
+            int[] lengths = new int[chunks];
+            int[] turns = new int[size];
+            byte[] steps = new byte[size];
+            // the states are a linked list, so they are iterated instead of taken by index
+            Iterator<GameState> iterator = states.iterator();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                ArrayList<GameState> chunkStates = new ArrayList<>(CHUNK_SIZE);
+                for (int i = chunk * CHUNK_SIZE; i < Math.min(size, (chunk + 1) * CHUNK_SIZE); i++) {
+                    GameState state = iterator.next();
+                    turns[i] = state.getTurnNum();
+                    PhaseStep step = state.getTurn() == null ? null : state.getTurn().getStepType();
+                    steps[i] = (byte) (step == null ? 0 : step.ordinal() + 1);
+                    chunkStates.add(state);
+                }
+                positions[chunk] = out.getFilePointer();
+                lengths[chunk] = writePart(out, chunkStates);
+            }
+            long indexPosition = out.getFilePointer();
+            out.writeInt(size);
+            out.writeInt(chunks);
+            for (int i = 0; i < chunks; i++) {
+                out.writeLong(positions[i]);
+                out.writeInt(lengths[i]);
+            }
+            for (int i = 0; i < size; i++) {
+                out.writeInt(turns[i]);
+                out.writeByte(steps[i]);
+            }
+            out.seek(HEADER_SIZE - 8);
+            out.writeLong(indexPosition);
+        }
+    }
+
+    private static int writePart(RandomAccessFile out, Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+            output.writeObject(object);
+        }
+        out.writeInt(bytes.size());
+        out.write(bytes.toByteArray());
+        return bytes.size();
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public Game readGame() throws IOException, ClassNotFoundException {
+        return (Game) readPart(HEADER_SIZE);
+    }
+
+    /**
+     * @return number of saved states
+     */
+    public int getSize() {
+        return turns.length;
+    }
+
+    public int getChunkCount() {
+        return chunkPositions.length;
+    }
+
+    /**
+     * Returns a saved state. The chunk of the state is taken from the
+     * {@link ReplayChunkCache}, so the returned state may be shared with
+     * other replays of the same game and must not be changed.
+     *
+     * @param index
+     * @return the state or null if the index is out of range
+     * @throws IOException
+     */
+    public GameState getState(int index) throws IOException {
+        if (index < 0 || index >= turns.length) {
+            return null;
+        }
+        return ReplayChunkCache.getInstance().getChunk(this, index / CHUNK_SIZE).states.get(index % CHUNK_SIZE);
+    }
+
+    public int getTurn(int index) {
+        return turns[index];
+    }
+
+    public PhaseStep getStep(int index) {
+        return steps[index] == 0 ? null : PhaseStep.values()[steps[index] - 1];
+    }
+
+    /**
+     * Finds the first state of a turn and step by the index, without reading
+     * any states
+     *
+     * @param turn
+     * @param step the step or null for the first state of the turn
+     * @return index of the first state at or after the given turn and step or
+     * -1 if there is no such state
+     */
+    public int findState(int turn, PhaseStep step) {
+        for (int i = 0; i < turns.length; i++) {
+            if (turns[i] > turn) {
+                return i;
+            }
+            if (turns[i] == turn && (step == null || (steps[i] > 0 && steps[i] - 1 >= step.ordinal()))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    Chunk readChunk(int chunk) throws IOException {
+        CountingInputStream counter = new CountingInputStream(new GZIPInputStream(new ByteArrayInputStream(readBytes(chunkPositions[chunk]))));
+        try (ObjectInput input = new CopierObjectInputStream(Main.classLoader, counter)) {
+            return new Chunk((List<GameState>) input.readObject(), counter.count);
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Cannot read states of game " + gameId, ex);
+        }
+    }
+
+    private Object readPart(long position) throws IOException, ClassNotFoundException {
+        try (ObjectInput input = new CopierObjectInputStream(Main.classLoader, new GZIPInputStream(new ByteArrayInputStream(readBytes(position))))) {
+            return input.readObject();
+        }
+    }
+
+    private byte[] readBytes(long position) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.seek(position);
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Decoded states of a chunk with the number of uncompressed bytes they
+     * were read from, as a measure of their size in memory
+     */
+    static class Chunk {
+
+        final List<GameState> states;
+        final long size;
+
+        Chunk(List<GameState> states, long size) {
+            this.states = states;
+            this.size = size;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        public CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
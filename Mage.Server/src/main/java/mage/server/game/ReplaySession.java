@@ -43,10 +43,12 @@ import mage.view.GameView;
 public class ReplaySession implements GameCallback {
 
     private final GameReplay replay;
+    private final UUID gameId;
     protected UUID userId;
 
     ReplaySession(UUID gameId, UUID userId) {
         this.replay = new GameReplay(gameId);
+        this.gameId = gameId;
         this.userId = userId;
     }
 
@@ -54,7 +56,8 @@ public class ReplaySession implements GameCallback {
         replay.start();
         User user = UserManager.getInstance().getUser(userId);
         if (user != null) {
-            user.fireCallback(new ClientCallback("replayInit", replay.getGame().getId(), new GameView(replay.next(), replay.getGame(), null, null)));
+            GameState state = replay.next();
+            user.fireCallback(new ClientCallback("replayInit", gameId, new GameView(state, replay.getGame(), null, null)));
         }
     }
 
@@ -67,10 +70,7 @@ public class ReplaySession implements GameCallback {
     }
 
     public synchronized void next(int moves) {
-        for (int i = 0; i < moves; i++) {
-            replay.next();
-        }
-        updateGame(replay.next(), replay.getGame());
+        updateGame(replay.next(moves), replay.getGame());
     }
 
     public synchronized void previous() {
@@ -79,11 +79,12 @@ public class ReplaySession implements GameCallback {
 
     @Override
     public void gameResult(final String result) {
+        replay.stop();
         User user = UserManager.getInstance().getUser(userId);
         if (user != null) {
-            user.fireCallback(new ClientCallback("replayDone", replay.getGame().getId(), result));
+            user.fireCallback(new ClientCallback("replayDone", gameId, result));
         }
-        ReplayManager.getInstance().endReplay(replay.getGame().getId(), userId);
+        ReplayManager.getInstance().endReplay(gameId, userId);
     }
 
     private void updateGame(final GameState state, Game game) {
@@ -93,7 +94,7 @@ public class ReplaySession implements GameCallback {
         else {
             User user = UserManager.getInstance().getUser(userId);
             if (user != null) {
-                user.fireCallback(new ClientCallback("replayUpdate", replay.getGame().getId(), new GameView(state, game, null, null)));
+                user.fireCallback(new ClientCallback("replayUpdate", gameId, new GameView(state, game, null, null)));
             }
         }
     }
@@ -0,0 +1,26 @@
+package mage.server.services;
+
+import mage.game.Game;
+import mage.game.match.Match;
+
+/**
+ * Responsible for storing the results of finished games and matches in DB.
+ *
+ * @author agent
+ */
+public interface ResultService {
+
+    /**
+     * Saves the result of a finished game.
+     *
+     * @param game
+     */
+    void gameEnded(Game game);
+
+    /**
+     * Saves the result of a finished match.
+     *
+     * @param match
+     */
+    void matchEnded(Match match);
+}
@@ -1,6 +1,7 @@
 package mage.server.services.impl;
 
-import mage.db.EntityManager;
+import mage.db.EntityWriter;
+import mage.db.model.Log;
 import mage.server.services.LogService;
 import org.apache.log4j.Logger;
 
@@ -18,7 +19,10 @@ public enum LogServiceImpl implements LogService {
     public void log(String key, String... args) {
         Calendar cal = Calendar.getInstance();
         try {
-            EntityManager.instance.insertLog(key, cal.getTime(), args);
+            Log logEntity = new Log(key, cal.getTime());
+            logEntity.setArguments(args);
+            // written in the background, the calling thread doesn't wait for the database
+            EntityWriter.instance.write(logEntity);
         } catch (Exception e) {
             log.fatal(e);
         }
@@ -0,0 +1,73 @@
+package mage.server.services.impl;
+
+import mage.db.EntityWriter;
+import mage.db.model.GameResult;
+import mage.game.Game;
+import mage.game.match.Match;
+import mage.game.match.MatchPlayer;
+import mage.players.Player;
+import mage.server.services.ResultService;
+import org.apache.log4j.Logger;
+
+import java.util.Date;
+
+/**
+ * Results are written in the background by the {@link EntityWriter}.
+ *
+ * @author agent
+ */
+public enum ResultServiceImpl implements ResultService {
+    instance;
+
+    private static Logger log = Logger.getLogger(ResultServiceImpl.class);
+
+    @Override
+    public void gameEnded(Game game) {
+        if (game.isSimulation() || game.getStartTime() == null || game.getEndTime() == null) {
+            return;
+        }
+        try {
+            StringBuilder players = new StringBuilder();
+            String winner = null;
+            for (Player player : game.getPlayers().values()) {
+                if (players.length() > 0) {
+                    players.append(',');
+                }
+                players.append(player.getName());
+                if (player.hasWon()) {
+                    winner = player.getName();
+                }
+            }
+            long duration = game.getEndTime().getTime() - game.getStartTime().getTime();
+            EntityWriter.instance.write(new GameResult(GameResult.TYPE_GAME, game.getId().toString(), game.getGameType().getName(),
+                    players.toString(), winner, game.getTurnNum(), 1, duration, new Date()));
+        } catch (Exception e) {
+            log.fatal(e);
+        }
+    }
+
+    @Override
+    public void matchEnded(Match match) {
+        if (match.getStartTime() == null || match.getEndTime() == null) {
+            return;
+        }
+        try {
+            StringBuilder players = new StringBuilder();
+            String winner = null;
+            for (MatchPlayer matchPlayer : match.getPlayers()) {
+                if (players.length() > 0) {
+                    players.append(',');
+                }
+                players.append(matchPlayer.getName());
+                if (matchPlayer.isMatchWinner()) {
+                    winner = matchPlayer.getName();
+                }
+            }
+            long duration = match.getEndTime().getTime() - match.getStartTime().getTime();
+            EntityWriter.instance.write(new GameResult(GameResult.TYPE_MATCH, match.getId().toString(), match.getOptions().getGameType(),
+                    players.toString(), winner, 0, match.getNumGames(), duration, new Date()));
+        } catch (Exception e) {
+            log.fatal(e);
+        }
+    }
+}
@@ -123,6 +123,10 @@ public class ConfigSettings {
             return config.getServer().isSaveGameActivated();
 }
 
+    public boolean isRecordGameActivated() {
+        return Boolean.TRUE.equals(config.getServer().isRecordGameActivated());
+    }
+
     public List<Plugin> getPlayerTypes() {
         return config.getPlayerTypes().getPlayerType();
     }
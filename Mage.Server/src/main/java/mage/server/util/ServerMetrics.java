@@ -0,0 +1,225 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.server.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import mage.server.SessionManager;
+import mage.server.UserManager;
+import mage.server.game.GameManager;
+import mage.util.metrics.Gauge;
+import mage.util.metrics.MetricsRegistry;
+import mage.utils.timer.TimerWheel;
+import org.apache.log4j.Logger;
+
+/**
+ * Registers the server level gauges (users, sessions, games and executor
+ * saturation) in the {@link MetricsRegistry} and exports all metrics via JMX
+ * as attributes of the MBean "mage.server:type=Metrics" (e.g. to be viewed
+ * with jconsole). The admin console reads the same values through
+ * {@link mage.interfaces.MageServer#getServerMetrics(String)}.
+ *
+ * @author agent
+ */
+public class ServerMetrics {
+
+    private static final Logger logger = Logger.getLogger(ServerMetrics.class);
+
+    public static final String OBJECT_NAME = "mage.server:type=Metrics";
+
+    private static final ServerMetrics INSTANCE = new ServerMetrics();
+
+    public static ServerMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private ServerMetrics() {
+    }
+
+    public void init() {
+        MetricsRegistry registry = MetricsRegistry.instance;
+        registry.gauge("server.users", new Gauge() {
+            @Override
+            public long getValue() {
+                return UserManager.getInstance().getUsers().size();
+            }
+        });
+        registry.gauge("server.sessions", new Gauge() {
+            @Override
+            public long getValue() {
+                return SessionManager.getInstance().getSessions().size();
+            }
+        });
+        registry.gauge("server.activeGames", new Gauge() {
+            @Override
+            public long getValue() {
+                return GameManager.getInstance().getNumberActiveGames();
+            }
+        });
+        ThreadExecutor threadExecutor = ThreadExecutor.getInstance();
+        addExecutorGauges("executor.game", threadExecutor.getGameExecutor());
+        addExecutorGauges("executor.call", threadExecutor.getCallExecutor());
+        addExecutorGauges("executor.timeout", threadExecutor.getTimeoutExecutor());
+        addExecutorGauges("executor.timeoutIdle", threadExecutor.getTimeoutIdleExecutor());
+        registry.gauge("timerWheel.pending", new Gauge() {
+            @Override
+            public long getValue() {
+                return TimerWheel.getInstance().getPending();
+            }
+        });
+        registry.gauge("jvm.usedHeapMb", new Gauge() {
+            @Override
+            public long getValue() {
+                Runtime runtime = Runtime.getRuntime();
+                return (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+            }
+        });
+
+        try {
+            MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!mbeanServer.isRegistered(objectName)) {
+                mbeanServer.registerMBean(new MetricsMBean(), objectName);
+            }
+        } catch (Exception ex) {
+            logger.error("Could not register metrics MBean", ex);
+        }
+    }
+
+    private void addExecutorGauges(String prefix, ExecutorService executorService) {
+        if (!(executorService instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) executorService;
+        MetricsRegistry.instance.gauge(prefix + ".active", new Gauge() {
+            @Override
+            public long getValue() {
+                return executor.getActiveCount();
+            }
+        });
+        MetricsRegistry.instance.gauge(prefix + ".poolSize", new Gauge() {
+            @Override
+            public long getValue() {
+                return executor.getPoolSize();
+            }
+        });
+        MetricsRegistry.instance.gauge(prefix + ".maxPoolSize", new Gauge() {
+            @Override
+            public long getValue() {
+                return executor.getMaximumPoolSize();
+            }
+        });
+        MetricsRegistry.instance.gauge(prefix + ".queued", new Gauge() {
+            @Override
+            public long getValue() {
+                return executor.getQueue().size();
+            }
+        });
+    }
+
+    public SortedMap<String, Long> getSnapshot() {
+        return MetricsRegistry.instance.getSnapshot();
+    }
+
+    /**
+     * Read only MBean that exposes every metric of the registry as a long
+     * attribute. The attribute list is built from the current snapshot, so
+     * metrics registered later are visible after a refresh of the JMX client.
+     */
+    private static class MetricsMBean implements DynamicMBean {
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Long value = MetricsRegistry.instance.getSnapshot().get(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) {
+            throw new UnsupportedOperationException("Metrics are read only");
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            SortedMap<String, Long> snapshot = MetricsRegistry.instance.getSnapshot();
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Long value = snapshot.get(attribute);
+                if (value != null) {
+                    list.add(new Attribute(attribute, value));
+                }
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            if ("reset".equals(actionName)) {
+                MetricsRegistry.instance.reset();
+                return null;
+            }
+            throw new UnsupportedOperationException(actionName);
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (Map.Entry<String, Long> entry : MetricsRegistry.instance.getSnapshot().entrySet()) {
+                attributes.add(new MBeanAttributeInfo(entry.getKey(), Long.class.getName(), entry.getKey(), true, false, false));
+            }
+            MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Resets all timers and counters",
+                    null, "void", MBeanOperationInfo.ACTION);
+            return new MBeanInfo(ServerMetrics.class.getName(), "XMage server metrics",
+                    attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null,
+                    new MBeanOperationInfo[]{reset}, null);
+        }
+    }
+}
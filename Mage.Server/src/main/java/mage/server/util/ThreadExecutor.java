@@ -45,6 +45,8 @@ public class ThreadExecutor {
     private static final ExecutorService gameExecutor = Executors.newFixedThreadPool(ConfigSettings.getInstance().getMaxGameThreads());
     private static final ScheduledExecutorService timeoutExecutor = Executors.newScheduledThreadPool(4);
     private static final ScheduledExecutorService timeoutIdleExecutor = Executors.newScheduledThreadPool(4);
+    private static final ScheduledExecutorService chatExecutor = Executors.newScheduledThreadPool(2);
+    private static final ExecutorService watcherExecutor = Executors.newFixedThreadPool(2);
 
     /**
      * noxx: what the settings below do is setting the ability to keep OS threads for new games for 60 seconds
@@ -67,6 +69,12 @@ public class ThreadExecutor {
         ((ThreadPoolExecutor)timeoutIdleExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
         ((ThreadPoolExecutor)timeoutIdleExecutor).allowCoreThreadTimeOut(true);
         ((ThreadPoolExecutor)timeoutIdleExecutor).setThreadFactory(new XMageThreadFactory("TIMEOUT_IDLE"));
+        ((ThreadPoolExecutor)chatExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
+        ((ThreadPoolExecutor)chatExecutor).allowCoreThreadTimeOut(true);
+        ((ThreadPoolExecutor)chatExecutor).setThreadFactory(new XMageThreadFactory("CHAT"));
+        ((ThreadPoolExecutor)watcherExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
+        ((ThreadPoolExecutor)watcherExecutor).allowCoreThreadTimeOut(true);
+        ((ThreadPoolExecutor)watcherExecutor).setThreadFactory(new XMageThreadFactory("WATCHER"));
     }
 
     private static final ThreadExecutor INSTANCE = new ThreadExecutor();
@@ -99,6 +107,25 @@ public class ThreadExecutor {
     public ScheduledExecutorService getTimeoutIdleExecutor() {
         return timeoutIdleExecutor;
     }
+
+    /**
+     * Delivers the collected chat messages of the chat sessions
+     *
+     * @return
+     */
+    public ScheduledExecutorService getChatExecutor() {
+        return chatExecutor;
+    }
+
+    /**
+     * Delivers the game updates to the watchers of the games, so the game
+     * threads don't wait for them
+     *
+     * @return
+     */
+    public ExecutorService getWatcherExecutor() {
+        return watcherExecutor;
+    }
     
 }
 
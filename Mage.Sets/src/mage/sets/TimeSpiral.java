@@ -2,9 +2,10 @@ package mage.sets;
 
 import java.util.GregorianCalendar;
 import java.util.List;
-import mage.cards.Card;
+import java.util.Random;
 import mage.cards.ExpansionSet;
 import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
 import mage.cards.repository.CardRepository;
 import mage.constants.Rarity;
 import mage.constants.SetType;
@@ -29,11 +30,11 @@ public class TimeSpiral extends ExpansionSet {
     }
 
     @Override
-    public List<Card> createBooster() {
-        List<Card> booster = super.createBooster();
+    public List<CardInfo> createBoosterCardInfos(Random random) {
+        List<CardInfo> booster = super.createBoosterCardInfos(random);
         CardCriteria criteria = new CardCriteria();
         criteria.rarities(Rarity.SPECIAL).setCodes("TSB");
-        addToBooster(booster, CardRepository.instance.findCards(criteria));
+        addToBooster(booster, CardRepository.instance.findCards(criteria), random);
         return booster;
     }
 }
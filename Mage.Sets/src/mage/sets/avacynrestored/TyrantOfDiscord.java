@@ -97,7 +97,7 @@ class TyrantOfDiscordEffect extends OneShotEffect {
             while (!stop) {
                 int count = game.getBattlefield().countAll(new FilterPermanent(), opponent.getId(), game);
                 if (count > 0) {
-                    int random = (int)(Math.random()*count);
+                    int random = game.getRandom().nextInt(count);
                     int index = 0;
                     for (Permanent permanent : game.getBattlefield().getAllActivePermanents(opponent.getId())) {
                         if (index == random) {
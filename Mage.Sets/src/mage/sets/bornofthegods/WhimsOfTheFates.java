@@ -31,7 +31,6 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import mage.abilities.Ability;
@@ -76,8 +75,6 @@ public class WhimsOfTheFates extends CardImpl {
 
 class WhimsOfTheFateEffect extends OneShotEffect {
 
-    protected static Random rnd = new Random();
-
     public WhimsOfTheFateEffect() {
         super(Outcome.Detriment);
         this.staticText = "Starting with you, each player separates all permanents he or she controls into three piles. Then each player chooses one of his or her piles at random and sacrifices those permanents.";
@@ -173,7 +170,7 @@ class WhimsOfTheFateEffect extends OneShotEffect {
                 Player player = game.getPlayer(playerPiles.getKey());
                 if (player != null) {
                     // decide which pile to sacrifice
-                    int sacrificePile = rnd.nextInt(3) + 1; // random number from 1 - 3
+                    int sacrificePile = game.getRandom().nextInt(3) + 1; // random number from 1 - 3
                     game.informPlayers(new StringBuilder(player.getLogName()).append(" sacrifices pile number ").append(sacrificePile).toString());
                     for (UUID permanentId : playerPiles.getValue().get(sacrificePile)) {
                         Permanent permanent = game.getPermanent(permanentId);
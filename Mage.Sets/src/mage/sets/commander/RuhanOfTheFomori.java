@@ -29,7 +29,6 @@ package mage.sets.commander;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.UUID;
 import mage.MageInt;
 import mage.abilities.Ability;
@@ -98,10 +97,9 @@ class RuhanOfTheFomoriEffect extends OneShotEffect {
     public boolean apply(Game game, Ability source) {
         Player controller = game.getPlayer(source.getControllerId());
         if (controller != null) {
-            Random random = new Random();
             List<UUID> opponents = new ArrayList<>();
             opponents.addAll(game.getOpponents(controller.getId()));
-            Player opponent = game.getPlayer(opponents.get(random.nextInt(opponents.size())));
+            Player opponent = game.getPlayer(opponents.get(game.getRandom().nextInt(opponents.size())));
             if (opponent != null) {
                 ContinuousEffect effect = new AttacksIfAbleTargetPlayerSourceEffect();
                 effect.setTargetPointer(new FixedTarget(opponent.getId()));
@@ -27,7 +27,6 @@
  */
 package mage.sets.darkascension;
 
-import java.util.Random;
 import java.util.UUID;
 
 import mage.constants.CardType;
@@ -98,8 +97,7 @@ class HauntedFengrafEffect extends OneShotEffect {
         if (player != null) {
             Card[] cards = player.getGraveyard().getCards(new FilterCreatureCard(), game).toArray(new Card[0]);
             if (cards.length > 0) {
-                Random rnd = new Random();
-                Card card = cards[rnd.nextInt(cards.length)];
+                Card card = cards[game.getRandom().nextInt(cards.length)];
                 card.moveToZone(Zone.HAND, source.getSourceId(), game, true);
                 game.informPlayers(card.getName() + " returned to the hand of " + player.getLogName());
                 return true;
@@ -105,7 +105,7 @@ class GhastlyConscriptionEffect extends OneShotEffect {
             if (cardsToManifest.isEmpty()) {
                 return true;
             }
-            Collections.shuffle(cardsToManifest);
+            Collections.shuffle(cardsToManifest, game.getRandom());
             game.informPlayers(controller.getLogName() + " shuffles the face-down pile");
             Ability newSource = source.copy();
             newSource.setWorksFaceDown(true);
@@ -123,7 +123,7 @@ class JeskaiInfiltratorEffect extends OneShotEffect {
                 controller.moveCardToExileWithInfo(cardFromLibrary, sourcePermanent.getId(), sourcePermanent.getIdName(), source.getSourceId(), game, Zone.LIBRARY, true);
                 cardsToManifest.add(cardFromLibrary);
             }
-            Collections.shuffle(cardsToManifest);
+            Collections.shuffle(cardsToManifest, game.getRandom());
             game.fireUpdatePlayersEvent(); // removes Jeskai from Battlefield, so he returns as a fresh permanent to the battlefield with new position
             Ability newSource = source.copy();
             newSource.setWorksFaceDown(true);
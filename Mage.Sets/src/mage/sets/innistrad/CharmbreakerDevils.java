@@ -27,7 +27,6 @@
  */
 package mage.sets.innistrad;
 
-import java.util.Random;
 import java.util.UUID;
 import mage.constants.CardType;
 import mage.constants.Duration;
@@ -114,8 +113,7 @@ class CharmbreakerDevilsEffect extends OneShotEffect {
                     new CardTypePredicate(CardType.SORCERY)));
             Card[] cards = player.getGraveyard().getCards(filter, game).toArray(new Card[0]);
             if (cards.length > 0) {
-                Random rnd = new Random();
-                Card card = cards[rnd.nextInt(cards.length)];
+                Card card = cards[game.getRandom().nextInt(cards.length)];
                 card.moveToZone(Zone.HAND, source.getSourceId(), game, true);
                 game.informPlayers(new StringBuilder("Charmbreaker Devils: ").append(card.getName()).append(" returned to the hand of ").append(player.getLogName()).toString());
                 return true;
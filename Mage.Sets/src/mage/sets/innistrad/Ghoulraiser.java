@@ -27,7 +27,6 @@
  */
 package mage.sets.innistrad;
 
-import java.util.Random;
 import java.util.UUID;
 import mage.constants.CardType;
 import mage.constants.Outcome;
@@ -96,8 +95,7 @@ class GhoulraiserEffect extends OneShotEffect {
             filter.add(new SubtypePredicate("Zombie"));
             Card[] cards = player.getGraveyard().getCards(filter, game).toArray(new Card[0]);
             if (cards.length > 0) {
-                Random rnd = new Random();
-                Card card = cards[rnd.nextInt(cards.length)];
+                Card card = cards[game.getRandom().nextInt(cards.length)];
                 card.moveToZone(Zone.HAND, source.getSourceId(), game, true);
                 game.informPlayers(card.getName() + "returned to the hand of" + player.getLogName());
                 return true;
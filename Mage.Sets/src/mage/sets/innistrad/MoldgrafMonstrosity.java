@@ -27,7 +27,6 @@
  */
 package mage.sets.innistrad;
 
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import mage.constants.CardType;
@@ -101,7 +100,7 @@ class MoldgrafMonstrosityEffect extends OneShotEffect {
             Set<Card> cards = player.getGraveyard().getCards(new FilterCreatureCard("creature cards"), game);
 
             for (int i = 0; i < 2; i++) {
-                Card card = getRandomCard(cards);
+                Card card = getRandomCard(cards, game);
                 if (card != null) {
                     returned |= card.putOntoBattlefield(game, Zone.GRAVEYARD, source.getSourceId(), source.getControllerId());
                     cards.remove(card);
@@ -111,12 +110,12 @@ class MoldgrafMonstrosityEffect extends OneShotEffect {
         return returned;
     }
 
-    private Card getRandomCard(Set<Card> cards) {
+    private Card getRandomCard(Set<Card> cards, Game game) {
         if (cards == null || cards.size() < 1) {
             return null;
         }
         int i = 0;
-        int pick = new Random().nextInt(cards.size());
+        int pick = game.getRandom().nextInt(cards.size());
         for (Card card : cards) {
             if (i == pick) {
                 return card;
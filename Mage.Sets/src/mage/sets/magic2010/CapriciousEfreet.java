@@ -28,7 +28,6 @@
 package mage.sets.magic2010;
 
 import java.util.ArrayList;
-import java.util.Random;
 import java.util.UUID;
 import mage.constants.CardType;
 import mage.constants.Outcome;
@@ -115,8 +114,7 @@ class CapriciousEfreetEffect extends OneShotEffect {
         }
 
         if (!targetPermanents.isEmpty()) {
-            Random random = new Random();
-            permanent = targetPermanents.get(random.nextInt(targetPermanents.size()));
+            permanent = targetPermanents.get(game.getRandom().nextInt(targetPermanents.size()));
             permanent.destroy(source.getSourceId(), game, false);
             return true;
         }
@@ -27,7 +27,6 @@
  */
 package mage.sets.magic2012;
 
-import java.util.Random;
 import java.util.UUID;
 import mage.abilities.Ability;
 import mage.abilities.effects.ContinuousEffect;
@@ -81,11 +80,10 @@ class ScrambleverseEffect extends OneShotEffect {
 
     @Override
     public boolean apply(Game game, Ability source) {
-        Random random = new Random();
         PlayerList players = game.getState().getPlayersInRange(source.getControllerId(), game);
         int count = players.size();
         for (Permanent permanent : game.getBattlefield().getActivePermanents(new FilterNonlandPermanent(), source.getControllerId(), source.getSourceId(), game)) {
-            ContinuousEffect effect = new GainControlTargetEffect(Duration.Custom, true, players.get(random.nextInt(count)));
+            ContinuousEffect effect = new GainControlTargetEffect(Duration.Custom, true, players.get(game.getRandom().nextInt(count)));
             effect.setTargetPointer(new FixedTarget(permanent.getId()));
             game.addEffect(effect, source);
             permanent.untap(game);
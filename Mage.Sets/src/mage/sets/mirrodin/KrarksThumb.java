@@ -27,7 +27,6 @@
  */
 package mage.sets.mirrodin;
 
-import java.util.Random;
 import java.util.UUID;
 import mage.constants.CardType;
 import mage.constants.Duration;
@@ -82,7 +81,7 @@ class KrarksThumbEffect extends ReplacementEffectImpl {
         Player player = game.getPlayer(event.getPlayerId());
         if (player != null) {
             // because second flip is ignored it may not be done by the player method
-            boolean secondCoinFlip = new Random().nextBoolean();
+            boolean secondCoinFlip = game.getRandom().nextBoolean();
             if (!game.isSimulation()) {
                 game.informPlayers("[Flip a coin] " + player.getLogName() + (secondCoinFlip ? " won (head)." : " lost (tail)."));
             }
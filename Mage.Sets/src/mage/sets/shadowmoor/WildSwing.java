@@ -27,7 +27,6 @@
  */
 package mage.sets.shadowmoor;
 
-import java.util.Random;
 import java.util.UUID;
 import mage.MageObject;
 import mage.abilities.Ability;
@@ -98,8 +97,7 @@ class WildSwingEffect extends OneShotEffect {
         if (!source.getTargets().isEmpty() && sourceObject != null) {
             Target target = source.getTargets().get(0);
             if (target != null && !target.getTargets().isEmpty()) {
-                Random rnd = new Random();
-                Permanent targetPermanent = game.getPermanent(target.getTargets().get(rnd.nextInt(target.getTargets().size())));
+                Permanent targetPermanent = game.getPermanent(target.getTargets().get(game.getRandom().nextInt(target.getTargets().size())));
                 if (targetPermanent != null) {
                     game.informPlayers(sourceObject.getLogName() + ": The randomly chosen target to destroy is " + targetPermanent.getLogName());
                     targetPermanent.destroy(source.getSourceId(), game, false);
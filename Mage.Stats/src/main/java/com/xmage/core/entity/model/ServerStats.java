@@ -16,6 +16,10 @@ public class ServerStats implements EntityModel {
 
     private int numberOfPlayersPlayedOnce;
 
+    private long numberOfGamesFinished;
+
+    private long averageGameDuration;
+
     public int getNumberOfGamesPlayed() {
         return numberOfGamesPlayed;
     }
@@ -40,6 +44,25 @@ public class ServerStats implements EntityModel {
         this.numberOfPlayersPlayedOnce = numberOfPlayersPlayedOnce;
     }
 
+    public long getNumberOfGamesFinished() {
+        return numberOfGamesFinished;
+    }
+
+    public void setNumberOfGamesFinished(long numberOfGamesFinished) {
+        this.numberOfGamesFinished = numberOfGamesFinished;
+    }
+
+    /**
+     * @return average duration of the finished games in seconds
+     */
+    public long getAverageGameDuration() {
+        return averageGameDuration;
+    }
+
+    public void setAverageGameDuration(long averageGameDuration) {
+        this.averageGameDuration = averageGameDuration;
+    }
+
     public String getTop3Players() {
         return top3Players;
     }
@@ -58,6 +81,8 @@ public class ServerStats implements EntityModel {
         if (numberOfGamesPlayed != stats.numberOfGamesPlayed) return false;
         if (numberOfUniquePlayers != stats.numberOfUniquePlayers) return false;
         if (numberOfPlayersPlayedOnce != stats.numberOfPlayersPlayedOnce) return false;
+        if (numberOfGamesFinished != stats.numberOfGamesFinished) return false;
+        if (averageGameDuration != stats.averageGameDuration) return false;
         if (top3Players != null ? !top3Players.equals(stats.top3Players) : stats.top3Players != null) return false;
 
         return true;
@@ -68,6 +93,8 @@ public class ServerStats implements EntityModel {
         int result = numberOfGamesPlayed;
         result = 31 * result + numberOfUniquePlayers;
         result = 31 * result + numberOfPlayersPlayedOnce;
+        result = 31 * result + (int) (numberOfGamesFinished ^ (numberOfGamesFinished >>> 32));
+        result = 31 * result + (int) (averageGameDuration ^ (averageGameDuration >>> 32));
         result = 31 * result + (top3Players != null ? top3Players.hashCode() : 0);
 
         return result;
@@ -3,6 +3,7 @@ package com.xmage.core.entity.repositories.impl;
 import com.xmage.core.entity.model.ServerStats;
 import com.xmage.core.entity.repositories.XMageStatsRepository;
 import mage.db.EntityManager;
+import mage.db.model.GameResult;
 import mage.db.model.Log;
 import mage.server.services.LogKeys;
 import org.slf4j.Logger;
@@ -98,6 +99,10 @@ public class XMageStatsRepositoryImpl implements XMageStatsRepository {
         serverStats.setTop3Players(top3.toString());
         serverStats.setNumberOfPlayersPlayedOnce(oneGamePlayers);
 
+        // aggregated by the database
+        serverStats.setNumberOfGamesFinished(EntityManager.instance.getGameResultCount(GameResult.TYPE_GAME));
+        serverStats.setAverageGameDuration(EntityManager.instance.getAverageDuration(GameResult.TYPE_GAME) / 1000);
+
         return serverStats;
     }
 
@@ -37,6 +37,8 @@ public class XMageStatsJSONBuilder implements JSONBuilder<ServerStats> {
         statsJson.put("numberOfUniquePlayers", serverStats.getNumberOfUniquePlayers());
         statsJson.put("numberOfPlayersPlayedOnlyOnce", serverStats.getNumberOfPlayersPlayedOnce());
         statsJson.put("top3Players", serverStats.getTop3Players());
+        statsJson.put("numberOfGamesFinished", serverStats.getNumberOfGamesFinished());
+        statsJson.put("averageGameDurationSeconds", serverStats.getAverageGameDuration());
 
         return statsJson;
     }
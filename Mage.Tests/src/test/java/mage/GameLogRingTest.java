@@ -0,0 +1,62 @@
+package mage;
+
+import java.util.List;
+import mage.util.GameLogEntry;
+import mage.util.GameLogRing;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link GameLogRing} and {@link GameLogEntry}
+ */
+public class GameLogRingTest {
+
+    @Test
+    public void shouldRenderTemplateArguments() {
+        // given
+        GameLogEntry entry = new GameLogEntry("Turn {0}: {1} {0}", 3, "again");
+
+        // then
+        assertEquals("Turn 3: again 3", entry.getText());
+    }
+
+    @Test
+    public void shouldKeepMessageWithoutArguments() {
+        // given
+        GameLogEntry entry = new GameLogEntry("Choose {X} or {1}");
+
+        // then
+        assertEquals("Choose {X} or {1}", entry.getText());
+    }
+
+    @Test
+    public void shouldKeepUnknownPlaceHolders() {
+        // given
+        GameLogEntry entry = new GameLogEntry("{0} pays {X}{2}", "Player");
+
+        // then
+        assertEquals("Player pays {X}{2}", entry.getText());
+    }
+
+    @Test
+    public void shouldDropOldestEntries() {
+        // given
+        GameLogRing log = new GameLogRing(3);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            log.add(new GameLogEntry("message {0}", i));
+        }
+
+        // then
+        assertEquals(5, log.getCount());
+        assertEquals(2, log.getFirstNumber());
+        List<GameLogEntry> entries = log.getEntries(0);
+        assertEquals(3, entries.size());
+        assertEquals("message 2", entries.get(0).getText());
+        assertEquals(4, entries.get(2).getNumber());
+        assertEquals(1, log.getEntries(3, 4).size());
+        assertTrue(log.getEntries(5).isEmpty());
+    }
+}
@@ -0,0 +1,55 @@
+package mage;
+
+import mage.util.GameRandom;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link GameRandom}
+ */
+public class GameRandomTest {
+
+    @Test
+    public void shouldRepeatNumbersOfSameSeed() {
+        // given
+        GameRandom random1 = new GameRandom(42);
+        GameRandom random2 = new GameRandom(42);
+
+        // then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random1.nextInt(60), random2.nextInt(60));
+        }
+        assertEquals(random1.nextLong(), random2.nextLong());
+        assertEquals(random1.nextBoolean(), random2.nextBoolean());
+    }
+
+    @Test
+    public void shouldContinueCopyWithSameNumbers() {
+        // given
+        GameRandom random = new GameRandom(7);
+        random.nextInt(10);
+
+        // when
+        GameRandom copy = random.copy();
+
+        // then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random.nextInt(), copy.nextInt());
+        }
+    }
+
+    @Test
+    public void shouldNotUseNumbersOfGameInSplit() {
+        // given
+        GameRandom random = new GameRandom(7);
+
+        // when
+        GameRandom split = random.split();
+        long expected = new GameRandom(7).nextLong();
+
+        // then
+        assertEquals(expected, random.nextLong());
+        assertNotEquals(expected, split.nextLong());
+    }
+}
@@ -0,0 +1,78 @@
+package mage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link PackedMana}
+ */
+public class PackedManaTest {
+
+    @Test
+    public void shouldPackAndUnpackMana() {
+        // given
+        Mana mana = new Mana(1, 2, 3, 4, 5, 6, 7);
+
+        // when
+        long packed = PackedMana.pack(mana);
+
+        // then
+        assertTrue(PackedMana.canPack(mana));
+        assertTrue(mana.equalManaValue(PackedMana.unpack(packed)));
+        assertEquals(28, PackedMana.count(packed));
+        assertEquals(22, PackedMana.countColored(packed));
+        assertEquals(7, PackedMana.getAny(packed));
+    }
+
+    @Test
+    public void shouldNotPackTooMuchMana() {
+        assertFalse(PackedMana.canPack(Mana.RedMana(PackedMana.MAX_AMOUNT + 1)));
+        assertTrue(PackedMana.canPack(Mana.RedMana(PackedMana.MAX_AMOUNT)));
+    }
+
+    @Test
+    public void shouldAddAndSubtractMana() {
+        // given
+        long mana1 = PackedMana.pack(new Mana(1, 0, 2, 0, 0, 3, 0));
+        long mana2 = PackedMana.pack(new Mana(0, 1, 1, 0, 0, 0, 1));
+
+        // when
+        long sum = PackedMana.add(mana1, mana2);
+
+        // then
+        assertTrue(PackedMana.canAdd(mana1, mana2));
+        assertTrue(new Mana(1, 1, 3, 0, 0, 3, 1).equalManaValue(PackedMana.unpack(sum)));
+        assertEquals(mana1, PackedMana.subtract(sum, mana2));
+        assertTrue(PackedMana.includes(sum, mana1));
+        assertFalse(PackedMana.includes(mana1, sum));
+    }
+
+    @Test
+    public void shouldDetectOverflow() {
+        long mana = PackedMana.pack(Mana.GreenMana(200));
+        assertFalse(PackedMana.canAdd(mana, mana));
+    }
+
+    @Test
+    public void shouldIncludeManaLikeMana() {
+        Mana available = new Mana(2, 0, 0, 1, 0, 0, 0);
+        Mana cost = new Mana(1, 0, 0, 0, 0, 2, 0);
+        assertEquals(available.includesMana(cost), PackedMana.includesMana(PackedMana.pack(available), PackedMana.pack(cost)));
+        assertEquals(cost.includesMana(available), PackedMana.includesMana(PackedMana.pack(cost), PackedMana.pack(available)));
+    }
+
+    @Test
+    public void shouldFindMoreValuableManaLikeMana() {
+        // given
+        Mana mana1 = new Mana(1, 0, 0, 1, 0, 1, 0);
+        Mana mana2 = new Mana(1, 1, 0, 1, 0, 0, 0);
+        Mana mana3 = new Mana(0, 1, 0, 1, 1, 0, 0);
+
+        // then
+        assertEquals(PackedMana.pack(Mana.getMoreValuableMana(mana1, mana2)),
+                PackedMana.getMoreValuableMana(PackedMana.pack(mana1), PackedMana.pack(mana2)));
+        assertNull(Mana.getMoreValuableMana(mana2, mana3));
+        assertEquals(-1, PackedMana.getMoreValuableMana(PackedMana.pack(mana2), PackedMana.pack(mana3)));
+    }
+}
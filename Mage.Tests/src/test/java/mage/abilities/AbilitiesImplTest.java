@@ -0,0 +1,210 @@
+package mage.abilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import mage.abilities.keyword.FirstStrikeAbility;
+import mage.abilities.keyword.FlyingAbility;
+import mage.abilities.keyword.IndestructibleAbility;
+import mage.abilities.keyword.TrampleAbility;
+import mage.constants.Zone;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for the singleton bits of {@link AbilitiesImpl}
+ */
+public class AbilitiesImplTest {
+
+    @After
+    public void tearDown() {
+        AbilitiesImpl.resetSingletonBits();
+    }
+
+    @Test
+    public void shouldFindSingletonAfterAdd() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<>();
+        abilities.add(TrampleAbility.getInstance());
+        assertFalse(abilities.containsKey(FlyingAbility.getInstance().getId()));
+
+        // when
+        abilities.add(FlyingAbility.getInstance());
+
+        // then
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertTrue(abilities.containsKey(TrampleAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldFindSingletonsAfterAddAll() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<>();
+        assertFalse(abilities.containsKey(FirstStrikeAbility.getInstance().getId()));
+
+        // when
+        abilities.addAll(Arrays.<Ability>asList(FlyingAbility.getInstance(), FirstStrikeAbility.getInstance()));
+
+        // then
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertTrue(abilities.containsKey(FirstStrikeAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldNotFindSingletonAfterRemove() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<Ability>(FlyingAbility.getInstance(), TrampleAbility.getInstance());
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+
+        // when
+        abilities.remove(FlyingAbility.getInstance());
+
+        // then
+        assertFalse(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertTrue(abilities.containsKey(TrampleAbility.getInstance().getId()));
+
+        // when
+        abilities.remove(0);
+
+        // then
+        assertFalse(abilities.containsKey(TrampleAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldNotFindSingletonAfterIteratorRemove() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<Ability>(FlyingAbility.getInstance(), TrampleAbility.getInstance());
+        assertTrue(abilities.containsKey(TrampleAbility.getInstance().getId()));
+
+        // when
+        Iterator<Ability> iterator = abilities.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof TrampleAbility) {
+                iterator.remove();
+            }
+        }
+
+        // then
+        assertFalse(abilities.containsKey(TrampleAbility.getInstance().getId()));
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldNotFindSingletonsAfterClear() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<Ability>(FlyingAbility.getInstance(), TrampleAbility.getInstance());
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+
+        // when
+        abilities.clear();
+
+        // then
+        assertFalse(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertFalse(abilities.containsKey(TrampleAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldFindReplacedSingletonAfterSet() {
+        // given
+        AbilitiesImpl<Ability> abilities = new AbilitiesImpl<Ability>(FlyingAbility.getInstance());
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+
+        // when
+        abilities.set(0, TrampleAbility.getInstance());
+
+        // then
+        assertFalse(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertTrue(abilities.containsKey(TrampleAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldNotShareSingletonsWithCopy() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<Ability>(FlyingAbility.getInstance());
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        Abilities<Ability> copy = abilities.copy();
+
+        // when
+        copy.clear();
+
+        // then
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertFalse(copy.containsKey(FlyingAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldFindOtherAbilitiesByScan() {
+        // given
+        IndestructibleAbility indestructible = IndestructibleAbility.getInstance();
+        Abilities<Ability> abilities = new AbilitiesImpl<Ability>(FlyingAbility.getInstance());
+        assertFalse(abilities.containsKey(indestructible.getId()));
+
+        // when
+        abilities.add(indestructible);
+
+        // then
+        assertTrue(abilities.containsKey(indestructible.getId()));
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldFindSingletonsBeyondTheBits() {
+        // given
+        List<TestSingletonAbility> singletons = new ArrayList<>();
+        for (int i = 0; i < Long.SIZE + 8; i++) {
+            singletons.add(new TestSingletonAbility());
+        }
+        Abilities<Ability> abilities = new AbilitiesImpl<>();
+        abilities.addAll(singletons);
+        TestSingletonAbility other = new TestSingletonAbility();
+
+        // then
+        for (TestSingletonAbility singleton : singletons) {
+            assertTrue(abilities.containsKey(singleton.getId()));
+        }
+        assertFalse(abilities.containsKey(other.getId()));
+
+        // when
+        abilities.removeAll(singletons.subList(Long.SIZE, singletons.size()));
+
+        // then
+        for (int i = 0; i < singletons.size(); i++) {
+            assertEquals(i < Long.SIZE, abilities.containsKey(singletons.get(i).getId()));
+        }
+    }
+
+    @Test
+    public void shouldFindSingletonsAfterResetOfBits() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<Ability>(FlyingAbility.getInstance());
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+
+        // when
+        AbilitiesImpl.resetSingletonBits();
+        Abilities<Ability> other = new AbilitiesImpl<Ability>(TrampleAbility.getInstance());
+
+        // then
+        assertTrue(other.containsKey(TrampleAbility.getInstance().getId()));
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertFalse(abilities.containsKey(TrampleAbility.getInstance().getId()));
+    }
+
+    /**
+     * A singleton with an id of its own for every instance, so the test can
+     * use up the bits
+     */
+    private static class TestSingletonAbility extends StaticAbility implements MageSingleton {
+
+        public TestSingletonAbility() {
+            super(Zone.ALL, null);
+        }
+
+        @Override
+        public TestSingletonAbility copy() {
+            return this;
+        }
+    }
+}
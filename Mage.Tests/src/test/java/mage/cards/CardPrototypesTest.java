@@ -0,0 +1,159 @@
+package mage.cards;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import mage.abilities.Ability;
+import mage.abilities.MageSingleton;
+import mage.abilities.keyword.FlyingAbility;
+import mage.abilities.keyword.IndestructibleAbility;
+import mage.filter.FilterImpl;
+import mage.filter.predicate.permanent.BlockedByIdPredicate;
+import mage.sets.championsofkamigawa.KondaLordOfEiganjo;
+import mage.sets.iceage.TinderWall;
+import mage.sets.tenthedition.SerraAngel;
+import mage.util.ClassScanner;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link CardPrototypes}, a card created as copy of the
+ * prototype has to be the same as a card created by the constructor
+ */
+public class CardPrototypesTest {
+
+    // creatures, keywords, transform, split, flip, leveler, morph and manifest cards
+    private static final List<String> PACKAGES = Arrays.asList(
+            "mage.sets.tenthedition",
+            "mage.sets.magic2015",
+            "mage.sets.innistrad",
+            "mage.sets.darkascension",
+            "mage.sets.dragonsmaze",
+            "mage.sets.championsofkamigawa",
+            "mage.sets.riseoftheeldrazi",
+            "mage.sets.khansoftarkir");
+
+    @Test
+    public void shouldCreateTheSameCardsAsTheConstructor() {
+        // given
+        List<Class> classes = ClassScanner.findClasses(PACKAGES, CardImpl.class);
+        assertTrue(classes.size() > 1000);
+
+        for (Class clazz : classes) {
+            if (Modifier.isAbstract(clazz.getModifiers())) {
+                continue;
+            }
+            String name = clazz.getName();
+
+            // when
+            Card constructed = CardImpl.createCard(clazz, false);
+            Card first = CardImpl.createCard(clazz, true);
+            Card second = CardImpl.createCard(clazz, true);
+
+            // then
+            assertEquals(name, clazz, first.getClass());
+            assertSameCard(name, constructed, first);
+            assertSameCard(name, constructed, second);
+            assertOwnIds(name, first, second);
+            assertNoIdOfPrototype(name, clazz, first);
+            if (constructed.getSecondCardFace() != null) {
+                assertSameCard(name + " second face", constructed.getSecondCardFace(), first.getSecondCardFace());
+                assertNotSame(name + " second face", first.getSecondCardFace(), second.getSecondCardFace());
+                assertOwnIds(name + " second face", first.getSecondCardFace(), second.getSecondCardFace());
+            }
+        }
+    }
+
+    @Test
+    public void shouldKeepTheIdsOfSharedAbilities() {
+        // given
+        UUID flyingId = FlyingAbility.getInstance().getId();
+        UUID indestructibleId = IndestructibleAbility.getInstance().getId();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            CardImpl.createCard(SerraAngel.class, true);
+            CardImpl.createCard(KondaLordOfEiganjo.class, true);
+        }
+
+        // then
+        assertEquals(flyingId, FlyingAbility.getInstance().getId());
+        assertEquals(indestructibleId, IndestructibleAbility.getInstance().getId());
+    }
+
+    @Test
+    public void shouldCreateCardsThatKeepTheirIdWithTheConstructor() {
+        // when
+        Card first = CardImpl.createCard(TinderWall.class, true);
+        Card second = CardImpl.createCard(TinderWall.class, true);
+
+        // then
+        assertNull(CardPrototypes.getPrototype(TinderWall.class));
+        assertEquals(first.getId(), getBlockerId(first));
+        assertEquals(second.getId(), getBlockerId(second));
+        assertNull(CardPrototypes.getCapturedId(first, second));
+    }
+
+    private static UUID getBlockerId(Card card) {
+        // {R}, Sacrifice Tinder Wall: Tinder Wall deals 2 damage to target creature it's blocking.
+        Ability ability = card.getAbilities().get(card.getAbilities().size() - 1);
+        List predicates = (List) getField(FilterImpl.class, ability.getTargets().get(0).getFilter(), "predicates");
+        for (Object predicate : predicates) {
+            if (predicate instanceof BlockedByIdPredicate) {
+                return (UUID) getField(BlockedByIdPredicate.class, predicate, "blockerId");
+            }
+        }
+        return null;
+    }
+
+    private static Object getField(Class clazz, Object object, String name) {
+        try {
+            Field field = clazz.getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (NoSuchFieldException | IllegalAccessException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static void assertNoIdOfPrototype(String name, Class clazz, Card card) {
+        Card prototype = CardPrototypes.getPrototype(clazz);
+        if (prototype != null) {
+            // the effects and filters of the card have to use the id of the card, not the one of the prototype
+            assertNull(name, CardPrototypes.getCapturedId(prototype, card));
+        }
+    }
+
+    private static void assertSameCard(String name, Card expected, Card actual) {
+        assertNotNull(name, actual);
+        assertEquals(name, expected.getName(), actual.getName());
+        assertEquals(name, expected.getRules(), actual.getRules());
+        assertEquals(name, expected.getAbilities().size(), actual.getAbilities().size());
+        for (int i = 0; i < expected.getAbilities().size(); i++) {
+            assertEquals(name, expected.getAbilities().get(i).getClass(), actual.getAbilities().get(i).getClass());
+        }
+        assertNull(name, CardPrototypes.getDifference(expected, actual));
+    }
+
+    private static void assertOwnIds(String name, Card first, Card second) {
+        assertNotEquals(name, first.getId(), second.getId());
+        for (int i = 0; i < first.getAbilities().size(); i++) {
+            Ability firstAbility = first.getAbilities().get(i);
+            Ability secondAbility = second.getAbilities().get(i);
+            if (firstAbility instanceof MageSingleton || firstAbility == secondAbility) {
+                // abilities that exist only once (e.g. flying) are shared by all cards
+                assertSame(name, firstAbility, secondAbility);
+            } else {
+                assertNotEquals(name, firstAbility.getId(), secondAbility.getId());
+                // the abilities of split cards belong to the halves
+                assertNotEquals(name, firstAbility.getSourceId(), secondAbility.getSourceId());
+                if (!(first instanceof SplitCard)) {
+                    assertEquals(name, first.getId(), firstAbility.getSourceId());
+                }
+            }
+        }
+    }
+}
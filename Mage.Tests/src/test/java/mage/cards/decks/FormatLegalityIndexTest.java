@@ -0,0 +1,125 @@
+package mage.cards.decks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import mage.cards.Card;
+import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
+import mage.cards.repository.CardScanner;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link FormatLegalityIndex} and the set check of
+ * {@link Constructed}
+ */
+public class FormatLegalityIndexTest {
+
+    @BeforeClass
+    public static void init() {
+        CardScanner.scan();
+    }
+
+    @Test
+    public void shouldKnowCardsPrintedInTheSets() {
+        // when
+        FormatLegalityIndex index = FormatLegalityIndex.getInstance(Arrays.asList("10E"));
+
+        // then
+        assertTrue(index.containsSet("10E"));
+        assertFalse(index.containsSet("M15"));
+        assertTrue(index.isLegal("Mountain"));
+        assertFalse(index.isLegal("Ajani Steadfast"));
+    }
+
+    @Test
+    public void shouldShareIndexOfSameSets() {
+        // when
+        FormatLegalityIndex index = FormatLegalityIndex.getInstance(Arrays.asList("10E", "M15"));
+
+        // then
+        assertSame(index, FormatLegalityIndex.getInstance(Arrays.asList("M15", "10E", "M15")));
+        assertNotSame(index, FormatLegalityIndex.getInstance(Arrays.asList("10E")));
+    }
+
+    @Test
+    public void shouldBuildIndexAgainAfterCardsWereAdded() {
+        // given
+        FormatLegalityIndex index = FormatLegalityIndex.getInstance(Arrays.asList("10E"));
+
+        // when
+        CardRepository.instance.addCards(new ArrayList<CardInfo>());
+
+        // then
+        FormatLegalityIndex newIndex = FormatLegalityIndex.getInstance(Arrays.asList("10E"));
+        assertNotSame(index, newIndex);
+        assertTrue(newIndex.isLegal("Mountain"));
+        assertSame(newIndex, FormatLegalityIndex.getInstance(Arrays.asList("10E")));
+    }
+
+    @Test
+    public void shouldAcceptCardsOfOtherSetsPrintedInTheFormat() {
+        // given
+        Constructed validator = new Constructed("10E only") {
+            {
+                setCodes.add("10E");
+            }
+        };
+        Deck deck = new Deck();
+        for (int i = 0; i < 56; i++) {
+            deck.getCards().add(getCard("Mountain", "M15"));
+        }
+        for (int i = 0; i < 4; i++) {
+            deck.getCards().add(getCard("Ajani Steadfast", "M15"));
+        }
+        deck.getSideboard().add(getCard("Avacyn, Guardian Angel", "M15"));
+
+        // when
+        boolean valid = validator.validate(deck);
+
+        // then
+        assertFalse(valid);
+        assertEquals(2, validator.getInvalid().size());
+        assertEquals("Invalid set: M15", validator.getInvalid().get("Ajani Steadfast"));
+        assertEquals("Invalid set: M15", validator.getInvalid().get("Avacyn, Guardian Angel"));
+    }
+
+    @Test
+    public void shouldValidateBatchOfDecks() {
+        // given
+        Constructed validator = new Constructed("10E only") {
+            {
+                setCodes.add("10E");
+            }
+        };
+        Deck validDeck = new Deck();
+        Deck invalidDeck = new Deck();
+        for (int i = 0; i < 60; i++) {
+            validDeck.getCards().add(getCard("Mountain", "10E"));
+            invalidDeck.getCards().add(getCard("Mountain", "M15"));
+        }
+        invalidDeck.getSideboard().add(getCard("Ajani Steadfast", "M15"));
+        validator.validate(invalidDeck);
+        Map<String, String> lastInvalid = validator.getInvalid();
+
+        // when
+        List<Map<String, String>> results = validator.validate(Arrays.asList(validDeck, invalidDeck, validDeck));
+
+        // then
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isEmpty());
+        assertEquals(Collections.singletonMap("Ajani Steadfast", "Invalid set: M15"), results.get(1));
+        assertTrue(results.get(2).isEmpty());
+        assertSame(lastInvalid, validator.getInvalid());
+    }
+
+    private static Card getCard(String name, String setCode) {
+        return CardRepository.instance.findCards(new CardCriteria().name(name).setCodes(setCode)).get(0).getCard();
+    }
+}
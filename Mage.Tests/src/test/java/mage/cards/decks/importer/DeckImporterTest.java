@@ -0,0 +1,149 @@
+package mage.cards.decks.importer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import mage.cards.decks.DeckCardInfo;
+import mage.cards.decks.DeckCardLists;
+import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
+import mage.cards.repository.CardScanner;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for the card lookup of {@link DeckImporter} and its
+ * imported decks
+ */
+public class DeckImporterTest {
+
+    private final List<File> files = new ArrayList<>();
+
+    @BeforeClass
+    public static void init() {
+        CardScanner.scan();
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void shouldResolveCardsByNameAndSet() throws IOException {
+        // given
+        File file = createDeckFile("4 [10E] Mountain", "2 Ajani Steadfast", "1 Not A Card", "SB: 1 [M15] Ajani Steadfast");
+
+        // when
+        MWSDeckImporter importer = new MWSDeckImporter();
+        DeckCardLists deckList = importer.importDeck(file.getPath());
+
+        // then
+        assertEquals(6, deckList.getCards().size());
+        for (DeckCardInfo card : deckList.getCards().subList(0, 4)) {
+            assertEquals("Mountain", card.getCardName());
+            assertEquals("10E", card.getSetCode());
+        }
+        for (DeckCardInfo card : deckList.getCards().subList(4, 6)) {
+            assertEquals("Ajani Steadfast", card.getCardName());
+        }
+        assertEquals(1, deckList.getSideboard().size());
+        assertEquals("M15", deckList.getSideboard().get(0).getSetCode());
+        assertEquals("Could not find card: 'Not A Card' at line 3\n", importer.getErrors());
+    }
+
+    @Test
+    public void shouldResolveCardsBySetAndNumber() throws IOException {
+        // given
+        CardInfo ajani = CardRepository.instance.findCards(new CardCriteria().name("Ajani Steadfast").setCodes("M15")).get(0);
+        File file = createDeckFile("NAME:Test", "3 [M15:" + ajani.getCardNumber() + "] Ajani Steadfast", "1 [M15:999] Unknown");
+
+        // when
+        DckDeckImporter importer = new DckDeckImporter();
+        DeckCardLists deckList = importer.importDeck(file.getPath());
+
+        // then
+        assertEquals("Test", deckList.getName());
+        assertEquals(3, deckList.getCards().size());
+        assertEquals("Ajani Steadfast", deckList.getCards().get(0).getCardName());
+        assertEquals(ajani.getCardNumber(), deckList.getCards().get(0).getCardNum());
+        assertTrue(importer.getErrors().startsWith("Could not find card '' at line 3"));
+    }
+
+    @Test
+    public void shouldReuseImportedDeckOfSameContent() throws IOException {
+        // given
+        CountingImporter importer = new CountingImporter();
+        DeckCardLists deckList = importer.importDeck(createDeckFile("4 Mountain", "SB: 2 Ajani Steadfast").getPath());
+        assertEquals(2, importer.lines);
+        deckList.getCards().clear();
+
+        // when
+        DeckCardLists other = importer.importDeck(createDeckFile("4 Mountain", "SB: 2 Ajani Steadfast").getPath());
+
+        // then
+        assertEquals(2, importer.lines);
+        assertEquals(4, other.getCards().size());
+        assertEquals(2, other.getSideboard().size());
+
+        // when
+        CardRepository.instance.addCards(new ArrayList<CardInfo>());
+        other = importer.importDeck(createDeckFile("4 Mountain", "SB: 2 Ajani Steadfast").getPath());
+
+        // then
+        assertEquals(4, importer.lines);
+        assertEquals(4, other.getCards().size());
+        assertEquals(1, DeckImporter.getImportedDecksCount());
+    }
+
+    @Test
+    public void shouldNotKeepDeckWithErrors() throws IOException {
+        // given
+        CountingImporter importer = new CountingImporter();
+        File file = createDeckFile("1 Not A Card");
+        importer.importDeck(file.getPath());
+
+        // when
+        importer.importDeck(file.getPath());
+
+        // then
+        assertEquals(2, importer.lines);
+        assertFalse(importer.getErrors().isEmpty());
+    }
+
+    private File createDeckFile(String... lines) throws IOException {
+        File file = File.createTempFile("deck", ".dec");
+        files.add(file);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8")) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Counts the read lines, so the test knows if the file was read again
+     */
+    private static class CountingImporter extends DecDeckImporter {
+
+        private int lines;
+
+        @Override
+        protected void readLine(String line, DeckCardLists deckList) {
+            lines++;
+            super.readLine(line, deckList);
+        }
+    }
+}
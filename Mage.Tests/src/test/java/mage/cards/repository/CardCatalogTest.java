@@ -0,0 +1,108 @@
+package mage.cards.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import mage.constants.CardType;
+import mage.constants.Rarity;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link CardCatalog}, the catalog has to return the
+ * same cards as the database query of a {@link CardCriteria}
+ */
+public class CardCatalogTest {
+
+    @Test
+    public void shouldMatchLikeTheDatabase() {
+        assertTrue(CardCatalog.like("Elf@@@Warrior@@@", "%Elf%"));
+        assertTrue(CardCatalog.like("Elf@@@Warrior@@@", "%rior@@@"));
+        assertTrue(CardCatalog.like("Elf@@@Warrior@@@", "%E_f%"));
+        assertTrue(CardCatalog.like("Elf@@@Warrior@@@", "%l%W%"));
+        assertTrue(CardCatalog.like("100%", "%0\\%"));
+        assertFalse(CardCatalog.like("1000", "%0\\%"));
+        assertFalse(CardCatalog.like("Elf@@@Warrior@@@", "%elf%"));
+        assertFalse(CardCatalog.like("Elf", "Elf_"));
+        assertTrue(CardCatalog.like("", "%"));
+    }
+
+    @Test
+    public void shouldFindSubtypesWithLike() {
+        // given
+        CardCatalog catalog = new CardCatalog(Arrays.asList(
+                createCard("Llanowar Elves", "Elf@@@Druid@@@", ""),
+                createCard("Elvish Warrior", "Elf@@@Warrior@@@", ""),
+                createCard("Selfless Cathar", "Human@@@Cleric@@@", ""),
+                createCard("Isamaru, Hound of Konda", "Hound@@@", "Legendary@@@")));
+
+        // when
+        List<CardInfo> elves = new CardCriteria().subtypes("Elf").find(catalog);
+        List<CardInfo> partial = new CardCriteria().subtypes("Cler").find(catalog);
+        List<CardInfo> wildcard = new CardCriteria().subtypes("%Warrior").find(catalog);
+        List<CardInfo> notLegendary = new CardCriteria().notSupertypes("Legend").find(catalog);
+
+        // then
+        assertEquals(Arrays.asList("Llanowar Elves", "Elvish Warrior"), getNames(elves));
+        assertEquals(Arrays.asList("Selfless Cathar"), getNames(partial));
+        assertEquals(Arrays.asList("Elvish Warrior"), getNames(wildcard));
+        assertEquals(3, notLegendary.size());
+    }
+
+    @Test
+    public void shouldFindNamesWithLike() {
+        // given
+        CardCatalog catalog = new CardCatalog(Arrays.asList(
+                createCard("Llanowar Elves", "Elf@@@Druid@@@", ""),
+                createCard("Elvish Warrior", "Elf@@@Warrior@@@", "")));
+
+        // when
+        List<CardInfo> cards = new CardCriteria().name("Ll_nowar").find(catalog);
+
+        // then
+        assertEquals(Arrays.asList("Llanowar Elves"), getNames(cards));
+    }
+
+    @Test
+    public void shouldNotFilterColorsIfNoColorIsSelected() {
+        // given
+        CardInfo colorless = createCard("Ornithopter", "Thopter@@@", "");
+        colorless.green = false;
+        CardCatalog catalog = new CardCatalog(Arrays.asList(
+                createCard("Llanowar Elves", "Elf@@@Druid@@@", ""),
+                colorless));
+
+        // when
+        List<CardInfo> noColor = new CardCriteria().black(false).blue(false).green(false).red(false).white(false)
+                .colorless(false).find(catalog);
+        List<CardInfo> onlyColorless = new CardCriteria().black(false).blue(false).green(false).red(false).white(false)
+                .find(catalog);
+
+        // then
+        assertEquals(Arrays.asList("Llanowar Elves", "Ornithopter"), getNames(noColor));
+        assertEquals(Arrays.asList("Ornithopter"), getNames(onlyColorless));
+    }
+
+    private static CardInfo createCard(String name, String subtypes, String supertypes) {
+        CardInfo card = new CardInfo();
+        card.name = name;
+        card.setCode = "TST";
+        card.className = "mage.sets.test." + name.replaceAll("[^A-Za-z]", "");
+        card.rarity = Rarity.COMMON;
+        card.types = CardType.CREATURE.name() + "@@@";
+        card.subtypes = subtypes;
+        card.supertypes = supertypes;
+        card.manaCosts = "";
+        card.green = true;
+        return card;
+    }
+
+    private static List<String> getNames(List<CardInfo> cards) {
+        List<String> names = new ArrayList<>();
+        for (CardInfo card : cards) {
+            names.add(card.getName());
+        }
+        return names;
+    }
+}
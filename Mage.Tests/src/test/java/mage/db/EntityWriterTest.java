@@ -0,0 +1,236 @@
+package mage.db;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import mage.db.model.GameResult;
+import mage.db.model.Log;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link EntityWriter}
+ */
+public class EntityWriterTest {
+
+    private final RecordingStore store = new RecordingStore();
+
+    @After
+    public void tearDown() {
+        store.unblock();
+    }
+
+    @Test
+    public void shouldWriteEntitiesInOrderOfQueue() throws InterruptedException {
+        // given
+        EntityWriter writer = new EntityWriter(10000, store);
+        store.block();
+        writer.write(new Log("first", new Date()));
+        store.awaitWriting();
+
+        // when
+        for (int i = 0; i < 1200; i++) {
+            writer.write(new Log("log" + i, new Date()));
+            if (i % 100 == 0) {
+                writer.write(createGameResult("game" + i));
+            }
+        }
+        store.unblock();
+
+        // then
+        assertTrue(writer.shutdown(10000));
+        assertEquals(1201, store.logs.size());
+        assertEquals("first", store.logs.get(0));
+        for (int i = 0; i < 1200; i++) {
+            assertEquals("log" + i, store.logs.get(i + 1));
+        }
+        assertEquals(12, store.gameResults.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals("game" + (i * 100), store.gameResults.get(i));
+        }
+        assertTrue("the queued entities have to be written in batches", store.batches < 1201 + 12);
+    }
+
+    @Test
+    public void shouldWriteQueuedEntitiesOnShutdown() throws InterruptedException {
+        // given
+        EntityWriter writer = new EntityWriter(10000, store);
+        store.block();
+        writer.write(new Log("first", new Date()));
+        store.awaitWriting();
+        for (int i = 0; i < 10; i++) {
+            writer.write(new Log("log" + i, new Date()));
+        }
+        writer.write(createGameResult("game"));
+        assertEquals(11, writer.getQueueSize());
+
+        // when
+        Thread unblock = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                }
+                store.unblock();
+            }
+        };
+        unblock.start();
+        boolean written = writer.shutdown(10000);
+
+        // then
+        assertTrue(written);
+        assertEquals(11, store.logs.size());
+        assertEquals(Collections.singletonList("game"), store.gameResults);
+        assertEquals(0, writer.getQueueSize());
+        assertEquals(0, writer.getDroppedCount());
+
+        // when
+        writer.write(new Log("late", new Date()));
+
+        // then
+        assertEquals(1, writer.getDroppedCount());
+        assertEquals(11, store.logs.size());
+    }
+
+    @Test
+    public void shouldStopWaitingForShutdownAfterTimeout() throws InterruptedException {
+        // given
+        EntityWriter writer = new EntityWriter(10000, store);
+        store.block();
+        writer.write(new Log("first", new Date()));
+        store.awaitWriting();
+        writer.write(new Log("second", new Date()));
+
+        // when
+        boolean written = writer.shutdown(100);
+
+        // then
+        assertFalse(written);
+        assertEquals(Collections.singletonList("first"), store.logs);
+    }
+
+    @Test
+    public void shouldDropEntitiesIfQueueIsFull() throws InterruptedException {
+        // given
+        EntityWriter writer = new EntityWriter(2, store);
+        store.block();
+        writer.write(new Log("first", new Date()));
+        store.awaitWriting();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            writer.write(new Log("log" + i, new Date()));
+        }
+        store.unblock();
+
+        // then
+        assertEquals(1, writer.getDroppedCount());
+        assertTrue(writer.shutdown(10000));
+        assertEquals(3, store.logs.size());
+    }
+
+    @Test
+    public void shouldWriteGameResultsIfLogsFail() throws InterruptedException {
+        // given
+        EntityWriter writer = new EntityWriter(10000, store);
+        store.block();
+        writer.write(new Log("first", new Date()));
+        store.awaitWriting();
+        writer.write(new Log("failing", new Date()));
+        writer.write(createGameResult("game"));
+        store.failLogs = true;
+
+        // when
+        store.unblock();
+
+        // then
+        assertTrue(writer.shutdown(10000));
+        assertEquals(Collections.singletonList("first"), store.logs);
+        assertEquals(Collections.singletonList("game"), store.gameResults);
+    }
+
+    @Test
+    public void shouldWriteOrDropEveryEntityDuringShutdown() throws InterruptedException {
+        // given
+        final EntityWriter writer = new EntityWriter(10000, store);
+        final int count = 20000;
+        Thread producer = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    writer.write(new Log("log" + i, new Date()));
+                }
+            }
+        };
+        producer.start();
+
+        // when
+        assertTrue(writer.shutdown(10000));
+        producer.join();
+
+        // then
+        assertEquals(count, store.logs.size() + writer.getDroppedCount());
+    }
+
+    private static GameResult createGameResult(String objectId) {
+        return new GameResult(GameResult.TYPE_GAME, objectId, "Two Player Duel", "PlayerA,PlayerB", "PlayerA", 7, 1, 1000, new Date());
+    }
+
+    /**
+     * Records the keys of the written entities. The first write can be blocked
+     * until unblock, so the next entities stay in the queue.
+     */
+    private static class RecordingStore implements EntityWriter.Store {
+
+        private final List<String> logs = Collections.synchronizedList(new ArrayList<String>());
+        private final List<String> gameResults = Collections.synchronizedList(new ArrayList<String>());
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile CountDownLatch blocked = new CountDownLatch(0);
+        private volatile int batches;
+        private volatile boolean failLogs;
+
+        public void block() {
+            blocked = new CountDownLatch(1);
+        }
+
+        public void unblock() {
+            blocked.countDown();
+        }
+
+        public void awaitWriting() throws InterruptedException {
+            assertTrue(writing.await(10, TimeUnit.SECONDS));
+        }
+
+        @Override
+        public void insertLogs(List<Log> logs) throws SQLException {
+            if (failLogs) {
+                throw new SQLException("failed");
+            }
+            for (Log log : logs) {
+                this.logs.add(log.getKey());
+            }
+            batches++;
+            writing.countDown();
+            try {
+                blocked.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void insertGameResults(List<GameResult> gameResults) throws SQLException {
+            for (GameResult gameResult : gameResults) {
+                this.gameResults.add(gameResult.getObjectId());
+            }
+            batches++;
+        }
+    }
+}
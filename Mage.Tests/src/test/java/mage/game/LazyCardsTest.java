@@ -0,0 +1,134 @@
+package mage.game;
+
+import java.util.Collections;
+import java.util.UUID;
+import mage.MageObject;
+import mage.abilities.Ability;
+import mage.abilities.StaticAbility;
+import mage.abilities.effects.ReplacementEffectImpl;
+import mage.cards.Card;
+import mage.cards.CardImpl;
+import mage.cards.decks.Deck;
+import mage.constants.CardType;
+import mage.constants.Duration;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.Outcome;
+import mage.constants.RangeOfInfluence;
+import mage.constants.Rarity;
+import mage.constants.Zone;
+import mage.game.events.GameEvent;
+import mage.game.events.ZoneChangeEvent;
+import mage.player.human.HumanPlayer;
+import mage.players.Player;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for the cards whose abilities are added to the
+ * {@link GameState} only as they leave the library
+ */
+public class LazyCardsTest {
+
+    @Test
+    public void shouldReplaceOwnMoveOutOfLibrary() throws GameException {
+        // given
+        Game game = new TwoPlayerDuel(MultiplayerAttackOption.LEFT, RangeOfInfluence.ALL, 0, 20);
+        Player player = new HumanPlayer("PlayerA", RangeOfInfluence.ALL, 0);
+        game.addPlayer(player, new Deck());
+        Card card = new ExileFromLibraryCard(player.getId());
+        game.loadCards(Collections.singleton(card), player.getId());
+        player.getLibrary().putOnTop(card, game);
+        game.setZone(card.getId(), Zone.LIBRARY);
+
+        // when
+        card.moveToZone(Zone.GRAVEYARD, null, game, false);
+
+        // then
+        assertEquals(Zone.EXILED, game.getState().getZone(card.getId()));
+        assertFalse(player.getGraveyard().contains(card.getId()));
+        assertFalse(player.getLibrary().getCardList().contains(card.getId()));
+    }
+
+    /**
+     * A card with an ability of the graveyard, so it's loaded lazily, that
+     * replaces its own move from the library to the graveyard
+     */
+    private static class ExileFromLibraryCard extends CardImpl {
+
+        public ExileFromLibraryCard(UUID ownerId) {
+            super(ownerId, 1, "Exile From Library", Rarity.COMMON, new CardType[]{CardType.SORCERY}, "{1}");
+            this.addAbility(new ExileFromLibraryAbility());
+        }
+
+        public ExileFromLibraryCard(final ExileFromLibraryCard card) {
+            super(card);
+        }
+
+        @Override
+        public ExileFromLibraryCard copy() {
+            return new ExileFromLibraryCard(this);
+        }
+    }
+
+    private static class ExileFromLibraryAbility extends StaticAbility {
+
+        public ExileFromLibraryAbility() {
+            super(Zone.GRAVEYARD, new ExileFromLibraryEffect());
+        }
+
+        public ExileFromLibraryAbility(final ExileFromLibraryAbility ability) {
+            super(ability);
+        }
+
+        @Override
+        public ExileFromLibraryAbility copy() {
+            return new ExileFromLibraryAbility(this);
+        }
+
+        @Override
+        public boolean isInUseableZone(Game game, MageObject source, GameEvent event) {
+            // also works as the card is about to leave the library
+            return Zone.LIBRARY.equals(game.getState().getZone(getSourceId())) || super.isInUseableZone(game, source, event);
+        }
+    }
+
+    private static class ExileFromLibraryEffect extends ReplacementEffectImpl {
+
+        public ExileFromLibraryEffect() {
+            super(Duration.EndOfGame, Outcome.Neutral);
+        }
+
+        public ExileFromLibraryEffect(final ExileFromLibraryEffect effect) {
+            super(effect);
+        }
+
+        @Override
+        public ExileFromLibraryEffect copy() {
+            return new ExileFromLibraryEffect(this);
+        }
+
+        @Override
+        public boolean checksEventType(GameEvent event, Game game) {
+            return event.getType() == GameEvent.EventType.ZONE_CHANGE;
+        }
+
+        @Override
+        public boolean applies(GameEvent event, Ability source, Game game) {
+            ZoneChangeEvent zEvent = (ZoneChangeEvent) event;
+            return event.getTargetId().equals(source.getSourceId())
+                    && zEvent.getFromZone() == Zone.LIBRARY && zEvent.getToZone() == Zone.GRAVEYARD;
+        }
+
+        @Override
+        public boolean replaceEvent(GameEvent event, Ability source, Game game) {
+            ((ZoneChangeEvent) event).setToZone(Zone.EXILED);
+            return false;
+        }
+
+        @Override
+        public boolean apply(Game game, Ability source) {
+            return true;
+        }
+    }
+}
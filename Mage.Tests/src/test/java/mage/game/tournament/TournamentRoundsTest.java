@@ -0,0 +1,206 @@
+package mage.game.tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import mage.cards.decks.Deck;
+import mage.game.GameException;
+import mage.game.events.Listener;
+import mage.game.events.TableEvent;
+import mage.game.match.Match;
+import mage.game.match.MatchImpl;
+import mage.game.match.MatchOptions;
+import org.junit.Test;
+import org.mage.test.stub.PlayerStub;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for the steps of {@link TournamentImpl} that follow the
+ * deck construction and the match ends, without polling
+ */
+public class TournamentRoundsTest {
+
+    // clearly less than the interval of the safety check of a running round
+    private static final int TIMEOUT = 3;
+
+    @Test
+    public void shouldStartFirstRoundAfterLastDeckIsSubmitted() throws InterruptedException {
+        // given
+        TestTournament tournament = new TestTournament();
+        List<TestPlayer> players = tournament.addPlayers(4);
+        players.get(3).autoSubmit = false;
+
+        // when
+        tournament.nextStep();
+
+        // then
+        assertTrue(tournament.awaitMatches(0));
+        assertTrue(tournament.getRounds().isEmpty());
+        assertFalse(tournament.isDoneConstructing());
+
+        // when
+        tournament.submitDeck(players.get(3).getId(), new Deck());
+
+        // then
+        assertTrue(tournament.awaitMatches(2));
+        assertEquals(1, tournament.getRounds().size());
+        assertEquals(2, tournament.getRounds().get(0).getPairs().size());
+    }
+
+    @Test
+    public void shouldPlayNextRoundAfterLastMatchOfRoundEnded() throws InterruptedException {
+        // given
+        TestTournament tournament = new TestTournament();
+        tournament.addPlayers(4);
+        tournament.nextStep();
+        assertTrue(tournament.awaitMatches(2));
+        Round firstRound = tournament.getRounds().get(0);
+
+        // when
+        endMatch(firstRound.getPairs().get(0));
+        tournament.checkRoundOver();
+
+        // then
+        assertTrue(tournament.awaitMatches(2));
+        assertEquals(1, tournament.getRounds().size());
+
+        // when
+        endMatch(firstRound.getPairs().get(1));
+        tournament.checkRoundOver();
+
+        // then
+        assertTrue(tournament.awaitMatches(3));
+        assertEquals(2, tournament.getRounds().size());
+        assertEquals(2, tournament.getActivePlayers().size());
+
+        // when
+        endMatch(tournament.getRounds().get(1).getPairs().get(0));
+        tournament.checkRoundOver();
+
+        // then
+        assertTrue(tournament.ended.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(2, tournament.getRounds().size());
+        assertEquals(1, tournament.getActivePlayers().size());
+    }
+
+    @Test
+    public void shouldEndRoundIfPlayerQuitsTournament() throws InterruptedException {
+        // given
+        TestTournament tournament = new TestTournament();
+        tournament.addPlayers(2);
+        tournament.nextStep();
+        assertTrue(tournament.awaitMatches(1));
+        TournamentPairing pair = tournament.getRounds().get(0).getPairs().get(0);
+
+        // when
+        pair.getMatch().quitMatch(pair.getPlayer2().getPlayer().getId());
+        tournament.quit(pair.getPlayer2().getPlayer().getId());
+
+        // then
+        assertTrue(tournament.ended.await(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(pair.getPlayer2().isEliminated());
+        assertFalse(pair.getPlayer1().isEliminated());
+    }
+
+    private static void endMatch(TournamentPairing pair) {
+        pair.getMatch().quitMatch(pair.getPlayer2().getPlayer().getId());
+        assertTrue(pair.getMatch().hasEnded());
+    }
+
+    /**
+     * Constructs the decks, plays single elimination rounds and ends. The
+     * matches are only created, the test ends them.
+     */
+    private static class TestTournament extends TournamentSingleElimination {
+
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private final List<Match> matches = Collections.synchronizedList(new ArrayList<Match>());
+        private int step;
+
+        public TestTournament() {
+            super(new TournamentOptions("Test"));
+            options.getMatchOptions().setWinsNeeded(1);
+            addTableEventListener(new Listener<TableEvent>() {
+                @Override
+                public void event(TableEvent event) {
+                    if (event.getEventType() == TableEvent.EventType.START_MATCH) {
+                        Match match = new TestMatch(event.getMatchOptions());
+                        match.addPlayer(event.getPair().getPlayer1().getPlayer(), new Deck());
+                        match.addPlayer(event.getPair().getPlayer2().getPlayer(), new Deck());
+                        event.getPair().setMatch(match);
+                        matches.add(match);
+                    }
+                }
+            });
+        }
+
+        public List<TestPlayer> addPlayers(int count) {
+            List<TestPlayer> added = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                TestPlayer player = new TestPlayer();
+                addPlayer(player, "Human");
+                added.add(player);
+            }
+            return added;
+        }
+
+        public boolean awaitMatches(int count) throws InterruptedException {
+            long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT);
+            while (matches.size() < count && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            // give a wrong additional match the chance to show up
+            Thread.sleep(100);
+            return matches.size() == count;
+        }
+
+        @Override
+        public void nextStep() {
+            switch (step++) {
+                case 0:
+                    construct();
+                    break;
+                case 1:
+                    runTournament();
+                    break;
+                case 2:
+                    end();
+                    ended.countDown();
+                    break;
+            }
+        }
+
+        @Override
+        public List<Round> getRounds() {
+            return rounds;
+        }
+    }
+
+    private static class TestPlayer extends PlayerStub {
+
+        private volatile boolean autoSubmit = true;
+
+        @Override
+        public void construct(Tournament tournament, Deck deck) {
+            if (autoSubmit) {
+                tournament.submitDeck(getId(), new Deck());
+            }
+        }
+    }
+
+    private static class TestMatch extends MatchImpl {
+
+        public TestMatch(MatchOptions options) {
+            super(options);
+            // quitting players of a started match lose it
+            startedGames = 1;
+        }
+
+        @Override
+        public void startGame() throws GameException {
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package mage.server.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import mage.cards.decks.Deck;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.RangeOfInfluence;
+import mage.game.Game;
+import mage.game.GameException;
+import mage.game.TwoPlayerDuel;
+import mage.game.TwoPlayerMatch;
+import mage.game.match.Match;
+import mage.game.match.MatchOptions;
+import mage.player.human.HumanPlayer;
+import mage.players.Player;
+import mage.remote.traffic.ZippedObject;
+import mage.view.GameView;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link GameWatcherBroadcaster}
+ */
+public class GameWatcherBroadcasterTest {
+
+    private Game game;
+    private GameWatcherBroadcaster broadcaster;
+
+    @Before
+    public void setUp() throws GameException {
+        game = new TwoPlayerDuel(MultiplayerAttackOption.LEFT, RangeOfInfluence.ALL, 0, 20);
+        Match match = new TwoPlayerMatch(new MatchOptions("Watcher test", "Two Player Duel"));
+        for (String name : new String[]{"PlayerA", "PlayerB"}) {
+            Player player = new HumanPlayer(name, RangeOfInfluence.ALL, 0);
+            Deck deck = new Deck();
+            game.addPlayer(player, deck);
+            match.addPlayer(player, deck);
+        }
+        broadcaster = new GameWatcherBroadcaster(game);
+    }
+
+    @Test
+    public void shouldSendOnlyTheNewestOfQueuedUpdates() throws InterruptedException {
+        // given
+        RecordingWatcher watcher = joinAndBlockDelivery();
+
+        // when
+        broadcaster.update();
+        broadcaster.update();
+        broadcaster.update();
+        GameView newest = broadcaster.getSnapshot();
+        watcher.unblockSend();
+        broadcaster.gameOver("end");
+
+        // then
+        watcher.awaitGameOver();
+        assertEquals(Arrays.asList("gameInit", "gameUpdate", "gameUpdate", "gameOver"), watcher.methods);
+        assertSame(newest, watcher.data.get(2));
+    }
+
+    @Test
+    public void shouldNotDropInformAfterUpdate() throws InterruptedException {
+        // given
+        RecordingWatcher watcher = joinAndBlockDelivery();
+
+        // when
+        broadcaster.update();
+        broadcaster.inform("message");
+        watcher.unblockSend();
+        broadcaster.gameOver("end");
+
+        // then
+        watcher.awaitGameOver();
+        assertEquals(Arrays.asList("gameInit", "gameUpdate", "gameInform", "gameOver"), watcher.methods);
+    }
+
+    @Test
+    public void shouldInitLateWatcherWithViewOfJoin() throws InterruptedException {
+        // given
+        RecordingWatcher first = joinAndBlockDelivery();
+        broadcaster.update();
+        GameView viewOfJoin = broadcaster.getSnapshot();
+
+        // when
+        RecordingWatcher late = new RecordingWatcher(game);
+        broadcaster.join(late);
+        broadcaster.update();
+        GameView newerView = broadcaster.getSnapshot();
+        first.unblockSend();
+        broadcaster.gameOver("end");
+
+        // then
+        late.awaitGameOver();
+        assertEquals(Arrays.asList("gameInit", "gameUpdate", "gameOver"), late.methods);
+        assertSame(viewOfJoin, late.data.get(0));
+        assertSame(newerView, late.data.get(1));
+    }
+
+    @Test
+    public void shouldCreateViewForWatcherOfGameWithoutView() throws InterruptedException {
+        // given
+        assertNull(broadcaster.getSnapshot());
+
+        // when
+        RecordingWatcher watcher = new RecordingWatcher(game);
+        broadcaster.join(watcher);
+        broadcaster.gameOver("end");
+
+        // then
+        watcher.awaitGameOver();
+        assertEquals(Arrays.asList("gameInit", "gameOver"), watcher.methods);
+        assertNotNull(watcher.data.get(0));
+    }
+
+    @Test
+    public void shouldSendOwnViewToWatcherOfHandCards() throws InterruptedException {
+        // given
+        RecordingWatcher watcher = new RecordingWatcher(game);
+        RecordingWatcher handWatcher = new RecordingWatcher(game);
+        broadcaster.join(watcher);
+        broadcaster.join(handWatcher);
+        awaitJoined(watcher, handWatcher);
+        game.getPlayers().values().iterator().next().addPermissionToShowHandCards(handWatcher.getUserId());
+
+        // when
+        broadcaster.update();
+        broadcaster.gameOver("end");
+
+        // then
+        watcher.awaitGameOver();
+        handWatcher.awaitGameOver();
+        GameView publicView = (GameView) watcher.data.get(1);
+        GameView ownView = (GameView) handWatcher.data.get(1);
+        assertSame(broadcaster.getSnapshot(), publicView);
+        assertNotSame(publicView, ownView);
+        assertNull(publicView.getWatchedHands());
+        assertEquals(1, ownView.getWatchedHands().size());
+    }
+
+    @Test
+    public void shouldCompressViewForManyWatchers() throws InterruptedException {
+        // given
+        List<RecordingWatcher> watchers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            RecordingWatcher watcher = new RecordingWatcher(game);
+            watchers.add(watcher);
+            broadcaster.join(watcher);
+        }
+        awaitJoined(watchers.toArray(new RecordingWatcher[watchers.size()]));
+
+        // when
+        broadcaster.update();
+        broadcaster.gameOver("end");
+
+        // then
+        Object data = null;
+        for (RecordingWatcher watcher : watchers) {
+            watcher.awaitGameOver();
+            assertTrue(watcher.data.get(1) instanceof ZippedObject);
+            if (data != null) {
+                assertSame(data, watcher.data.get(1));
+            }
+            data = watcher.data.get(1);
+        }
+        assertTrue(((ZippedObject) data).unzip() instanceof GameView);
+    }
+
+    @Test
+    public void shouldNotCompressViewForFewWatchers() throws InterruptedException {
+        // given
+        RecordingWatcher watcher = new RecordingWatcher(game);
+        broadcaster.join(watcher);
+        awaitJoined(watcher);
+
+        // when
+        broadcaster.update();
+        broadcaster.gameOver("end");
+
+        // then
+        watcher.awaitGameOver();
+        assertTrue(watcher.data.get(1) instanceof GameView);
+    }
+
+    private static void awaitJoined(RecordingWatcher... watchers) throws InterruptedException {
+        for (RecordingWatcher watcher : watchers) {
+            assertTrue(watcher.joined.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Adds a watcher and sends an update that the watcher doesn't take until
+     * unblockSend, so the next broadcasts are queued
+     */
+    private RecordingWatcher joinAndBlockDelivery() throws InterruptedException {
+        RecordingWatcher watcher = new RecordingWatcher(game);
+        broadcaster.join(watcher);
+        awaitJoined(watcher);
+        watcher.blockSend();
+        broadcaster.update();
+        watcher.awaitSending();
+        return watcher;
+    }
+
+    /**
+     * Records what the broadcaster sends instead of sending it to a user
+     */
+    private static class RecordingWatcher extends GameSessionWatcher {
+
+        private final List<String> methods = Collections.synchronizedList(new ArrayList<String>());
+        private final List<Object> data = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch joined = new CountDownLatch(1);
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch sendBlocked = new CountDownLatch(0);
+
+        public RecordingWatcher(Game game) {
+            super(UUID.randomUUID(), game, false);
+        }
+
+        public void blockSend() {
+            sendBlocked = new CountDownLatch(1);
+        }
+
+        public void unblockSend() {
+            sendBlocked.countDown();
+        }
+
+        public void awaitSending() throws InterruptedException {
+            assertTrue(sending.await(10, TimeUnit.SECONDS));
+        }
+
+        public void awaitGameOver() throws InterruptedException {
+            assertTrue(ended.await(10, TimeUnit.SECONDS));
+        }
+
+        @Override
+        public boolean init(GameView gameView) {
+            methods.add("gameInit");
+            data.add(gameView);
+            joined.countDown();
+            return true;
+        }
+
+        @Override
+        public void send(String method, Object data) {
+            methods.add(method);
+            this.data.add(data);
+            sending.countDown();
+            try {
+                sendBlocked.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void gameOver(String message) {
+            methods.add("gameOver");
+            data.add(message);
+            ended.countDown();
+        }
+    }
+}
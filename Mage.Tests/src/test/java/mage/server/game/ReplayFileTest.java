@@ -0,0 +1,216 @@
+package mage.server.game;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.zip.GZIPOutputStream;
+import mage.cards.decks.Deck;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.PhaseStep;
+import mage.constants.RangeOfInfluence;
+import mage.game.Game;
+import mage.game.GameException;
+import mage.game.GameState;
+import mage.game.GameStates;
+import mage.game.TwoPlayerDuel;
+import mage.game.turn.BeginningPhase;
+import mage.game.turn.DrawStep;
+import mage.game.turn.Phase;
+import mage.game.turn.PreCombatMainPhase;
+import mage.game.turn.PreCombatMainStep;
+import mage.game.turn.Step;
+import mage.game.turn.UpkeepStep;
+import mage.player.human.HumanPlayer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Custom unit tests for {@link ReplayFile} and {@link ReplayChunkCache}
+ */
+public class ReplayFileTest {
+
+    // states of the first turn before its first step
+    private static final int START_STATES = 3;
+    private static final int TURNS = 12;
+    private static final PhaseStep[] STEPS = {PhaseStep.UPKEEP, PhaseStep.DRAW, PhaseStep.PRECOMBAT_MAIN};
+
+    private Game game;
+    private GameStates states;
+
+    @Before
+    public void setUp() throws GameException, IOException {
+        game = new TwoPlayerDuel(MultiplayerAttackOption.LEFT, RangeOfInfluence.ALL, 0, 20);
+        for (String name : new String[]{"PlayerA", "PlayerB"}) {
+            game.addPlayer(new HumanPlayer(name, RangeOfInfluence.ALL, 0), new Deck());
+        }
+        states = new GameStates();
+        for (int i = 0; i < START_STATES; i++) {
+            states.save(game.getState());
+        }
+        BeginningPhase beginningPhase = new BeginningPhase();
+        PreCombatMainPhase mainPhase = new PreCombatMainPhase();
+        for (int turn = 1; turn <= TURNS; turn++) {
+            game.getState().setTurnNum(turn);
+            for (PhaseStep step : STEPS) {
+                Phase phase = step == PhaseStep.PRECOMBAT_MAIN ? mainPhase : beginningPhase;
+                phase.setStep(createStep(step));
+                game.getState().getTurn().setPhase(phase);
+                states.save(game.getState());
+            }
+        }
+        ReplayFile.write(game, states);
+        ReplayChunkCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        ReplayChunkCache.getInstance().clear();
+        ReplayFile.getFile(game.getId()).delete();
+        getSavedGameFile().delete();
+    }
+
+    @Test
+    public void shouldWriteHeaderAndChunks() throws IOException, ClassNotFoundException {
+        // when
+        ReplayFile replayFile = new ReplayFile(game.getId());
+
+        // then
+        try (RandomAccessFile in = new RandomAccessFile(ReplayFile.getFile(game.getId()), "r")) {
+            assertEquals(ReplayFile.MAGIC, in.readInt());
+            assertEquals(ReplayFile.VERSION, in.readShort());
+        }
+        int size = START_STATES + TURNS * STEPS.length;
+        assertEquals(size, replayFile.getSize());
+        assertEquals((size + ReplayFile.CHUNK_SIZE - 1) / ReplayFile.CHUNK_SIZE, replayFile.getChunkCount());
+        assertTrue(replayFile.getChunkCount() > 1);
+        assertEquals(game.getId(), replayFile.readGame().getId());
+        for (int i = 0; i < size; i++) {
+            GameState state = replayFile.getState(i);
+            assertEquals(replayFile.getTurn(i), state.getTurnNum());
+            assertEquals(replayFile.getStep(i), state.getTurn().getStepType());
+        }
+        assertNull(replayFile.getState(-1));
+        assertNull(replayFile.getState(size));
+    }
+
+    @Test
+    public void shouldIndexTurnAndStepOfStates() throws IOException {
+        // when
+        ReplayFile replayFile = new ReplayFile(game.getId());
+
+        // then
+        for (int i = 0; i < START_STATES; i++) {
+            assertEquals(1, replayFile.getTurn(i));
+            assertNull(replayFile.getStep(i));
+        }
+        for (int turn = 1; turn <= TURNS; turn++) {
+            for (int j = 0; j < STEPS.length; j++) {
+                int index = START_STATES + (turn - 1) * STEPS.length + j;
+                assertEquals(turn, replayFile.getTurn(index));
+                assertEquals(STEPS[j], replayFile.getStep(index));
+            }
+        }
+        assertEquals(0, ReplayChunkCache.getInstance().size());
+    }
+
+    @Test
+    public void shouldFindFirstStateOfTurnAndStep() throws IOException {
+        // when
+        ReplayFile replayFile = new ReplayFile(game.getId());
+
+        // then
+        assertEquals(0, replayFile.findState(0, null));
+        assertEquals(0, replayFile.findState(1, null));
+        assertEquals(START_STATES, replayFile.findState(1, PhaseStep.UNTAP));
+        assertEquals(START_STATES + 3 * STEPS.length, replayFile.findState(4, null));
+        assertEquals(START_STATES + 3 * STEPS.length + 1, replayFile.findState(4, PhaseStep.DRAW));
+        // a step that isn't saved leads to the next saved one
+        assertEquals(START_STATES + 3 * STEPS.length + 2, replayFile.findState(4, PhaseStep.PRECOMBAT_MAIN));
+        assertEquals(START_STATES + 4 * STEPS.length, replayFile.findState(4, PhaseStep.END_TURN));
+        assertEquals(-1, replayFile.findState(TURNS, PhaseStep.END_TURN));
+        assertEquals(-1, replayFile.findState(TURNS + 1, null));
+    }
+
+    @Test
+    public void shouldShareDecodedChunks() throws IOException {
+        // given
+        ReplayFile replayFile = new ReplayFile(game.getId());
+        ReplayFile otherReplayFile = new ReplayFile(game.getId());
+
+        // when
+        GameState state = replayFile.getState(1);
+
+        // then
+        assertSame(state, otherReplayFile.getState(1));
+        assertEquals(1, ReplayChunkCache.getInstance().size());
+        assertTrue(ReplayChunkCache.getInstance().getBytes() > 0);
+
+        // when
+        ReplayChunkCache.getInstance().clear();
+
+        // then
+        assertEquals(0, ReplayChunkCache.getInstance().getBytes());
+        assertNotSame(state, replayFile.getState(1));
+    }
+
+    @Test
+    public void shouldShowPreviousStateOfReplayFile() {
+        assertShowsPreviousState(new GameReplay(game.getId()));
+    }
+
+    @Test
+    public void shouldShowPreviousStateOfSavedGame() throws IOException {
+        // given
+        ReplayFile.getFile(game.getId()).delete();
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new FileOutputStream(getSavedGameFile())))) {
+            out.writeObject(game);
+            out.writeObject(states);
+        }
+
+        // then
+        assertShowsPreviousState(new GameReplay(game.getId()));
+    }
+
+    private static void assertShowsPreviousState(GameReplay replay) {
+        // given
+        replay.start();
+        GameState upkeep = null;
+        for (int i = 0; i <= START_STATES; i++) {
+            upkeep = replay.next();
+        }
+        GameState draw = replay.next();
+        assertEquals(PhaseStep.UPKEEP, upkeep.getTurn().getStepType());
+        assertEquals(PhaseStep.DRAW, draw.getTurn().getStepType());
+
+        // when
+        GameState previous = replay.previous();
+
+        // then
+        assertEquals(PhaseStep.UPKEEP, previous.getTurn().getStepType());
+        assertEquals(PhaseStep.DRAW, replay.next().getTurn().getStepType());
+        for (int i = 0; i < START_STATES + 1; i++) {
+            assertNotNull(replay.previous());
+        }
+        assertNull(replay.previous());
+    }
+
+    private File getSavedGameFile() {
+        return new File("saved", game.getId().toString() + ".game");
+    }
+
+    private static Step createStep(PhaseStep type) {
+        switch (type) {
+            case UPKEEP:
+                return new UpkeepStep();
+            case DRAW:
+                return new DrawStep();
+            default:
+                return new PreCombatMainStep();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.mage.test.serverside;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import mage.cards.Card;
+import mage.cards.decks.Deck;
+import mage.cards.repository.CardRepository;
+import mage.cards.repository.CardScanner;
+import mage.constants.CardType;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.PhaseStep;
+import mage.constants.PlayerAction;
+import mage.constants.RangeOfInfluence;
+import mage.game.Game;
+import mage.game.GameException;
+import mage.game.GameOptions;
+import mage.game.GameRecorder;
+import mage.game.TwoPlayerDuel;
+import mage.game.TwoPlayerMatch;
+import mage.game.match.Match;
+import mage.game.match.MatchOptions;
+import mage.game.permanent.Permanent;
+import mage.player.human.HumanPlayer;
+import mage.players.Player;
+import mage.players.PlayerResponse;
+import mage.players.net.UserData;
+import mage.players.net.UserSkipPrioritySteps;
+import mage.server.game.GameActionLog;
+import mage.server.game.GameActionRecorder;
+import mage.server.game.GameActionReplay;
+import mage.server.game.PlayerFactory;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Records scripted games of human players and compares the end of the
+ * recorded game with the end of its replay.
+ *
+ * @author agent
+ */
+public class GameActionReplayTest {
+
+    private final List<UUID> recordedGames = new ArrayList<>();
+
+    @BeforeClass
+    public static void init() {
+        CardScanner.scan();
+        PlayerFactory.getInstance().addPlayerType("Human", HumanPlayer.class);
+    }
+
+    @After
+    public void deleteRecords() {
+        for (UUID gameId : recordedGames) {
+            GameActionLog.getFile(gameId).delete();
+        }
+    }
+
+    @Test(timeout = 120000)
+    public void shouldReplayGameToTheSameEnd() throws Exception {
+        // given
+        Game game = recordGame(42, -1);
+
+        // when
+        Game replayedGame = replay(game.getId());
+
+        // then
+        assertTrue("the game has to end by decking", game.getTurnNum() > 20);
+        assertEquals(describe(game), describe(replayedGame));
+    }
+
+    @Test(timeout = 120000)
+    public void shouldReplayConcedeOfOtherThread() throws Exception {
+        // given
+        Game game = recordGame(7, 3);
+
+        // when
+        Game replayedGame = replay(game.getId());
+
+        // then
+        assertEquals(3, game.getTurnNum());
+        assertTrue(getPlayer(game, "PlayerB").hasLeft());
+        assertTrue(getPlayer(game, "PlayerA").hasWon());
+        assertEquals(describe(game), describe(replayedGame));
+    }
+
+    /**
+     * @param seed
+     * @param concedeOnTurn turn the second player concedes or -1
+     * @return the ended game
+     */
+    private Game recordGame(long seed, int concedeOnTurn) throws GameException {
+        Game game = new TwoPlayerDuel(MultiplayerAttackOption.LEFT, RangeOfInfluence.ALL, 0, 20);
+        game.setSeed(seed);
+        GameOptions options = new GameOptions();
+        game.setGameOptions(options);
+        Match match = new TwoPlayerMatch(new MatchOptions("Replay test", "Two Player Duel"));
+        List<UUID> playerIds = new ArrayList<>();
+        for (String name : new String[]{"PlayerA", "PlayerB"}) {
+            Player player = new HumanPlayer(name, RangeOfInfluence.ALL, 0);
+            UserData userData = UserData.getDefaultUserDataView();
+            UserSkipPrioritySteps skipPrioritySteps = new UserSkipPrioritySteps();
+            skipPrioritySteps.getYourTurn().setMain1(true);
+            userData.setUserSkipPrioritySteps(skipPrioritySteps);
+            player.setUserData(userData);
+            Deck deck = createDeck();
+            player.init(game);
+            game.loadCards(deck.getCards(), player.getId());
+            game.addPlayer(player, deck);
+            match.addPlayer(player, deck);
+            playerIds.add(player.getId());
+        }
+        GameActionRecorder recorder = GameActionRecorder.start(game, match, playerIds.get(0), options);
+        assertNotNull(recorder);
+        recordedGames.add(game.getId());
+        game.setRecorder(new ScriptedPlayers(recorder, playerIds.get(1), concedeOnTurn));
+        try {
+            game.start(playerIds.get(0));
+        } finally {
+            recorder.close();
+        }
+        assertTrue(game.hasEnded());
+        return game;
+    }
+
+    private static Deck createDeck() {
+        Deck deck = new Deck();
+        for (int i = 0; i < 10; i++) {
+            deck.getCards().add(CardRepository.instance.findCard("Mountain").getCard());
+            deck.getCards().add(CardRepository.instance.findCard("Forest").getCard());
+        }
+        return deck;
+    }
+
+    private static Player getPlayer(Game game, String name) {
+        for (Player player : game.getState().getPlayers().values()) {
+            if (player.getName().equals(name)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    private static Game replay(UUID gameId) throws Exception {
+        GameActionReplay replay = new GameActionReplay(gameId);
+        replay.start();
+        int decisions = 0;
+        while (replay.next() != null) {
+            decisions++;
+        }
+        assertTrue(decisions > 0);
+        return replay.getGame();
+    }
+
+    /**
+     * The ids differ between a game and its replay, so the end of a game is
+     * described by the names of the cards
+     */
+    private static String describe(Game game) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("turn ").append(game.getTurnNum()).append('\n');
+        for (Player player : game.getState().getPlayers().values()) {
+            sb.append(player.getName())
+                    .append(" life ").append(player.getLife())
+                    .append(" won ").append(player.hasWon())
+                    .append(" lost ").append(player.hasLost())
+                    .append(" left ").append(player.hasLeft()).append('\n');
+            sb.append(" library ").append(names(player.getLibrary().getCards(game), false)).append('\n');
+            sb.append(" hand ").append(names(player.getHand().getCards(game), true)).append('\n');
+            sb.append(" graveyard ").append(names(player.getGraveyard().getCards(game), false)).append('\n');
+            List<Card> permanents = new ArrayList<>();
+            for (Permanent permanent : game.getBattlefield().getAllActivePermanents(player.getId())) {
+                permanents.add(permanent);
+            }
+            sb.append(" battlefield ").append(names(permanents, true)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static List<String> names(Iterable<? extends Card> cards, boolean sort) {
+        List<String> names = new ArrayList<>();
+        for (Card card : cards) {
+            names.add(card.getName());
+        }
+        if (sort) {
+            Collections.sort(names);
+        }
+        return names;
+    }
+
+    /**
+     * Answers the requests of the game like the clients of two players would:
+     * the first player takes the first turn, nobody takes a mulligan, a land
+     * is played in every precombat main phase and everything else is passed.
+     */
+    private static class ScriptedPlayers implements GameRecorder {
+
+        private final GameActionRecorder recorder;
+        private final UUID concedingPlayerId;
+        private final int concedeOnTurn;
+        private boolean startingPlayerChosen;
+
+        public ScriptedPlayers(GameActionRecorder recorder, UUID concedingPlayerId, int concedeOnTurn) {
+            this.recorder = recorder;
+            this.concedingPlayerId = concedingPlayerId;
+            this.concedeOnTurn = concedeOnTurn;
+        }
+
+        @Override
+        public boolean replayResponse(final Game game, UUID playerId, PlayerResponse response) {
+            if (game.getTurnNum() == concedeOnTurn && !game.getPlayer(concedingPlayerId).hasLeft()) {
+                // the concede comes from another thread while the game waits for an answer
+                Thread concede = new Thread() {
+                    @Override
+                    public void run() {
+                        recorder.recordPlayerAction(concedingPlayerId, PlayerAction.CONCEDE, null);
+                        game.concede(concedingPlayerId);
+                    }
+                };
+                concede.start();
+                try {
+                    concede.join();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Card land = getPlayableLand(game, playerId);
+            if (!startingPlayerChosen) {
+                startingPlayerChosen = true;
+                response.setUUID(playerId);
+            } else if (land != null) {
+                response.setUUID(land.getId());
+            } else {
+                response.setBoolean(false);
+            }
+            recorder.recordResponse(game, playerId, response);
+            return true;
+        }
+
+        @Override
+        public void recordResponse(Game game, UUID playerId, PlayerResponse response) {
+        }
+
+        private static Card getPlayableLand(Game game, UUID playerId) {
+            Player player = game.getPlayer(playerId);
+            if (!playerId.equals(game.getActivePlayerId()) || game.getStep() == null
+                    || game.getStep().getType() != PhaseStep.PRECOMBAT_MAIN
+                    || !game.getStack().isEmpty() || !player.canPlayLand()) {
+                return null;
+            }
+            for (Card card : player.getHand().getCards(game)) {
+                if (card.getCardType().contains(CardType.LAND)) {
+                    return card;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import mage.cards.BoosterGenerator;
+import mage.cards.BoosterPack;
+import mage.cards.ExpansionSet;
+import mage.cards.repository.CardScanner;
+import mage.sets.FateReforged;
+import mage.sets.KhansOfTarkir;
+import org.junit.Ignore;
+
+/**
+ * Test for generating the boosters of a large sealed event (6 boosters for
+ * 64 players).
+ *
+ * @author agent
+ */
+@Ignore
+public class BoosterGenerationPerformanceTest {
+
+    private static final int PLAYERS = 64;
+    private static final int ROUNDS = 20;
+
+    public void run() throws Exception {
+        CardScanner.scan();
+        List<ExpansionSet> sets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sets.add(FateReforged.getInstance());
+            sets.add(KhansOfTarkir.getInstance());
+        }
+        // warm up the booster pools of the sets
+        new BoosterGenerator().generate(sets, 1);
+
+        System.out.println("Started serial generation...");
+        long t1 = System.currentTimeMillis();
+        int cards = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int player = 0; player < PLAYERS; player++) {
+                for (ExpansionSet set : sets) {
+                    cards += set.createBooster().size();
+                }
+            }
+        }
+        long t2 = System.currentTimeMillis();
+        System.out.println("createBooster took: " + (t2 - t1) / ROUNDS + " ms per event (" + cards / ROUNDS + " cards)");
+
+        t1 = System.currentTimeMillis();
+        cards = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (List<BoosterPack> boosters : new BoosterGenerator().generate(sets, PLAYERS)) {
+                for (BoosterPack booster : boosters) {
+                    cards += booster.size();
+                }
+            }
+        }
+        t2 = System.currentTimeMillis();
+        System.out.println("BoosterGenerator took: " + (t2 - t1) / ROUNDS + " ms per event (" + cards / ROUNDS + " cards)");
+
+        t1 = System.currentTimeMillis();
+        cards = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (List<BoosterPack> boosters : new BoosterGenerator().generate(sets, PLAYERS)) {
+                for (BoosterPack booster : boosters) {
+                    cards += booster.open().size();
+                }
+            }
+        }
+        t2 = System.currentTimeMillis();
+        System.out.println("BoosterGenerator with opening took: " + (t2 - t1) / ROUNDS + " ms per event (" + cards / ROUNDS + " cards)");
+    }
+
+    public static void main(String[] args) {
+        BoosterGenerationPerformanceTest test = new BoosterGenerationPerformanceTest();
+        try {
+            test.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import mage.abilities.mana.BlackManaAbility;
+import mage.abilities.mana.BlueManaAbility;
+import mage.abilities.mana.ColorlessManaAbility;
+import mage.abilities.mana.GreenManaAbility;
+import mage.abilities.mana.ManaAbility;
+import mage.abilities.mana.ManaOptions;
+import mage.abilities.mana.RedManaAbility;
+import mage.abilities.mana.WhiteManaAbility;
+import org.junit.Ignore;
+
+/**
+ * Test for calculating the available mana of boards with many lands.
+ *
+ * @author agent
+ */
+@Ignore
+public class ManaOptionsPerformanceTest {
+
+    private static final int ROUNDS = 2000;
+
+    public void run() throws Exception {
+        // 2 basics, 4 dual lands, 4 tri lands and 2 five color lands
+        List<List<ManaAbility>> board = new ArrayList<>();
+        board.add(Arrays.<ManaAbility>asList(new ColorlessManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new ColorlessManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new WhiteManaAbility(), new BlueManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new BlueManaAbility(), new BlackManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new BlackManaAbility(), new RedManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new RedManaAbility(), new GreenManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new WhiteManaAbility(), new BlueManaAbility(), new BlackManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new BlueManaAbility(), new BlackManaAbility(), new RedManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new BlackManaAbility(), new RedManaAbility(), new GreenManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new RedManaAbility(), new GreenManaAbility(), new WhiteManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new WhiteManaAbility(), new BlueManaAbility(), new BlackManaAbility(), new RedManaAbility(), new GreenManaAbility()));
+        board.add(Arrays.<ManaAbility>asList(new WhiteManaAbility(), new BlueManaAbility(), new BlackManaAbility(), new RedManaAbility(), new GreenManaAbility()));
+
+        for (int lands = 10; lands <= board.size(); lands++) {
+            int options = 0;
+            long t1 = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                ManaOptions available = new ManaOptions();
+                for (List<ManaAbility> land : board.subList(0, lands)) {
+                    available.addMana(land, null);
+                }
+                options = available.size();
+            }
+            long t2 = System.nanoTime();
+            System.out.println(lands + " lands: " + (t2 - t1) / ROUNDS / 1000 + " us per calculation (" + options + " options)");
+        }
+    }
+
+    public static void main(String[] args) {
+        ManaOptionsPerformanceTest test = new ManaOptionsPerformanceTest();
+        try {
+            test.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+}
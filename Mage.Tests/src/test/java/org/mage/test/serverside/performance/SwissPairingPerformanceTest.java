@@ -0,0 +1,60 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import mage.game.tournament.Round;
+import mage.game.tournament.TournamentPairing;
+import mage.game.tournament.TournamentPlayer;
+import mage.game.tournament.pairing.RoundPairings;
+import mage.game.tournament.pairing.SwissPairingScoreGroups;
+import org.junit.Ignore;
+import org.mage.test.stub.PlayerStub;
+import org.mage.test.stub.TournamentStub;
+
+@Ignore
+public class SwissPairingPerformanceTest {
+
+    private static final int PLAYERS = 512;
+    private static final int ROUNDS = 9;
+
+    public void run() throws Exception {
+        Random rnd = new Random(1);
+        List<TournamentPlayer> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new TournamentPlayer(new PlayerStub(), null));
+        }
+        List<Round> rounds = new ArrayList<>();
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long t1 = System.nanoTime();
+            RoundPairings roundPairings = new SwissPairingScoreGroups(new ArrayList<>(players), rounds, i + 1 == ROUNDS).getRoundPairings();
+            long t2 = System.nanoTime();
+            total += t2 - t1;
+            System.out.println("Round " + (i + 1) + ": " + (t2 - t1) / 1000 + " us for " + roundPairings.getPairings().size() + " pairings");
+
+            Round round = new Round(i + 1, new TournamentStub());
+            rounds.add(round);
+            for (TournamentPairing pairing : roundPairings.getPairings()) {
+                round.addPairing(pairing);
+                TournamentPlayer winner = rnd.nextBoolean() ? pairing.getPlayer1() : pairing.getPlayer2();
+                winner.setPoints(winner.getPoints() + 3);
+            }
+            for (TournamentPlayer playerBye : roundPairings.getPlayerByes()) {
+                round.getPlayerByes().add(playerBye);
+                playerBye.setPoints(playerBye.getPoints() + 3);
+            }
+        }
+        System.out.println(PLAYERS + " players, " + ROUNDS + " rounds: " + total / 1000000 + " ms");
+    }
+
+    public static void main(String[] args) {
+        SwissPairingPerformanceTest test = new SwissPairingPerformanceTest();
+        try {
+            test.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+}
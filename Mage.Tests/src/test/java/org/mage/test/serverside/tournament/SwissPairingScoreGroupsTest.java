@@ -0,0 +1,190 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package org.mage.test.serverside.tournament;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import mage.game.tournament.Round;
+import mage.game.tournament.TournamentPairing;
+import mage.game.tournament.TournamentPlayer;
+import mage.game.tournament.pairing.RoundPairings;
+import mage.game.tournament.pairing.SwissPairingMinimalWeightMatching;
+import mage.game.tournament.pairing.SwissPairingScoreGroups;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.stub.PlayerStub;
+import org.mage.test.stub.TournamentStub;
+
+/**
+ *
+ * @author agent
+ */
+public class SwissPairingScoreGroupsTest {
+
+    @Test
+    public void FourPlayersSecondRoundTest() {
+        // 1 > 3
+        // 2 > 4
+
+        TournamentPlayer player1 = new TournamentPlayer(new PlayerStub(), null);
+        TournamentPlayer player2 = new TournamentPlayer(new PlayerStub(), null);
+        TournamentPlayer player3 = new TournamentPlayer(new PlayerStub(), null);
+        TournamentPlayer player4 = new TournamentPlayer(new PlayerStub(), null);
+        List<TournamentPlayer> players = new ArrayList<>();
+        players.add(player4);
+        players.add(player2);
+        players.add(player3);
+        players.add(player1);
+
+        player1.setPoints(3);
+        player2.setPoints(3);
+        player3.setPoints(0);
+        player4.setPoints(0);
+
+        List<Round> rounds = new ArrayList<>();
+        Round round = new Round(1, new TournamentStub());
+        round.addPairing(new TournamentPairing(player1, player3));
+        round.addPairing(new TournamentPairing(player4, player2));
+        rounds.add(round);
+
+        RoundPairings roundPairings = new SwissPairingScoreGroups(players, rounds, false).getRoundPairings();
+
+        Assert.assertEquals(2, roundPairings.getPairings().size());
+        Assert.assertEquals(0, roundPairings.getPlayerByes().size());
+        Assert.assertTrue(ContainsPair(roundPairings.getPairings(), player1, player2));
+        Assert.assertTrue(ContainsPair(roundPairings.getPairings(), player3, player4));
+    }
+
+    @Test
+    public void BigScoreGroupAvoidsRematchesTest() {
+        // 40 players with equal points, each played the player beside him
+        List<TournamentPlayer> players = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            TournamentPlayer player = new TournamentPlayer(new PlayerStub(), null);
+            player.setPoints(3);
+            players.add(player);
+        }
+        List<Round> rounds = new ArrayList<>();
+        Round round = new Round(1, new TournamentStub());
+        for (int i = 0; i < 40; i += 2) {
+            round.addPairing(new TournamentPairing(players.get(i), players.get(i + 1)));
+        }
+        rounds.add(round);
+
+        RoundPairings roundPairings = new SwissPairingScoreGroups(players, rounds, false).getRoundPairings();
+
+        Assert.assertEquals(20, roundPairings.getPairings().size());
+        Assert.assertEquals(0, roundPairings.getPlayerByes().size());
+        Assert.assertEquals(0, CountRematches(roundPairings.getPairings(), rounds));
+    }
+
+    @Test
+    public void CompareWithMinimalWeightMatching() {
+        // both pairings are created for the same tournament state, the score groups
+        // pairing must not have more rematches than the exact pairing
+        Random rnd = new Random(1);
+        for (int playersCount = 2; playersCount <= 16; playersCount++) {
+            List<TournamentPlayer> players = new ArrayList<>();
+            for (int i = 0; i < playersCount; i++) {
+                players.add(new TournamentPlayer(new PlayerStub(), null));
+            }
+            Set<TournamentPlayer> playersByes = new HashSet<>();
+            List<Round> rounds = new ArrayList<>();
+            int roundsCount = (playersCount + 1) / 2;
+            for (int i = 0; i < roundsCount; i++) {
+                boolean isLastRound = i + 1 == roundsCount;
+                RoundPairings exactPairings = new SwissPairingMinimalWeightMatching(new ArrayList<>(players), rounds, isLastRound).getRoundPairings();
+                RoundPairings roundPairings = new SwissPairingScoreGroups(new ArrayList<>(players), rounds, isLastRound).getRoundPairings();
+
+                Assert.assertEquals(exactPairings.getPairings().size(), roundPairings.getPairings().size());
+                Assert.assertEquals(exactPairings.getPlayerByes().size(), roundPairings.getPlayerByes().size());
+                CheckAllPlayersPaired(players, roundPairings);
+                Assert.assertTrue(CountRematches(roundPairings.getPairings(), rounds) <= CountRematches(exactPairings.getPairings(), rounds));
+
+                Round round = new Round(i + 1, new TournamentStub());
+                rounds.add(round);
+                for (TournamentPairing pairing : roundPairings.getPairings()) {
+                    round.addPairing(pairing);
+                    if (rnd.nextBoolean()) {
+                        pairing.getPlayer1().setPoints(pairing.getPlayer1().getPoints() + 3);
+                    } else {
+                        pairing.getPlayer2().setPoints(pairing.getPlayer2().getPoints() + 3);
+                    }
+                }
+                for (TournamentPlayer playerBye : roundPairings.getPlayerByes()) {
+                    if (!playersByes.add(playerBye)) {
+                        throw new AssertionError("Player already had bye.");
+                    }
+                    round.getPlayerByes().add(playerBye);
+                    playerBye.setPoints(playerBye.getPoints() + 3);
+                }
+            }
+        }
+    }
+
+    private void CheckAllPlayersPaired(List<TournamentPlayer> players, RoundPairings roundPairings) {
+        Set<TournamentPlayer> paired = new HashSet<>();
+        for (TournamentPairing pairing : roundPairings.getPairings()) {
+            Assert.assertTrue(paired.add(pairing.getPlayer1()));
+            Assert.assertTrue(paired.add(pairing.getPlayer2()));
+        }
+        for (TournamentPlayer playerBye : roundPairings.getPlayerByes()) {
+            Assert.assertTrue(paired.add(playerBye));
+        }
+        Assert.assertEquals(players.size(), paired.size());
+    }
+
+    private int CountRematches(List<TournamentPairing> pairs, List<Round> rounds) {
+        int count = 0;
+        for (TournamentPairing pair : pairs) {
+            for (Round round : rounds) {
+                if (ContainsPair(round.getPairs(), pair.getPlayer1(), pair.getPlayer2())) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean ContainsPair(List<TournamentPairing> pairs, TournamentPlayer player1, TournamentPlayer player2) {
+        for (TournamentPairing pair : pairs) {
+            if (pair.getPlayer1().equals(player1) && pair.getPlayer2().equals(player2)) {
+                return true;
+            }
+            if (pair.getPlayer1().equals(player2) && pair.getPlayer2().equals(player1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,6 +1,9 @@
 package org.mage.test.sets;
 
+import mage.cards.BoosterGenerator;
+import mage.cards.BoosterPack;
 import mage.cards.Card;
+import mage.cards.ExpansionSet;
 import mage.cards.repository.CardScanner;
 import mage.sets.FateReforged;
 import mage.sets.MastersEditionII;
@@ -13,6 +16,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -68,6 +72,45 @@ public class BoosterGenerationTest extends MageTestBase {
         assertFalse(str(booster), contains(booster, basics, null));
     }
 
+    @Test
+    public void testBoosterGeneratorIsDeterministic() {
+        List<ExpansionSet> sets = Arrays.<ExpansionSet>asList(FateReforged.getInstance(), MastersEditionII.getInstance());
+        List<List<BoosterPack>> boosters = new BoosterGenerator(42).generate(sets, 8);
+        List<List<BoosterPack>> sameBoosters = new BoosterGenerator(42).generate(sets, 8);
+
+        assertEquals(8, boosters.size());
+        for (int player = 0; player < boosters.size(); player++) {
+            assertEquals(sets.size(), boosters.get(player).size());
+            for (int booster = 0; booster < sets.size(); booster++) {
+                BoosterPack pack = boosters.get(player).get(booster);
+                assertEquals(sets.get(booster), pack.getSet());
+                assertEquals(pack.getCardInfos(), sameBoosters.get(player).get(booster).getCardInfos());
+                assertEquals(pack.size(), pack.open().size());
+            }
+        }
+    }
+
+    @Test
+    public void testBoosterGeneratorDrawsAllBoostersIfInterrupted() {
+        List<ExpansionSet> sets = Arrays.<ExpansionSet>asList(FateReforged.getInstance(), MastersEditionII.getInstance());
+        List<List<BoosterPack>> boosters = new BoosterGenerator(42).generate(sets, 32);
+
+        Thread.currentThread().interrupt();
+        List<List<BoosterPack>> interruptedBoosters;
+        try {
+            interruptedBoosters = new BoosterGenerator(42).generate(sets, 32);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals(32, interruptedBoosters.size());
+        for (int player = 0; player < boosters.size(); player++) {
+            for (int booster = 0; booster < sets.size(); booster++) {
+                assertEquals(boosters.get(player).get(booster).getCardInfos(), interruptedBoosters.get(player).get(booster).getCardInfos());
+            }
+        }
+    }
+
     private static String str(List<Card> cards) {
         StringBuilder sb = new StringBuilder("[");
         Iterator<Card> iterator = cards.iterator();
@@ -140,6 +140,11 @@ public class TournamentStub implements Tournament {
 
     }
 
+    @Override
+    public void checkRoundOver() {
+
+    }
+
     @Override
     public void addTableEventListener(Listener<TableEvent> listener) {
 
@@ -477,46 +477,52 @@ public class Mana implements Comparable<Mana>, Serializable, Copyable<Mana> {
      * @return if there is enough available mana to pay.
      */
     public boolean enough(final Mana cost) {
-        Mana compare = cost.copy();
-        compare.subtract(this);
-        if (compare.red < 0) {
-            compare.any = compare.getAny() + compare.getRed();
-            if (compare.any < 0) {
+        // same as subtracting this from a copy of the cost, without the copy
+        int compareRed = cost.red - red;
+        int compareGreen = cost.green - green;
+        int compareBlue = cost.blue - blue;
+        int compareWhite = cost.white - white;
+        int compareBlack = cost.black - black;
+        int compareColorless = cost.colorless - colorless;
+        int compareAny = cost.any - any;
+        if (compareRed < 0) {
+            compareAny += compareRed;
+            if (compareAny < 0) {
                 return false;
             }
-            compare.red = 0;
+            compareRed = 0;
         }
-        if (compare.green < 0) {
-            compare.any = compare.getAny() + compare.getGreen();
-            if (compare.any < 0) {
+        if (compareGreen < 0) {
+            compareAny += compareGreen;
+            if (compareAny < 0) {
                 return false;
             }
-            compare.green = 0;
+            compareGreen = 0;
         }
-        if (compare.blue < 0) {
-            compare.any = compare.getAny() + compare.getBlue();
-            if (compare.any < 0) {
+        if (compareBlue < 0) {
+            compareAny += compareBlue;
+            if (compareAny < 0) {
                 return false;
             }
-            compare.blue = 0;
+            compareBlue = 0;
         }
-        if (compare.black < 0) {
-            compare.any = compare.getAny() + compare.getBlack();
-            if (compare.any < 0) {
+        if (compareBlack < 0) {
+            compareAny += compareBlack;
+            if (compareAny < 0) {
                 return false;
             }
-            compare.black = 0;
+            compareBlack = 0;
         }
-        if (compare.white < 0) {
-            compare.any = compare.getAny() + compare.getWhite();
-            if (compare.any < 0) {
+        if (compareWhite < 0) {
+            compareAny += compareWhite;
+            if (compareAny < 0) {
                 return false;
             }
-            compare.white = 0;
+            compareWhite = 0;
         }
-        if (compare.colorless < 0) {
-            int remaining = compare.red + compare.green + compare.black + compare.blue + compare.white + compare.any;
-            if (compare.colorless + remaining < 0) {
+        if (compareColorless < 0) {
+            int remaining = compareRed + compareGreen + compareBlack + compareBlue + compareWhite + compareAny;
+            if (compareColorless + remaining < 0) {
                 return false;
             }
         }
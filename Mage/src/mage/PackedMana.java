@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+package mage;
+
+/**
+ * Packs the amounts of a {@link Mana} into a single long with 9 bits for each
+ * mana type, so mana can be added and compared without creating
+ * {@link Mana} objects. The highest bit of each mana type is kept free to
+ * detect overflows and borrows, so only amounts up to {@link #MAX_AMOUNT} can
+ * be packed.
+ *
+ * @author agent
+ */
+public final class PackedMana {
+
+    public static final int MAX_AMOUNT = 255;
+
+    private static final int BITS = 9;
+    private static final int RED = 0;
+    private static final int GREEN = 1;
+    private static final int BLUE = 2;
+    private static final int WHITE = 3;
+    private static final int BLACK = 4;
+    private static final int COLORLESS = 5;
+    private static final int ANY = 6;
+    private static final int TYPES = 7;
+
+    private static final long GUARDS;
+    private static final long COLORS;
+    private static final long NOT_COLORLESS;
+
+    static {
+        long guards = 0;
+        long colors = 0;
+        for (int type = 0; type < TYPES; type++) {
+            guards |= 1L << (type * BITS + BITS - 1);
+        }
+        for (int type = RED; type <= BLACK; type++) {
+            colors |= ((long) MAX_AMOUNT) << (type * BITS);
+        }
+        GUARDS = guards;
+        COLORS = colors;
+        NOT_COLORLESS = colors | ((long) MAX_AMOUNT) << (ANY * BITS);
+    }
+
+    private PackedMana() {
+    }
+
+    /**
+     * @param mana
+     * @return true if no amount of the mana is negative or greater than
+     * {@link #MAX_AMOUNT}
+     */
+    public static boolean canPack(Mana mana) {
+        return canPack(mana.getRed()) && canPack(mana.getGreen()) && canPack(mana.getBlue())
+                && canPack(mana.getWhite()) && canPack(mana.getBlack())
+                && canPack(mana.getColorless()) && canPack(mana.getAny());
+    }
+
+    public static long pack(Mana mana) {
+        return ((long) mana.getRed()) << (RED * BITS)
+                | ((long) mana.getGreen()) << (GREEN * BITS)
+                | ((long) mana.getBlue()) << (BLUE * BITS)
+                | ((long) mana.getWhite()) << (WHITE * BITS)
+                | ((long) mana.getBlack()) << (BLACK * BITS)
+                | ((long) mana.getColorless()) << (COLORLESS * BITS)
+                | ((long) mana.getAny()) << (ANY * BITS);
+    }
+
+    public static Mana unpack(long mana) {
+        return new Mana(get(mana, RED), get(mana, GREEN), get(mana, BLUE), get(mana, WHITE),
+                get(mana, BLACK), get(mana, COLORLESS), get(mana, ANY));
+    }
+
+    /**
+     * @param mana1
+     * @param mana2
+     * @return true if the sum of the mana can be packed
+     */
+    public static boolean canAdd(long mana1, long mana2) {
+        return ((mana1 + mana2) & GUARDS) == 0;
+    }
+
+    /**
+     * Only valid if {@link #canAdd(long, long)} is true.
+     *
+     * @param mana1
+     * @param mana2
+     * @return
+     */
+    public static long add(long mana1, long mana2) {
+        return mana1 + mana2;
+    }
+
+    /**
+     * Only valid if {@link #includes(long, long)} is true.
+     *
+     * @param mana
+     * @param subtract
+     * @return
+     */
+    public static long subtract(long mana, long subtract) {
+        return mana - subtract;
+    }
+
+    /**
+     * @param mana
+     * @param other
+     * @return true if the mana has at least as much of every mana type as the
+     * other mana
+     */
+    public static boolean includes(long mana, long other) {
+        return includes(mana, other, ~GUARDS);
+    }
+
+    /**
+     * Same as {@link Mana#includesMana(Mana)}.
+     *
+     * @param mana
+     * @param other
+     * @return
+     */
+    public static boolean includesMana(long mana, long other) {
+        return includes(mana, other, COLORS)
+                && (get(mana, COLORLESS) >= get(other, COLORLESS)
+                || countColored(mana) >= countColored(other) + get(other, COLORLESS));
+    }
+
+    public static int count(long mana) {
+        int count = 0;
+        for (int type = 0; type < TYPES; type++) {
+            count += get(mana, type);
+        }
+        return count;
+    }
+
+    public static int countColored(long mana) {
+        return count(mana) - get(mana, COLORLESS);
+    }
+
+    public static int getAny(long mana) {
+        return get(mana, ANY);
+    }
+
+    /**
+     * Same as {@link Mana#getMoreValuableMana(Mana, Mana)}.
+     *
+     * @param mana1
+     * @param mana2
+     * @return the more valuable mana or -1 if none of the mana is more
+     * valuable
+     */
+    public static long getMoreValuableMana(long mana1, long mana2) {
+        long moreMana;
+        long lessMana;
+        if (countColored(mana2) > countColored(mana1) || getAny(mana2) > getAny(mana1) || count(mana2) > count(mana1)) {
+            moreMana = mana2;
+            lessMana = mana1;
+        } else {
+            moreMana = mana1;
+            lessMana = mana2;
+        }
+        if (!includes(moreMana, lessMana, NOT_COLORLESS)) {
+            return -1;
+        }
+        return moreMana;
+    }
+
+    private static boolean includes(long mana, long other, long types) {
+        return (((mana & types) | GUARDS) - (other & types) & GUARDS) == GUARDS;
+    }
+
+    private static int get(long mana, int type) {
+        return (int) (mana >>> (type * BITS)) & MAX_AMOUNT;
+    }
+
+    private static boolean canPack(int amount) {
+        return amount >= 0 && amount <= MAX_AMOUNT;
+    }
+}
@@ -33,7 +33,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import mage.abilities.common.ZoneChangeTriggeredAbility;
 import mage.abilities.costs.AlternativeCost;
 import mage.abilities.costs.Cost;
@@ -52,6 +54,14 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
 
     private static final ThreadLocalStringBuilder threadLocalBuilder = new ThreadLocalStringBuilder(200);
 
+    // a bit for the id of every singleton ability (e.g. flying), so containsKey is a bit test for them
+    private static final Map<UUID, Integer> singletonBits = new ConcurrentHashMap<>();
+    private static volatile int singletonBitsVersion;
+
+    // the singleton abilities of this list, recalculated if the list or the known singletons have changed
+    private transient volatile Singletons singletons;
+    private transient int setCount;
+
     public AbilitiesImpl() {}
 
     public AbilitiesImpl(T... abilities) {
@@ -294,8 +304,18 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
         return true;
     }
 
+    @Override
+    public T set(int index, T element) {
+        setCount++;
+        return super.set(index, element);
+    }
+
     @Override
     public boolean containsKey(UUID abilityId) {
+        Integer bit = singletonBits.get(abilityId);
+        if (bit != null) {
+            return (getSingletons() & (1L << bit)) != 0;
+        }
         for (T ability: this) {
             if (ability.getId().equals(abilityId)) {
                 return true;
@@ -304,6 +324,56 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
         return false;
     }
 
+    private long getSingletons() {
+        Singletons current = singletons;
+        int version = singletonBitsVersion;
+        if (current == null || current.modCount != modCount || current.setCount != setCount || current.version != version) {
+            int currentModCount = modCount;
+            int currentSetCount = setCount;
+            long bits = 0;
+            for (T ability: this) {
+                if (ability instanceof MageSingleton) {
+                    int bit = getSingletonBit(ability.getId());
+                    if (bit >= 0) {
+                        bits |= 1L << bit;
+                    }
+                }
+            }
+            current = new Singletons(currentModCount, currentSetCount, version, bits);
+            singletons = current;
+        }
+        return current.bits;
+    }
+
+    private static int getSingletonBit(UUID abilityId) {
+        Integer bit = singletonBits.get(abilityId);
+        if (bit == null) {
+            synchronized (singletonBits) {
+                bit = singletonBits.get(abilityId);
+                if (bit == null) {
+                    if (singletonBits.size() >= Long.SIZE) {
+                        return -1;
+                    }
+                    bit = singletonBits.size();
+                    singletonBits.put(abilityId, bit);
+                    singletonBitsVersion++;
+                }
+            }
+        }
+        return bit;
+    }
+
+    /**
+     * Forgets the bits of the known singletons, so tests that use up the bits
+     * don't leave the other singletons without one
+     */
+    static void resetSingletonBits() {
+        synchronized (singletonBits) {
+            singletonBits.clear();
+            singletonBitsVersion++;
+        }
+    }
+
     @Override
     public boolean containsClass(Class classObject) {
         for (T ability: this) {
@@ -348,4 +418,19 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
         }
         return sb.toString();
     }
+
+    private static final class Singletons {
+
+        private final int modCount;
+        private final int setCount;
+        private final int version;
+        private final long bits;
+
+        Singletons(int modCount, int setCount, int version, long bits) {
+            this.modCount = modCount;
+            this.setCount = setCount;
+            this.version = version;
+            this.bits = bits;
+        }
+    }
 }
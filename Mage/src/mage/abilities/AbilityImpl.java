@@ -181,8 +181,11 @@ public abstract class AbilityImpl implements Ability {
 
     @Override
     public void newOriginalId() {
-        this.id = UUID.randomUUID();
-        this.originalId = id;
+        // singletons are shared by all cards, so like in newId their id must not change
+        if (!(this instanceof MageSingleton)) {
+            this.id = UUID.randomUUID();
+            this.originalId = id;
+        }
         getEffects().newId();
     }
 
@@ -28,10 +28,10 @@
 package mage.abilities.costs.mana;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import mage.Mana;
 import mage.abilities.Ability;
 import mage.abilities.costs.VariableCost;
@@ -53,7 +53,8 @@ public class ManaCostsImpl<T extends ManaCost> extends ArrayList<T> implements M
     protected UUID id;
     protected String text = null;
 
-    private static Map<String, ManaCosts> costs = new HashMap<>();
+    // parsed mana costs by mana string, shared by all cards that only use copies of them
+    private static final Map<String, ManaCosts> costs = new ConcurrentHashMap<>();
 
     public ManaCostsImpl() {
         this.id = UUID.randomUUID();
@@ -300,15 +301,15 @@ public class ManaCostsImpl<T extends ManaCost> extends ArrayList<T> implements M
     @Override
     public final void load(String mana) {
         this.clear();
-        if (costs.containsKey(mana)) {
-            ManaCosts<T> savedCosts = costs.get(mana);
+        if (mana == null || mana.length() == 0) {
+            return;
+        }
+        ManaCosts<T> savedCosts = costs.get(mana);
+        if (savedCosts != null) {
             for (ManaCost cost : savedCosts) {
                 this.add((T) cost.copy());
             }
         } else {
-            if (mana == null || mana.length() == 0) {
-                return;
-            }
             String[] symbols = mana.split("^\\{|\\}\\{|\\}$");
             int modifierForX = 0;
             for (String symbol : symbols) {
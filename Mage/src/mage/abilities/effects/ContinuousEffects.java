@@ -74,6 +74,7 @@ import mage.game.stack.Spell;
 import mage.players.ManaPoolItem;
 import mage.players.Player;
 import mage.target.common.TargetCardInHand;
+import mage.util.trace.PriorityPassProfiler;
 import org.apache.log4j.Logger;
 
 /**
@@ -888,6 +889,8 @@ public class ContinuousEffects implements Serializable {
 
     //20091005 - 613
     public void apply(Game game) {
+        PriorityPassProfiler profiler = game.getProfiler();
+        long start = profiler != null ? System.nanoTime() : 0;
         removeInactiveEffects(game);
         List<ContinuousEffect> activeLayerEffects = getLayeredEffects(game);
 
@@ -1028,6 +1031,9 @@ public class ContinuousEffects implements Serializable {
                 effect.apply(Layer.RulesEffects, SubLayer.NA, ability, game);
             }
         }
+        if (profiler != null) {
+            profiler.effectsApplied(activeLayerEffects.size(), System.nanoTime() - start);
+        }
     }
 
     private void applyLayer(List<ContinuousEffect> activeLayerEffects, Layer currentLayer, Game game) {
@@ -28,8 +28,10 @@
 package mage.abilities.mana;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import mage.Mana;
+import mage.PackedMana;
 import mage.game.Game;
 
 /**
@@ -80,6 +82,9 @@ public class ManaOptions extends ArrayList<Mana> {
             } else if (abilities.size() > 1) {
                 //perform a union of all existing options and the new options
                 List<Mana> copy = copy();
+                if (addManaPacked(abilities, copy, game)) {
+                    return;
+                }
                 this.clear();
                 for (ManaAbility ability : abilities) {
                     for (Mana netMana : ability.getNetMana(game)) {
@@ -107,6 +112,61 @@ public class ManaOptions extends ArrayList<Mana> {
         }
     }
 
+    /**
+     * Same union as in {@link #addMana(List, Game)}, but done with packed mana
+     * values, so no Mana objects are created for the many combinations that
+     * are dropped again. The options are only replaced if all mana can be
+     * packed.
+     *
+     * @return false if the mana could not be packed and nothing was changed
+     */
+    private boolean addManaPacked(List<ManaAbility> abilities, List<Mana> copy, Game game) {
+        long[] existing = new long[copy.size()];
+        for (int i = 0; i < existing.length; i++) {
+            if (!PackedMana.canPack(copy.get(i))) {
+                return false;
+            }
+            existing[i] = PackedMana.pack(copy.get(i));
+        }
+        long[] result = new long[existing.length * abilities.size()];
+        int size = 0;
+        for (ManaAbility ability : abilities) {
+            for (Mana netMana : ability.getNetMana(game)) {
+                if (!PackedMana.canPack(netMana)) {
+                    return false;
+                }
+                long net = PackedMana.pack(netMana);
+                SkipAddMana:
+                for (long mana : existing) {
+                    if (!PackedMana.canAdd(mana, net)) {
+                        return false;
+                    }
+                    long newMana = PackedMana.add(mana, net);
+                    for (int i = 0; i < size; i++) {
+                        if (result[i] == newMana) {
+                            continue SkipAddMana;
+                        }
+                        long moreValuable = PackedMana.getMoreValuableMana(newMana, result[i]);
+                        if (moreValuable != -1) {
+                            // only keep the more valuable mana
+                            result[i] = moreValuable;
+                            continue SkipAddMana;
+                        }
+                    }
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size * 2 + 1);
+                    }
+                    result[size++] = newMana;
+                }
+            }
+        }
+        this.clear();
+        for (int i = 0; i < size; i++) {
+            this.add(PackedMana.unpack(result[i]));
+        }
+        return true;
+    }
+
     public void addManaWithCost(List<ManaAbility> abilities, Game game) {
         if (isEmpty()) {
             this.add(new Mana());
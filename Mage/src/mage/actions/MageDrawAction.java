@@ -52,7 +52,7 @@ public class MageDrawAction extends MageAction {
             score += value;
         }
         if (!player.isTopCardRevealed() && numDrawn > 0) {
-            game.fireInformEvent(player.getLogName() + " draws " + CardUtil.numberToText(numDrawn, "a") + " card" + (numDrawn > 1 ? "s" : ""));
+            game.informPlayers(numDrawn > 1 ? "{0} draws {1} cards" : "{0} draws {1} card", player, CardUtil.numberToText(numDrawn, "a"));
         }
         if (player.isEmptyDraw()) {
             GameEvent event = GameEvent.getEvent(GameEvent.EventType.EMPTY_DRAW, player.getId(), player.getId());
@@ -83,7 +83,7 @@ public class MageDrawAction extends MageAction {
                 drawnCards.add(card);
                 card.moveToZone(Zone.HAND, null, game, false);
                 if (player.isTopCardRevealed()) {
-                    game.fireInformEvent(player.getLogName() + " draws a revealed card  (" + card.getLogName() + ")");
+                    game.informPlayers("{0} draws a revealed card  ({1})", player, card);
                 }
 
                 game.fireEvent(GameEvent.getEvent(GameEvent.EventType.DREW_CARD, card.getId(), player.getId()));
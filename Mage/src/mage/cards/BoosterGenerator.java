@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.cards;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.log4j.Logger;
+
+/**
+ * Draws the boosters of a limited event. Every booster gets its own random,
+ * split from the seed of the generator, so the boosters can be drawn in
+ * parallel and the same seed always gives the same boosters. Only the card
+ * infos are drawn, the cards are created when a booster is opened.
+ *
+ * @author agent
+ */
+public class BoosterGenerator {
+
+    private static final Logger logger = Logger.getLogger(BoosterGenerator.class);
+
+    private static final int MIN_BOOSTERS_PER_THREAD = 16;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+
+    public BoosterGenerator() {
+        this(new Random().nextLong());
+    }
+
+    public BoosterGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Draws one booster of every set for every player.
+     *
+     * @param sets the sets of the boosters, in the order they are opened
+     * @param numberPlayers
+     * @return for every player the boosters in the order of the sets
+     */
+    public List<List<BoosterPack>> generate(final List<ExpansionSet> sets, int numberPlayers) {
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), numberPlayers * sets.size() / MIN_BOOSTERS_PER_THREAD);
+        if (threads <= 1) {
+            return generate(sets, 0, numberPlayers);
+        }
+        List<List<BoosterPack>> boosters = new ArrayList<>(numberPlayers);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<List<BoosterPack>>>> futures = new ArrayList<>();
+            int chunkSize = (numberPlayers + threads - 1) / threads;
+            for (int start = 0; start < numberPlayers; start += chunkSize) {
+                final int from = start;
+                final int to = Math.min(start + chunkSize, numberPlayers);
+                futures.add(executor.submit(new Callable<List<List<BoosterPack>>>() {
+                    @Override
+                    public List<List<BoosterPack>> call() {
+                        return generate(sets, from, to);
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                List<List<BoosterPack>> chunk = null;
+                try {
+                    chunk = futures.get(i).get();
+                } catch (InterruptedException ex) {
+                    // the remaining boosters are drawn by this thread, the caller gets the interrupt
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    logger.error("Error generating boosters, drawing them again", ex);
+                }
+                if (chunk == null) {
+                    // a booster only depends on the seed and its position, so it's the same booster
+                    int from = i * chunkSize;
+                    chunk = generate(sets, from, Math.min(from + chunkSize, numberPlayers));
+                }
+                boosters.addAll(chunk);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return boosters;
+    }
+
+    /**
+     * Returns the random used for a booster, it only depends on the seed of
+     * the generator and the position of the booster.
+     *
+     * @param player
+     * @param booster
+     * @return
+     */
+    public Random getRandom(int player, int booster) {
+        long index = ((long) player << 16) + booster + 1;
+        return new Random(mix(seed + index * GOLDEN_GAMMA));
+    }
+
+    private List<List<BoosterPack>> generate(List<ExpansionSet> sets, int from, int to) {
+        List<List<BoosterPack>> boosters = new ArrayList<>(to - from);
+        for (int player = from; player < to; player++) {
+            List<BoosterPack> playerBoosters = new ArrayList<>(sets.size());
+            for (int booster = 0; booster < sets.size(); booster++) {
+                ExpansionSet set = sets.get(booster);
+                playerBoosters.add(new BoosterPack(set, set.createBoosterCardInfos(getRandom(player, booster))));
+            }
+            boosters.add(playerBoosters);
+        }
+        return boosters;
+    }
+
+    // finalizer of SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
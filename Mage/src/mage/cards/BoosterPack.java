@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.cards;
+
+import java.util.Collections;
+import java.util.List;
+import mage.cards.repository.CardInfo;
+
+/**
+ * A drawn booster of a set. The cards are only created when the booster is
+ * opened.
+ *
+ * @author agent
+ */
+public class BoosterPack {
+
+    private final ExpansionSet set;
+    private final List<CardInfo> cardInfos;
+
+    public BoosterPack(ExpansionSet set, List<CardInfo> cardInfos) {
+        this.set = set;
+        this.cardInfos = Collections.unmodifiableList(cardInfos);
+    }
+
+    public ExpansionSet getSet() {
+        return set;
+    }
+
+    public List<CardInfo> getCardInfos() {
+        return cardInfos;
+    }
+
+    public int size() {
+        return cardInfos.size();
+    }
+
+    /**
+     * Creates the cards of the booster, every call returns new cards.
+     *
+     * @return the cards of the booster
+     */
+    public List<Card> open() {
+        return ExpansionSet.createCards(cardInfos);
+    }
+}
@@ -173,6 +173,23 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
     }
 
     public static Card createCard(Class<?> clazz) {
+        return createCard(clazz, CardPrototypes.isEnabled());
+    }
+
+    /**
+     * @param clazz
+     * @param usePrototype copy the cached prototype of the class instead of
+     * calling the constructor (use false if the card is only needed once,
+     * e.g. while scanning all cards)
+     * @return
+     */
+    public static Card createCard(Class<?> clazz, boolean usePrototype) {
+        if (usePrototype) {
+            Card card = CardPrototypes.createCard(clazz);
+            if (card != null) {
+                return card;
+            }
+        }
         try {
             Constructor<?> con = clazz.getConstructor(new Class[]{UUID.class});
             Card card = (Card) con.newInstance(new Object[]{null});
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+package mage.cards;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import mage.abilities.Ability;
+import mage.abilities.MageSingleton;
+import org.apache.log4j.Logger;
+
+/**
+ * Keeps one built instance (prototype) per card class. New cards are copies
+ * of the prototype with new ids, so the card constructor (that creates all
+ * abilities, effects and costs) runs only once per class.
+ *
+ * The least recently used prototypes are removed if more than
+ * -Dxmage.cardPrototypes.size (default 4000) classes are cached. The cache
+ * can be switched off with -Dxmage.cardPrototypes=false.
+ *
+ * The first copy of a class is compared field by field with the prototype.
+ * If the copy constructor of the card class misses a field, or the card
+ * keeps its own id in effects or filters (e.g. new BlockedByIdPredicate(
+ * this.getId())), the class keeps being created by its constructor.
+ *
+ * @author agent
+ */
+final class CardPrototypes {
+
+    private static final Logger logger = Logger.getLogger(CardPrototypes.class);
+
+    private static final boolean enabled = !"false".equalsIgnoreCase(System.getProperty("xmage.cardPrototypes"));
+    private static final int maxSize = Integer.getInteger("xmage.cardPrototypes.size", 4000);
+
+    private static final Map<Class<?>, Card> prototypes = Collections.synchronizedMap(new LinkedHashMap<Class<?>, Card>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Class<?>, Card> eldest) {
+            return size() > maxSize;
+        }
+    });
+    // fields that are only caches and are filled again after the copy
+    private static final Set<String> ignoredFields = new HashSet<>(Arrays.asList(
+            "mage.cards.CardImpl.spellAbility"
+    ));
+    // classes whose copy() doesn't return an instance of the class itself or doesn't copy all fields
+    private static final Set<Class<?>> notCopyable = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+    private CardPrototypes() {
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param clazz
+     * @return a new card with new ids or null if the class can't be handled
+     * by prototypes
+     */
+    static Card createCard(Class<?> clazz) {
+        if (notCopyable.contains(clazz)) {
+            return null;
+        }
+        Card prototype = prototypes.get(clazz);
+        if (prototype == null) {
+            prototype = CardImpl.createCard(clazz, false);
+            if (prototype == null) {
+                return null;
+            }
+            Card card = copy(prototype);
+            String problem = checkCopy(clazz, prototype, card);
+            if (problem != null) {
+                logger.warn("Card class can't be copied (" + problem + "): " + clazz.getCanonicalName());
+                notCopyable.add(clazz);
+                return null;
+            }
+            assignNewIds(card);
+            // ids taken in the constructor are not changed by assignNewId
+            String capturedId = getCapturedId(prototype, card);
+            if (capturedId != null) {
+                logger.warn("Card class can't be copied (id of prototype kept in " + capturedId + "): " + clazz.getCanonicalName());
+                notCopyable.add(clazz);
+                return null;
+            }
+            prototypes.put(clazz, prototype);
+            return card;
+        }
+        return assignNewIds(copy(prototype));
+    }
+
+    /**
+     * @param clazz
+     * @return the cached prototype of the class or null
+     */
+    static Card getPrototype(Class<?> clazz) {
+        return prototypes.get(clazz);
+    }
+
+    private static Card copy(Card prototype) {
+        Card card = prototype.copy();
+        if (card instanceof CardImpl) {
+            // the copy constructor shares the second face, but every card has to get its own one
+            CardImpl cardImpl = (CardImpl) card;
+            if (cardImpl.secondSideCard != null) {
+                cardImpl.secondSideCard = cardImpl.secondSideCard.copy();
+            }
+        }
+        return card;
+    }
+
+    private static Card assignNewIds(Card card) {
+        if (card.getSecondCardFace() != null) {
+            card.getSecondCardFace().assignNewId();
+        }
+        card.assignNewId();
+        return card;
+    }
+
+    /**
+     * @param clazz
+     * @param prototype
+     * @param card copy of the prototype before new ids were assigned
+     * @return the reason why the class can't be created as copy or null
+     */
+    private static String checkCopy(Class<?> clazz, Card prototype, Card card) {
+        if (card.getClass() != clazz) {
+            return "copy() missing?";
+        }
+        String difference = getDifference(prototype, card);
+        if (difference == null && prototype.getSecondCardFace() != null) {
+            difference = getDifference(prototype.getSecondCardFace(), card.getSecondCardFace());
+        }
+        if (difference != null) {
+            return difference + " not copied";
+        }
+        if (!prototype.getRules().equals(card.getRules())) {
+            return "rules text differs";
+        }
+        // an ability that exists only once (e.g. indestructible) would get a new id for all cards
+        String sharedAbility = getSharedAbility(prototype, card);
+        if (sharedAbility != null) {
+            return sharedAbility + " shared";
+        }
+        return null;
+    }
+
+    /**
+     * @param original
+     * @param copy
+     * @return the class of an ability that is the same instance in the card
+     * and its copy without being a singleton or null
+     */
+    static String getSharedAbility(Card original, Card copy) {
+        Set<Ability> originalAbilities = Collections.newSetFromMap(new IdentityHashMap<Ability, Boolean>());
+        originalAbilities.addAll(original.getAbilities());
+        for (Ability ability : copy.getAbilities()) {
+            if (!(ability instanceof MageSingleton) && originalAbilities.contains(ability)) {
+                return ability.getClass().getName();
+            }
+        }
+        if (original.getSecondCardFace() != null && copy.getSecondCardFace() != null) {
+            return getSharedAbility(original.getSecondCardFace(), copy.getSecondCardFace());
+        }
+        return null;
+    }
+
+    /**
+     * @param original
+     * @param card a card with new ids
+     * @return the path of a field in the card that still holds the id of the
+     * original card, its second face or its halves, or null
+     */
+    static String getCapturedId(Card original, Card card) {
+        Set<UUID> ids = new HashSet<>();
+        ids.add(original.getId());
+        if (original.getSecondCardFace() != null) {
+            ids.add(original.getSecondCardFace().getId());
+        }
+        if (original instanceof SplitCard) {
+            ids.add(((SplitCard) original).getLeftHalfCard().getId());
+            ids.add(((SplitCard) original).getRightHalfCard().getId());
+        }
+        return findId(card, card.getClass().getSimpleName(), ids, Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+    }
+
+    private static String findId(Object value, String path, Set<UUID> ids, Set<Object> visited) {
+        if (value instanceof UUID) {
+            return ids.contains(value) ? path : null;
+        }
+        // singletons are shared by all cards and keep the source id they got first
+        if (value == null || isSimpleValue(value) || value instanceof Class || value instanceof MageSingleton
+                || !visited.add(value)) {
+            return null;
+        }
+        String found = null;
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            for (int i = 0; i < array.length && found == null; i++) {
+                found = findId(array[i], path + "[" + i + "]", ids, visited);
+            }
+        } else if (value instanceof Collection) {
+            int i = 0;
+            for (Object element : (Collection) value) {
+                found = findId(element, path + "[" + i++ + "]", ids, visited);
+                if (found != null) {
+                    break;
+                }
+            }
+        } else if (value instanceof Map) {
+            for (Object entry : ((Map) value).entrySet()) {
+                Object key = ((Map.Entry) entry).getKey();
+                found = findId(key, path + ".key", ids, visited);
+                if (found == null) {
+                    found = findId(((Map.Entry) entry).getValue(), path + "[" + key + "]", ids, visited);
+                }
+                if (found != null) {
+                    break;
+                }
+            }
+        } else if (value.getClass().getName().startsWith("mage.")) {
+            for (Class<?> clazz = value.getClass(); clazz != null && found == null; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        found = findId(field.get(value), path + "." + field.getName(), ids, visited);
+                    } catch (IllegalAccessException | SecurityException ex) {
+                        found = path + "." + field.getName();
+                    }
+                    if (found != null) {
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Compares the fields of the card and its copy. Values of simple types
+     * have to be equal, collections must have the same size and other objects
+     * must be set in both or in none of them.
+     *
+     * @param original
+     * @param copy
+     * @return the first field that differs or null if the copy is complete
+     */
+    static String getDifference(Object original, Object copy) {
+        for (Class<?> clazz = original.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                String name = clazz.getName() + "." + field.getName();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || ignoredFields.contains(name)) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    if (!isCopied(field.get(original), field.get(copy))) {
+                        return name;
+                    }
+                } catch (IllegalAccessException | SecurityException ex) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCopied(Object value, Object copiedValue) {
+        if (value == null || copiedValue == null) {
+            return value == copiedValue;
+        }
+        if (isSimpleValue(value)) {
+            return value.equals(copiedValue);
+        }
+        if (value instanceof Collection && copiedValue instanceof Collection) {
+            return ((Collection) value).size() == ((Collection) copiedValue).size();
+        }
+        if (value instanceof Map && copiedValue instanceof Map) {
+            return ((Map) value).size() == ((Map) copiedValue).size();
+        }
+        return true;
+    }
+
+    private static boolean isSimpleValue(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum;
+    }
+}
@@ -35,7 +35,6 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import mage.constants.Zone;
@@ -51,7 +50,6 @@ public class CardsImpl extends LinkedHashSet<UUID> implements Cards, Serializabl
 
     private static final ThreadLocalStringBuilder threadLocalBuilder = new ThreadLocalStringBuilder(200);
 
-    private static Random rnd = new Random();
     private UUID ownerId;
     private Zone zone;
 
@@ -127,7 +125,7 @@ public class CardsImpl extends LinkedHashSet<UUID> implements Cards, Serializabl
             return null;
         }
         UUID[] cards = this.toArray(new UUID[0]);
-        return game.getCard(cards[rnd.nextInt(cards.length)]);
+        return game.getCard(cards[game.getRandom().nextInt(cards.length)]);
     }
 
     @Override
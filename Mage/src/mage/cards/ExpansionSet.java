@@ -29,6 +29,7 @@ package mage.cards;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.List;
@@ -70,6 +71,7 @@ public abstract class ExpansionSet implements Serializable {
     protected int maxCardNumberInBooster;
 
     protected final EnumMap<Rarity, List<CardInfo>> savedCards;
+    private transient volatile BoosterPools boosterPools;
 
     public ExpansionSet(String name, String code, String packageName, Date releaseDate, SetType setType) {
         this.name = name;
@@ -115,16 +117,26 @@ public abstract class ExpansionSet implements Serializable {
     }
 
     public List<Card> create15CardBooster() {
+        return createCards(create15CardBoosterCardInfos(rnd));
+    }
+
+    /**
+     * Draws a booster with exactly 15 cards without creating the cards.
+     *
+     * @param random
+     * @return the card infos of the booster
+     */
+    public List<CardInfo> create15CardBoosterCardInfos(Random random) {
         // Forces 15 card booster packs.
         // if the packs are too small, it adds commons to fill it out.
         // if the packs are too big, it removes the first cards.
         // since it adds lands then commons before uncommons
         // and rares this should be the least disruptive.
-        List<Card> theBooster = this.createBooster();
-        List<CardInfo> commons = getCardsByRarity(Rarity.COMMON);
+        List<CardInfo> theBooster = this.createBoosterCardInfos(random);
+        BoosterSlot commons = new BoosterSlot(getBoosterPools().commons);
 
-        while (15 > theBooster.size()) {
-            addToBooster(theBooster, commons);
+        while (15 > theBooster.size() && !commons.isEmpty()) {
+            commons.draw(theBooster, random);
         }
 
         while (theBooster.size() > 15) {
@@ -134,100 +146,115 @@ public abstract class ExpansionSet implements Serializable {
         return theBooster;
     }
 
-    protected void addToBooster(List<Card> booster, List<CardInfo> cards) {
+    protected void addToBooster(List<CardInfo> booster, List<CardInfo> cards, Random random) {
         if (!cards.isEmpty()) {
-            CardInfo cardInfo = cards.remove(rnd.nextInt(cards.size()));
+            CardInfo cardInfo = cards.remove(random.nextInt(cards.size()));
             if (cardInfo != null) {
-                Card card = cardInfo.getCard();
-                if (card != null) {
-                    booster.add(card);
-                }
+                booster.add(cardInfo);
             }
         }
     }
 
     public List<Card> createBooster() {
-        List<Card> booster = new ArrayList<>();
+        return createCards(createBoosterCardInfos(rnd));
+    }
+
+    /**
+     * Draws the cards of a booster without creating them. The rarity pools of
+     * the set are loaded once and shared by all boosters, so this can be
+     * called from several threads, each with its own random.
+     *
+     * @param random
+     * @return the card infos of the booster
+     */
+    public List<CardInfo> createBoosterCardInfos(Random random) {
+        List<CardInfo> booster = new ArrayList<>();
         if (!hasBoosters) {
             return booster;
         }
+        BoosterPools pools = getBoosterPools();
 
         if (numBoosterLands > 0) {
-            List<CardInfo> specialLands = getSpecialLand();
-            List<CardInfo> basicLands = getCardsByRarity(Rarity.LAND);
+            BoosterSlot specialLands = pools.specialLand == null ? null : new BoosterSlot(pools.specialLand);
+            BoosterSlot basicLands = new BoosterSlot(pools.lands);
             for (int i = 0; i < numBoosterLands; i++) {
-                if (ratioBoosterSpecialLand > 0 && rnd.nextInt(ratioBoosterSpecialLand) == 1 && specialLands != null) {
-                    addToBooster(booster, specialLands);
+                if (ratioBoosterSpecialLand > 0 && random.nextInt(ratioBoosterSpecialLand) == 1 && specialLands != null) {
+                    specialLands.draw(booster, random);
                 } else {
-                    addToBooster(booster, basicLands);
+                    basicLands.draw(booster, random);
                 }
             }
         }
-        List<CardInfo> commons = getCardsByRarity(Rarity.COMMON);
+        BoosterSlot commons = new BoosterSlot(pools.commons);
         for (int i = 0; i < numBoosterCommon; i++) {
-            addToBooster(booster, commons);
+            commons.draw(booster, random);
         }
-        List<CardInfo> uncommons = getCardsByRarity(Rarity.UNCOMMON);
+        BoosterSlot uncommons = new BoosterSlot(pools.uncommons);
         for (int i = 0; i < numBoosterUncommon; i++) {
-            addToBooster(booster, uncommons);
+            uncommons.draw(booster, random);
         }
-        List<CardInfo> rares = getCardsByRarity(Rarity.RARE);
-        List<CardInfo> mythics = getCardsByRarity(Rarity.MYTHIC);
+        BoosterSlot rares = new BoosterSlot(pools.rares);
+        BoosterSlot mythics = new BoosterSlot(pools.mythics);
         for (int i = 0; i < numBoosterRare; i++) {
-            if (ratioBoosterMythic > 0 && rnd.nextInt(ratioBoosterMythic) == 1) {
-                addToBooster(booster, mythics);
+            if (ratioBoosterMythic > 0 && random.nextInt(ratioBoosterMythic) == 1) {
+                mythics.draw(booster, random);
             } else {
-                addToBooster(booster, rares);
+                rares.draw(booster, random);
             }
         }
 
         if (numBoosterDoubleFaced > 0) {
-            this.addDoubleFace(booster);
+            this.addDoubleFace(booster, pools, random);
         }
 
         if (numBoosterSpecial > 0) {
             int specialCards = 0;
-            List<CardInfo> specialBonus = getSpecialBonus();
-            if (specialBonus != null) {
-                specialCards += specialBonus.size();
+            BoosterSlot specialBonus = null;
+            if (pools.specialBonus != null) {
+                specialBonus = new BoosterSlot(pools.specialBonus);
+                specialCards += pools.specialBonus.length;
             }
-            List<CardInfo> specialMythic = getSpecialMythic();
-            if (specialMythic != null) {
-                specialCards += specialMythic.size();
+            BoosterSlot specialMythic = null;
+            if (pools.specialMythic != null) {
+                specialMythic = new BoosterSlot(pools.specialMythic);
+                specialCards += pools.specialMythic.length;
             }
-            List<CardInfo> specialRare = getSpecialRare();
-            if (specialRare != null) {
-                specialCards += specialRare.size();
+            BoosterSlot specialRare = null;
+            if (pools.specialRare != null) {
+                specialRare = new BoosterSlot(pools.specialRare);
+                specialCards += pools.specialRare.length;
             }
-            List<CardInfo> specialUncommon = getSpecialUncommon();
-            if (specialUncommon != null) {
-                specialCards += specialUncommon.size();
+            BoosterSlot specialUncommon = null;
+            if (pools.specialUncommon != null) {
+                specialUncommon = new BoosterSlot(pools.specialUncommon);
+                specialCards += pools.specialUncommon.length;
             }
-            List<CardInfo> specialCommon = getSpecialCommon();
-            if (specialCommon != null) {
-                specialCards += specialCommon.size();
+            BoosterSlot specialCommon = null;
+            if (pools.specialCommon != null) {
+                specialCommon = new BoosterSlot(pools.specialCommon);
+                specialCards += pools.specialCommon.length;
             }
             if (specialCards > 0) {
                 for (int i = 0; i < numBoosterSpecial; i++) {
-                    if (rnd.nextInt(15) < 10) {
+                    if (random.nextInt(15) < 10) {
                         if (specialCommon != null && !specialCommon.isEmpty()) {
-                            addToBooster(booster, specialCommon);
+                            specialCommon.draw(booster, random);
                         } else {
                             i--;
                         }
                         continue;
                     }
-                    if (rnd.nextInt(4) < 3) {
+                    if (random.nextInt(4) < 3) {
                         if (specialUncommon != null && !specialUncommon.isEmpty()) {
-                            addToBooster(booster, specialUncommon);
+                            specialUncommon.draw(booster, random);
                         } else {
                             i--;
                         }
                         continue;
                     }
-                    if (rnd.nextInt(8) < 7) {
+                    if (random.nextInt(8) < 7) {
                         if (specialRare != null && !specialRare.isEmpty()) {
-                            addToBooster(booster, specialRare);
+                            specialRare.draw(booster, random);
                         } else {
                             i--;
                         }
@@ -235,19 +262,19 @@ public abstract class ExpansionSet implements Serializable {
                     }
                     if (specialMythic != null && !specialMythic.isEmpty()) {
                         if (specialBonus != null && !specialBonus.isEmpty()) {
-                            if (rnd.nextInt(3) < 2) {
-                                addToBooster(booster, specialMythic);
+                            if (random.nextInt(3) < 2) {
+                                specialMythic.draw(booster, random);
                                 continue;
                             }
                         } else {
-                            addToBooster(booster, specialMythic);
+                            specialMythic.draw(booster, random);
                             continue;
                         }
                     } else {
                         i--;
                     }
                     if (specialBonus != null && !specialBonus.isEmpty()) {
-                        addToBooster(booster, specialBonus);
+                        specialBonus.draw(booster, random);
                     }
                 }
             }
@@ -259,22 +286,51 @@ public abstract class ExpansionSet implements Serializable {
     /* add double faced card for Innistrad booster
      * rarity near as the normal distribution
      */
-    private void addDoubleFace(List<Card> booster) {
+    private void addDoubleFace(List<CardInfo> booster, BoosterPools pools, Random random) {
         for (int i = 0; i < numBoosterDoubleFaced; i++) {
-            CardCriteria criteria = new CardCriteria();
-            criteria.setCodes(this.code).doubleFaced(true);
-            if (rnd.nextInt(15) < 10) {
-                criteria.rarities(Rarity.COMMON);
-            } else if (rnd.nextInt(5) < 4) {
-                criteria.rarities(Rarity.UNCOMMON);
-            } else if (rnd.nextInt(8) < 7) {
-                criteria.rarities(Rarity.RARE);
+            Rarity rarity;
+            if (random.nextInt(15) < 10) {
+                rarity = Rarity.COMMON;
+            } else if (random.nextInt(5) < 4) {
+                rarity = Rarity.UNCOMMON;
+            } else if (random.nextInt(8) < 7) {
+                rarity = Rarity.RARE;
             } else {
-                criteria.rarities(Rarity.MYTHIC);
+                rarity = Rarity.MYTHIC;
+            }
+            new BoosterSlot(pools.getDoubleFaced(rarity)).draw(booster, random);
+        }
+    }
+
+    /**
+     * Creates the cards of a drawn booster.
+     *
+     * @param cardInfos
+     * @return the created cards
+     */
+    public static List<Card> createCards(List<CardInfo> cardInfos) {
+        List<Card> cards = new ArrayList<>(cardInfos.size());
+        for (CardInfo cardInfo : cardInfos) {
+            Card card = cardInfo.getCard();
+            if (card != null) {
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    private BoosterPools getBoosterPools() {
+        BoosterPools pools = boosterPools;
+        if (pools == null) {
+            synchronized (savedCards) {
+                pools = boosterPools;
+                if (pools == null) {
+                    pools = new BoosterPools(this);
+                    boosterPools = pools;
+                }
             }
-            List<CardInfo> doubleFacedCards = CardRepository.instance.findCards(criteria);
-            addToBooster(booster, doubleFacedCards);
         }
+        return pools;
     }
 
     public boolean hasBoosters() {
@@ -333,6 +389,104 @@ public abstract class ExpansionSet implements Serializable {
     }
 
     public void removeSavedCards() {
-        savedCards.clear();
+        synchronized (savedCards) {
+            savedCards.clear();
+            boosterPools = null;
+        }
+    }
+
+    /**
+     * The card pools a booster of the set is drawn from, loaded once from
+     * the card repository.
+     */
+    private static final class BoosterPools {
+
+        private final CardInfo[] lands;
+        private final CardInfo[] commons;
+        private final CardInfo[] uncommons;
+        private final CardInfo[] rares;
+        private final CardInfo[] mythics;
+        private final CardInfo[] specialLand;
+        private final CardInfo[] specialCommon;
+        private final CardInfo[] specialUncommon;
+        private final CardInfo[] specialRare;
+        private final CardInfo[] specialMythic;
+        private final CardInfo[] specialBonus;
+        private final EnumMap<Rarity, CardInfo[]> doubleFaced = new EnumMap<>(Rarity.class);
+
+        BoosterPools(ExpansionSet set) {
+            lands = toArray(set.getCardsByRarity(Rarity.LAND));
+            commons = toArray(set.getCardsByRarity(Rarity.COMMON));
+            uncommons = toArray(set.getCardsByRarity(Rarity.UNCOMMON));
+            rares = toArray(set.getCardsByRarity(Rarity.RARE));
+            mythics = toArray(set.getCardsByRarity(Rarity.MYTHIC));
+            specialLand = toArray(set.getSpecialLand());
+            specialCommon = toArray(set.getSpecialCommon());
+            specialUncommon = toArray(set.getSpecialUncommon());
+            specialRare = toArray(set.getSpecialRare());
+            specialMythic = toArray(set.getSpecialMythic());
+            specialBonus = toArray(set.getSpecialBonus());
+            if (set.numBoosterDoubleFaced > 0) {
+                for (Rarity rarity : new Rarity[]{Rarity.COMMON, Rarity.UNCOMMON, Rarity.RARE, Rarity.MYTHIC}) {
+                    CardCriteria criteria = new CardCriteria();
+                    criteria.setCodes(set.code).doubleFaced(true).rarities(rarity);
+                    doubleFaced.put(rarity, toArray(CardRepository.instance.findCards(criteria)));
+                }
+            }
+        }
+
+        CardInfo[] getDoubleFaced(Rarity rarity) {
+            CardInfo[] cards = doubleFaced.get(rarity);
+            return cards == null ? new CardInfo[0] : cards;
+        }
+
+        private static CardInfo[] toArray(List<CardInfo> cards) {
+            return cards == null ? null : cards.toArray(new CardInfo[cards.size()]);
+        }
+    }
+
+    /**
+     * Draws the cards of one booster slot from a pool, without drawing the
+     * same card twice.
+     */
+    private static final class BoosterSlot {
+
+        private final CardInfo[] pool;
+        private int[] drawn = new int[4];
+        private int drawnCount;
+
+        BoosterSlot(CardInfo[] pool) {
+            this.pool = pool;
+        }
+
+        boolean isEmpty() {
+            return drawnCount >= pool.length;
+        }
+
+        void draw(List<CardInfo> booster, Random random) {
+            if (isEmpty()) {
+                return;
+            }
+            int index = random.nextInt(pool.length);
+            while (isDrawn(index)) {
+                index = random.nextInt(pool.length);
+            }
+            if (drawnCount == drawn.length) {
+                drawn = Arrays.copyOf(drawn, drawnCount * 2);
+            }
+            drawn[drawnCount++] = index;
+            if (pool[index] != null) {
+                booster.add(pool[index]);
+            }
+        }
+
+        private boolean isDrawn(int index) {
+            for (int i = 0; i < drawnCount; i++) {
+                if (drawn[i] == index) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
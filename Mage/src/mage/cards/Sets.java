@@ -39,6 +39,7 @@ import java.util.Random;
 import mage.cards.decks.DeckCardInfo;
 import mage.cards.decks.DeckCardLists;
 import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardIndex;
 import mage.cards.repository.CardInfo;
 import mage.cards.repository.CardRepository;
 import mage.constants.CardType;
@@ -62,9 +63,17 @@ public class Sets extends HashMap<String, ExpansionSet> {
     }
 
     private Sets() {
-        ArrayList<String> packages = new ArrayList<>();
-        packages.add("mage.sets");
-        for (Class c : ClassScanner.findClasses(packages, ExpansionSet.class)) {
+        List<Class> setClasses;
+        // the names of the set classes are written at build time, so the sets jar has not to be scanned
+        List<String> classNames = CardIndex.loadSetClassNames();
+        if (classNames != null) {
+            setClasses = ClassScanner.loadClasses(classNames, ExpansionSet.class);
+        } else {
+            ArrayList<String> packages = new ArrayList<>();
+            packages.add("mage.sets");
+            setClasses = ClassScanner.findClasses(packages, ExpansionSet.class);
+        }
+        for (Class c : setClasses) {
             try {
                 addSet((ExpansionSet) c.getMethod("getInstance").invoke(null));
             } catch (Exception ex) {
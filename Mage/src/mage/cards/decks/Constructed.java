@@ -30,13 +30,12 @@ package mage.cards.decks;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import mage.cards.Card;
-import mage.cards.repository.CardInfo;
-import mage.cards.repository.CardRepository;
 import mage.constants.Rarity;
 import org.apache.log4j.Logger;
 
@@ -122,43 +121,25 @@ public class Constructed extends DeckValidator {
         }
 
         if (!setCodes.isEmpty()) {
-            for (Card card: deck.getCards()) {
-                if (!setCodes.contains(card.getExpansionSetCode())) {
-                    // check if card is legal if taken from other set
-                    boolean legal = false;
-                    List<CardInfo> cardInfos = CardRepository.instance.findCards(card.getName());
-                    for (CardInfo cardInfo: cardInfos) {
-                        if (setCodes.contains(cardInfo.getSetCode())) {
-                            legal = true;
-                            break;
-                        }
-                    }
-                    if (!legal && !invalid.containsKey(card.getName())) {
-                        invalid.put(card.getName(), "Invalid set: " + card.getExpansionSetCode());
-                        valid = false;
-                    }
-                }
-            }
-            for (Card card: deck.getSideboard()) {
-                if (!setCodes.contains(card.getExpansionSetCode())) {
-                    // check if card is legal if taken from other set
-                    boolean legal = false;
-                    List<CardInfo> cardInfos = CardRepository.instance.findCards(card.getName());
-                    for (CardInfo cardInfo: cardInfos) {
-                        if (setCodes.contains(cardInfo.getSetCode())) {
-                            legal = true;
-                            break;
-                        }
-                    }
-                    if (!legal && !invalid.containsKey(card.getName())) {
-                        invalid.put(card.getName(), "Invalid set: " + card.getExpansionSetCode());
-                        valid = false;
-                    }
-                }
-            }
+            FormatLegalityIndex legalityIndex = FormatLegalityIndex.getInstance(setCodes);
+            valid &= validateSets(deck.getCards(), legalityIndex);
+            valid &= validateSets(deck.getSideboard(), legalityIndex);
         }
         logger.debug("DECK validate end: " + name + " deckname: " + deck.getName() + " invalids:" + invalid.size());
         return valid;
     }
 
+    private boolean validateSets(Collection<Card> cards, FormatLegalityIndex legalityIndex) {
+        boolean valid = true;
+        for (Card card: cards) {
+            // check if card is legal if taken from other set
+            if (!legalityIndex.containsSet(card.getExpansionSetCode()) && !legalityIndex.isLegal(card.getName())
+                    && !invalid.containsKey(card.getName())) {
+                invalid.put(card.getName(), "Invalid set: " + card.getExpansionSetCode());
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
 }
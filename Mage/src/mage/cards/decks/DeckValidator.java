@@ -28,8 +28,10 @@
 package mage.cards.decks;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import mage.cards.Card;
 
@@ -49,6 +51,30 @@ public abstract class DeckValidator implements Serializable {
 
     public abstract boolean validate(Deck deck);
 
+    /**
+     * Validates a batch of decks (e.g. all registrations of a tournament).
+     * The set related legality data of the format is built only once for all
+     * decks. The invalid cards of the last single validation stay unchanged.
+     *
+     * @param decks
+     * @return the invalid cards of each deck in the order of the decks (an
+     * empty map for a valid deck)
+     */
+    public synchronized List<Map<String, String>> validate(List<Deck> decks) {
+        List<Map<String, String>> results = new ArrayList<>(decks.size());
+        Map<String, String> lastInvalid = invalid;
+        try {
+            for (Deck deck : decks) {
+                invalid = new HashMap<>();
+                validate(deck);
+                results.add(invalid);
+            }
+        } finally {
+            invalid = lastInvalid;
+        }
+        return results;
+    }
+
     public String getName() {
         return name;
     }
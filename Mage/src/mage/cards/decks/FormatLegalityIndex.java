@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ * 
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ * 
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * 
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package mage.cards.decks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
+
+/**
+ * The names of all cards that have at least one printing in the sets of a
+ * set restricted format, so the legality of a card can be checked without a
+ * card DB query.
+ *
+ * An index is built once per distinct set list and shared by all validators
+ * with the same sets (e.g. all tables of the same format). It's built again
+ * if cards were added to the card DB since.
+ *
+ * @author agent
+ */
+public final class FormatLegalityIndex {
+
+    private static final ConcurrentHashMap<List<String>, FormatLegalityIndex> indexes = new ConcurrentHashMap<>();
+
+    private final Set<String> setCodes;
+    private final Set<String> legalNames;
+    private final int cardsVersion;
+
+    private FormatLegalityIndex(List<String> setCodes) {
+        // taken before the query, so cards added during the query lead to a new index
+        this.cardsVersion = CardRepository.instance.getCardsVersion();
+        this.setCodes = Collections.unmodifiableSet(new HashSet<>(setCodes));
+        Set<String> names = new HashSet<>();
+        if (!setCodes.isEmpty()) {
+            CardCriteria criteria = new CardCriteria().setCodes(setCodes.toArray(new String[setCodes.size()]));
+            for (CardInfo cardInfo : CardRepository.instance.findCards(criteria)) {
+                names.add(cardInfo.getName());
+            }
+        }
+        this.legalNames = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * @param setCodes the sets of the format
+     * @return the (cached) index for the sets
+     */
+    public static FormatLegalityIndex getInstance(Collection<String> setCodes) {
+        List<String> key = new ArrayList<>(new HashSet<>(setCodes));
+        Collections.sort(key);
+        FormatLegalityIndex index = indexes.get(key);
+        if (index == null || index.cardsVersion != CardRepository.instance.getCardsVersion()) {
+            FormatLegalityIndex newIndex = new FormatLegalityIndex(key);
+            if (index == null) {
+                FormatLegalityIndex existing = indexes.putIfAbsent(key, newIndex);
+                index = existing != null ? existing : newIndex;
+            } else {
+                indexes.replace(key, index, newIndex);
+                index = newIndex;
+            }
+        }
+        return index;
+    }
+
+    public boolean containsSet(String setCode) {
+        return setCodes.contains(setCode);
+    }
+
+    /**
+     * @param cardName
+     * @return true if a card with this name was printed in one of the sets
+     */
+    public boolean isLegal(String cardName) {
+        return legalNames.contains(cardName);
+    }
+}
@@ -29,10 +29,7 @@ package mage.cards.decks.importer;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import mage.cards.decks.DeckCardInfo;
 import mage.cards.decks.DeckCardLists;
-import mage.cards.repository.CardInfo;
-import mage.cards.repository.CardRepository;
 
 /**
  *
@@ -59,22 +56,7 @@ public class DckDeckImporter extends DeckImporter {
             String setCode = m.group(3);
             int cardNum = Integer.parseInt(m.group(4));
 
-            DeckCardInfo deckCardInfo = null;
-            CardInfo cardInfo = CardRepository.instance.findCard(setCode, cardNum);
-            if (cardInfo != null) {
-                deckCardInfo = new DeckCardInfo(cardInfo.getName(), cardInfo.getCardNumber(), cardInfo.getSetCode());
-            }
-            if (deckCardInfo != null) {
-                for (int i = 0; i < count; i++) {
-                    if (!sideboard) {
-                        deckList.getCards().add(deckCardInfo);
-                    } else {
-                        deckList.getSideboard().add(deckCardInfo);
-                    }
-                }
-            } else {
-                sbMessage.append("Could not find card '").append("' at line ").append(lineCount).append(": ").append(line).append("\n");
-            }
+            addCardBySetAndNumber(setCode, cardNum, count, sideboard, line);
         } else if (line.startsWith("NAME:")) {
             deckList.setName(line.substring(5, line.length()));
         } else if (line.startsWith("AUTHOR:")) {
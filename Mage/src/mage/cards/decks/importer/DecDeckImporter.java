@@ -27,10 +27,7 @@
  */
 package mage.cards.decks.importer;
 
-import mage.cards.decks.DeckCardInfo;
 import mage.cards.decks.DeckCardLists;
-import mage.cards.repository.CardInfo;
-import mage.cards.repository.CardRepository;
 
 /**
  *
@@ -55,18 +52,7 @@ public class DecDeckImporter extends DeckImporter {
         String lineName = line.substring(delim).trim();
         try {
             int num = Integer.parseInt(lineNum);
-            CardInfo cardInfo = CardRepository.instance.findPreferedCoreExpansionCard(lineName, true);
-            if (cardInfo == null) {
-                sbMessage.append("Could not find card: '").append(lineName).append("' at line ").append(lineCount).append("\n");
-            } else {
-                for (int i = 0; i < num; i++) {
-                    if (!sideboard) {
-                        deckList.getCards().add(new DeckCardInfo(cardInfo.getName(), cardInfo.getCardNumber(), cardInfo.getSetCode()));
-                    } else {
-                        deckList.getSideboard().add(new DeckCardInfo(cardInfo.getName(), cardInfo.getCardNumber(), cardInfo.getSetCode()));
-                    }
-                }
-            }
+            addCardByName(lineName, num, sideboard);
         } catch (NumberFormatException nfe) {
             sbMessage.append("Invalid number: ").append(lineNum).append(" at line ").append(lineCount).append("\n");
         }
@@ -28,9 +28,24 @@
 
 package mage.cards.decks.importer;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Scanner;
+import mage.cards.decks.DeckCardInfo;
 import mage.cards.decks.DeckCardLists;
+import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
 import org.apache.log4j.Logger;
 
 /**
@@ -40,9 +55,23 @@ import org.apache.log4j.Logger;
 public abstract class DeckImporter {
 
     private static final Logger logger = Logger.getLogger(DeckImporter.class);
+
+    private static final int MAX_CACHED_DECKS = 64;
+    // imported decks by importer and content hash of the deck file, cleared if cards were added to the repository
+    private static final Map<String, DeckCardLists> importedDecks = Collections.synchronizedMap(new LinkedHashMap<String, DeckCardLists>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DeckCardLists> eldest) {
+            return size() > MAX_CACHED_DECKS;
+        }
+    });
+    // the cards version of the repository the imported decks were resolved with, guarded by importedDecks
+    private static int importedDecksCardsVersion;
+
     protected StringBuilder sbMessage = new StringBuilder();
     protected int lineCount;
 
+    private final List<DeckLine> deckLines = new ArrayList<>();
+
     public DeckCardLists importDeck(String file) {
         File f = new File(file);
         DeckCardLists deckList = new DeckCardLists();
@@ -52,16 +81,27 @@ public abstract class DeckImporter {
         }
         lineCount = 0;
         sbMessage.setLength(0);
+        deckLines.clear();
         try {
-            Scanner scanner = new Scanner(f);
+            byte[] content = Files.readAllBytes(f.toPath());
+            String key = getClass().getName() + ":" + hash(content);
+            int cardsVersion = CardRepository.instance.getCardsVersion();
+            DeckCardLists importedDeck = getImportedDeck(key, cardsVersion);
+            if (importedDeck != null) {
+                return copy(importedDeck);
+            }
+            Scanner scanner = new Scanner(new ByteArrayInputStream(content));
             try {
                 while (scanner.hasNextLine()) {
                     String line = scanner.nextLine().trim();
                     lineCount++;
                     readLine(line, deckList);
                 }
+                resolveDeckLines(deckList);
                 if (sbMessage.length() > 0) {
                     logger.fatal(sbMessage);
+                } else {
+                    putImportedDeck(key, copy(deckList), cardsVersion);
                 }
             }
             catch (Exception ex) {
@@ -81,4 +121,146 @@ public abstract class DeckImporter {
     }
 
     protected abstract void readLine(String line, DeckCardLists deckList);
+
+    /**
+     * Adds the prefered card with the name to the deck. The cards of all
+     * lines are looked up together after the last line was read.
+     *
+     * @param name
+     * @param count
+     * @param sideboard
+     */
+    protected void addCardByName(String name, int count, boolean sideboard) {
+        addCardBySetAndName(name, null, count, sideboard);
+    }
+
+    /**
+     * Adds a card with the name from the set to the deck, or the prefered
+     * card with the name if the set has no such card.
+     *
+     * @param name
+     * @param setCode
+     * @param count
+     * @param sideboard
+     */
+    protected void addCardBySetAndName(String name, String setCode, int count, boolean sideboard) {
+        DeckLine deckLine = new DeckLine(lineCount, null, count, sideboard);
+        deckLine.name = name;
+        deckLine.setCode = setCode;
+        deckLines.add(deckLine);
+    }
+
+    protected void addCardBySetAndNumber(String setCode, int cardNumber, int count, boolean sideboard, String line) {
+        DeckLine deckLine = new DeckLine(lineCount, line, count, sideboard);
+        deckLine.setCode = setCode;
+        deckLine.cardNumber = cardNumber;
+        deckLines.add(deckLine);
+    }
+
+    private void resolveDeckLines(DeckCardLists deckList) {
+        List<String> names = new ArrayList<>();
+        for (DeckLine deckLine : deckLines) {
+            if (deckLine.name != null) {
+                names.add(deckLine.name);
+            }
+        }
+        Map<String, CardInfo> preferedCards = CardRepository.instance.findPreferedCoreExpansionCards(names, true);
+        for (DeckLine deckLine : deckLines) {
+            CardInfo cardInfo = null;
+            if (deckLine.name == null) {
+                cardInfo = CardRepository.instance.findCard(deckLine.setCode, deckLine.cardNumber);
+            } else {
+                if (deckLine.setCode != null && !deckLine.setCode.isEmpty()) {
+                    CardCriteria criteria = new CardCriteria();
+                    criteria.name(deckLine.name);
+                    criteria.setCodes(deckLine.setCode);
+                    List<CardInfo> cards = CardRepository.instance.findCards(criteria);
+                    if (!cards.isEmpty()) {
+                        cardInfo = cards.get(new Random().nextInt(cards.size()));
+                    }
+                }
+                if (cardInfo == null) {
+                    cardInfo = preferedCards.get(deckLine.name);
+                }
+            }
+            if (cardInfo == null) {
+                if (deckLine.name != null) {
+                    sbMessage.append("Could not find card: '").append(deckLine.name).append("' at line ").append(deckLine.lineNumber).append("\n");
+                } else {
+                    sbMessage.append("Could not find card '").append("' at line ").append(deckLine.lineNumber).append(": ").append(deckLine.line).append("\n");
+                }
+                continue;
+            }
+            for (int i = 0; i < deckLine.count; i++) {
+                if (!deckLine.sideboard) {
+                    deckList.getCards().add(new DeckCardInfo(cardInfo.getName(), cardInfo.getCardNumber(), cardInfo.getSetCode()));
+                } else {
+                    deckList.getSideboard().add(new DeckCardInfo(cardInfo.getName(), cardInfo.getCardNumber(), cardInfo.getSetCode()));
+                }
+            }
+        }
+        deckLines.clear();
+    }
+
+    private static DeckCardLists getImportedDeck(String key, int cardsVersion) {
+        synchronized (importedDecks) {
+            if (importedDecksCardsVersion != cardsVersion) {
+                importedDecks.clear();
+                importedDecksCardsVersion = cardsVersion;
+            }
+            return importedDecks.get(key);
+        }
+    }
+
+    private static void putImportedDeck(String key, DeckCardLists deckList, int cardsVersion) {
+        synchronized (importedDecks) {
+            // a deck resolved before cards were added is not kept
+            if (importedDecksCardsVersion == cardsVersion) {
+                importedDecks.put(key, deckList);
+            }
+        }
+    }
+
+    /**
+     * @return number of imported decks that are kept
+     */
+    static int getImportedDecksCount() {
+        return importedDecks.size();
+    }
+
+    private static String hash(byte[] content) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        return new BigInteger(1, digest.digest(content)).toString(16);
+    }
+
+    private static DeckCardLists copy(DeckCardLists deckList) {
+        DeckCardLists copy = new DeckCardLists();
+        copy.setName(deckList.getName());
+        copy.setAuthor(deckList.getAuthor());
+        for (DeckCardInfo deckCardInfo : deckList.getCards()) {
+            copy.getCards().add(new DeckCardInfo(deckCardInfo.getCardName(), deckCardInfo.getCardNum(), deckCardInfo.getSetCode(), deckCardInfo.getQuantity()));
+        }
+        for (DeckCardInfo deckCardInfo : deckList.getSideboard()) {
+            copy.getSideboard().add(new DeckCardInfo(deckCardInfo.getCardName(), deckCardInfo.getCardNum(), deckCardInfo.getSetCode(), deckCardInfo.getQuantity()));
+        }
+        return copy;
+    }
+
+    private static class DeckLine {
+
+        private final int lineNumber;
+        private final String line;
+        private final int count;
+        private final boolean sideboard;
+        private String name;
+        private String setCode;
+        private int cardNumber;
+
+        DeckLine(int lineNumber, String line, int count, boolean sideboard) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.count = count;
+            this.sideboard = sideboard;
+        }
+    }
 }
@@ -27,13 +27,7 @@
  */
 package mage.cards.decks.importer;
 
-import java.util.List;
-import java.util.Random;
-import mage.cards.decks.DeckCardInfo;
 import mage.cards.decks.DeckCardLists;
-import mage.cards.repository.CardCriteria;
-import mage.cards.repository.CardInfo;
-import mage.cards.repository.CardRepository;
 
 /**
  *
@@ -63,32 +57,7 @@ public class MWSDeckImporter extends DeckImporter {
         String lineName = line.substring(delim + 1).trim();
         try {
             int num = Integer.parseInt(lineNum);
-            CardInfo cardInfo = null;
-            if (!setCode.isEmpty()) {
-                CardCriteria criteria = new CardCriteria();
-                criteria.name(lineName);
-                criteria.setCodes(setCode);
-                List<CardInfo> cards = null;
-                cards = CardRepository.instance.findCards(criteria);
-                if (!cards.isEmpty()) {
-                    cardInfo = cards.get(new Random().nextInt(cards.size()));
-                }
-            } 
-            if (cardInfo == null) {
-                cardInfo = CardRepository.instance.findPreferedCoreExpansionCard(lineName, true);
-            }
-
-            if (cardInfo == null) {
-                sbMessage.append("Could not find card: '").append(lineName).append("' at line ").append(lineCount).append("\n");
-            } else {
-                for (int i = 0; i < num; i++) {
-                    if (!sideboard) {
-                        deckList.getCards().add(new DeckCardInfo(cardInfo.getName(), cardInfo.getCardNumber(), cardInfo.getSetCode()));
-                    } else {
-                        deckList.getSideboard().add(new DeckCardInfo(cardInfo.getName(), cardInfo.getCardNumber(), cardInfo.getSetCode()));
-                    }
-                }
-            }
+            addCardBySetAndName(lineName, setCode, num, sideboard);
         } catch (NumberFormatException nfe) {
             sbMessage.append("Invalid number: ").append(lineNum).append(" at line ").append(lineCount).append("\n");
         }
@@ -0,0 +1,430 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package mage.cards.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import mage.constants.CardType;
+import mage.constants.Rarity;
+
+/**
+ * Immutable in-memory copy of the card table.
+ *
+ * Every card has a fixed index, the filter columns (types, subtypes,
+ * supertypes, rarity, set and colors) are kept as one bitset per value, so a
+ * {@link CardCriteria} is answered by some bitset operations instead of
+ * LIKE scans. Subtypes and supertypes are matched with LIKE as the query
+ * does, but only once per distinct column value. Repeated strings are
+ * interned while the catalog is built. The names are kept sorted to answer
+ * prefix searches with a binary search.
+ *
+ * The database stays the persistent source, the catalog is rebuilt from it
+ * after cards were added.
+ *
+ * @author agent
+ */
+final class CardCatalog {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    private final CardInfo[] cards;
+    private final BitSet nightCards = new BitSet();
+    private final BitSet splitCardHalves = new BitSet();
+    private final BitSet doubleFaced = new BitSet();
+    private final BitSet black = new BitSet();
+    private final BitSet blue = new BitSet();
+    private final BitSet green = new BitSet();
+    private final BitSet red = new BitSet();
+    private final BitSet white = new BitSet();
+    private final BitSet colorless = new BitSet();
+    private final Map<CardType, BitSet> types = new EnumMap<>(CardType.class);
+    private final Map<Rarity, BitSet> rarities = new EnumMap<>(Rarity.class);
+    private final Map<String, BitSet> setCodes = new HashMap<>();
+    // keyed by the stored column value (the joined list)
+    private final Map<String, BitSet> subtypeColumns = new HashMap<>();
+    private final Map<String, BitSet> supertypeColumns = new HashMap<>();
+    private final Map<String, int[]> byName = new HashMap<>();
+    private final Map<String, int[]> byLowerCaseName = new HashMap<>();
+    private final Map<String, CardInfo> bySetAndNumber = new HashMap<>();
+    private final Map<String, CardInfo> byClassName = new HashMap<>();
+    // distinct names (split card names divided into their halves), sorted by lower case name
+    private final String[] sortedLowerCaseNames;
+    private final String[] sortedNames;
+
+    CardCatalog(List<CardInfo> cardList) {
+        Map<String, String> strings = new HashMap<>();
+        this.cards = cardList.toArray(new CardInfo[cardList.size()]);
+        Map<String, List<Integer>> names = new HashMap<>();
+        Map<String, List<Integer>> lowerCaseNames = new HashMap<>();
+        Map<String, String> distinctNames = new HashMap<>();
+        for (int i = 0; i < cards.length; i++) {
+            CardInfo card = cards[i];
+            card.name = intern(strings, card.name);
+            card.setCode = intern(strings, card.setCode);
+            card.power = intern(strings, card.power);
+            card.toughness = intern(strings, card.toughness);
+            card.types = intern(strings, card.types);
+            card.subtypes = intern(strings, card.subtypes);
+            card.supertypes = intern(strings, card.supertypes);
+            card.manaCosts = intern(strings, card.manaCosts);
+
+            if (card.isNightCard()) {
+                nightCards.set(i);
+            }
+            if (card.isSplitCardHalf()) {
+                splitCardHalves.set(i);
+            }
+            if (card.isDoubleFaced()) {
+                doubleFaced.set(i);
+            }
+            if (card.black) {
+                black.set(i);
+            }
+            if (card.blue) {
+                blue.set(i);
+            }
+            if (card.green) {
+                green.set(i);
+            }
+            if (card.red) {
+                red.set(i);
+            }
+            if (card.white) {
+                white.set(i);
+            }
+            if (!card.black && !card.blue && !card.green && !card.red && !card.white) {
+                colorless.set(i);
+            }
+            for (CardType type : card.getTypes()) {
+                index(types, type, i);
+            }
+            if (card.getRarity() != null) {
+                index(rarities, card.getRarity(), i);
+            }
+            index(setCodes, card.getSetCode(), i);
+            if (card.subtypes != null) {
+                index(subtypeColumns, card.subtypes, i);
+            }
+            if (card.supertypes != null) {
+                index(supertypeColumns, card.supertypes, i);
+            }
+
+            String name = card.getName();
+            if (name != null) {
+                add(names, name, i);
+                add(lowerCaseNames, name.toLowerCase(), i);
+                int splitIndex = name.indexOf(" // ");
+                if (splitIndex > 0) {
+                    addDistinctName(distinctNames, name.substring(0, splitIndex));
+                    addDistinctName(distinctNames, name.substring(splitIndex + 4));
+                } else {
+                    addDistinctName(distinctNames, name);
+                }
+            }
+            if (!card.isNightCard()) {
+                String key = getSetAndNumberKey(card.getSetCode(), card.getCardNumber());
+                if (!bySetAndNumber.containsKey(key)) {
+                    bySetAndNumber.put(key, card);
+                }
+            }
+            if (card.getClassName() != null) {
+                byClassName.put(card.getClassName(), card);
+            }
+        }
+        toIndexMap(names, byName);
+        toIndexMap(lowerCaseNames, byLowerCaseName);
+
+        sortedLowerCaseNames = distinctNames.keySet().toArray(new String[distinctNames.size()]);
+        Arrays.sort(sortedLowerCaseNames);
+        sortedNames = new String[sortedLowerCaseNames.length];
+        for (int i = 0; i < sortedLowerCaseNames.length; i++) {
+            sortedNames[i] = distinctNames.get(sortedLowerCaseNames[i]);
+        }
+    }
+
+    int size() {
+        return cards.length;
+    }
+
+    CardInfo get(int index) {
+        return cards[index];
+    }
+
+    /**
+     * @return new bitset with all cards set
+     */
+    BitSet all() {
+        BitSet result = new BitSet(cards.length);
+        result.set(0, cards.length);
+        return result;
+    }
+
+    List<CardInfo> getCards(BitSet selection) {
+        List<CardInfo> result = new ArrayList<>(selection.cardinality());
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            result.add(cards[i]);
+        }
+        return result;
+    }
+
+    // the returned bitsets are shared and must not be changed
+    BitSet getNightCards() {
+        return nightCards;
+    }
+
+    BitSet getSplitCardHalves() {
+        return splitCardHalves;
+    }
+
+    BitSet getDoubleFaced() {
+        return doubleFaced;
+    }
+
+    BitSet getBlack() {
+        return black;
+    }
+
+    BitSet getBlue() {
+        return blue;
+    }
+
+    BitSet getGreen() {
+        return green;
+    }
+
+    BitSet getRed() {
+        return red;
+    }
+
+    BitSet getWhite() {
+        return white;
+    }
+
+    BitSet getColorless() {
+        return colorless;
+    }
+
+    BitSet getType(CardType type) {
+        return get(types, type);
+    }
+
+    BitSet getRarity(Rarity rarity) {
+        return get(rarities, rarity);
+    }
+
+    BitSet getSetCode(String setCode) {
+        return get(setCodes, setCode);
+    }
+
+    /**
+     * @param pattern SQL LIKE pattern
+     * @return new bitset of the cards whose subtypes column matches the
+     * pattern
+     */
+    BitSet getSubtypesLike(String pattern) {
+        return getLike(subtypeColumns, pattern);
+    }
+
+    /**
+     * @param pattern SQL LIKE pattern
+     * @return new bitset of the cards whose supertypes column matches the
+     * pattern
+     */
+    BitSet getSupertypesLike(String pattern) {
+        return getLike(supertypeColumns, pattern);
+    }
+
+    private static BitSet getLike(Map<String, BitSet> columns, String pattern) {
+        BitSet result = new BitSet();
+        for (Map.Entry<String, BitSet> entry : columns.entrySet()) {
+            if (like(entry.getKey(), pattern)) {
+                result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Matches the value like the LIKE operator of the database (case
+     * sensitive, % for any characters, _ for one character and \ as escape
+     * character).
+     *
+     * @param value
+     * @param pattern
+     * @return
+     */
+    static boolean like(String value, String pattern) {
+        return like(value, 0, pattern, 0);
+    }
+
+    private static boolean like(String value, int valueIndex, String pattern, int patternIndex) {
+        int v = valueIndex;
+        int p = patternIndex;
+        while (p < pattern.length()) {
+            char c = pattern.charAt(p);
+            if (c == '%') {
+                while (p < pattern.length() && pattern.charAt(p) == '%') {
+                    p++;
+                }
+                if (p == pattern.length()) {
+                    return true;
+                }
+                for (int i = v; i < value.length(); i++) {
+                    if (like(value, i, pattern, p)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (v == value.length()) {
+                return false;
+            }
+            if (c == '\\' && p + 1 < pattern.length()) {
+                p++;
+                if (value.charAt(v) != pattern.charAt(p)) {
+                    return false;
+                }
+            } else if (c != '_' && value.charAt(v) != c) {
+                return false;
+            }
+            p++;
+            v++;
+        }
+        return v == value.length();
+    }
+
+    List<CardInfo> findByName(String name) {
+        return toList(byName.get(name));
+    }
+
+    List<CardInfo> findByNameCaseInsensitive(String name) {
+        return toList(byLowerCaseName.get(name.toLowerCase()));
+    }
+
+    CardInfo findBySetAndNumber(String setCode, int cardNumber) {
+        return bySetAndNumber.get(getSetAndNumberKey(setCode, cardNumber));
+    }
+
+    CardInfo findByClassName(String className) {
+        return byClassName.get(className);
+    }
+
+    /**
+     * @param prefix
+     * @param limit
+     * @return the distinct card names starting with the prefix (case
+     * insensitive) in alphabetical order
+     */
+    List<String> getNamesByPrefix(String prefix, int limit) {
+        String lowerCasePrefix = prefix.toLowerCase();
+        int index = Arrays.binarySearch(sortedLowerCaseNames, lowerCasePrefix);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        List<String> result = new ArrayList<>();
+        while (index < sortedLowerCaseNames.length && result.size() < limit
+                && sortedLowerCaseNames[index].startsWith(lowerCasePrefix)) {
+            result.add(sortedNames[index]);
+            index++;
+        }
+        return result;
+    }
+
+    private List<CardInfo> toList(int[] indexes) {
+        if (indexes == null) {
+            return new ArrayList<>();
+        }
+        List<CardInfo> result = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            result.add(cards[index]);
+        }
+        return result;
+    }
+
+    private static String getSetAndNumberKey(String setCode, int cardNumber) {
+        return setCode + '#' + cardNumber;
+    }
+
+    private static String intern(Map<String, String> strings, String value) {
+        if (value == null) {
+            return null;
+        }
+        String interned = strings.get(value);
+        if (interned == null) {
+            strings.put(value, value);
+            return value;
+        }
+        return interned;
+    }
+
+    private static <K> void index(Map<K, BitSet> map, K key, int index) {
+        BitSet bitSet = map.get(key);
+        if (bitSet == null) {
+            bitSet = new BitSet();
+            map.put(key, bitSet);
+        }
+        bitSet.set(index);
+    }
+
+    private static <K> BitSet get(Map<K, BitSet> map, K key) {
+        BitSet bitSet = map.get(key);
+        return bitSet != null ? bitSet : EMPTY;
+    }
+
+    private static void add(Map<String, List<Integer>> map, String key, int index) {
+        List<Integer> list = map.get(key);
+        if (list == null) {
+            list = new ArrayList<>(1);
+            map.put(key, list);
+        }
+        list.add(index);
+    }
+
+    private static void addDistinctName(Map<String, String> distinctNames, String name) {
+        String lowerCaseName = name.toLowerCase();
+        if (!distinctNames.containsKey(lowerCaseName)) {
+            distinctNames.put(lowerCaseName, name);
+        }
+    }
+
+    private static void toIndexMap(Map<String, List<Integer>> source, Map<String, int[]> target) {
+        for (Map.Entry<String, List<Integer>> entry : source.entrySet()) {
+            List<Integer> list = entry.getValue();
+            int[] indexes = new int[list.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = list.get(i);
+            }
+            target.put(entry.getKey(), indexes);
+        }
+    }
+}
@@ -33,6 +33,9 @@ import com.j256.ormlite.stmt.Where;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import mage.constants.CardType;
 import mage.constants.Rarity;
@@ -189,6 +192,165 @@ public class CardCriteria {
         return this;
     }
 
+    /**
+     * Selects the matching cards from the in-memory catalog, the result is
+     * the same as the one of the query built by
+     * {@link #buildQuery(QueryBuilder)}.
+     *
+     * @param catalog
+     * @return the matching cards or null if the criteria can't be answered by
+     * the catalog (unknown sort column)
+     */
+    List<CardInfo> find(CardCatalog catalog) {
+        Comparator<CardInfo> comparator = null;
+        if (sortBy != null) {
+            comparator = getComparator(sortBy);
+            if (comparator == null) {
+                return null;
+            }
+        }
+        BitSet result = catalog.all();
+        result.andNot(catalog.getNightCards());
+        result.andNot(catalog.getSplitCardHalves());
+
+        if (doubleFaced != null) {
+            if (doubleFaced) {
+                result.and(catalog.getDoubleFaced());
+            } else {
+                result.andNot(catalog.getDoubleFaced());
+            }
+        }
+
+        if (!rarities.isEmpty()) {
+            BitSet selected = new BitSet();
+            for (Rarity rarity : rarities) {
+                selected.or(catalog.getRarity(rarity));
+            }
+            result.and(selected);
+        }
+
+        if (!setCodes.isEmpty()) {
+            BitSet selected = new BitSet();
+            for (String setCode : setCodes) {
+                selected.or(catalog.getSetCode(setCode));
+            }
+            result.and(selected);
+        }
+
+        if (types.size() != 7 && !types.isEmpty()) {
+            BitSet selected = new BitSet();
+            for (CardType type : types) {
+                selected.or(catalog.getType(type));
+            }
+            result.and(selected);
+        }
+        for (CardType type : notTypes) {
+            result.andNot(catalog.getType(type));
+        }
+
+        // LIKE on the stored columns, as the query does
+        for (String superType : supertypes) {
+            result.and(catalog.getSupertypesLike('%' + superType + '%'));
+        }
+        for (String superType : notSupertypes) {
+            result.andNot(catalog.getSupertypesLike('%' + superType + '%'));
+        }
+        for (String subType : subtypes) {
+            result.and(catalog.getSubtypesLike('%' + subType + '%'));
+        }
+
+        if (!black || !blue || !green || !red || !white || !colorless) {
+            BitSet selected = new BitSet();
+            if (black) {
+                selected.or(catalog.getBlack());
+            }
+            if (blue) {
+                selected.or(catalog.getBlue());
+            }
+            if (green) {
+                selected.or(catalog.getGreen());
+            }
+            if (red) {
+                selected.or(catalog.getRed());
+            }
+            if (white) {
+                selected.or(catalog.getWhite());
+            }
+            if (colorless) {
+                selected.or(catalog.getColorless());
+            }
+            // like buildQuery, there is no color filter if no color is selected
+            if (black || blue || green || red || white || colorless) {
+                result.and(selected);
+            }
+        }
+
+        // the remaining filters need the card itself, so check them only for the left cards
+        String namePattern = name != null ? '%' + name + '%' : null;
+        String rulesPattern = rules != null ? '%' + rules + '%' : null;
+        List<CardInfo> cards = new ArrayList<>();
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            CardInfo card = catalog.get(i);
+            if (namePattern != null && (card.getName() == null || !CardCatalog.like(card.getName(), namePattern))) {
+                continue;
+            }
+            if (rulesPattern != null && (card.rules == null || !CardCatalog.like(card.rules, rulesPattern))) {
+                continue;
+            }
+            if (convertedManaCost != null && card.getConvertedManaCost() != convertedManaCost) {
+                continue;
+            }
+            if (card.getCardNumber() > maxCardNumber) {
+                continue;
+            }
+            cards.add(card);
+        }
+
+        if (comparator != null) {
+            Collections.sort(cards, comparator);
+        }
+        if (start != null || count != null) {
+            int from = start != null ? (int) Math.min(start, cards.size()) : 0;
+            int to = count != null ? (int) Math.min(from + count, cards.size()) : cards.size();
+            cards = new ArrayList<>(cards.subList(from, to));
+        }
+        return cards;
+    }
+
+    private static Comparator<CardInfo> getComparator(String column) {
+        switch (column) {
+            case "name":
+                return new Comparator<CardInfo>() {
+                    @Override
+                    public int compare(CardInfo o1, CardInfo o2) {
+                        return o1.getName().compareTo(o2.getName());
+                    }
+                };
+            case "setCode":
+                return new Comparator<CardInfo>() {
+                    @Override
+                    public int compare(CardInfo o1, CardInfo o2) {
+                        return o1.getSetCode().compareTo(o2.getSetCode());
+                    }
+                };
+            case "cardNumber":
+                return new Comparator<CardInfo>() {
+                    @Override
+                    public int compare(CardInfo o1, CardInfo o2) {
+                        return Integer.compare(o1.getCardNumber(), o2.getCardNumber());
+                    }
+                };
+            case "convertedManaCost":
+                return new Comparator<CardInfo>() {
+                    @Override
+                    public int compare(CardInfo o1, CardInfo o2) {
+                        return Integer.compare(o1.getConvertedManaCost(), o2.getConvertedManaCost());
+                    }
+                };
+        }
+        return null;
+    }
+
     public void buildQuery(QueryBuilder qb) throws SQLException {
         Where where = qb.where();
         where.eq("nightCard", false);
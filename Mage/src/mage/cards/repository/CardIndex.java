@@ -0,0 +1,263 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package mage.cards.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import mage.cards.ExpansionSet;
+import mage.cards.Sets;
+import mage.constants.Rarity;
+import org.apache.log4j.Logger;
+
+/**
+ * Precomputed card data of all cards of the sets jar.
+ *
+ * The index (and the list of the set classes) is written at build time of
+ * the sets module (see its pom) and packaged into the jar, so the card DB
+ * can be filled without loading and instantiating every card class.
+ * {@link CardScanner} falls back to class scanning if the index is missing
+ * or was written for another content version.
+ *
+ * @author agent
+ */
+public final class CardIndex {
+
+    private static final Logger logger = Logger.getLogger(CardIndex.class);
+
+    public static final String RESOURCE = "mage-cards.idx";
+    public static final String SETS_RESOURCE = "mage-sets.idx";
+
+    private static final int MAGIC = 0x4d434931; // "MCI1"
+    private static final int FORMAT_VERSION = 1;
+
+    private CardIndex() {
+    }
+
+    /**
+     * Writes the index of all cards and the list of the set classes found on
+     * the classpath.
+     *
+     * @param args target directory
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: CardIndex <target directory>");
+        }
+        // on an incremental build the target directory still holds the set list of the last build,
+        // so the sets have to be found by scanning the classpath (before Sets is initialized)
+        System.setProperty("xmage.cardIndex", "false");
+        long start = System.currentTimeMillis();
+        File dir = new File(args[0]);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        List<String> setClassNames = new ArrayList<>();
+        for (ExpansionSet set : Sets.getInstance().values()) {
+            setClassNames.add(set.getClass().getName());
+        }
+        Collections.sort(setClassNames);
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(dir, SETS_RESOURCE)), "UTF-8"))) {
+            for (String className : setClassNames) {
+                out.println(className);
+            }
+        }
+        List<CardInfo> cards = CardScanner.createCardInfos();
+        File file = new File(dir, RESOURCE);
+        write(cards, CardRepository.CARD_CONTENT_VERSION, file);
+        logger.info("Card index written - sets: " + setClassNames.size() + " cards: " + cards.size()
+                + " file: " + file.getPath() + " time: " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * @return the names of all set classes or null if there is no list on
+     * the classpath
+     */
+    public static List<String> loadSetClassNames() {
+        if ("false".equalsIgnoreCase(System.getProperty("xmage.cardIndex"))) {
+            return null;
+        }
+        InputStream in = getClassLoader().getResourceAsStream(SETS_RESOURCE);
+        if (in == null) {
+            return null;
+        }
+        List<String> classNames = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    classNames.add(line.trim());
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Set class list can't be read - " + ex.getMessage());
+            return null;
+        }
+        return classNames;
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = CardIndex.class.getClassLoader();
+        }
+        return classLoader;
+    }
+
+    /**
+     * @param contentVersion the content version the index has to be written
+     * for
+     * @return the cards of the index packaged on the classpath or null if
+     * there is no index for the content version
+     */
+    public static List<CardInfo> load(long contentVersion) {
+        InputStream in = getClassLoader().getResourceAsStream(RESOURCE);
+        if (in == null) {
+            return null;
+        }
+        try {
+            return read(in, contentVersion);
+        } catch (IOException ex) {
+            logger.warn("Card index can't be read - " + ex.getMessage());
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ex) {
+            }
+        }
+        return null;
+    }
+
+    static void write(List<CardInfo> cards, long contentVersion, File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(contentVersion);
+            out.writeInt(cards.size());
+            for (CardInfo card : cards) {
+                writeString(out, card.name);
+                out.writeInt(card.cardNumber);
+                writeString(out, card.setCode);
+                writeString(out, card.className);
+                writeString(out, card.power);
+                writeString(out, card.toughness);
+                out.writeInt(card.convertedManaCost);
+                writeString(out, card.rarity != null ? card.rarity.name() : null);
+                writeString(out, card.types);
+                writeString(out, card.subtypes);
+                writeString(out, card.supertypes);
+                writeString(out, card.manaCosts);
+                writeString(out, card.rules);
+                out.writeBoolean(card.black);
+                out.writeBoolean(card.blue);
+                out.writeBoolean(card.green);
+                out.writeBoolean(card.red);
+                out.writeBoolean(card.white);
+                out.writeBoolean(card.splitCard);
+                out.writeBoolean(card.splitCardHalf);
+                out.writeBoolean(card.flipCard);
+                out.writeBoolean(card.doubleFaced);
+                out.writeBoolean(card.nightCard);
+                writeString(out, card.flipCardName);
+                writeString(out, card.secondSideName);
+            }
+        }
+    }
+
+    static List<CardInfo> read(InputStream stream, long contentVersion) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream)));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            logger.warn("Card index has an unknown format");
+            return null;
+        }
+        long indexContentVersion = in.readLong();
+        if (indexContentVersion != contentVersion) {
+            logger.info("Card index content version " + indexContentVersion + " doesn't match " + contentVersion);
+            return null;
+        }
+        int count = in.readInt();
+        List<CardInfo> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CardInfo card = new CardInfo();
+            card.name = readString(in);
+            card.cardNumber = in.readInt();
+            card.setCode = readString(in);
+            card.className = readString(in);
+            card.power = readString(in);
+            card.toughness = readString(in);
+            card.convertedManaCost = in.readInt();
+            String rarity = readString(in);
+            card.rarity = rarity != null ? Rarity.valueOf(rarity) : null;
+            card.types = readString(in);
+            card.subtypes = readString(in);
+            card.supertypes = readString(in);
+            card.manaCosts = readString(in);
+            card.rules = readString(in);
+            card.black = in.readBoolean();
+            card.blue = in.readBoolean();
+            card.green = in.readBoolean();
+            card.red = in.readBoolean();
+            card.white = in.readBoolean();
+            card.splitCard = in.readBoolean();
+            card.splitCardHalf = in.readBoolean();
+            card.flipCard = in.readBoolean();
+            card.doubleFaced = in.readBoolean();
+            card.nightCard = in.readBoolean();
+            card.flipCardName = readString(in);
+            card.secondSideName = readString(in);
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -227,7 +227,7 @@ public class CardInfo {
         return list;
     }
 
-    public final void setTypes(List<CardType> types) {
+    private void setTypes(List<CardType> types) {
         StringBuilder sb = new StringBuilder();
         for (CardType item : types) {
             sb.append(item.name()).append(SEPARATOR);
@@ -243,7 +243,7 @@ public class CardInfo {
         return parseList(manaCosts);
     }
 
-    public final void setManaCosts(List<String> manaCosts) {
+    private void setManaCosts(List<String> manaCosts) {
         this.manaCosts = joinList(manaCosts);
     }
 
@@ -263,7 +263,7 @@ public class CardInfo {
         return parseList(rules);
     }
 
-    public final void setRules(List<String> rules) {
+    private void setRules(List<String> rules) {
         this.rules = joinList(rules);
     }
 
@@ -271,7 +271,7 @@ public class CardInfo {
         return parseList(subtypes);
     }
 
-    public final void setSubtypes(List<String> subtypes) {
+    private void setSubtypes(List<String> subtypes) {
         this.subtypes = joinList(subtypes);
     }
 
@@ -279,7 +279,7 @@ public class CardInfo {
         return parseList(supertypes);
     }
 
-    public final void setSuperTypes(List<String> superTypes) {
+    private void setSuperTypes(List<String> superTypes) {
         this.supertypes = joinList(superTypes);
     }
 
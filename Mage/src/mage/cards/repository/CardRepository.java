@@ -29,19 +29,21 @@ package mage.cards.repository;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
-import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.stmt.QueryBuilder;
-import com.j256.ormlite.stmt.SelectArg;
-import com.j256.ormlite.stmt.Where;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableUtils;
 import java.io.File;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
@@ -62,12 +64,14 @@ public enum CardRepository {
     private static final String VERSION_ENTITY_NAME = "card";
     // raise this if db structure was changed
     private static final long CARD_DB_VERSION = 43;
-    // raise this if new cards were added to the server
-    private static final long CARD_CONTENT_VERSION = 43;
+    // raise this if new cards were added to the server (also invalidates the card index of the sets jar)
+    static final long CARD_CONTENT_VERSION = 43;
 
     private final Random random = new Random();
     private Dao<CardInfo, Object> cardDao;
     private Set<String> classNames;
+    private volatile CardCatalog catalog;
+    private volatile int cardsVersion;
 
     private final TreeSet<String> landTypes = new TreeSet();
 
@@ -111,6 +115,47 @@ public enum CardRepository {
             });
         } catch (Exception ex) {
         }
+        // rebuilt with the next query, a catalog that is built right now is
+        // published before and may miss the added cards
+        synchronized (this) {
+            catalog = null;
+            cardsVersion++;
+        }
+    }
+
+    /**
+     * @return a number that changes whenever cards were added, so data that
+     * was collected from the cards can be collected again
+     */
+    public int getCardsVersion() {
+        return cardsVersion;
+    }
+
+    /**
+     * The queries are answered by an in-memory catalog of all cards. It's
+     * loaded from the DB with the first query and after cards were added.
+     *
+     * @return the catalog or null if it couldn't be loaded
+     */
+    private CardCatalog getCatalog() {
+        CardCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null && cardDao != null) {
+                    try {
+                        long start = System.currentTimeMillis();
+                        current = new CardCatalog(cardDao.queryForAll());
+                        catalog = current;
+                        Logger.getLogger(CardRepository.class).debug("Card catalog loaded - cards: " + current.size()
+                                + " time: " + (System.currentTimeMillis() - start) + " ms");
+                    } catch (SQLException ex) {
+                        Logger.getLogger(CardRepository.class).error("Error loading card catalog - ", ex);
+                    }
+                }
+            }
+        }
+        return current;
     }
 
     public boolean cardExists(String className) {
@@ -131,182 +176,146 @@ public enum CardRepository {
     }
 
     public Set<String> getNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getNames(null, null);
     }
 
     public Set<String> getNonLandNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            qb.where().not().like("types", new SelectArg('%' + CardType.LAND.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getNames(null, CardType.LAND);
     }
 
     public Set<String> getCreatureNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            qb.where().like("types", new SelectArg('%' + CardType.CREATURE.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getNames(CardType.CREATURE, null);
     }
 
     public Set<String> getNonLandAndNonCreatureNames() {
+        return getNames(null, CardType.LAND, CardType.CREATURE);
+    }
+
+    private Set<String> getNames(CardType type, CardType... notTypes) {
         Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            Where where = qb.where();
-            where.and(where.not().like("types", '%' + CardType.CREATURE.name() + '%'), where.not().like("types", '%' + CardType.LAND.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog == null) {
+            return names;
+        }
+        BitSet selection = cardCatalog.all();
+        if (type != null) {
+            selection.and(cardCatalog.getType(type));
+        }
+        if (notTypes != null) {
+            for (CardType notType : notTypes) {
+                selection.andNot(cardCatalog.getType(notType));
+            }
+        }
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            String name = cardCatalog.get(i).getName();
+            int result = name.indexOf(" // ");
+            if (result > 0) {
+                names.add(name.substring(0, result));
+                names.add(name.substring(result + 4));
+            } else {
+                names.add(name);
             }
-        } catch (SQLException ex) {
         }
         return names;
     }
 
-    public Set<String> getCreatureTypes() {
-        TreeSet<String> subtypes = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("subtypes");
-            qb.where().like("types", new SelectArg('%' + CardType.CREATURE.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                subtypes.addAll(card.getSubTypes());
-            }
-            // Removing Forest because of Dryad Arbor
-            subtypes.remove("Forest");
-            // Some creature types are not directly included in card types and are added here manually
-            subtypes.add("Blinkmoth");
-            subtypes.add("Camarid");
-            subtypes.add("Caribou");
-            subtypes.add("Citizen");
-            subtypes.add("Coward");
-            subtypes.add("Deserter");
-            subtypes.add("Germ");
-            subtypes.add("Graveborn");
-            subtypes.add("Orb");
-            subtypes.add("Pentavite");
-            subtypes.add("Pincher");
-            subtypes.add("Prism");
-            subtypes.add("Reflection");
-            subtypes.add("Sand");
-            subtypes.add("Saproling");
-            subtypes.add("Scion");
-            subtypes.add("Serf");
-            subtypes.add("Splinter");
-            subtypes.add("Survivor");
-            subtypes.add("Tetravite");
-            subtypes.add("Triskelavite");
+    /**
+     *
+     * @param prefix
+     * @param limit max number of returned names
+     * @return card names starting with the prefix (case insensitive) in
+     * alphabetical order
+     */
+    public List<String> getNamesByPrefix(String prefix, int limit) {
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog == null) {
+            return new ArrayList<>();
+        }
+        return cardCatalog.getNamesByPrefix(prefix, limit);
+    }
 
-        } catch (SQLException ex) {
+    private Set<String> getSubtypes(CardType type) {
+        Set<String> subtypes = new TreeSet<>();
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog != null) {
+            BitSet selection = cardCatalog.getType(type);
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                subtypes.addAll(cardCatalog.get(i).getSubTypes());
+            }
         }
         return subtypes;
     }
 
+    public Set<String> getCreatureTypes() {
+        Set<String> subtypes = getSubtypes(CardType.CREATURE);
+        // Removing Forest because of Dryad Arbor
+        subtypes.remove("Forest");
+        // Some creature types are not directly included in card types and are added here manually
+        subtypes.add("Blinkmoth");
+        subtypes.add("Camarid");
+        subtypes.add("Caribou");
+        subtypes.add("Citizen");
+        subtypes.add("Coward");
+        subtypes.add("Deserter");
+        subtypes.add("Germ");
+        subtypes.add("Graveborn");
+        subtypes.add("Orb");
+        subtypes.add("Pentavite");
+        subtypes.add("Pincher");
+        subtypes.add("Prism");
+        subtypes.add("Reflection");
+        subtypes.add("Sand");
+        subtypes.add("Saproling");
+        subtypes.add("Scion");
+        subtypes.add("Serf");
+        subtypes.add("Splinter");
+        subtypes.add("Survivor");
+        subtypes.add("Tetravite");
+        subtypes.add("Triskelavite");
+        return subtypes;
+    }
+
     public Set<String> getLandTypes() {
         if (landTypes.isEmpty()) {
-            try {
-                QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-                qb.distinct().selectColumns("subtypes");
-                qb.where().like("types", new SelectArg('%' + CardType.LAND.name() + '%'));
-                List<CardInfo> results = cardDao.query(qb.prepare());
-                for (CardInfo card : results) {
-                    landTypes.addAll(card.getSubTypes());
-                }
-                // Removing Dryad because of Dryad Arbor
-                landTypes.remove("Dryad");
-
-            } catch (SQLException ex) {
-            }
+            landTypes.addAll(getSubtypes(CardType.LAND));
+            // Removing Dryad because of Dryad Arbor
+            landTypes.remove("Dryad");
         }
         return landTypes;
     }
 
     public CardInfo findCard(String setCode, int cardNumber) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.where().eq("setCode", new SelectArg(setCode)).and().eq("cardNumber", cardNumber).and().eq("nightCard", false);
-            List<CardInfo> result = cardDao.query(queryBuilder.prepare());
-            if (!result.isEmpty()) {
-                return result.get(0);
-            }
-        } catch (SQLException ex) {
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog != null) {
+            return cardCatalog.findBySetAndNumber(setCode, cardNumber);
         }
         return null;
     }
 
     public List<String> getClassNames() {
         List<String> names = new ArrayList<>();
-        try {
-            List<CardInfo> results = cardDao.queryForAll();
-            for (CardInfo card : results) {
-                names.add(card.getClassName());
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog != null) {
+            for (int i = 0; i < cardCatalog.size(); i++) {
+                names.add(cardCatalog.get(i).getClassName());
             }
-        } catch (SQLException ex) {
         }
         return names;
     }
 
     public List<CardInfo> getMissingCards(List<String> classNames) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.where().not().in("className", classNames);
-
-            return cardDao.query(queryBuilder.prepare());
-        } catch (SQLException ex) {
+        List<CardInfo> missingCards = new ArrayList<>();
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog != null) {
+            Set<String> knownClassNames = new HashSet<>(classNames);
+            for (int i = 0; i < cardCatalog.size(); i++) {
+                CardInfo card = cardCatalog.get(i);
+                if (!knownClassNames.contains(card.getClassName())) {
+                    missingCards.add(card);
+                }
+            }
         }
-        return new ArrayList<>();
+        return missingCards;
     }
 
     /**
@@ -329,12 +338,61 @@ public enum CardRepository {
         } else {
             cards = findCards(name);
         }
+        Map<String, ExpansionInfo> sets = new HashMap<>();
+        for (CardInfo cardinfo : cards) {
+            if (!sets.containsKey(cardinfo.getSetCode())) {
+                sets.put(cardinfo.getSetCode(), ExpansionRepository.instance.getSetByCode(cardinfo.getSetCode()));
+            }
+        }
+        return findPreferedCoreExpansionCard(cards, sets);
+    }
+
+    /**
+     * Finds the prefered cards for all names at once, e.g. for all lines of
+     * an imported deck. The sets are only read once for all names.
+     *
+     * @param names
+     * @param caseInsensitive
+     * @return the found cards by the given names, names without a card are
+     * missing
+     */
+    public Map<String, CardInfo> findPreferedCoreExpansionCards(Collection<String> names, boolean caseInsensitive) {
+        Map<String, CardInfo> result = new HashMap<>();
+        Map<String, ExpansionInfo> sets = null;
+        for (String name : names) {
+            if (result.containsKey(name)) {
+                continue;
+            }
+            List<CardInfo> cards;
+            if (caseInsensitive) {
+                cards = findCardsCaseInsensitive(name);
+            } else {
+                cards = findCards(name);
+            }
+            if (cards.isEmpty()) {
+                continue;
+            }
+            if (sets == null) {
+                sets = new HashMap<>();
+                for (ExpansionInfo set : ExpansionRepository.instance.getAll()) {
+                    sets.put(set.getCode(), set);
+                }
+            }
+            CardInfo cardInfo = findPreferedCoreExpansionCard(cards, sets);
+            if (cardInfo != null) {
+                result.put(name, cardInfo);
+            }
+        }
+        return result;
+    }
+
+    private CardInfo findPreferedCoreExpansionCard(List<CardInfo> cards, Map<String, ExpansionInfo> sets) {
         if (!cards.isEmpty()) {
             Date lastReleaseDate = null;
             Date lastExpansionDate = null;
             CardInfo cardToUse = null;
             for (CardInfo cardinfo : cards) {
-                ExpansionInfo set = ExpansionRepository.instance.getSetByCode(cardinfo.getSetCode());
+                ExpansionInfo set = sets.get(cardinfo.getSetCode());
                 if (set != null) {
                     if ((set.getType().equals(SetType.EXPANSION) || set.getType().equals(SetType.CORE))
                             && (lastExpansionDate == null || set.getReleaseDate().after(lastExpansionDate))) {
@@ -353,33 +411,29 @@ public enum CardRepository {
     }
 
     public List<CardInfo> findCards(String name) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.where().eq("name", new SelectArg(name));
-            return cardDao.query(queryBuilder.prepare());
-        } catch (SQLException ex) {
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog != null) {
+            return cardCatalog.findByName(name);
         }
         return new ArrayList<>();
     }
 
     public List<CardInfo> findCardsCaseInsensitive(String name) {
-        try {
-            String sqlName = name.toLowerCase().replaceAll("\'", "\'\'");
-            GenericRawResults<CardInfo> rawResults = cardDao.queryRaw(
-                    "select * from " + CardRepository.VERSION_ENTITY_NAME + " where lower(name) = '" + sqlName + "'",
-                    cardDao.getRawRowMapper());
-            List<CardInfo> result = new ArrayList<>();
-            for (CardInfo cardinfo : rawResults) {
-                result.add(cardinfo);
-            }
-            return result;
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error during execution of raw sql statement", ex);
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog != null) {
+            return cardCatalog.findByNameCaseInsensitive(name);
         }
         return new ArrayList<>();
     }
 
     public List<CardInfo> findCards(CardCriteria criteria) {
+        CardCatalog cardCatalog = getCatalog();
+        if (cardCatalog != null) {
+            List<CardInfo> cards = criteria.find(cardCatalog);
+            if (cards != null) {
+                return cards;
+            }
+        }
         try {
             QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
             criteria.buildQuery(queryBuilder);
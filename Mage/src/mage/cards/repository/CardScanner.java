@@ -54,25 +54,27 @@ public class CardScanner {
         }
         scanned = true;
 
-        List<CardInfo> cardsToAdd = new ArrayList<>();
-        List<String> packages = new ArrayList<>();
-
         for (ExpansionSet set : Sets.getInstance().values()) {
-            packages.add(set.getPackageName());
             ExpansionRepository.instance.add(new ExpansionInfo(set));
         }
         ExpansionRepository.instance.setContentVersion(ExpansionRepository.instance.getContentVersionConstant());
 
-        for (Class c : ClassScanner.findClasses(packages, CardImpl.class)) {
-            if (!CardRepository.instance.cardExists(c.getCanonicalName())) {
-                Card card = CardImpl.createCard(c);
-                if (card != null) {
-                    cardsToAdd.add(new CardInfo(card));
-                    if (card instanceof SplitCard) {
-                        SplitCard splitCard = (SplitCard) card;
-                        cardsToAdd.add(new CardInfo(splitCard.getLeftHalfCard()));
-                        cardsToAdd.add(new CardInfo(splitCard.getRightHalfCard()));
-                    }
+        List<CardInfo> cardsToAdd = new ArrayList<>();
+        List<CardInfo> indexedCards = null;
+        if (!"false".equalsIgnoreCase(System.getProperty("xmage.cardIndex"))) {
+            indexedCards = CardIndex.load(CardRepository.instance.getContentVersionConstant());
+        }
+        if (indexedCards != null) {
+            for (CardInfo card : indexedCards) {
+                if (!CardRepository.instance.cardExists(card.getClassName())) {
+                    cardsToAdd.add(card);
+                }
+            }
+        } else {
+            logger.info("No card index found, scanning card classes");
+            for (Class c : findCardClasses()) {
+                if (!CardRepository.instance.cardExists(c.getCanonicalName())) {
+                    addCardInfos(c, cardsToAdd);
                 }
             }
         }
@@ -83,4 +85,38 @@ public class CardScanner {
         CardRepository.instance.setContentVersion(CardRepository.instance.getContentVersionConstant());
 
     }
+
+    /**
+     * Loads and instantiates all card classes of the sets (without using the
+     * DB), used to write the card index at build time.
+     *
+     * @return
+     */
+    public static List<CardInfo> createCardInfos() {
+        List<CardInfo> cards = new ArrayList<>();
+        for (Class c : findCardClasses()) {
+            addCardInfos(c, cards);
+        }
+        return cards;
+    }
+
+    private static List<Class> findCardClasses() {
+        List<String> packages = new ArrayList<>();
+        for (ExpansionSet set : Sets.getInstance().values()) {
+            packages.add(set.getPackageName());
+        }
+        return ClassScanner.findClasses(packages, CardImpl.class);
+    }
+
+    private static void addCardInfos(Class c, List<CardInfo> cards) {
+        Card card = CardImpl.createCard(c, false);
+        if (card != null) {
+            cards.add(new CardInfo(card));
+            if (card instanceof SplitCard) {
+                SplitCard splitCard = (SplitCard) card;
+                cards.add(new CardInfo(splitCard.getLeftHalfCard()));
+                cards.add(new CardInfo(splitCard.getRightHalfCard()));
+            }
+        }
+    }
 }
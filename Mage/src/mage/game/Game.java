@@ -33,6 +33,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import mage.MageItem;
@@ -73,8 +74,10 @@ import mage.game.turn.Turn;
 import mage.players.Player;
 import mage.players.PlayerList;
 import mage.players.Players;
+import mage.util.GameLogRing;
 import mage.util.MessageToClient;
 import mage.util.functions.ApplyToPermanent;
+import mage.util.trace.PriorityPassProfiler;
 
 public interface Game extends MageItem, Serializable {
 
@@ -84,6 +87,8 @@ public interface Game extends MageItem, Serializable {
 
     int getLife();
 
+    int getFreeMulligans();
+
     RangeOfInfluence getRangeOfInfluence();
 
     MultiplayerAttackOption getAttackOption();
@@ -97,6 +102,12 @@ public interface Game extends MageItem, Serializable {
 
     void setCustomData(Object data);
 
+    /**
+     * @return the priority pass profiler of the game or null if profiling is
+     * not enabled (-Dxmage.profiler=true) or the game is a simulation
+     */
+    PriorityPassProfiler getProfiler();
+
     GameOptions getOptions();
 
     MageObject getObject(UUID objectId);
@@ -205,6 +216,19 @@ public interface Game extends MageItem, Serializable {
 
     void setSimulation(boolean simulation);
 
+    /**
+     * The random numbers of the game. Everything random in a game (shuffles,
+     * coin flips, random choices) has to use it, so games with the same seed
+     * and the same decisions are equal.
+     *
+     * @return
+     */
+    Random getRandom();
+
+    long getSeed();
+
+    void setSeed(long seed);
+
     MageObject getLastKnownInformation(UUID objectId, Zone zone);
 
     MageObject getLastKnownInformation(UUID objectId, Zone zone, int zoneChangeCounter);
@@ -268,6 +292,22 @@ public interface Game extends MageItem, Serializable {
 
     void informPlayers(String message);
 
+    /**
+     * Adds a message to the game log without building its text. Place holders
+     * {0}, {1}, ... in the template are replaced by the given objects (cards,
+     * permanents, players or plain values) when the message is shown. Nothing
+     * is done for simulated games.
+     *
+     * @param template
+     * @param args
+     */
+    void informPlayers(String template, Object... args);
+
+    /**
+     * @return the last messages of the game log
+     */
+    GameLogRing getGameLog();
+
     void informPlayer(Player player, String message);
 
     void debugMessage(String message);
@@ -412,6 +452,10 @@ public interface Game extends MageItem, Serializable {
 
     void setSaveGame(boolean saveGame);
 
+    GameRecorder getRecorder();
+
+    void setRecorder(GameRecorder recorder);
+
     // game options
     void setGameOptions(GameOptions options);
 
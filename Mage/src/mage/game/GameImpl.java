@@ -121,8 +121,14 @@ import mage.target.Target;
 import mage.target.TargetPermanent;
 import mage.target.TargetPlayer;
 import mage.util.GameLog;
+import mage.util.GameLogEntry;
+import mage.util.GameLogRing;
+import mage.util.GameRandom;
 import mage.util.MessageToClient;
 import mage.util.functions.ApplyToPermanent;
+import mage.util.metrics.MetricsRegistry;
+import mage.util.metrics.Timer;
+import mage.util.trace.PriorityPassProfiler;
 import mage.watchers.Watchers;
 import mage.watchers.common.BlockedAttackerWatcher;
 import mage.watchers.common.BloodthirstWatcher;
@@ -140,6 +146,10 @@ public abstract class GameImpl implements Game, Serializable {
 
     private static final Logger logger = Logger.getLogger(GameImpl.class);
 
+    private static final Timer priorityPassTimer = MetricsRegistry.instance.timer("game.priorityPass");
+    private static final Timer resolveTimer = MetricsRegistry.instance.timer("game.resolve");
+    private static final Timer applyEffectsTimer = MetricsRegistry.instance.timer("game.applyEffects");
+
     private static final FilterPermanent filterAura = new FilterPermanent();
     private static final FilterPermanent filterEquipment = new FilterPermanent();
     private static final FilterPermanent filterFortification = new FilterPermanent();
@@ -158,9 +168,13 @@ public abstract class GameImpl implements Game, Serializable {
         filterLegendary.add(new SupertypePredicate("Legendary"));
     }
 
-    private static Random rnd = new Random();
+    private static final Random seeds = new Random();
+    // a fixed seed for all games, so test and benchmark runs play the same games
+    private static final Long fixedSeed = Long.getLong("xmage.gameSeed");
 
     private transient Object customData;
+    // only created if profiling is enabled, never copied to simulations
+    private transient PriorityPassProfiler profiler;
     protected boolean simulation = false;
 
     protected final UUID id;
@@ -168,6 +182,8 @@ public abstract class GameImpl implements Game, Serializable {
     protected boolean ready;
     protected transient TableEventSource tableEventSource = new TableEventSource();
     protected transient PlayerQueryEventSource playerQueryEventSource = new PlayerQueryEventSource();
+    // not copied, copies of the game used for simulations don't log
+    private transient volatile GameLogRing gameLog;
 
     protected Map<UUID, Card> gameCards = new HashMap<>();
 
@@ -210,6 +226,9 @@ public abstract class GameImpl implements Game, Serializable {
     // used to indicate that currently applied replacement effects have to check for scope relevance (614.12 13/01/18)
     private boolean scopeRelevant = false;
     private boolean saveGame = false;
+    private long seed;
+    // records or replays the decisions of human players, not used for copies of the game
+    private transient GameRecorder recorder;
     private int priorityTime;
 
     private final int startLife;
@@ -226,6 +245,8 @@ public abstract class GameImpl implements Game, Serializable {
         this.state = new GameState();
         this.startLife = startLife;
         this.executingRollback = false;
+        this.gameLog = new GameLogRing();
+        setSeed(fixedSeed != null ? fixedSeed : seeds.nextLong());
     }
 
     public GameImpl(final GameImpl game) {
@@ -241,6 +262,7 @@ public abstract class GameImpl implements Game, Serializable {
         this.freeMulligans = game.freeMulligans;
         this.attackOption = game.attackOption;
         this.state = game.state.copy();
+        this.seed = game.seed;
         this.gameCards = game.gameCards;
         this.simulation = game.simulation;
         this.gameOptions = game.gameOptions;
@@ -268,9 +290,29 @@ public abstract class GameImpl implements Game, Serializable {
 
     @Override
     public void setSimulation(boolean simulation) {
+        if (simulation && !this.simulation) {
+            // a simulation must not know the random numbers the game will use
+            state.setRandom(state.getRandom().split());
+        }
         this.simulation = simulation;
     }
 
+    @Override
+    public Random getRandom() {
+        return state.getRandom();
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        this.seed = seed;
+        state.setRandom(new GameRandom(seed));
+    }
+
     @Override
     public UUID getId() {
         return id;
@@ -281,6 +323,14 @@ public abstract class GameImpl implements Game, Serializable {
         return customData;
     }
 
+    @Override
+    public PriorityPassProfiler getProfiler() {
+        if (profiler == null && PriorityPassProfiler.isEnabled()) {
+            profiler = PriorityPassProfiler.create(this);
+        }
+        return profiler;
+    }
+
     @Override
     public void setCustomData(Object data) {
         this.customData = data;
@@ -302,7 +352,7 @@ public abstract class GameImpl implements Game, Serializable {
             }
             card.setOwnerId(ownerId);
             gameCards.put(card.getId(), card);
-            state.addCard(card);
+            state.addLazyCard(card);
             if (card.isSplitCard()) {
                 Card leftCard = ((SplitCard) card).getLeftHalfCard();
                 leftCard.setOwnerId(ownerId);
@@ -725,7 +775,7 @@ public abstract class GameImpl implements Game, Serializable {
         boolean wasPaused = state.isPaused();
         state.resume();
         if (!gameOver(null)) {
-            fireInformEvent("Turn " + state.getTurnNum());
+            informPlayers("Turn {0}", state.getTurnNum());
             if (checkStopOnTurnOption()) {
                 return;
             }
@@ -1082,7 +1132,7 @@ public abstract class GameImpl implements Game, Serializable {
         UUID[] players = getPlayers().keySet().toArray(new UUID[0]);
         UUID playerId;
         while (!hasEnded()) {
-            playerId = players[rnd.nextInt(players.length)];
+            playerId = players[getRandom().nextInt(players.length)];
             Player player = getPlayer(playerId);
             if (player != null && player.isInGame()) {
                 fireInformEvent(state.getPlayer(playerId).getLogName() + " won the toss");
@@ -1263,6 +1313,12 @@ public abstract class GameImpl implements Game, Serializable {
                         state.setPriorityPlayerId(player.getId());
                         while (!player.isPassed() && player.canRespond() && !isPaused() && !gameOver(null)) {
                             if (!resuming) {
+                                // engine time needed to give the player priority (without the time the player needs to decide)
+                                long passStart = isSimulation() ? 0 : priorityPassTimer.start();
+                                PriorityPassProfiler passProfiler = getProfiler();
+                                if (passProfiler != null) {
+                                    passProfiler.startPriority(this, player);
+                                }
                                 // 603.3. Once an ability has triggered, its controller puts it on the stack as an object thats not a card the next time a player would receive priority
                                 checkStateAndTriggered();
                                 applyEffects();
@@ -1270,6 +1326,10 @@ public abstract class GameImpl implements Game, Serializable {
                                     resetLKI();
                                 }
                                 saveState(false);
+                                priorityPassTimer.stop(passStart);
+                                if (passProfiler != null) {
+                                    passProfiler.end(this);
+                                }
                                 if (isPaused() || gameOver(null)) {
                                     return;
                                 }
@@ -1337,8 +1397,13 @@ public abstract class GameImpl implements Game, Serializable {
     //resolve top StackObject
     protected void resolve() {
         StackObject top = null;
+        long start = isSimulation() ? 0 : resolveTimer.start();
+        PriorityPassProfiler resolveProfiler = getProfiler();
         try {
             top = state.getStack().peek();
+            if (resolveProfiler != null) {
+                resolveProfiler.startResolve(this, top);
+            }
             top.resolve(this);
         } finally {
             if (top != null) {
@@ -1350,6 +1415,10 @@ public abstract class GameImpl implements Game, Serializable {
                     }
                 }
             }
+            resolveTimer.stop(start);
+            if (resolveProfiler != null) {
+                resolveProfiler.end(this);
+            }
         }
     }
 
@@ -1371,7 +1440,9 @@ public abstract class GameImpl implements Game, Serializable {
 
     @Override
     public synchronized void applyEffects() {
+        long start = isSimulation() ? 0 : applyEffectsTimer.start();
         state.applyEffects(this);
+        applyEffectsTimer.stop(start);
     }
 
     @Override
@@ -1523,8 +1594,12 @@ public abstract class GameImpl implements Game, Serializable {
     @Override
     public boolean checkStateAndTriggered() {
         boolean somethingHappened = false;
+        PriorityPassProfiler stateProfiler = getProfiler();
         //20091005 - 115.5
         while (!isPaused() && !gameOver(null)) {
+            if (stateProfiler != null) {
+                stateProfiler.stateChecked();
+            }
             if (!checkStateBasedActions()) {
                 // nothing happened so check triggers
                 state.handleSimultaneousEvent(this);
@@ -1547,6 +1622,7 @@ public abstract class GameImpl implements Game, Serializable {
      */
     public boolean checkTriggered() {
         boolean played = false;
+        int triggered = 0;
         state.getTriggers().checkStateTriggers(this);
         for (UUID playerId : state.getPlayerList(state.getActivePlayerId())) {
             Player player = getPlayer(playerId);
@@ -1561,6 +1637,7 @@ public abstract class GameImpl implements Game, Serializable {
                     if (!triggeredAbility.isUsesStack()) {
                         state.removeTriggeredAbility(triggeredAbility);
                         played |= player.triggerAbility(triggeredAbility, this);
+                        triggered++;
                         it.remove();
                     }
                 }
@@ -1570,15 +1647,20 @@ public abstract class GameImpl implements Game, Serializable {
                 if (abilities.size() == 1) {
                     state.removeTriggeredAbility(abilities.get(0));
                     played |= player.triggerAbility(abilities.get(0), this);
+                    triggered++;
                 } else {
                     TriggeredAbility ability = player.chooseTriggeredAbility(abilities, this);
                     if (ability != null) {
                         state.removeTriggeredAbility(ability);
                         played |= player.triggerAbility(ability, this);
+                        triggered++;
                     }
                 }
             }
         }
+        if (triggered > 0 && getProfiler() != null) {
+            getProfiler().triggersFired(triggered);
+        }
         return played;
     }
 
@@ -2083,6 +2165,28 @@ public abstract class GameImpl implements Game, Serializable {
         fireInformEvent(message);
     }
 
+    @Override
+    public void informPlayers(String template, Object... args) {
+        if (simulation) {
+            return;
+        }
+        tableEventSource.fireLogEvent(getGameLog().add(new GameLogEntry(template, args)), this);
+    }
+
+    @Override
+    public GameLogRing getGameLog() {
+        GameLogRing log = gameLog;
+        if (log == null) {
+            synchronized (this) {
+                if (gameLog == null) {
+                    gameLog = new GameLogRing();
+                }
+                log = gameLog;
+            }
+        }
+        return log;
+    }
+
     @Override
     public void debugMessage(String message) {
         logger.warn(message);
@@ -2093,7 +2197,7 @@ public abstract class GameImpl implements Game, Serializable {
         if (simulation) {
             return;
         }
-        tableEventSource.fireTableEvent(EventType.INFO, message, this);
+        tableEventSource.fireLogEvent(getGameLog().add(new GameLogEntry(message)), this);
     }
 
     @Override
@@ -2679,6 +2783,16 @@ public abstract class GameImpl implements Game, Serializable {
         this.saveGame = saveGame;
     }
 
+    @Override
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
     public void setStartMessage(String startMessage) {
         this.startMessage = startMessage;
     }
@@ -2724,6 +2838,11 @@ public abstract class GameImpl implements Game, Serializable {
         return startLife;
     }
 
+    @Override
+    public int getFreeMulligans() {
+        return freeMulligans;
+    }
+
     @Override
     public void setDraw(UUID playerId) {
         Player player = getPlayer(playerId);
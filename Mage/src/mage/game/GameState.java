@@ -59,6 +59,7 @@ import mage.game.combat.CombatGroup;
 import mage.game.command.Command;
 import mage.game.command.CommandObject;
 import mage.game.events.GameEvent;
+import mage.game.events.ZoneChangeEvent;
 import mage.game.permanent.Battlefield;
 import mage.game.permanent.Permanent;
 import mage.game.stack.SpellStack;
@@ -70,7 +71,10 @@ import mage.players.PlayerList;
 import mage.players.Players;
 import mage.target.Target;
 import mage.util.Copyable;
+import mage.util.GameRandom;
 import mage.util.ThreadLocalStringBuilder;
+import mage.util.metrics.Counter;
+import mage.util.metrics.MetricsRegistry;
 import mage.watchers.Watcher;
 import mage.watchers.Watchers;
 
@@ -87,6 +91,8 @@ import mage.watchers.Watchers;
 public class GameState implements Serializable, Copyable<GameState> {
 
     private static final ThreadLocalStringBuilder threadLocalBuilder = new ThreadLocalStringBuilder(1024);
+    private static final Counter copyCounter = MetricsRegistry.instance.counter("game.stateCopies");
+    private static final boolean lazyCardsEnabled = !"false".equalsIgnoreCase(System.getProperty("xmage.lazyCards"));
 
     private final Players players;
     private final PlayerList playerList;
@@ -125,7 +131,10 @@ public class GameState implements Serializable, Copyable<GameState> {
     private Map<UUID, CardAttribute> cardAttribute = new HashMap<>();
     private Map<UUID, Integer> zoneChangeCounter = new HashMap<>();
     private Map<UUID, Card> copiedCards = new HashMap<>();
+    // cards in the library or outside of the game whose abilities are not added yet
+    private Map<UUID, Card> lazyCards = new HashMap<>();
     private int permanentOrderNumber;
+    private GameRandom random = new GameRandom(0); // seeded by the game
 
     public GameState() {
         players = new Players();
@@ -189,7 +198,9 @@ public class GameState implements Serializable, Copyable<GameState> {
         }
         this.zoneChangeCounter.putAll(state.zoneChangeCounter);
         this.copiedCards.putAll(state.copiedCards);
+        this.lazyCards.putAll(state.lazyCards);
         this.permanentOrderNumber = state.permanentOrderNumber;
+        this.random = state.random.copy();
     }
 
     public void restoreForRollBack(GameState state) {
@@ -228,11 +239,14 @@ public class GameState implements Serializable, Copyable<GameState> {
         this.cardAttribute = state.cardAttribute;
         this.zoneChangeCounter = state.zoneChangeCounter;
         this.copiedCards = state.copiedCards;
+        this.lazyCards = state.lazyCards;
         this.permanentOrderNumber = state.permanentOrderNumber;
+        this.random = state.random.copy();
     }
 
     @Override
     public GameState copy() {
+        copyCounter.increment();
         return new GameState(this);
     }
 
@@ -399,6 +413,14 @@ public class GameState implements Serializable, Copyable<GameState> {
         return players;
     }
 
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    public void setRandom(GameRandom random) {
+        this.random = random;
+    }
+
     public Player getPlayer(UUID playerId) {
         return players.get(playerId);
     }
@@ -639,6 +661,16 @@ public class GameState implements Serializable, Copyable<GameState> {
 
     public void setZone(UUID id, Zone zone) {
         zones.put(id, zone);
+        addLazyCardAbilities(id, zone);
+    }
+
+    private void addLazyCardAbilities(UUID id, Zone zone) {
+        if (!lazyCards.isEmpty() && !Zone.LIBRARY.equals(zone) && !Zone.OUTSIDE.equals(zone)) {
+            Card card = lazyCards.remove(id);
+            if (card != null) {
+                addAbilities(card);
+            }
+        }
     }
 
     public void addSimultaneousEvent(GameEvent event, Game game) {
@@ -672,6 +704,10 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public boolean replaceEvent(GameEvent event, Ability targetAbility, Game game) {
+        if (event.getType() == GameEvent.EventType.ZONE_CHANGE) {
+            // the effects of a card can replace its own move out of the library
+            addLazyCardAbilities(event.getTargetId(), ((ZoneChangeEvent) event).getToZone());
+        }
         if (effects.preventedByRuleModification(event, targetAbility, game, false)) {
             return true;
         }
@@ -680,11 +716,62 @@ public class GameState implements Serializable, Copyable<GameState> {
 
     public void addCard(Card card) {
         setZone(card.getId(), Zone.OUTSIDE);
+        addAbilities(card);
+    }
+
+    /**
+     * Adds a card that is loaded into the library or sideboard of a player.
+     * If none of its abilities can work while the card is in the library or
+     * outside of the game, the abilities are only added as the card is put
+     * into another zone. So the many cards that never leave the library don't
+     * have to be copied with every copy of the state.
+     *
+     * @param card
+     */
+    public void addLazyCard(Card card) {
+        if (!lazyCardsEnabled || !isLazyCard(card)) {
+            addCard(card);
+            return;
+        }
+        setZone(card.getId(), Zone.OUTSIDE);
+        lazyCards.put(card.getId(), card);
+    }
+
+    private void addAbilities(Card card) {
         for (Ability ability : card.getAbilities()) {
             addAbility(ability, card);
         }
     }
 
+    private static boolean isLazyCard(Card card) {
+        if (card.isSplitCard()) {
+            return false;
+        }
+        for (Ability ability : card.getAbilities()) {
+            if (!isLazyAbility(ability)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLazyAbility(Ability ability) {
+        // watchers have to see the events from the start of the game
+        if (!ability.getWatchers().isEmpty()) {
+            return false;
+        }
+        Zone zone = ability.getZone();
+        if (Zone.ALL.equals(zone) || Zone.LIBRARY.equals(zone) || Zone.OUTSIDE.equals(zone)) {
+            return false;
+        }
+        for (Ability sub : ability.getSubAbilities()) {
+            if (!isLazyAbility(sub)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void removeCopiedCard(Card card) {
         if (copiedCards.containsKey(card.getId())) {
             copiedCards.remove(card.getId());
@@ -927,6 +1014,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         zones.clear();
         simultaneousEvents.clear();
         copiedCards.clear();
+        lazyCards.clear();
         permanentOrderNumber = 0;
     }
 
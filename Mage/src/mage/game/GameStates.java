@@ -31,6 +31,8 @@ package mage.game;
 import org.apache.log4j.Logger;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -38,7 +40,7 @@ import java.util.List;
  *
  * @author BetaSteward_at_googlemail.com
  */
-public class GameStates implements Serializable {
+public class GameStates implements Serializable, Iterable<GameState> {
 
     private static final Logger logger = Logger.getLogger(GameStates.class);
 
@@ -88,4 +90,15 @@ public class GameStates implements Serializable {
         return null;
     }
 
+    /**
+     * The states are held in a linked list, so they should be read by the
+     * iterator instead of by index
+     *
+     * @return the saved states from the first one on
+     */
+    @Override
+    public Iterator<GameState> iterator() {
+        return Collections.unmodifiableList(states).iterator();
+    }
+
 }
@@ -1059,7 +1059,7 @@ public class Combat implements Serializable, Copyable<Combat> {
                 result |= group.remove(creatureId);
             }
             if (result && withInfo) {
-                game.informPlayers(creature.getLogName() + " removed from combat");
+                game.informPlayers("{0} removed from combat", creature);
             }
         }
         return result;
@@ -43,15 +43,30 @@ public class BoosterDraft extends DraftImpl {
 
     @Override
     public void start() {
+        openNextBooster();
+    }
+
+    @Override
+    protected void picksDone() {
+        if (!isAbort()) {
+            if (boosterNum % 2 == 1) {
+                passLeft();
+            } else {
+                passRight();
+            }
+            fireUpdatePlayersEvent();
+            if (pickCards()) {
+                return;
+            }
+        }
+        openNextBooster();
+    }
+
+    private void openNextBooster() {
         while (!isAbort() && boosterNum < numberBoosters) {
             openBooster();
-            while (!isAbort() && pickCards()) {
-                if (boosterNum % 2 == 1) {
-                    passLeft();
-                } else {
-                    passRight();
-                }
-                fireUpdatePlayersEvent();
+            if (!isAbort() && pickCards()) {
+                return;
             }
         }
         resetBufferedCards();
@@ -28,6 +28,7 @@
 
 package mage.game.draft;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -35,6 +36,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import mage.cards.BoosterGenerator;
+import mage.cards.BoosterPack;
 import mage.cards.Card;
 import mage.cards.ExpansionSet;
 import mage.game.draft.DraftOptions.TimingOption;
@@ -60,6 +63,7 @@ public abstract class DraftImpl implements Draft {
     protected DraftCube draftCube;
     protected List<ExpansionSet> sets;
     protected List<String> setCodes;
+    protected List<List<BoosterPack>> boosters;
     protected int boosterNum = 0;
     protected int cardNum = 0;
     protected TimingOption timing;
@@ -67,6 +71,7 @@ public abstract class DraftImpl implements Draft {
 
     protected boolean abort = false;
     protected boolean started = false;
+    private boolean waitingForPicks = false;
 
     protected transient TableEventSource tableEventSource = new TableEventSource();
     protected transient PlayerQueryEventSource playerQueryEventSource = new PlayerQueryEventSource();
@@ -230,12 +235,18 @@ public abstract class DraftImpl implements Draft {
 
     protected void openBooster() {
         if (boosterNum < numberBoosters) {
+            if (draftCube == null && boosters == null) {
+                // all boosters are drawn at once, the cards are created when a booster is opened
+                boosters = new BoosterGenerator().generate(sets.subList(0, Math.min(numberBoosters, sets.size())), players.size());
+            }
+            int playerIndex = 0;
             for (DraftPlayer player: players.values()) {
                 if (draftCube != null) {
                     player.setBooster(draftCube.createBooster());
                 } else {
-                    player.setBooster(sets.get(boosterNum).createBooster());
+                    player.setBooster(boosters.get(playerIndex).get(boosterNum).open());
                 }
+                playerIndex++;
             }
         }
         boosterNum++;
@@ -243,25 +254,58 @@ public abstract class DraftImpl implements Draft {
         fireUpdatePlayersEvent();
     }
 
+    /**
+     * Lets all players pick a card of their booster and returns.
+     * {@link #picksDone()} is called after the last pick.
+     *
+     * @return false if the boosters are empty
+     */
     protected boolean pickCards() {
         cardNum++;
         for (DraftPlayer player: players.values()) {
             if (player.getBooster().isEmpty()) {
                 return false;
             }
-            player.setPicking();
-            player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
         }
+        List<DraftPlayer> computerPlayers = new ArrayList<>();
         synchronized(this) {
-            while (!donePicking()) {
-                try {
-                    this.wait();
-                } catch (InterruptedException ex) { }
+            for (DraftPlayer player: players.values()) {
+                player.setPicking();
             }
+            waitingForPicks = true;
         }
+        for (DraftPlayer player: players.values()) {
+            if (player.getPlayer().isHuman()) {
+                player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
+            } else {
+                computerPlayers.add(player);
+            }
+        }
+        DraftScheduler.getInstance().pickCards(this, computerPlayers);
         return true;
     }
 
+    /**
+     * Called after all players have picked a card (or the draft was aborted)
+     */
+    protected abstract void picksDone();
+
+    private void checkPicksDone() {
+        synchronized(this) {
+            if (!waitingForPicks || !donePicking()) {
+                return;
+            }
+            waitingForPicks = false;
+        }
+        // the boosters are passed without waiting for the pick timers of the players
+        DraftScheduler.getInstance().execute(new Runnable() {
+            @Override
+            public void run() {
+                picksDone();
+            }
+        });
+    }
+
     protected boolean donePicking() {
         if(isAbort()) {
             return true;
@@ -325,9 +369,7 @@ public abstract class DraftImpl implements Draft {
                     break;
                 }
             }
-            synchronized(this) {
-                this.notifyAll();
-            }
+            checkPicksDone();
         }
         return !player.isPicking();
     }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.game.draft;
+
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.log4j.Logger;
+
+/**
+ * Runs all drafts of the server. A draft doesn't hold a thread while it waits
+ * for the picks of its players.
+ *
+ * The picks of the computer players and the passing of the boosters after the
+ * last pick run on a shared pool, the computer players of a draft pick at the
+ * same time. The pick deadlines of the human players of all drafts are kept
+ * in one queue that is watched by one thread.
+ *
+ * @author agent
+ */
+public class DraftScheduler {
+
+    private static final Logger logger = Logger.getLogger(DraftScheduler.class);
+
+    private static final DraftScheduler INSTANCE = new DraftScheduler();
+
+    public static DraftScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    private final ExecutorService executor;
+    private final DelayQueue<Deadline> deadlines = new DelayQueue<>();
+
+    private DraftScheduler() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new DraftThreadFactory("DRAFT"));
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+        Thread timer = new DraftThreadFactory("DRAFT-DEADLINES").newThread(new Runnable() {
+            @Override
+            public void run() {
+                watchDeadlines();
+            }
+        });
+        timer.start();
+    }
+
+    public void execute(final Runnable task) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (Exception ex) {
+                    logger.fatal("Draft task error", ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Lets the computer players pick their cards in parallel
+     *
+     * @param draft
+     * @param players
+     */
+    public void pickCards(final Draft draft, List<DraftPlayer> players) {
+        for (final DraftPlayer player : players) {
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    player.getPlayer().pickCard(player.getBooster(), player.getDeck(), draft);
+                }
+            });
+        }
+    }
+
+    /**
+     * Executes the timeout task, if the deadline is not removed before the
+     * given time.
+     *
+     * @param seconds
+     * @param timeout
+     * @return the deadline to remove if the pick was done in time
+     */
+    public Deadline addDeadline(int seconds, Runnable timeout) {
+        Deadline deadline = new Deadline(System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds), timeout);
+        deadlines.add(deadline);
+        return deadline;
+    }
+
+    public void removeDeadline(Deadline deadline) {
+        if (deadline != null) {
+            deadlines.remove(deadline);
+        }
+    }
+
+    private void watchDeadlines() {
+        while (true) {
+            try {
+                execute(deadlines.take().timeout);
+            } catch (InterruptedException ex) {
+                logger.warn("Draft deadlines interrupted", ex);
+                return;
+            }
+        }
+    }
+
+    public static class Deadline implements Delayed {
+
+        private final long time;
+        private final Runnable timeout;
+
+        Deadline(long time, Runnable timeout) {
+            this.time = time;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(time, ((Deadline) o).time);
+        }
+    }
+
+    private static class DraftThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DraftThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -37,6 +37,7 @@ import mage.game.Game;
 import mage.game.draft.Draft;
 import mage.game.match.MatchOptions;
 import mage.game.tournament.TournamentPairing;
+import mage.util.GameLogEntry;
 
 /**
  *
@@ -53,6 +54,7 @@ public class TableEvent extends EventObject implements ExternalEvent, Serializab
     private Draft draft;
     private EventType eventType;
     private String message;
+    private GameLogEntry logEntry;
     private Exception ex;
     private Cards cards;
     private UUID playerId;
@@ -79,6 +81,11 @@ public class TableEvent extends EventObject implements ExternalEvent, Serializab
         this.withTime = withTime;
     }
 
+    public TableEvent(EventType eventType, GameLogEntry logEntry, Game game) {
+        this(eventType, (String) null, game);
+        this.logEntry = logEntry;
+    }
+
     public TableEvent(EventType eventType, String message, Cards cards, Game game) {
         this(eventType, message, game);
         this.cards = cards;
@@ -129,9 +136,16 @@ public class TableEvent extends EventObject implements ExternalEvent, Serializab
     }
 
     public String getMessage() {
+        if (message == null && logEntry != null) {
+            return logEntry.getText();
+        }
         return message;
     }
 
+    public GameLogEntry getLogEntry() {
+        return logEntry;
+    }
+
     public Exception getException() {
         return ex;
     }
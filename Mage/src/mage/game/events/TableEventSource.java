@@ -35,6 +35,7 @@ import mage.game.draft.Draft;
 import mage.game.events.TableEvent.EventType;
 import mage.game.match.MatchOptions;
 import mage.game.tournament.TournamentPairing;
+import mage.util.GameLogEntry;
 
 import java.io.Serializable;
 import java.util.UUID;
@@ -66,6 +67,10 @@ public class TableEventSource implements EventSource<TableEvent>, Serializable {
         dispatcher.fireEvent(new TableEvent(eventType, message, game));
     }
 
+    public void fireLogEvent(GameLogEntry logEntry, Game game) {
+        dispatcher.fireEvent(new TableEvent(EventType.INFO, logEntry, game));
+    }
+
     public void fireTableEvent(EventType eventType, String message, boolean withTime, Game game) {
         dispatcher.fireEvent(new TableEvent(eventType, message, withTime, game));
     }
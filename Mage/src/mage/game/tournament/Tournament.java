@@ -69,6 +69,11 @@ public interface Tournament {
     void quit(UUID playerId);
     void leave(UUID playerId);
     void nextStep();
+    /**
+     * Has to be called if a match of the tournament has ended, if all matches
+     * of the current round have ended the tournament continues
+     */
+    void checkRoundOver();
 
     void addTableEventListener(Listener<TableEvent> listener);
     void addPlayerQueryEventListener(Listener<PlayerQueryEvent> listener);
@@ -38,6 +38,14 @@ import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import mage.cards.BoosterGenerator;
+import mage.cards.BoosterPack;
 import mage.cards.ExpansionSet;
 import mage.cards.decks.Deck;
 import mage.constants.TournamentPlayerState;
@@ -60,6 +68,19 @@ import org.apache.log4j.Logger;
  */
 public abstract class TournamentImpl implements Tournament {
 
+    private static final Logger logger = Logger.getLogger(TournamentImpl.class);
+
+    // seconds between the checks of a running round, only a safety net for matches that are
+    // detected as ended by Match.hasEnded without a call of checkRoundOver
+    private static final int ROUND_CHECK_INTERVAL = 5;
+
+    /**
+     * The tournaments don't hold a thread while they wait for the players.
+     * Deck construction of the players and the steps of the tournaments that
+     * follow a match end or a deck submit are executed by this shared pool.
+     */
+    private static final ScheduledExecutorService executor = createExecutor();
+
     protected UUID id = UUID.randomUUID();
     protected List<Round> rounds = new CopyOnWriteArrayList<>();
     protected Map<UUID, TournamentPlayer> players = new HashMap<>();
@@ -80,6 +101,10 @@ public abstract class TournamentImpl implements Tournament {
     protected String tournamentState;
     protected Draft draft;
 
+    private boolean constructing;
+    private Round currentRound;
+    private ScheduledFuture<?> roundCheck;
+
     public TournamentImpl(TournamentOptions options) {
         this.options = options;
         draft = null;
@@ -112,9 +137,7 @@ public abstract class TournamentImpl implements Tournament {
         if (players.containsKey(playerId)) {
             players.get(playerId).submitDeck(deck);
         }
-        synchronized (this) {
-            this.notifyAll();
-        }
+        checkDoneConstructing();
     }
 
     @Override
@@ -154,9 +177,8 @@ public abstract class TournamentImpl implements Tournament {
 
     @Override
     public void quit(UUID playerId) {
-        synchronized (this) {
-            this.notifyAll();
-        }
+        checkDoneConstructing();
+        checkRoundOver();
     }
 
     // can only be used, if tournament did not start yet?
@@ -172,9 +194,7 @@ public abstract class TournamentImpl implements Tournament {
         if (players.containsKey(playerId)) {
             players.get(playerId).submitDeck(deck);
         }
-        synchronized (this) {
-            this.notifyAll();
-        }
+        checkDoneConstructing();
     }
 
     @Override
@@ -240,23 +260,64 @@ public abstract class TournamentImpl implements Tournament {
         return playersWithBye;
     }
 
+    /**
+     * Starts the matches of the round and returns. The end of the round is
+     * detected by {@link #checkRoundOver()}, then {@link #roundEnded(Round)}
+     * is called.
+     *
+     * @param round
+     */
     protected void playRound(Round round) {
         for (TournamentPairing pair : round.getPairs()) {
             playMatch(pair);
         }
         updateResults(); // show points from byes
-        while (!round.isRoundOver()) {
-            try {
-                //TODO: improve this
-                Thread.sleep(1000);
-            } catch (InterruptedException ex) {
-                Logger.getLogger(TournamentImpl.class).warn("TournamentImpl playRound error ", ex);
-                break;
+        synchronized (this) {
+            // set after all matches are started, so a match that ended meanwhile can't end the round
+            currentRound = round;
+            roundCheck = executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    checkRoundOver();
+                }
+            }, ROUND_CHECK_INTERVAL, ROUND_CHECK_INTERVAL, TimeUnit.SECONDS);
+        }
+        checkRoundOver();
+    }
+
+    @Override
+    public void checkRoundOver() {
+        final Round round;
+        synchronized (this) {
+            if (currentRound == null || !currentRound.isRoundOver()) {
+                return;
             }
+            round = currentRound;
+            currentRound = null;
+            roundCheck.cancel(false);
+            roundCheck = null;
         }
-        updateResults();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    updateResults();
+                    roundEnded(round);
+                } catch (Exception ex) {
+                    logger.fatal("Tournament " + id + " error at the end of round " + round.getRoundNumber(), ex);
+                }
+            }
+        });
     }
 
+    /**
+     * Called after all matches of the round have ended, starts the next round
+     * or the next step of the tournament
+     *
+     * @param round
+     */
+    protected abstract void roundEnded(Round round);
+
     protected List<TournamentPlayer> getActivePlayers() {
         List<TournamentPlayer> activePlayers = new ArrayList<>();
         for (TournamentPlayer player : players.values()) {
@@ -387,37 +448,58 @@ public abstract class TournamentImpl implements Tournament {
         playerQueryEventSource.construct(playerId, "Construct", getOptions().getLimitedOptions().getConstructionTime());
     }
 
+    /**
+     * Lets all players construct their decks and returns. The next step starts
+     * as the last deck is submitted (or auto submitted).
+     */
     public void construct() {
         tableEventSource.fireTableEvent(EventType.CONSTRUCT);
-        if (!isAbort()) {
-            for (final TournamentPlayer player : players.values()) {
-
-                player.setConstructing();
-                new Thread(
-                        new Runnable() {
-                            @Override
-                            public void run() {
-                                player.getPlayer().construct(TournamentImpl.this, player.getDeck());
-                            }
-                        }
-                ).start();
-            }
-            // add autosubmit trigger
-
-            synchronized (this) {
-                while (!isDoneConstructing()) {
+        if (isAbort()) {
+            nextStep();
+            return;
+        }
+        for (TournamentPlayer player : players.values()) {
+            player.setConstructing();
+        }
+        synchronized (this) {
+            constructing = true;
+        }
+        for (final TournamentPlayer player : players.values()) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
                     try {
-                        this.wait();
-                    } catch (InterruptedException ex) {
-
+                        player.getPlayer().construct(TournamentImpl.this, player.getDeck());
+                    } catch (Exception ex) {
+                        logger.fatal("Tournament " + id + " construct error of player " + player.getPlayer().getName(), ex);
                     }
                 }
+            });
+        }
+        checkDoneConstructing();
+    }
+
+    private void checkDoneConstructing() {
+        synchronized (this) {
+            if (!constructing || !isDoneConstructing()) {
+                return;
             }
+            constructing = false;
         }
-        nextStep();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                nextStep();
+            }
+        });
     }
 
     protected void openBoosters() {
+        List<List<BoosterPack>> boosters = null;
+        if (options.getLimitedOptions().getDraftCube() == null) {
+            boosters = new BoosterGenerator().generate(sets, players.size());
+        }
+        int playerIndex = 0;
         for (TournamentPlayer player : this.players.values()) {
             player.setDeck(new Deck());
             if (options.getLimitedOptions().getDraftCube() != null) {
@@ -426,10 +508,11 @@ public abstract class TournamentImpl implements Tournament {
                     player.getDeck().getSideboard().addAll(cube.createBooster());
                 }
             } else {
-                for (ExpansionSet set : sets) {
-                    player.getDeck().getSideboard().addAll(set.createBooster());
+                for (BoosterPack booster : boosters.get(playerIndex)) {
+                    player.getDeck().getSideboard().addAll(booster.open());
                 }
             }
+            playerIndex++;
         }
         resetBufferedCards();
         nextStep();
@@ -555,4 +638,22 @@ public abstract class TournamentImpl implements Tournament {
         return draft;
     }
 
+    private static ScheduledExecutorService createExecutor() {
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "TOURNAMENT-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        pool.setKeepAliveTime(60, TimeUnit.SECONDS);
+        pool.allowCoreThreadTimeOut(true);
+        pool.setRemoveOnCancelPolicy(true);
+        return pool;
+    }
+
 }
@@ -50,14 +50,24 @@ public abstract class TournamentSingleElimination extends TournamentImpl {
                 entry.getValue().setResults("Auto Eliminated");
             }
         }        
-        while (this.getActivePlayers().size() > 1) {
+        playNextRound();
+    }
+
+    @Override
+    protected void roundEnded(Round round) {
+        eliminatePlayers(round);
+        playNextRound();
+    }
+
+    private void playNextRound() {
+        if (this.getActivePlayers().size() > 1) {
             // check if some player got killed / disconnected meanwhile and update their state
             tableEventSource.fireTableEvent(TableEvent.EventType.CHECK_STATE_PLAYERS);
             Round round = createRoundRandom();
             playRound(round);
-            eliminatePlayers(round);
+        } else {
+            nextStep();
         }
-        nextStep();
     }
 
     private void eliminatePlayers(Round round) {
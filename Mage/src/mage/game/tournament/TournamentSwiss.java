@@ -35,7 +35,7 @@ import mage.constants.TournamentPlayerState;
 import mage.game.events.TableEvent;
 import mage.game.tournament.pairing.RoundPairings;
 import mage.game.tournament.pairing.SwissPairingMinimalWeightMatching;
-import mage.game.tournament.pairing.SwissPairingSimple;
+import mage.game.tournament.pairing.SwissPairingScoreGroups;
 
 /**
  *
@@ -56,14 +56,24 @@ public abstract class TournamentSwiss extends TournamentImpl {
             }
         }
 
-        while (this.getActivePlayers().size() > 1 && this.getNumberRounds() > this.getRounds().size()) {
+        playNextRound();
+    }
+
+    @Override
+    protected void roundEnded(Round round) {
+        playNextRound();
+    }
+
+    private void playNextRound() {
+        if (this.getActivePlayers().size() > 1 && this.getNumberRounds() > this.getRounds().size()) {
             // check if some player got killed / disconnected meanwhile and update their state
             tableEventSource.fireTableEvent(TableEvent.EventType.CHECK_STATE_PLAYERS);
             // Swiss pairing
             Round round = createRoundSwiss();
             playRound(round);
+        } else {
+            nextStep();
         }
-        nextStep();
     }
 
     protected Round createRoundSwiss() {
@@ -75,7 +85,7 @@ public abstract class TournamentSwiss extends TournamentImpl {
             SwissPairingMinimalWeightMatching swissPairing = new SwissPairingMinimalWeightMatching(roundPlayers, rounds, isLastRound);
             roundPairings = swissPairing.getRoundPairings();
         } else {
-            SwissPairingSimple swissPairing = new SwissPairingSimple(roundPlayers, rounds);
+            SwissPairingScoreGroups swissPairing = new SwissPairingScoreGroups(roundPlayers, rounds, isLastRound);
             roundPairings = swissPairing.getRoundPairings();
         }
 
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.game.tournament.pairing;
+
+import mage.game.tournament.Round;
+import mage.game.tournament.TournamentPairing;
+import mage.game.tournament.TournamentPlayer;
+
+import java.util.*;
+
+/**
+ *
+ * @author agent
+ */
+
+// SwissPairingScoreGroups creates round pairings for swiss tournaments with many players.
+// The players are paired inside of their score group (players with equal points), the odd
+// player of a group floats down to the next group. Small groups are paired with
+// SwissPairingMinimalWeightMatching, bigger groups pair the top half of the group against the
+// bottom half and swap opponents with other pairs of the group to avoid rematches.
+// Players of a pair that can't avoid a rematch float down to the next group.
+// Only the played pairs are stored, so time and memory grow about linear with the players.
+
+public class SwissPairingScoreGroups {
+
+    // groups up to this size are paired by the exact (brute-force) matching
+    public static final int EXACT_GROUP_SIZE = 12;
+
+    private final List<Round> rounds;
+
+    private final boolean isLastRound;
+
+    private final Map<TournamentPlayer, PlayerInfo> playerInfos = new HashMap<>();
+
+    // played pairs of player indexes, see pairKey
+    private final Set<Long> playedPairs = new HashSet<>();
+
+    // pairs of the already paired score groups
+    private final List<List<PlayerInfo[]>> groupsPairs = new ArrayList<>();
+
+    private final List<TournamentPlayer> playerByes = new ArrayList<>();
+
+    public SwissPairingScoreGroups(List<TournamentPlayer> players, List<Round> rounds, boolean isLastRound) {
+        this.rounds = rounds;
+        this.isLastRound = isLastRound;
+
+        List<PlayerInfo> swissPlayers = new ArrayList<>();
+        for (TournamentPlayer tournamentPlayer : players) {
+            PlayerInfo swissPlayer = new PlayerInfo();
+            swissPlayer.tournamentPlayer = tournamentPlayer;
+            swissPlayer.points = tournamentPlayer.getPoints();
+            swissPlayers.add(swissPlayer);
+        }
+
+        // shuffle players first to add some randomness
+        Collections.shuffle(swissPlayers);
+        for (int i = 0; i < swissPlayers.size(); i++) {
+            swissPlayers.get(i).id = i;
+            playerInfos.put(swissPlayers.get(i).tournamentPlayer, swissPlayers.get(i));
+        }
+
+        // Sum of Opponents' Scores (SOS), played pairs and byes
+        for (Round round : rounds) {
+            for (TournamentPairing pairing : round.getPairs()) {
+                // a player could have left the tournament, so info can be null
+                PlayerInfo info1 = playerInfos.get(pairing.getPlayer1());
+                PlayerInfo info2 = playerInfos.get(pairing.getPlayer2());
+                if (info1 != null) {
+                    info1.sosPoints += pairing.getPlayer2().getPoints();
+                }
+                if (info2 != null) {
+                    info2.sosPoints += pairing.getPlayer1().getPoints();
+                }
+                if (info1 != null && info2 != null) {
+                    playedPairs.add(pairKey(info1, info2));
+                }
+            }
+            for (TournamentPlayer playerBye : round.getPlayerByes()) {
+                PlayerInfo info = playerInfos.get(playerBye);
+                if (info != null) {
+                    info.byes++;
+                }
+            }
+        }
+
+        // sort by points and then by sos points
+        Collections.sort(swissPlayers, new Comparator<PlayerInfo>() {
+            @Override
+            public int compare(PlayerInfo p1, PlayerInfo p2) {
+                int result = p2.points - p1.points;
+                if (result != 0) {
+                    return result;
+                }
+                return p2.sosPoints - p1.sosPoints;
+            }
+        });
+        for (int i = 0; i < swissPlayers.size(); i++) {
+            swissPlayers.get(i).rank = i;
+        }
+
+        if (swissPlayers.size() % 2 == 1) {
+            // give the bye to the lowest ranked player with the fewest byes
+            PlayerInfo playerBye = null;
+            for (int i = swissPlayers.size() - 1; i >= 0; i--) {
+                if (playerBye == null || swissPlayers.get(i).byes < playerBye.byes) {
+                    playerBye = swissPlayers.get(i);
+                }
+            }
+            swissPlayers.remove(playerBye);
+            playerByes.add(playerBye.tournamentPlayer);
+        }
+
+        // pair the score groups from top to bottom
+        List<PlayerInfo> floaters = new ArrayList<>();
+        int first = 0;
+        while (first < swissPlayers.size()) {
+            int last = first;
+            while (last < swissPlayers.size() && swissPlayers.get(last).points == swissPlayers.get(first).points) {
+                last++;
+            }
+            List<PlayerInfo> group = new ArrayList<>(floaters);
+            group.addAll(swissPlayers.subList(first, last));
+            floaters = pairGroup(group, last == swissPlayers.size());
+            first = last;
+        }
+
+        // the players of the bottom group can't float down, so the bottom group is
+        // merged with the groups above as long as it contains rematches
+        if (!groupsPairs.isEmpty()) {
+            List<PlayerInfo[]> bottomPairs = groupsPairs.remove(groupsPairs.size() - 1);
+            while (countRematches(bottomPairs) > 0 && !groupsPairs.isEmpty()) {
+                List<PlayerInfo> group = new ArrayList<>();
+                for (PlayerInfo[] pair : groupsPairs.remove(groupsPairs.size() - 1)) {
+                    group.add(pair[0]);
+                    group.add(pair[1]);
+                }
+                for (PlayerInfo[] pair : bottomPairs) {
+                    group.add(pair[0]);
+                    group.add(pair[1]);
+                }
+                sortByRank(group);
+                bottomPairs = pair(group);
+            }
+            groupsPairs.add(bottomPairs);
+        }
+    }
+
+    public RoundPairings getRoundPairings() {
+        List<TournamentPairing> pairings = new ArrayList<>();
+        for (List<PlayerInfo[]> groupPairs : groupsPairs) {
+            for (PlayerInfo[] pair : groupPairs) {
+                pairings.add(new TournamentPairing(pair[0].tournamentPlayer, pair[1].tournamentPlayer));
+            }
+        }
+        return new RoundPairings(pairings, new ArrayList<>(playerByes));
+    }
+
+    // pairs the group (ordered by rank) and returns the players that float down to the next group
+    private List<PlayerInfo> pairGroup(List<PlayerInfo> group, boolean isLastGroup) {
+        List<PlayerInfo> floaters = new ArrayList<>();
+        if (group.size() % 2 == 1) {
+            floaters.add(group.remove(group.size() - 1));
+        }
+        List<PlayerInfo[]> groupPairs = new ArrayList<>();
+        for (PlayerInfo[] pair : pair(group)) {
+            if (!isLastGroup && played(pair[0], pair[1])) {
+                // look for new opponents in the next group
+                floaters.add(pair[0]);
+                floaters.add(pair[1]);
+            } else {
+                groupPairs.add(pair);
+            }
+        }
+        groupsPairs.add(groupPairs);
+        // floaters are paired before the players of the next group, keep them ordered by rank
+        sortByRank(floaters);
+        return floaters;
+    }
+
+    private List<PlayerInfo[]> pair(List<PlayerInfo> group) {
+        if (group.size() <= EXACT_GROUP_SIZE) {
+            return pairExact(group);
+        }
+        return pairSparse(group);
+    }
+
+    private List<PlayerInfo[]> pairExact(List<PlayerInfo> group) {
+        List<TournamentPlayer> groupPlayers = new ArrayList<>();
+        for (PlayerInfo player : group) {
+            groupPlayers.add(player.tournamentPlayer);
+        }
+        List<PlayerInfo[]> groupPairs = new ArrayList<>();
+        SwissPairingMinimalWeightMatching swissPairing = new SwissPairingMinimalWeightMatching(groupPlayers, rounds, isLastRound);
+        for (TournamentPairing pairing : swissPairing.getRoundPairings().getPairings()) {
+            groupPairs.add(new PlayerInfo[]{playerInfos.get(pairing.getPlayer1()), playerInfos.get(pairing.getPlayer2())});
+        }
+        return groupPairs;
+    }
+
+    private List<PlayerInfo[]> pairSparse(List<PlayerInfo> group) {
+        int size = group.size();
+        int half = size / 2;
+        boolean[] used = new boolean[size];
+        List<PlayerInfo[]> groupPairs = new ArrayList<>();
+        if (!isLastRound) {
+            // top half against bottom half (1st against half + 1st ...)
+            for (int i = 0; i < half; i++) {
+                for (int k = 0; k < half; k++) {
+                    int j = half + (i + k) % half;
+                    if (!used[j] && !played(group.get(i), group.get(j))) {
+                        addPair(groupPairs, group, used, i, j);
+                        break;
+                    }
+                }
+            }
+        }
+        // the rest (or all players in the last round) against the next ranked possible opponent
+        for (int i = 0; i < size; i++) {
+            if (used[i]) {
+                continue;
+            }
+            // a rematch only if no other opponent is left
+            int opponent = -1;
+            for (int j = i + 1; j < size; j++) {
+                if (!used[j]) {
+                    if (!played(group.get(i), group.get(j))) {
+                        opponent = j;
+                        break;
+                    }
+                    if (opponent < 0) {
+                        opponent = j;
+                    }
+                }
+            }
+            if (opponent >= 0) {
+                addPair(groupPairs, group, used, i, opponent);
+            }
+        }
+        // swap opponents with another pair of the group to avoid rematches
+        for (PlayerInfo[] pair : groupPairs) {
+            if (!played(pair[0], pair[1])) {
+                continue;
+            }
+            for (PlayerInfo[] other : groupPairs) {
+                if (other == pair) {
+                    continue;
+                }
+                if (!played(pair[0], other[0]) && !played(pair[1], other[1])) {
+                    PlayerInfo opponent = pair[1];
+                    pair[1] = other[0];
+                    other[0] = opponent;
+                    break;
+                }
+                if (!played(pair[0], other[1]) && !played(pair[1], other[0])) {
+                    PlayerInfo opponent = pair[1];
+                    pair[1] = other[1];
+                    other[1] = opponent;
+                    break;
+                }
+            }
+        }
+        return groupPairs;
+    }
+
+    private int countRematches(List<PlayerInfo[]> groupPairs) {
+        int count = 0;
+        for (PlayerInfo[] pair : groupPairs) {
+            if (played(pair[0], pair[1])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void sortByRank(List<PlayerInfo> players) {
+        Collections.sort(players, new Comparator<PlayerInfo>() {
+            @Override
+            public int compare(PlayerInfo p1, PlayerInfo p2) {
+                return p1.rank - p2.rank;
+            }
+        });
+    }
+
+    private static void addPair(List<PlayerInfo[]> groupPairs, List<PlayerInfo> group, boolean[] used, int i, int j) {
+        used[i] = true;
+        used[j] = true;
+        groupPairs.add(new PlayerInfo[]{group.get(i), group.get(j)});
+    }
+
+    private boolean played(PlayerInfo player1, PlayerInfo player2) {
+        return playedPairs.contains(pairKey(player1, player2));
+    }
+
+    private static long pairKey(PlayerInfo player1, PlayerInfo player2) {
+        int min = Math.min(player1.id, player2.id);
+        int max = Math.max(player1.id, player2.id);
+        return ((long) min << 32) | max;
+    }
+
+    class PlayerInfo {
+        public int id;
+
+        public int rank;
+
+        public TournamentPlayer tournamentPlayer;
+
+        public int points;
+
+        public int sosPoints;
+
+        public int byes;
+    }
+}
@@ -131,7 +131,7 @@ public class Turn implements Serializable {
         }
 
         if (game.getState().getTurnMods().skipTurn(activePlayer.getId())) {
-            game.informPlayers(activePlayer.getLogName() + " skips his or her turn.");
+            game.informPlayers("{0} skips his or her turn.", activePlayer);
             return true;
         }
         logStartOfTurn(game, activePlayer);
@@ -52,8 +52,6 @@ import mage.game.Game;
  */
 public class Library implements Serializable {
 
-    private static Random rnd = new Random();
-
     private boolean emptyDraw;
     private final Deque<UUID> library = new ArrayDeque<>();
     private final UUID playerId;
@@ -72,11 +70,14 @@ public class Library implements Serializable {
 
     /**
      * Don't use this directly. Use <player.shuffleLibrary(game)> instead.
+     *
+     * @param game the random numbers of the game are used
      */
-    public void shuffle() {
+    public void shuffle(Game game) {
+        Random random = game.getRandom();
         UUID[] shuffled = library.toArray(new UUID[0]);
         for (int n = shuffled.length - 1; n > 0; n--) {
-            int r = rnd.nextInt(n);
+            int r = random.nextInt(n);
             UUID temp = shuffled[n];
             shuffled[n] = shuffled[r];
             shuffled[r] = temp;
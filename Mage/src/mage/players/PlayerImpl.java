@@ -39,7 +39,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import mage.MageObject;
@@ -138,7 +137,6 @@ public abstract class PlayerImpl implements Player, Serializable {
 
     private static final Logger logger = Logger.getLogger(PlayerImpl.class);
 
-    private static Random rnd = new Random();
 
     /**
      * Used to cancel waiting requests send to the player
@@ -1066,7 +1064,7 @@ public abstract class PlayerImpl implements Player, Serializable {
             if (moveCards(card, Zone.BATTLEFIELD, playLandAbility, game, false, false, false, null)) {
                 landsPlayed++;
                 game.fireEvent(GameEvent.getEvent(GameEvent.EventType.LAND_PLAYED, card.getId(), card.getId(), playerId));
-                game.fireInformEvent(getLogName() + " plays " + card.getLogName());
+                game.informPlayers("{0} plays {1}", this, card);
                 // game.removeBookmark(bookmark);
                 resetStoredBookmark(game); // prevent undo after playing a land
                 return true;
@@ -1390,7 +1388,7 @@ public abstract class PlayerImpl implements Player, Serializable {
     @Override
     public void shuffleLibrary(Game game) {
         if (!game.replaceEvent(GameEvent.getEvent(GameEvent.EventType.SHUFFLE_LIBRARY, playerId, playerId))) {
-            this.library.shuffle();
+            this.library.shuffle(game);
             if (!game.isSimulation()) {
                 game.informPlayers(getLogName() + " shuffles his or her library.");
             }
@@ -2238,7 +2236,7 @@ public abstract class PlayerImpl implements Player, Serializable {
      */
     @Override
     public boolean flipCoin(Game game, ArrayList<UUID> appliedEffects) {
-        boolean result = rnd.nextBoolean();
+        boolean result = game.getRandom().nextBoolean();
         if (!game.isSimulation()) {
             game.informPlayers("[Flip a coin] " + getLogName() + (result ? " won (head)." : " lost (tail)."));
         }
@@ -3475,7 +3473,7 @@ public abstract class PlayerImpl implements Player, Serializable {
 
     @Override
     public boolean scry(int value, Ability source, Game game) {
-        game.informPlayers(getLogName() + " scries " + value);
+        game.informPlayers("{0} scries {1}", this, value);
         Cards cards = new CardsImpl();
         cards.addAll(getLibrary().getTopCards(game, value));
         if (!cards.isEmpty()) {
@@ -26,7 +26,7 @@
 * or implied, of BetaSteward_at_googlemail.com.
 */
 
-package mage.player.human;
+package mage.players;
 
 import java.io.Serializable;
 import java.util.UUID;
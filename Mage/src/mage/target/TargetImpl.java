@@ -34,7 +34,6 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import mage.MageObject;
@@ -324,7 +323,7 @@ public abstract class TargetImpl implements Target {
                 Set<UUID> possibleTargets = possibleTargets(source.getSourceId(), playerId, game);
                 if (possibleTargets.size() > 0) {
                     int i = 0;
-                    int rnd = new Random().nextInt(possibleTargets.size());
+                    int rnd = game.getRandom().nextInt(possibleTargets.size());
                     Iterator it = possibleTargets.iterator();
                     while (i < rnd) {
                         it.next();
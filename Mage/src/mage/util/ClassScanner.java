@@ -37,8 +37,13 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
+import org.apache.log4j.Logger;
 
 /**
  *
@@ -46,8 +51,22 @@ import java.util.jar.JarInputStream;
  */
 public class ClassScanner {
 
+    // below this number of classes loading them in parallel doesn't pay off
+    private static final int MIN_CLASSES_PER_THREAD = 200;
+
     public static List<Class> findClasses(List<String> packages, Class<?> type) {
-        List<Class> cards = new ArrayList<>();
+        return loadClasses(findClassNames(packages), type);
+    }
+
+    /**
+     * Finds the names of the classes of the packages (sub packages are not
+     * included) without loading the classes.
+     *
+     * @param packages
+     * @return
+     */
+    public static List<String> findClassNames(List<String> packages) {
+        List<String> classNames = new ArrayList<>();
         try {
             ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
             assert classLoader != null;
@@ -71,42 +90,99 @@ public class ClassScanner {
             }
 
             for (String filePath : dirs.keySet()) {
-                cards.addAll(findClasses(new File(filePath), dirs.get(filePath), type));
+                classNames.addAll(findClassNames(new File(filePath), dirs.get(filePath)));
             }
 
             for (String filePath : jars) {
                 File file = new File(URLDecoder.decode(filePath, "UTF-8"));
-                cards.addAll(findClassesInJar(file, packages, type));
+                classNames.addAll(findClassNamesInJar(file, packages));
             }
         } catch (IOException ex) {
         }
-        return cards;
+        return classNames;
     }
 
-    private static List<Class> findClasses(File directory, String packageName, Class<?> type) {
-        List<Class> cards = new ArrayList<>();
+    /**
+     * Loads and initializes the classes, for many classes this is done in
+     * parallel on all available cores. The order of the returned classes is
+     * the order of the names.
+     *
+     * @param classNames
+     * @param type
+     * @return the loaded classes that are assignable to type
+     */
+    public static List<Class> loadClasses(final List<String> classNames, final Class<?> type) {
+        final Class[] classes = new Class[classNames.size()];
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), classNames.size() / MIN_CLASSES_PER_THREAD);
+        if (threads <= 1) {
+            loadClasses(classNames, type, classes, 0, classNames.size());
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                int chunkSize = (classNames.size() + threads - 1) / threads;
+                for (int start = 0; start < classNames.size(); start += chunkSize) {
+                    final int from = start;
+                    final int to = Math.min(start + chunkSize, classNames.size());
+                    futures.add(executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            loadClasses(classNames, type, classes, from, to);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (InterruptedException | ExecutionException ex) {
+                        Logger.getLogger(ClassScanner.class).error("Error loading classes", ex);
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        List<Class> result = new ArrayList<>();
+        for (Class clazz : classes) {
+            if (clazz != null) {
+                result.add(clazz);
+            }
+        }
+        return result;
+    }
+
+    private static void loadClasses(List<String> classNames, Class<?> type, Class[] classes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            try {
+                Class<?> clazz = Class.forName(classNames.get(i));
+                if (type.isAssignableFrom(clazz)) {
+                    classes[i] = clazz;
+                }
+            } catch (ClassNotFoundException ex) {
+            } catch (LinkageError ex) {
+                Logger.getLogger(ClassScanner.class).error("Error loading class " + classNames.get(i), ex);
+            }
+        }
+    }
+
+    private static List<String> findClassNames(File directory, String packageName) {
+        List<String> classNames = new ArrayList<>();
         if (!directory.exists()) {
-            return cards;
+            return classNames;
         }
 
         for (File file : directory.listFiles()) {
             if (file.getName().endsWith(".class")) {
-                try {
-                    Class<?> clazz = Class.forName(packageName + '.' + file.getName().substring(0, file.getName().length() - 6));
-                    if (type.isAssignableFrom(clazz)) {
-                        cards.add(clazz);
-                    }
-                } catch (ClassNotFoundException ex) {
-                }
+                classNames.add(packageName + '.' + file.getName().substring(0, file.getName().length() - 6));
             }
         }
-        return cards;
+        return classNames;
     }
 
-    private static List<Class> findClassesInJar(File file, List<String> packages, Class<?> type) {
-        List<Class> cards = new ArrayList<>();
+    private static List<String> findClassNamesInJar(File file, List<String> packages) {
+        List<String> classNames = new ArrayList<>();
         if (!file.exists()) {
-            return cards;
+            return classNames;
         }
         JarInputStream jarFile = null;
         try {
@@ -121,14 +197,7 @@ public class ClassScanner {
                     int packageNameEnd = className.lastIndexOf('.');
                     String packageName = packageNameEnd != -1 ? className.substring(0, packageNameEnd) : "";
                     if (packages.contains(packageName)) {
-                        Class<?> clazz;
-                        try {
-                            clazz = Class.forName(className);
-                            if (type.isAssignableFrom(clazz)) {
-                                cards.add(clazz);
-                            }
-                        } catch (ClassNotFoundException ex) {
-                        }
+                        classNames.add(className);
                     }
                 }
             }
@@ -139,6 +208,6 @@ public class ClassScanner {
             } catch (IOException ex) {
             }
         }
-        return cards;
+        return classNames;
     }
 }
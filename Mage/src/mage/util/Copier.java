@@ -34,6 +34,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import mage.util.metrics.Counter;
+import mage.util.metrics.MetricsRegistry;
 
 /**
  *
@@ -44,6 +46,8 @@ public class Copier<T> {
 
     private static ClassLoader loader;
 
+    private static final Counter copiedBytes = MetricsRegistry.instance.counter("copier.bytes");
+
     public static void setLoader(ClassLoader loader) {
         Copier.loader = loader;
     }
@@ -58,6 +62,7 @@ public class Copier<T> {
             out.writeObject(obj);
             out.flush();
             out.close();
+            copiedBytes.add(fbos.getSize());
 
             // Retrieve an input stream from the byte array and read
             // a copy of the object back in.
@@ -84,6 +89,7 @@ public class Copier<T> {
             out.flush();
             out.close();
 
+            copiedBytes.add(fbos.getSize());
             byte[] copy = new byte[fbos.getSize()];
             System.arraycopy(fbos.getByteArray(), 0, copy, 0, fbos.getSize());
             return copy;
@@ -58,7 +58,21 @@ public class GameLog {
     static final String LOG_COLOR_NEUTRAL = "#F0F8FF"; // AliceBlue
 
     public static String replaceNameByColoredName(MageObject mageObject, String text) {
-        return text.replaceAll(mageObject.getName(), getColoredObjectIdName(mageObject));
+        String name = mageObject.getName();
+        int pos = name.isEmpty() ? -1 : text.indexOf(name);
+        if (pos < 0) {
+            return text;
+        }
+        // plain text search, card names can contain characters with a special meaning in regular expressions
+        String coloredName = getColoredObjectIdName(mageObject);
+        StringBuilder sb = new StringBuilder(text.length() + coloredName.length());
+        int start = 0;
+        while (pos >= 0) {
+            sb.append(text, start, pos).append(coloredName);
+            start = pos + name.length();
+            pos = text.indexOf(name, start);
+        }
+        return sb.append(text, start, text.length()).toString();
     }
 
     public static String getColoredObjectName(MageObject mageObject) {
@@ -93,7 +107,7 @@ public class GameLog {
         return "<div style='font-size:11pt'>" + text + "</div>";
     }
 
-    private static String getColorName(ObjectColor objectColor) {
+    static String getColorName(ObjectColor objectColor) {
         if (objectColor.isMulticolored()) {
             return LOG_COLOR_MULTI;
         } else if (objectColor.isColorless()) {
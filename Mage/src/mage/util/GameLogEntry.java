@@ -0,0 +1,198 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.util;
+
+import java.io.Serializable;
+import java.util.UUID;
+import mage.MageObject;
+import mage.game.stack.Spell;
+import mage.players.Player;
+
+/**
+ * One entry of the game log.
+ *
+ * The entry keeps the message template and the objects it refers to, the
+ * colored HTML text is only built when the entry is sent to a client. Place
+ * holders in the template are written as {0}, {1}, ... and are replaced by the
+ * arguments in the same order. Game objects and players are captured by name,
+ * id and color at the time the entry is added, so later changes of the object
+ * don't change the logged text.
+ *
+ * @author agent
+ */
+public class GameLogEntry implements Serializable {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String template;
+    private final Object[] args;
+    private long number;
+    private transient String text;
+
+    public GameLogEntry(String message) {
+        this.template = message;
+        this.args = NO_ARGS;
+    }
+
+    public GameLogEntry(String template, Object... args) {
+        this.template = template;
+        if (args == null || args.length == 0) {
+            this.args = NO_ARGS;
+        } else {
+            this.args = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                this.args[i] = capture(args[i]);
+            }
+        }
+    }
+
+    private static Object capture(Object arg) {
+        if (arg instanceof Spell) {
+            // a spell is logged as its card (see Spell.getLogName)
+            arg = ((Spell) arg).getCard();
+        }
+        if (arg instanceof MageObject) {
+            MageObject object = (MageObject) arg;
+            if (object.getName().isEmpty()) {
+                // face down objects have their own log name
+                return object.getLogName();
+            }
+            return new ObjectName(object.getName(), object.getId(), GameLog.getColorName(object.getColor(null)));
+        }
+        if (arg instanceof Player) {
+            return new PlayerName(((Player) arg).getName());
+        }
+        return arg;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Sequence number of the entry within the log of its game, set when the
+     * entry is added to a {@link GameLogRing}.
+     *
+     * @return
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    void setNumber(long number) {
+        this.number = number;
+    }
+
+    /**
+     * Renders the entry to the colored text shown in the game log. The text is
+     * built on first use and kept afterwards.
+     *
+     * @return
+     */
+    public String getText() {
+        if (text == null) {
+            text = render();
+        }
+        return text;
+    }
+
+    private String render() {
+        if (args.length == 0) {
+            return template;
+        }
+        StringBuilder sb = new StringBuilder(template.length() + 32 * args.length);
+        int pos = 0;
+        int open;
+        while ((open = template.indexOf('{', pos)) >= 0) {
+            int close = template.indexOf('}', open);
+            int index = close > open + 1 ? parseIndex(template, open + 1, close) : -1;
+            if (index < 0 || index >= args.length) {
+                sb.append(template, pos, open + 1);
+                pos = open + 1;
+                continue;
+            }
+            sb.append(template, pos, open);
+            appendArg(sb, args[index]);
+            pos = close + 1;
+        }
+        sb.append(template, pos, template.length());
+        return sb.toString();
+    }
+
+    private static int parseIndex(String template, int start, int end) {
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            char c = template.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    private static void appendArg(StringBuilder sb, Object arg) {
+        if (arg instanceof ObjectName) {
+            ObjectName object = (ObjectName) arg;
+            sb.append("<font color='").append(object.colorName).append("'>").append(object.name)
+                    .append(" [").append(object.id.toString(), 0, 3).append("]</font>");
+        } else if (arg instanceof PlayerName) {
+            sb.append(GameLog.getColoredPlayerName(((PlayerName) arg).name));
+        } else {
+            sb.append(arg);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getText();
+    }
+
+    private static class ObjectName implements Serializable {
+
+        private final String name;
+        private final UUID id;
+        private final String colorName;
+
+        ObjectName(String name, UUID id, String colorName) {
+            this.name = name;
+            this.id = id;
+            this.colorName = colorName;
+        }
+    }
+
+    private static class PlayerName implements Serializable {
+
+        private final String name;
+
+        PlayerName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded log of a game. Keeps the last entries added, older entries are
+ * dropped. Entries are numbered from 0 in the order they were added, so a
+ * client can ask for the entries following the last one it knows.
+ *
+ * The game thread adds entries while server threads read them, so all access
+ * is synchronized.
+ *
+ * @author agent
+ */
+public class GameLogRing implements Serializable {
+
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("xmage.gameLogSize", 1000);
+
+    private final GameLogEntry[] entries;
+    private long count;
+
+    public GameLogRing() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GameLogRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        this.entries = new GameLogEntry[capacity];
+    }
+
+    public synchronized GameLogEntry add(GameLogEntry entry) {
+        entry.setNumber(count);
+        entries[(int) (count % entries.length)] = entry;
+        count++;
+        return entry;
+    }
+
+    /**
+     * Returns the kept entries with a number from fromNumber (inclusive) to
+     * toNumber (exclusive). Entries that were already dropped are skipped.
+     *
+     * @param fromNumber
+     * @param toNumber
+     * @return
+     */
+    public synchronized List<GameLogEntry> getEntries(long fromNumber, long toNumber) {
+        long from = Math.max(fromNumber, getFirstNumber());
+        long to = Math.min(toNumber, count);
+        List<GameLogEntry> result = new ArrayList<>((int) Math.max(0, to - from));
+        for (long i = from; i < to; i++) {
+            result.add(entries[(int) (i % entries.length)]);
+        }
+        return result;
+    }
+
+    public synchronized List<GameLogEntry> getEntries(long fromNumber) {
+        return getEntries(fromNumber, count);
+    }
+
+    /**
+     * @return number of the oldest entry that is still kept
+     */
+    public synchronized long getFirstNumber() {
+        return Math.max(0, count - entries.length);
+    }
+
+    /**
+     * @return number of entries added so far, the next entry gets this number
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+}
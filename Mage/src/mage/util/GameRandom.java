@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.util;
+
+import java.util.Random;
+
+/**
+ * The random numbers of a game. All random things of a game (shuffles, coin
+ * flips, random discards and choices) use the generator of the game state, so
+ * a game started with the same seed and the same decisions plays out the same
+ * way. The generator is copied with the game state, so a copy of a game
+ * continues with the same numbers.
+ *
+ * @author agent
+ */
+public class GameRandom extends Random {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        super(seed);
+        this.state = seed;
+    }
+
+    public GameRandom(final GameRandom random) {
+        super(0);
+        this.state = random.state;
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * SplitMix64, the whole state is one long so copies are cheap
+     */
+    @Override
+    protected int next(int bits) {
+        return (int) (nextMix() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        return nextMix();
+    }
+
+    private synchronized long nextMix() {
+        state += GOLDEN_GAMMA;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A generator for a copy of the game that is used to simulate the game
+     * (e.g. by the AI). It's derived from this one without using it, so the
+     * simulation doesn't know the next numbers of the game.
+     *
+     * @return
+     */
+    public synchronized GameRandom split() {
+        long z = state ^ 0x2545F4914F6CDD1DL;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return new GameRandom(z ^ (z >>> 33));
+    }
+
+    public GameRandom copy() {
+        return new GameRandom(this);
+    }
+}
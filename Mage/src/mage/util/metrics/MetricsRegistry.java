@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.util.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide registry of operational metrics (timers, counters and gauges).
+ *
+ * The engine and the server record into it, the server exports the values
+ * (JMX and the admin console). Recording is lock free and cheap enough for
+ * the game loop, but it can be switched off completely by starting the JVM
+ * with -Dxmage.metrics=false.
+ *
+ * @author agent
+ */
+public enum MetricsRegistry {
+
+    instance;
+
+    private static final boolean enabled = !"false".equalsIgnoreCase(System.getProperty("xmage.metrics"));
+
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            timer = new Timer(name);
+            Timer existing = timers.putIfAbsent(name, timer);
+            if (existing != null) {
+                timer = existing;
+            }
+        }
+        return timer;
+    }
+
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = new Counter(name);
+            Counter existing = counters.putIfAbsent(name, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+        return counter;
+    }
+
+    public void gauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    /**
+     * Current values of all metrics sorted by name. Timers are expanded to
+     * count, total, average and max values (in milliseconds respectively
+     * microseconds).
+     *
+     * @return
+     */
+    public SortedMap<String, Long> getSnapshot() {
+        SortedMap<String, Long> snapshot = new TreeMap<>();
+        for (Timer timer : timers.values()) {
+            long count = timer.getCount();
+            snapshot.put(timer.getName() + ".count", count);
+            snapshot.put(timer.getName() + ".totalMs", timer.getTotalNanos() / 1000000);
+            snapshot.put(timer.getName() + ".avgUs", count > 0 ? timer.getTotalNanos() / count / 1000 : 0);
+            snapshot.put(timer.getName() + ".maxUs", timer.getMaxNanos() / 1000);
+        }
+        for (Counter counter : counters.values()) {
+            snapshot.put(counter.getName(), counter.getValue());
+        }
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            try {
+                snapshot.put(entry.getKey(), entry.getValue().getValue());
+            } catch (RuntimeException ex) {
+                snapshot.put(entry.getKey(), -1L);
+            }
+        }
+        return snapshot;
+    }
+
+    public void reset() {
+        for (Timer timer : timers.values()) {
+            timer.reset();
+        }
+        for (Counter counter : counters.values()) {
+            counter.reset();
+        }
+    }
+}
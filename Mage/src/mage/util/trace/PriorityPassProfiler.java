@@ -0,0 +1,243 @@
+/*
+ * Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ *    1. Redistributions of source code must retain the above copyright notice, this list of
+ *       conditions and the following disclaimer.
+ *
+ *    2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *       of conditions and the following disclaimer in the documentation and/or other materials
+ *       provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ * The views and conclusions contained in the software and documentation are those of the
+ * authors and should not be interpreted as representing official policies, either expressed
+ * or implied, of BetaSteward_at_googlemail.com.
+ */
+
+
+package mage.util.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import mage.MageObject;
+import mage.game.Game;
+import mage.game.stack.StackObject;
+import mage.players.Player;
+import org.apache.log4j.Logger;
+
+/**
+ * Opt-in profiler that records the engine work done for each priority pass
+ * and each stack resolution of one game.
+ *
+ * The last records are kept in a fixed size ring buffer. If a single action
+ * takes longer than the threshold, a slow action report (with the recent
+ * records as context) is written to the server log, so the card or ability
+ * that made the game slow can be identified.
+ *
+ * Enable with -Dxmage.profiler=true, the threshold can be set with
+ * -Dxmage.profiler.slowMs (default 500) and the number of kept records with
+ * -Dxmage.profiler.size (default 64). Simulated games are never profiled.
+ *
+ * @author agent
+ */
+public class PriorityPassProfiler {
+
+    private static final Logger logger = Logger.getLogger(PriorityPassProfiler.class);
+
+    private static final boolean enabled = Boolean.getBoolean("xmage.profiler");
+    private static final long slowNanos = Long.getLong("xmage.profiler.slowMs", 500) * 1000000L;
+    private static final int size = Math.max(Integer.getInteger("xmage.profiler.size", 64), 1);
+    private static final int REPORT_CONTEXT = 10;
+
+    public enum ActionType {
+        PRIORITY, RESOLVE
+    }
+
+    public static class ActionRecord {
+
+        private final ActionType type;
+        private final int turn;
+        private final String step;
+        private final String player;
+        private final String stackObject;
+        private final String source;
+        private long nanos;
+        private int stateChecks;
+        private int effectsApplied;
+        private int applyEffectsCalls;
+        private long applyEffectsNanos;
+        private int triggersFired;
+
+        ActionRecord(ActionType type, int turn, String step, String player, String stackObject, String source) {
+            this.type = type;
+            this.turn = turn;
+            this.step = step;
+            this.player = player;
+            this.stackObject = stackObject;
+            this.source = source;
+        }
+
+        public ActionType getType() {
+            return type;
+        }
+
+        public long getMillis() {
+            return nanos / 1000000L;
+        }
+
+        public int getEffectsApplied() {
+            return effectsApplied;
+        }
+
+        public int getTriggersFired() {
+            return triggersFired;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(type).append(" turn ").append(turn).append(' ').append(step);
+            if (player != null) {
+                sb.append(" player: ").append(player);
+            }
+            if (stackObject != null) {
+                sb.append(" object: ").append(stackObject);
+                if (source != null && !source.equals(stackObject)) {
+                    sb.append(" (").append(source).append(')');
+                }
+            }
+            sb.append(" - ").append(nanos / 1000000L).append(" ms");
+            sb.append(", state checks: ").append(stateChecks);
+            sb.append(", triggers fired: ").append(triggersFired);
+            sb.append(", apply effects: ").append(applyEffectsCalls)
+                    .append("x / ").append(applyEffectsNanos / 1000000L).append(" ms");
+            sb.append(", effects applied: ").append(effectsApplied);
+            return sb.toString();
+        }
+    }
+
+    private final ActionRecord[] records = new ActionRecord[size];
+    private int next;
+    private int count;
+    private ActionRecord current;
+    private long currentStart;
+    private int slowActions;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param game
+     * @return a new profiler for the game or null if profiling is not
+     * enabled or the game is only a simulation
+     */
+    public static PriorityPassProfiler create(Game game) {
+        if (!enabled || game.isSimulation()) {
+            return null;
+        }
+        return new PriorityPassProfiler();
+    }
+
+    public void startPriority(Game game, Player player) {
+        start(ActionType.PRIORITY, game, player != null ? player.getName() : null, null, null);
+    }
+
+    public void startResolve(Game game, StackObject stackObject) {
+        String objectName = null;
+        String sourceName = null;
+        if (stackObject != null) {
+            objectName = stackObject.getName();
+            MageObject sourceObject = game.getObject(stackObject.getSourceId());
+            if (sourceObject != null) {
+                sourceName = sourceObject.getName();
+            }
+        }
+        start(ActionType.RESOLVE, game, null, objectName, sourceName);
+    }
+
+    private void start(ActionType type, Game game, String playerName, String objectName, String sourceName) {
+        String step = game.getStep() != null ? game.getStep().getType().toString() : "";
+        current = new ActionRecord(type, game.getTurnNum(), step, playerName, objectName, sourceName);
+        currentStart = System.nanoTime();
+    }
+
+    public void stateChecked() {
+        if (current != null) {
+            current.stateChecks++;
+        }
+    }
+
+    public void triggersFired(int triggers) {
+        if (current != null) {
+            current.triggersFired += triggers;
+        }
+    }
+
+    public void effectsApplied(int effects, long nanos) {
+        if (current != null) {
+            current.applyEffectsCalls++;
+            current.effectsApplied += effects;
+            current.applyEffectsNanos += nanos;
+        }
+    }
+
+    public void end(Game game) {
+        ActionRecord record = current;
+        if (record == null) {
+            return;
+        }
+        current = null;
+        record.nanos = System.nanoTime() - currentStart;
+        records[next] = record;
+        next = (next + 1) % size;
+        if (count < size) {
+            count++;
+        }
+        if (record.nanos >= slowNanos) {
+            slowActions++;
+            logger.warn(getSlowActionReport(game, record));
+        }
+    }
+
+    public int getSlowActions() {
+        return slowActions;
+    }
+
+    /**
+     * @return the kept records, the oldest first
+     */
+    public List<ActionRecord> getRecords() {
+        List<ActionRecord> list = new ArrayList<>(count);
+        for (int i = count; i > 0; i--) {
+            list.add(records[(next - i + size) % size]);
+        }
+        return list;
+    }
+
+    private String getSlowActionReport(Game game, ActionRecord record) {
+        StringBuilder sb = new StringBuilder("Slow game action gameId: ").append(game.getId());
+        sb.append("\n  ").append(record);
+        List<ActionRecord> recent = getRecords();
+        int from = Math.max(0, recent.size() - 1 - REPORT_CONTEXT);
+        if (from < recent.size() - 1) {
+            sb.append("\n  previous actions:");
+            for (int i = from; i < recent.size() - 1; i++) {
+                sb.append("\n    ").append(recent.get(i));
+            }
+        }
+        return sb.toString();
+    }
+}